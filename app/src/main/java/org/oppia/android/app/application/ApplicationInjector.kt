@@ -4,6 +4,7 @@ import org.oppia.android.app.translation.AppLanguageApplicationInjector
 import org.oppia.android.domain.locale.LocaleApplicationInjector
 import org.oppia.android.util.data.DataProvidersInjector
 import org.oppia.android.util.logging.ConsoleLoggerInjector
+import org.oppia.android.util.parser.math.LatexRenderPipelineInjector
 import org.oppia.android.util.system.OppiaClockInjector
 import org.oppia.android.util.threading.DispatcherInjector
 
@@ -14,4 +15,5 @@ interface ApplicationInjector :
   OppiaClockInjector,
   LocaleApplicationInjector,
   DispatcherInjector,
-  ConsoleLoggerInjector
+  ConsoleLoggerInjector,
+  LatexRenderPipelineInjector
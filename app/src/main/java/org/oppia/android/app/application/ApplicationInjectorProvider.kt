@@ -8,6 +8,8 @@ import org.oppia.android.util.data.DataProvidersInjector
 import org.oppia.android.util.data.DataProvidersInjectorProvider
 import org.oppia.android.util.logging.ConsoleLoggerInjector
 import org.oppia.android.util.logging.ConsoleLoggerInjectorProvider
+import org.oppia.android.util.parser.math.LatexRenderPipelineInjector
+import org.oppia.android.util.parser.math.LatexRenderPipelineInjectorProvider
 import org.oppia.android.util.system.OppiaClockInjector
 import org.oppia.android.util.system.OppiaClockInjectorProvider
 import org.oppia.android.util.threading.DispatcherInjector
@@ -20,7 +22,8 @@ interface ApplicationInjectorProvider :
   OppiaClockInjectorProvider,
   LocaleApplicationInjectorProvider,
   DispatcherInjectorProvider,
-  ConsoleLoggerInjectorProvider {
+  ConsoleLoggerInjectorProvider,
+  LatexRenderPipelineInjectorProvider {
   fun getApplicationInjector(): ApplicationInjector
 
   override fun getDataProvidersInjector(): DataProvidersInjector = getApplicationInjector()
@@ -35,4 +38,7 @@ interface ApplicationInjectorProvider :
   override fun getDispatcherInjector(): DispatcherInjector = getApplicationInjector()
 
   override fun getConsoleLoggerInjector(): ConsoleLoggerInjector = getApplicationInjector()
+
+  override fun getLatexRenderPipelineInjector(): LatexRenderPipelineInjector =
+    getApplicationInjector()
 }
@@ -32,6 +32,7 @@ import org.oppia.android.domain.exploration.ExplorationProgressModule
 import org.oppia.android.domain.exploration.ExplorationStorageModule
 import org.oppia.android.domain.hintsandsolution.HintsAndSolutionConfigAlphaKenyaModule
 import org.oppia.android.domain.hintsandsolution.HintsAndSolutionProdModule
+import org.oppia.android.domain.math.LatexRenderWarmUpModule
 import org.oppia.android.domain.onboarding.ExpirationMetaDataRetrieverModule
 import org.oppia.android.domain.oppialogger.LogStorageModule
 import org.oppia.android.domain.oppialogger.LoggingIdentifierModule
@@ -100,7 +101,7 @@ import javax.inject.Singleton
     PerformanceMetricsConfigurationsModule::class, AlphaBuildFlavorModule::class,
     KenyaAlphaEventLoggingConfigurationModule::class, CpuPerformanceSnapshotterModule::class,
     PerformanceMetricsAssessorModule::class, ExplorationProgressModule::class,
-    AuthenticationModule::class,
+    AuthenticationModule::class, LatexRenderWarmUpModule::class,
   ]
 )
 interface AlphaKenyaApplicationComponent : ApplicationComponent {
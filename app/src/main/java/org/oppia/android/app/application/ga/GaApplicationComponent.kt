@@ -31,6 +31,7 @@ import org.oppia.android.domain.exploration.ExplorationProgressModule
 import org.oppia.android.domain.exploration.ExplorationStorageModule
 import org.oppia.android.domain.hintsandsolution.HintsAndSolutionConfigModule
 import org.oppia.android.domain.hintsandsolution.HintsAndSolutionProdModule
+import org.oppia.android.domain.math.LatexRenderWarmUpModule
 import org.oppia.android.domain.onboarding.ExpirationMetaDataRetrieverModule
 import org.oppia.android.domain.oppialogger.LogStorageModule
 import org.oppia.android.domain.oppialogger.LoggingIdentifierModule
@@ -99,7 +100,7 @@ import javax.inject.Singleton
     PerformanceMetricsConfigurationsModule::class, GaBuildFlavorModule::class,
     EventLoggingConfigurationModule::class, ActivityRouterModule::class,
     CpuPerformanceSnapshotterModule::class, PerformanceMetricsAssessorModule::class,
-    ExplorationProgressModule::class, AuthenticationModule::class,
+    ExplorationProgressModule::class, AuthenticationModule::class, LatexRenderWarmUpModule::class,
   ]
 )
 interface GaApplicationComponent : ApplicationComponent {
@@ -209,8 +209,8 @@ class StateFragmentPresenter @Inject constructor(
   }
 
   fun onResponsesHeaderClicked() {
+    // The adapter is automatically notified of the affected items via the list's data binding.
     recyclerViewAssembler.togglePreviousAnswers(stateViewModel.itemList)
-    recyclerViewAssembler.adapter.notifyDataSetChanged()
   }
 
   fun handleAudioClick() = recyclerViewAssembler.toggleAudioPlaybackState()
@@ -337,10 +337,16 @@ class StateFragmentPresenter @Inject constructor(
       shouldSplit
     )
 
-    stateViewModel.itemList.clear()
-    stateViewModel.itemList += dataPair.first
-    stateViewModel.rightItemList.clear()
-    stateViewModel.rightItemList += dataPair.second
+    // The assembler reuses view models for unchanged items, so the lists only need to be updated
+    // (and thus rebound) if the items actually changed.
+    if (stateViewModel.itemList != dataPair.first) {
+      stateViewModel.itemList.clear()
+      stateViewModel.itemList += dataPair.first
+    }
+    if (stateViewModel.rightItemList != dataPair.second) {
+      stateViewModel.rightItemList.clear()
+      stateViewModel.rightItemList += dataPair.second
+    }
 
     if (isInNewState) {
       (binding.stateRecyclerView.layoutManager as LinearLayoutManager).scrollToPositionWithOffset(
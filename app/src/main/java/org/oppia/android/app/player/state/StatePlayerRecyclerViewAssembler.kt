@@ -53,6 +53,7 @@ import org.oppia.android.app.player.state.itemviewmodel.ReturnToTopicButtonViewM
 import org.oppia.android.app.player.state.itemviewmodel.SelectionInteractionViewModel
 import org.oppia.android.app.player.state.itemviewmodel.StateItemViewModel
 import org.oppia.android.app.player.state.itemviewmodel.StateItemViewModel.InteractionItemFactory
+import org.oppia.android.app.player.state.itemviewmodel.StateItemViewModel.ViewType
 import org.oppia.android.app.player.state.itemviewmodel.SubmitButtonViewModel
 import org.oppia.android.app.player.state.itemviewmodel.SubmittedAnswerViewModel
 import org.oppia.android.app.player.state.itemviewmodel.TextInputViewModel
@@ -110,6 +111,10 @@ private const val CONGRATULATIONS_TEXT_VIEW_VISIBLE_MILLIS: Long = 800
  * directly parcelable. The state loss from recreating this class will have the expected behavior so
  * long as the next assembler has the same feature set as the one being destroyed.
  *
+ * View models are reused across calls to [compute] when the inputs they're created from haven't
+ * changed, so that updates which only affect part of the state (such as a new answer being
+ * submitted) don't require recreating and rebinding every item in the recycler view.
+ *
  * This class should only be interacted on the main thread.
  *
  * Note that the fragment hosting this assembler is expected to implement the following interfaces:
@@ -182,6 +187,18 @@ class StatePlayerRecyclerViewAssembler private constructor(
 
   private val isSplitView = ObservableField<Boolean>(false)
 
+  /**
+   * The view models created by the most recent call to [compute], keyed by the inputs they were
+   * created from. These are available for reuse by the next call to [compute].
+   */
+  private var reusableViewModels: Map<ReusableViewModelKey, StateItemViewModel> = mapOf()
+
+  /** The view models created (or reused) so far by the current call to [compute]. */
+  private val computedViewModels = mutableMapOf<ReusableViewModelKey, StateItemViewModel>()
+
+  /** The number of view models created so far by the current call to [compute], by inputs. */
+  private val computedInputCounts = mutableMapOf<List<Any?>, Int>()
+
   override fun onConceptCardLinkClicked(view: View, skillId: String) {
     ConceptCardFragment.bringToFrontOrCreateIfNew(skillId, profileId, fragment.childFragmentManager)
   }
@@ -197,6 +214,9 @@ class StatePlayerRecyclerViewAssembler private constructor(
     isSplitView: Boolean
   ): Pair<List<StateItemViewModel>, List<StateItemViewModel>> {
     this.isSplitView.set(isSplitView)
+    reusableViewModels = computedViewModels.toMap()
+    computedViewModels.clear()
+    computedInputCounts.clear()
 
     val hasPreviousState = ephemeralState.hasPreviousState
     previousAnswerViewModels.clear()
@@ -232,6 +252,8 @@ class StatePlayerRecyclerViewAssembler private constructor(
         } else null
         addInteractionForPendingState(
           interactionItemList,
+          ephemeralState.state.name,
+          ephemeralState.pendingState.wrongAnswerCount,
           interaction,
           hasPreviousState,
           gcsEntityId,
@@ -309,6 +331,8 @@ class StatePlayerRecyclerViewAssembler private constructor(
 
   private fun addInteractionForPendingState(
     pendingItemList: MutableList<StateItemViewModel>,
+    stateName: String,
+    wrongAnswerCount: Int,
     interaction: Interaction,
     hasPreviousButton: Boolean,
     gcsEntityId: String,
@@ -316,18 +340,35 @@ class StatePlayerRecyclerViewAssembler private constructor(
     timeToStartNoticeAnimationMs: Long?
   ) {
     val interactionViewModelFactory = interactionViewModelFactoryMap.getValue(interaction.id)
-    pendingItemList += interactionViewModelFactory.create(
-      gcsEntityId,
-      hasConversationView,
+    // The interaction is only reused while no new answers have been submitted for the state so
+    // that the learner's in-progress answer is kept (but is still reset after each submission).
+    val inputs = listOf(
+      interactionViewModelFactory.viewType,
+      interaction.id,
+      stateName,
+      wrongAnswerCount,
       interaction,
-      fragment as InteractionAnswerReceiver,
-      fragment as InteractionAnswerErrorOrAvailabilityCheckReceiver,
       hasPreviousButton,
-      isSplitView.get()!!,
+      gcsEntityId,
       writtenTranslationContext,
       timeToStartNoticeAnimationMs,
-      userAnswerState
+      userAnswerState,
+      isSplitView.get()
     )
+    pendingItemList += reuseOrCreate(inputs) {
+      interactionViewModelFactory.create(
+        gcsEntityId,
+        hasConversationView,
+        interaction,
+        fragment as InteractionAnswerReceiver,
+        fragment as InteractionAnswerErrorOrAvailabilityCheckReceiver,
+        hasPreviousButton,
+        isSplitView.get()!!,
+        writtenTranslationContext,
+        timeToStartNoticeAnimationMs,
+        userAnswerState
+      )
+    }
   }
 
   /** Reset userAnswerState once the user submits an answer. */
@@ -345,13 +386,16 @@ class StatePlayerRecyclerViewAssembler private constructor(
         ephemeralState.state.content, ephemeralState.writtenTranslationContext
       )
     if (contentSubtitledHtml.isNotEmpty()) {
-      pendingItemList += ContentViewModel(
-        contentSubtitledHtml,
-        gcsEntityId,
-        hasConversationView,
-        isSplitView.get()!!,
-        playerFeatureSet.conceptCardSupport
-      )
+      val inputs = listOf(ViewType.CONTENT, contentSubtitledHtml, gcsEntityId, isSplitView.get())
+      pendingItemList += reuseOrCreate(inputs) {
+        ContentViewModel(
+          contentSubtitledHtml,
+          gcsEntityId,
+          hasConversationView,
+          isSplitView.get()!!,
+          playerFeatureSet.conceptCardSupport
+        )
+      }
     }
   }
 
@@ -365,14 +409,21 @@ class StatePlayerRecyclerViewAssembler private constructor(
   ) {
     if (answersAndResponses.size > 1) {
       if (playerFeatureSet.wrongAnswerCollapsing) {
-        PreviousResponsesHeaderViewModel(
-          answersAndResponses.size - 1,
-          hasConversationView,
-          ObservableBoolean(hasPreviousResponsesExpanded),
-          fragment as PreviousResponsesHeaderClickListener,
-          isSplitView.get()!!,
-          resourceHandler
-        ).let { viewModel ->
+        val inputs = listOf(
+          ViewType.PREVIOUS_RESPONSES_HEADER, answersAndResponses.size - 1, isSplitView.get()
+        )
+        reuseOrCreate(inputs) {
+          PreviousResponsesHeaderViewModel(
+            answersAndResponses.size - 1,
+            hasConversationView,
+            ObservableBoolean(hasPreviousResponsesExpanded),
+            fragment as PreviousResponsesHeaderClickListener,
+            isSplitView.get()!!,
+            resourceHandler
+          )
+        }.let { viewModel ->
+          // Reused headers may have been created with a different expansion state.
+          viewModel.isExpanded.set(hasPreviousResponsesExpanded)
           pendingItemList += viewModel
           previousAnswerViewModels += viewModel
         }
@@ -437,7 +488,8 @@ class StatePlayerRecyclerViewAssembler private constructor(
    * Toggles whether the previous answers should be shown based on the current state stored in
    * [PreviousResponsesHeaderViewModel] by transforming the current observable list of view models.
    *
-   * This does not notify the underlying recycler view.
+   * This does not directly notify the underlying recycler view (that happens through the data
+   * binding of [itemList]).
    */
   fun togglePreviousAnswers(itemList: ObservableList<StateItemViewModel>) {
     check(playerFeatureSet.wrongAnswerCollapsing) {
@@ -568,14 +620,18 @@ class StatePlayerRecyclerViewAssembler private constructor(
     isAnswerCorrect: Boolean
   ): SubmittedAnswerViewModel? {
     return userAnswer.takeIf { it.hasAnswerToDisplayToUser() }?.let {
-      SubmittedAnswerViewModel(
-        userAnswer,
-        gcsEntityId,
-        hasConversationView,
-        isSplitView.get()!!,
-        playerFeatureSet.conceptCardSupport,
-        resourceHandler
-      ).also { submittedAnswerViewModel ->
+      val inputs = listOf(ViewType.SUBMITTED_ANSWER, userAnswer, gcsEntityId, isSplitView.get())
+      reuseOrCreate(inputs) {
+        SubmittedAnswerViewModel(
+          userAnswer,
+          gcsEntityId,
+          hasConversationView,
+          isSplitView.get()!!,
+          playerFeatureSet.conceptCardSupport,
+          resourceHandler
+        )
+      }.also { submittedAnswerViewModel ->
+        // The correctness is updated even for reused answers since it's observed by their views.
         submittedAnswerViewModel.setIsCorrectAnswer(isAnswerCorrect)
         submittedAnswerViewModel.isExtraInteractionAnswerCorrect.set(isAnswerCorrect)
       }
@@ -590,13 +646,16 @@ class StatePlayerRecyclerViewAssembler private constructor(
     // Only show feedback if there's some to show.
     val feedbackHtml = translationController.extractString(feedback, writtenTranslationContext)
     if (feedbackHtml.isNotEmpty()) {
-      return FeedbackViewModel(
-        feedbackHtml,
-        gcsEntityId,
-        hasConversationView,
-        isSplitView.get()!!,
-        playerFeatureSet.conceptCardSupport
-      )
+      val inputs = listOf(ViewType.FEEDBACK, feedbackHtml, gcsEntityId, isSplitView.get())
+      return reuseOrCreate(inputs) {
+        FeedbackViewModel(
+          feedbackHtml,
+          gcsEntityId,
+          hasConversationView,
+          isSplitView.get()!!,
+          playerFeatureSet.conceptCardSupport
+        )
+      }
     }
     return null
   }
@@ -671,14 +730,18 @@ class StatePlayerRecyclerViewAssembler private constructor(
     val targetList =
       if (isSplitView.get()!!) extraInteractionPendingItemList else conversationPendingItemList
     val hasPrevious = if (isSplitView.get()!!) false else hasPreviousButton
-    targetList += SubmitButtonViewModel(
-      canSubmitAnswer,
-      hasConversationView,
-      hasPrevious,
-      previousNavigationButtonListener,
-      fragment as SubmitNavigationButtonListener,
-      isSplitView.get()!!
-    )
+    targetList += reuseOrCreate(
+      listOf(ViewType.SUBMIT_ANSWER_BUTTON, hasPrevious, isSplitView.get())
+    ) {
+      SubmitButtonViewModel(
+        canSubmitAnswer,
+        hasConversationView,
+        hasPrevious,
+        previousNavigationButtonListener,
+        fragment as SubmitNavigationButtonListener,
+        isSplitView.get()!!
+      )
+    }
     if (isSplitView.get()!!) {
       // "previous button" should appear in the conversation recycler view only
       addPreviousButtonNavigation(hasPreviousButton, conversationPendingItemList)
@@ -693,13 +756,17 @@ class StatePlayerRecyclerViewAssembler private constructor(
     val targetList =
       if (isSplitView.get()!!) extraInteractionPendingItemList else conversationPendingItemList
     val hasPrevious = if (isSplitView.get()!!) false else hasPreviousButton
-    targetList += ReturnToTopicButtonViewModel(
-      hasPrevious,
-      hasConversationView,
-      previousNavigationButtonListener,
-      fragment as ReturnToTopicNavigationButtonListener,
-      isSplitView.get()!!
-    )
+    targetList += reuseOrCreate(
+      listOf(ViewType.RETURN_TO_TOPIC_NAVIGATION_BUTTON, hasPrevious, isSplitView.get())
+    ) {
+      ReturnToTopicButtonViewModel(
+        hasPrevious,
+        hasConversationView,
+        previousNavigationButtonListener,
+        fragment as ReturnToTopicNavigationButtonListener,
+        isSplitView.get()!!
+      )
+    }
     if (isSplitView.get()!!) {
       // "previous button" should appear in the conversation recycler view only
       addPreviousButtonNavigation(hasPreviousButton, conversationPendingItemList)
@@ -712,12 +779,13 @@ class StatePlayerRecyclerViewAssembler private constructor(
   ) {
     val targetList =
       if (isSplitView.get()!!) extraInteractionPendingItemList else conversationPendingItemList
-    targetList +=
+    targetList += reuseOrCreate(listOf(ViewType.REPLAY_NAVIGATION_BUTTON, isSplitView.get())) {
       ReplayButtonViewModel(
         hasConversationView,
         fragment as ReplayButtonListener,
         isSplitView.get()!!
       )
+    }
   }
 
   private fun addNextButtonNavigation(
@@ -728,13 +796,17 @@ class StatePlayerRecyclerViewAssembler private constructor(
     val targetList =
       if (isSplitView.get()!!) extraInteractionPendingItemList else conversationPendingItemList
     val hasPrevious = if (isSplitView.get()!!) false else hasPreviousButton
-    targetList += NextButtonViewModel(
-      hasPrevious,
-      hasConversationView,
-      previousNavigationButtonListener,
-      fragment as NextNavigationButtonListener,
-      isSplitView.get()!!
-    )
+    targetList += reuseOrCreate(
+      listOf(ViewType.NEXT_NAVIGATION_BUTTON, hasPrevious, isSplitView.get())
+    ) {
+      NextButtonViewModel(
+        hasPrevious,
+        hasConversationView,
+        previousNavigationButtonListener,
+        fragment as NextNavigationButtonListener,
+        isSplitView.get()!!
+      )
+    }
     if (isSplitView.get()!!) {
       // "previous button" should appear in the conversation recycler view only
       addPreviousButtonNavigation(hasPreviousButton, conversationPendingItemList)
@@ -751,15 +823,24 @@ class StatePlayerRecyclerViewAssembler private constructor(
     val targetList =
       if (isSplitView.get()!!) extraInteractionPendingItemList else conversationPendingItemList
     val hasPrevious = if (isSplitView.get()!!) false else hasPreviousButton
-    targetList += ContinueNavigationButtonViewModel(
+    val inputs = listOf(
+      ViewType.CONTINUE_NAVIGATION_BUTTON,
       hasPrevious,
-      hasConversationView,
-      previousNavigationButtonListener,
-      fragment as ContinueNavigationButtonListener,
-      isSplitView.get()!!,
+      isSplitView.get(),
       shouldAnimateContinueButton,
       continueButtonAnimationTimestampMs
     )
+    targetList += reuseOrCreate(inputs) {
+      ContinueNavigationButtonViewModel(
+        hasPrevious,
+        hasConversationView,
+        previousNavigationButtonListener,
+        fragment as ContinueNavigationButtonListener,
+        isSplitView.get()!!,
+        shouldAnimateContinueButton,
+        continueButtonAnimationTimestampMs
+      )
+    }
     if (isSplitView.get()!!) {
       // "previous button" should appear in the conversation recycler view only
       addPreviousButtonNavigation(hasPreviousButton, conversationPendingItemList)
@@ -771,14 +852,36 @@ class StatePlayerRecyclerViewAssembler private constructor(
     itemList: MutableList<StateItemViewModel>
   ) {
     if (hasPreviousButton) {
-      itemList += PreviousButtonViewModel(
-        hasConversationView,
-        previousNavigationButtonListener,
-        isSplitView.get()!!
-      )
+      itemList += reuseOrCreate(listOf(ViewType.PREVIOUS_NAVIGATION_BUTTON, isSplitView.get())) {
+        PreviousButtonViewModel(
+          hasConversationView,
+          previousNavigationButtonListener,
+          isSplitView.get()!!
+        )
+      }
     }
   }
 
+  /**
+   * Returns the view model created by the previous call to [compute] from the same [inputs] (that
+   * is, the values which fully determine the view model's initial state), or a new view model from
+   * [create] if there isn't one. The first input should always be the type of the view model.
+   *
+   * View models with the same inputs within a single call to [compute] (such as for repeated wrong
+   * answers) are distinguished by the order in which they're created, so a view model is never
+   * returned more than once per computation.
+   */
+  private fun <VM : StateItemViewModel> reuseOrCreate(inputs: List<Any?>, create: () -> VM): VM {
+    val occurrence = computedInputCounts[inputs] ?: 0
+    computedInputCounts[inputs] = occurrence + 1
+    val key = ReusableViewModelKey(inputs, occurrence)
+    // This cast is safe since view models of different types never share inputs.
+    @Suppress("UNCHECKED_CAST")
+    val viewModel = reusableViewModels[key] as VM? ?: create()
+    computedViewModels[key] = viewModel
+    return viewModel
+  }
+
   private fun createBannerConfetti(confettiView: KonfettiView, config: ConfettiConfig) {
     val width = confettiView.width.toFloat()
     val height = confettiView.height.toFloat()
@@ -916,8 +1019,12 @@ class StatePlayerRecyclerViewAssembler private constructor(
     private val userAnswerState: UserAnswerState
   ) {
 
+    // Diffing ensures that only the items which changed are rebound when the state is updated,
+    // rather than every card in the conversation.
     private val adapterBuilder: BindableAdapter.MultiTypeBuilder<StateItemViewModel,
-      StateItemViewModel.ViewType> = multiTypeBuilderFactory.create { it.viewType }
+      StateItemViewModel.ViewType> =
+      multiTypeBuilderFactory.create(StateItemViewModel::viewType)
+        .enableDiffing(StateItemViewModel::itemIdentity)
 
     /**
      * Tracks features individually enabled for the assembler. No features are enabled by default.
@@ -1452,6 +1559,9 @@ class StatePlayerRecyclerViewAssembler private constructor(
     }
   }
 
+  /** The key of a view model which may be reused by a later call to [compute]. */
+  private data class ReusableViewModelKey(val inputs: List<Any?>, val occurrence: Int)
+
   /** Feature tracker for the assembler to help dictate how binding should behave. */
   private data class PlayerFeatureSet(
     val contentSupport: Boolean = false,
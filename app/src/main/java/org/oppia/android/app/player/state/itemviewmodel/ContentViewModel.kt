@@ -7,4 +7,7 @@ class ContentViewModel(
   val hasConversationView: Boolean,
   val isSplitView: Boolean,
   val supportsConceptCards: Boolean
-) : StateItemViewModel(ViewType.CONTENT)
+) : StateItemViewModel(ViewType.CONTENT) {
+  override val itemIdentity: Any
+    get() = viewType to htmlContent.toString()
+}
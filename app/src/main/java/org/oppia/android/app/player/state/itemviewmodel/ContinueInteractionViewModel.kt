@@ -49,6 +49,8 @@ class ContinueInteractionViewModel private constructor(
 
   /** Implementation of [StateItemViewModel.InteractionItemFactory] for this view model. */
   class FactoryImpl @Inject constructor(private val fragment: Fragment) : InteractionItemFactory {
+    override val viewType = ViewType.CONTINUE_INTERACTION
+
     override fun create(
       entityId: String,
       hasConversationView: Boolean,
@@ -254,6 +254,8 @@ class DragAndDropSortInteractionViewModel private constructor(
     private val resourceHandler: AppLanguageResourceHandler,
     private val translationController: TranslationController
   ) : InteractionItemFactory {
+    override val viewType = ViewType.DRAG_DROP_SORT_INTERACTION
+
     override fun create(
       entityId: String,
       hasConversationView: Boolean,
@@ -7,4 +7,7 @@ class FeedbackViewModel(
   val hasConversationView: Boolean,
   val isSplitView: Boolean,
   val supportsConceptCards: Boolean
-) : StateItemViewModel(ViewType.FEEDBACK)
+) : StateItemViewModel(ViewType.FEEDBACK) {
+  override val itemIdentity: Any
+    get() = viewType to htmlContent.toString()
+}
@@ -153,6 +153,8 @@ class FractionInteractionViewModel private constructor(
     private val resourceHandler: AppLanguageResourceHandler,
     private val translationController: TranslationController
   ) : InteractionItemFactory {
+    override val viewType = ViewType.FRACTION_INPUT_INTERACTION
+
     override fun create(
       entityId: String,
       hasConversationView: Boolean,
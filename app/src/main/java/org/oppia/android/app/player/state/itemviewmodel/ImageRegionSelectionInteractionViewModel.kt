@@ -209,6 +209,7 @@ class ImageRegionSelectionInteractionViewModel private constructor(
   class FactoryImpl @Inject constructor(
     private val resourceHandler: AppLanguageResourceHandler
   ) : InteractionItemFactory {
+    override val viewType = ViewType.IMAGE_REGION_SELECTION_INTERACTION
 
     override fun create(
       entityId: String,
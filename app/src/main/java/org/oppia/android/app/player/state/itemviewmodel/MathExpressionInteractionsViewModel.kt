@@ -246,6 +246,8 @@ class MathExpressionInteractionsViewModel private constructor(
     private val mathExpressionAccessibilityUtil: MathExpressionAccessibilityUtil,
     private val interactionType: InteractionType
   ) : InteractionItemFactory {
+    override val viewType = interactionType.viewType
+
     override fun create(
       entityId: String,
       hasConversationView: Boolean,
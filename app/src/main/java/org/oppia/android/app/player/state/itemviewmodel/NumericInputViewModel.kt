@@ -116,6 +116,8 @@ class NumericInputViewModel private constructor(
   class FactoryImpl @Inject constructor(
     private val resourceHandler: AppLanguageResourceHandler
   ) : InteractionItemFactory {
+    override val viewType = ViewType.NUMERIC_INPUT_INTERACTION
+
     override fun create(
       entityId: String,
       hasConversationView: Boolean,
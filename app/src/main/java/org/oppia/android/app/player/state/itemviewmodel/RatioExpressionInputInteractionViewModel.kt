@@ -152,6 +152,8 @@ class RatioExpressionInputInteractionViewModel private constructor(
     private val resourceHandler: AppLanguageResourceHandler,
     private val translationController: TranslationController
   ) : InteractionItemFactory {
+    override val viewType = ViewType.RATIO_EXPRESSION_INPUT_INTERACTION
+
     override fun create(
       entityId: String,
       hasConversationView: Boolean,
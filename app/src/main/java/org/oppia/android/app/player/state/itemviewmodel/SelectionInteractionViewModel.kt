@@ -289,6 +289,8 @@ class SelectionInteractionViewModel private constructor(
     private val translationController: TranslationController,
     private val resourceHandler: AppLanguageResourceHandler
   ) : InteractionItemFactory {
+    override val viewType = ViewType.SELECTION_INTERACTION
+
     override fun create(
       entityId: String,
       hasConversationView: Boolean,
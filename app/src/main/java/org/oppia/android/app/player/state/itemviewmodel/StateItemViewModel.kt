@@ -12,6 +12,16 @@ import org.oppia.android.app.viewmodel.ObservableViewModel
  * fragment recycler view.
  */
 abstract class StateItemViewModel(val viewType: ViewType) : ObservableViewModel() {
+  /**
+   * The identity of this item in the state player's list of items, used to track the item across
+   * updates to that list so that only items which actually changed need to be rebound.
+   *
+   * By default, all items of the same type share an identity (and are thus distinguished by their
+   * order in the list). Items whose contents determine which card they represent should override
+   * this so that, for example, a new answer isn't treated as a changed version of an older one.
+   */
+  open val itemIdentity: Any
+    get() = viewType
 
   /** Corresponds to the type of the view model. */
   enum class ViewType {
@@ -40,6 +50,9 @@ abstract class StateItemViewModel(val viewType: ViewType) : ObservableViewModel(
 
   /** Factory for creating new [StateItemViewModel]s for interactions. */
   interface InteractionItemFactory {
+    /** The [ViewType] of the view models created by this factory. */
+    val viewType: ViewType
+
     /**
      * Returns a new [StateItemViewModel] corresponding to this interaction with the GCS entity ID,
      * the [Interaction] object corresponding to the interaction view, a receiver for answers if
@@ -25,6 +25,9 @@ class SubmittedAnswerViewModel(
     )
   private var accessibleAnswer: String? = DEFAULT_ACCESSIBLE_ANSWER
 
+  override val itemIdentity: Any
+    get() = viewType to submittedUserAnswer
+
   fun setSubmittedAnswer(submittedAnswer: CharSequence, accessibleAnswer: String?) {
     this.submittedAnswer.set(submittedAnswer)
     this.accessibleAnswer = accessibleAnswer
@@ -138,6 +138,8 @@ class TextInputViewModel private constructor(
     private val resourceHandler: AppLanguageResourceHandler,
     private val translationController: TranslationController
   ) : InteractionItemFactory {
+    override val viewType = ViewType.TEXT_INPUT_INTERACTION
+
     override fun create(
       entityId: String,
       hasConversationView: Boolean,
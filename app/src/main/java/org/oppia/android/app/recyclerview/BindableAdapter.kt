@@ -6,7 +6,14 @@ import android.view.ViewGroup
 import androidx.databinding.ViewDataBinding
 import androidx.fragment.app.Fragment
 import androidx.lifecycle.LifecycleOwner
+import androidx.recyclerview.widget.AdapterListUpdateCallback
+import androidx.recyclerview.widget.AsyncDifferConfig
+import androidx.recyclerview.widget.AsyncListDiffer
+import androidx.recyclerview.widget.DiffUtil
 import androidx.recyclerview.widget.RecyclerView
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.asExecutor
+import org.oppia.android.util.threading.BackgroundDispatcher
 import java.lang.ref.WeakReference
 import javax.inject.Inject
 import kotlin.reflect.KClass
@@ -17,6 +24,12 @@ private typealias ComputeIntViewType<T> = (T) -> Int
 /** A function that returns the enum-based type of view that can bind the specified data object. */
 typealias ComputeViewType<T, E> = (T) -> E
 
+/**
+ * A function that returns the identity of the specified data object, that is, a value which is
+ * equal for two data objects when they represent the same item (even if their contents differ).
+ */
+typealias ComputeItemIdentity<T> = (T) -> Any
+
 /** The default type of all views used in single-type adapters. */
 private const val DEFAULT_VIEW_TYPE = 0
 
@@ -28,23 +41,46 @@ private typealias ViewHolderFactory<T> = (ViewGroup) -> BindableAdapter.Bindable
  *
  * This is loosely based on https://android.jlelse.eu/1bd08b4796b4 except the concept was extended
  * to include seamlessly binding to views using data-binding in a type-safe and lifecycle-safe way.
+ *
+ * By default, every data update rebinds the entire list. Adapters built with diffing enabled (see
+ * [SingleTypeBuilder.enableDiffing] and [MultiTypeBuilder.enableDiffing]) instead compute the
+ * difference between the old & new lists on a background thread, and only notify the items which
+ * were actually added, removed, moved, or changed. Such adapters also use stable IDs derived from
+ * the identities of their items so that unchanged items keep their views.
  */
 class BindableAdapter<T : Any> internal constructor(
   private val computeIntViewType: ComputeIntViewType<T>,
   private val viewHolderFactoryMap: Map<Int, ViewHolderFactory<T>>,
-  private val dataClassType: KClass<T>
+  private val dataClassType: KClass<T>,
+  private val computeItemIdentity: ComputeItemIdentity<T>?,
+  backgroundDispatcher: CoroutineDispatcher
 ) : RecyclerView.Adapter<BindableAdapter.BindableViewHolder<T>>() {
   private val dataList: MutableList<T> = ArrayList()
+  private val asyncListDiffer: AsyncListDiffer<IdentifiedItem<T>>? =
+    computeItemIdentity?.let {
+      AsyncListDiffer(
+        AdapterListUpdateCallback(this),
+        AsyncDifferConfig.Builder(IdentifiedItemCallback<T>())
+          .setBackgroundThreadExecutor(backgroundDispatcher.asExecutor())
+          .build()
+      )
+    }
+  private var itemIds: Map<ItemKey, Long> = mapOf()
+  private var nextItemId = 0L
 
-  // TODO(#170): Introduce support for stable IDs.
+  init {
+    setHasStableIds(asyncListDiffer != null)
+  }
 
   /** Sets the data of this adapter. This is expected to be called by Android via data-binding. */
   fun setData(newDataList: List<T>) {
-    dataList.clear()
-    dataList += newDataList
-    // TODO(#171): Introduce diffing to notify subsets of the view to properly support animations
-    //  rather than re-binding the entire list upon any change.
-    notifyDataSetChanged()
+    if (asyncListDiffer != null) {
+      asyncListDiffer.submitList(identifyItems(newDataList))
+    } else {
+      dataList.clear()
+      dataList += newDataList
+      notifyDataSetChanged()
+    }
   }
 
   /**
@@ -70,6 +106,34 @@ class BindableAdapter<T : Any> internal constructor(
     setData(newDataList as List<T>)
   }
 
+  /**
+   * Returns a copy of the specified data list with each item paired with its stable ID. Items
+   * which share an identity with an item from the previous data list keep that item's ID.
+   */
+  private fun identifyItems(newDataList: List<T>): List<IdentifiedItem<T>> {
+    val computeItemIdentity = checkNotNull(computeItemIdentity)
+    // Items with the same identity are distinguished by the order in which they occur so that IDs
+    // are always unique, even for lists containing duplicate items.
+    val occurrenceCounts = mutableMapOf<Any, Int>()
+    val newItemIds = mutableMapOf<ItemKey, Long>()
+    val identifiedItems = newDataList.map { item ->
+      val identity = computeItemIdentity(item)
+      val occurrence = occurrenceCounts[identity] ?: 0
+      occurrenceCounts[identity] = occurrence + 1
+      val itemKey = ItemKey(identity, occurrence)
+      val itemId = itemIds[itemKey] ?: nextItemId++
+      newItemIds[itemKey] = itemId
+      IdentifiedItem(item, itemId)
+    }
+    // IDs of items which have been removed are dropped so that they don't accumulate.
+    itemIds = newItemIds
+    return identifiedItems
+  }
+
+  private fun getItem(position: Int): T {
+    return asyncListDiffer?.currentList?.get(position)?.item ?: dataList[position]
+  }
+
   override fun onCreateViewHolder(parent: ViewGroup, viewType: Int): BindableViewHolder<T> {
     val viewHolderFactory = viewHolderFactoryMap[viewType]
     checkNotNull(viewHolderFactory) { "Encountered missing view factory for type: $viewType" }
@@ -77,15 +141,41 @@ class BindableAdapter<T : Any> internal constructor(
   }
 
   override fun getItemCount(): Int {
-    return dataList.size
+    return asyncListDiffer?.currentList?.size ?: dataList.size
+  }
+
+  override fun getItemId(position: Int): Long {
+    return asyncListDiffer?.currentList?.get(position)?.itemId ?: RecyclerView.NO_ID
   }
 
   override fun getItemViewType(position: Int): Int {
-    return computeIntViewType(dataList[position])
+    return computeIntViewType(getItem(position))
   }
 
   override fun onBindViewHolder(holder: BindableViewHolder<T>, position: Int) {
-    holder.bind(dataList[position])
+    holder.bind(getItem(position))
+  }
+
+  /** A unique key for an item within a single data list of a diffing adapter. */
+  private data class ItemKey(val identity: Any, val occurrence: Int)
+
+  /** An item of a diffing adapter's data list, paired with its stable ID. */
+  private class IdentifiedItem<T>(val item: T, val itemId: Long)
+
+  /**
+   * A [DiffUtil.ItemCallback] which considers items to be the same if they share a stable ID, and
+   * to have the same contents if they're equal.
+   */
+  private class IdentifiedItemCallback<T> : DiffUtil.ItemCallback<IdentifiedItem<T>>() {
+    override fun areItemsTheSame(
+      oldItem: IdentifiedItem<T>,
+      newItem: IdentifiedItem<T>
+    ): Boolean = oldItem.itemId == newItem.itemId
+
+    override fun areContentsTheSame(
+      oldItem: IdentifiedItem<T>,
+      newItem: IdentifiedItem<T>
+    ): Boolean = oldItem.item == newItem.item
   }
 
   /** A generic [RecyclerView.ViewHolder] that generically binds data to the specified view. */
@@ -99,7 +189,11 @@ class BindableAdapter<T : Any> internal constructor(
    * The base builder for [BindableAdapter]. This class should not be used directly--use either
    * [SingleTypeBuilder] or [MultiTypeBuilder] instead.
    */
-  abstract class BaseBuilder(fragment: Fragment) {
+  abstract class BaseBuilder(
+    fragment: Fragment,
+    /** The dispatcher used by diffing adapters to compute changes to their data. */
+    protected val backgroundDispatcher: CoroutineDispatcher
+  ) {
     /**
      * A [WeakReference] to a [LifecycleOwner] for databinding inflation.
      * Note that this needs to be a weak reference so that long-held references to the adapter do
@@ -131,9 +225,32 @@ class BindableAdapter<T : Any> internal constructor(
    */
   class SingleTypeBuilder<T : Any>(
     private val dataClassType: KClass<T>,
-    fragment: Fragment
-  ) : BaseBuilder(fragment) {
+    fragment: Fragment,
+    backgroundDispatcher: CoroutineDispatcher
+  ) : BaseBuilder(fragment, backgroundDispatcher) {
     private lateinit var viewHolderFactory: ViewHolderFactory<T>
+    private var computeItemIdentity: ComputeItemIdentity<T>? = null
+
+    /**
+     * Enables diffing for the adapter: rather than rebinding all views whenever its data changes,
+     * the adapter will compute which items changed off the main thread and only rebind those.
+     *
+     * Items with the same identity are considered to be the same item across data updates (and
+     * thus keep the same stable ID), and they're only rebound if they aren't equal to their
+     * previous version. Note that this means items whose properties can change without affecting
+     * their equality (such as items that are compared by reference) must be replaced with new
+     * instances in order to be rebound.
+     *
+     * @param computeItemIdentity function that returns the identity of the specified item. This
+     *     must be consistent across data updates, but doesn't need to be unique within a single
+     *     list of data (duplicate identities are distinguished by their order).
+     * @return this
+     */
+    fun enableDiffing(computeItemIdentity: ComputeItemIdentity<T>): SingleTypeBuilder<T> {
+      check(this.computeItemIdentity == null) { "Diffing is already enabled" }
+      this.computeItemIdentity = computeItemIdentity
+      return this
+    }
 
     /**
      * Registers a [View] inflater and bind function for views in the recycler view.
@@ -223,15 +340,20 @@ class BindableAdapter<T : Any> internal constructor(
       return BindableAdapter(
         { DEFAULT_VIEW_TYPE },
         mapOf(DEFAULT_VIEW_TYPE to viewHolderFactory),
-        dataClassType
+        dataClassType,
+        computeItemIdentity,
+        backgroundDispatcher
       )
     }
 
     /** Fragment injectable factory to create new [SingleTypeBuilder]. */
-    class Factory @Inject constructor(val fragment: Fragment) {
+    class Factory @Inject constructor(
+      val fragment: Fragment,
+      @BackgroundDispatcher val backgroundDispatcher: CoroutineDispatcher
+    ) {
       /** Returns a new [SingleTypeBuilder] for the specified Data class type. */
       inline fun <reified T : Any> create(): SingleTypeBuilder<T> =
-        SingleTypeBuilder(T::class, fragment)
+        SingleTypeBuilder(T::class, fragment, backgroundDispatcher)
     }
   }
 
@@ -244,9 +366,18 @@ class BindableAdapter<T : Any> internal constructor(
   class MultiTypeBuilder<T : Any, E : Enum<E>>(
     private val dataClassType: KClass<T>,
     private val computeViewType: ComputeViewType<T, E>,
-    fragment: Fragment
-  ) : BaseBuilder(fragment) {
+    fragment: Fragment,
+    backgroundDispatcher: CoroutineDispatcher
+  ) : BaseBuilder(fragment, backgroundDispatcher) {
     private var viewHolderFactoryMap: MutableMap<E, ViewHolderFactory<T>> = HashMap()
+    private var computeItemIdentity: ComputeItemIdentity<T>? = null
+
+    /** See [SingleTypeBuilder.enableDiffing]. */
+    fun enableDiffing(computeItemIdentity: ComputeItemIdentity<T>): MultiTypeBuilder<T, E> {
+      check(this.computeItemIdentity == null) { "Diffing is already enabled" }
+      this.computeItemIdentity = computeItemIdentity
+      return this
+    }
 
     /**
      * Registers a [View] inflater and bind function for views of the specified view type (with
@@ -357,16 +488,22 @@ class BindableAdapter<T : Any> internal constructor(
       return BindableAdapter(
         { value -> computeViewType(value).ordinal },
         viewHolderFactoryMap.mapKeys { entry -> entry.key.ordinal },
-        dataClassType
+        dataClassType,
+        computeItemIdentity,
+        backgroundDispatcher
       )
     }
 
     /** Fragment injectable factory to create new [MultiTypeBuilder]. */
-    class Factory @Inject constructor(val fragment: Fragment) {
+    class Factory @Inject constructor(
+      val fragment: Fragment,
+      @BackgroundDispatcher val backgroundDispatcher: CoroutineDispatcher
+    ) {
       /** Returns a new [MultiTypeBuilder] for the specified data class type. */
       inline fun <reified T : Any, reified E : Enum<E>> create(
         noinline computeViewType: ComputeViewType<T, E>
-      ): MultiTypeBuilder<T, E> = MultiTypeBuilder(T::class, computeViewType, fragment)
+      ): MultiTypeBuilder<T, E> =
+        MultiTypeBuilder(T::class, computeViewType, fragment, backgroundDispatcher)
     }
   }
 }
@@ -162,8 +162,8 @@ class QuestionPlayerFragmentPresenter @Inject constructor(
   }
 
   fun onResponsesHeaderClicked() {
+    // The adapter is automatically notified of the affected items via the list's data binding.
     recyclerViewAssembler.togglePreviousAnswers(questionViewModel.itemList)
-    recyclerViewAssembler.adapter.notifyDataSetChanged()
   }
 
   /** Returns the [UserAnswerState] representing the user's current pending answer. */
@@ -243,10 +243,16 @@ class QuestionPlayerFragmentPresenter @Inject constructor(
       isSplitView
     )
 
-    questionViewModel.itemList.clear()
-    questionViewModel.itemList += dataPair.first
-    questionViewModel.rightItemList.clear()
-    questionViewModel.rightItemList += dataPair.second
+    // The assembler reuses view models for unchanged items, so the lists only need to be updated
+    // (and thus rebound) if the items actually changed.
+    if (questionViewModel.itemList != dataPair.first) {
+      questionViewModel.itemList.clear()
+      questionViewModel.itemList += dataPair.first
+    }
+    if (questionViewModel.rightItemList != dataPair.second) {
+      questionViewModel.rightItemList.clear()
+      questionViewModel.rightItemList += dataPair.second
+    }
   }
 
   private fun updateProgress(currentQuestionIndex: Int, questionCount: Int) {
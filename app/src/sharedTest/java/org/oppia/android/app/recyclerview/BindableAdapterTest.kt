@@ -146,6 +146,8 @@ class BindableAdapterTest {
   @Inject
   lateinit var testCoroutineDispatchers: TestCoroutineDispatchers
 
+  private val boundDataModels = mutableListOf<BindableAdapterTestDataModel>()
+
   @Before
   fun setUp() {
     setUpTestApplicationComponent()
@@ -433,6 +435,195 @@ class BindableAdapterTest {
     }
   }
 
+  @Test
+  fun testSingleTypeAdapter_withDiffing_setMultipleItems_automaticallyBinds() {
+    // Set up the adapter to be used for this test.
+    TestModule.testAdapterFactory = { singleTypeFactory, _ ->
+      createSingleViewTypeWithDiffingBindableAdapter(singleTypeFactory)
+    }
+
+    launch(BindableAdapterTestActivity::class.java).use { scenario ->
+      scenario.onActivity { activity ->
+        val liveData = getRecyclerViewListLiveData(activity)
+        liveData.value = listOf(STR_VALUE_1, STR_VALUE_0, STR_VALUE_2)
+      }
+      testCoroutineDispatchers.runCurrent()
+
+      scenario.onActivity { activity ->
+        val recyclerView: RecyclerView =
+          getTestFragment(activity).view!!.findViewById(R.id.test_recycler_view)
+        assertThat(recyclerView.childCount).isEqualTo(3)
+      }
+      onView(atPosition(recyclerViewId = R.id.test_recycler_view, position = 0))
+        .check(matches(withText(STR_VALUE_1.boundStringValue)))
+      onView(atPosition(recyclerViewId = R.id.test_recycler_view, position = 1))
+        .check(matches(withText(STR_VALUE_0.boundStringValue)))
+      onView(atPosition(recyclerViewId = R.id.test_recycler_view, position = 2))
+        .check(matches(withText(STR_VALUE_2.boundStringValue)))
+    }
+  }
+
+  @Test
+  fun testSingleTypeAdapter_withDiffing_updateItems_onlyBindsChangedItems() {
+    // Set up the adapter to be used for this test.
+    TestModule.testAdapterFactory = { singleTypeFactory, _ ->
+      createSingleViewTypeWithDiffingBindableAdapter(singleTypeFactory)
+    }
+
+    launch(BindableAdapterTestActivity::class.java).use { scenario ->
+      scenario.onActivity { activity ->
+        val liveData = getRecyclerViewListLiveData(activity)
+        liveData.value = listOf(STR_VALUE_0, STR_VALUE_1)
+      }
+      testCoroutineDispatchers.runCurrent()
+      boundDataModels.clear()
+
+      scenario.onActivity { activity ->
+        val liveData = getRecyclerViewListLiveData(activity)
+        liveData.value = listOf(STR_VALUE_0, STR_VALUE_1, STR_VALUE_2)
+      }
+      testCoroutineDispatchers.runCurrent()
+
+      // Only the newly added item should be bound since the others didn't change.
+      assertThat(boundDataModels).containsExactly(STR_VALUE_2)
+      onView(atPosition(recyclerViewId = R.id.test_recycler_view, position = 2))
+        .check(matches(withText(STR_VALUE_2.boundStringValue)))
+    }
+  }
+
+  @Test
+  fun testSingleTypeAdapter_withDiffing_changeItemWithSameIdentity_rebindsChangedItem() {
+    // Set up the adapter to be used for this test. All items share the same identity.
+    TestModule.testAdapterFactory = { singleTypeFactory, _ ->
+      createSingleViewTypeWithDiffingBindableAdapter(singleTypeFactory) { it.javaClass }
+    }
+
+    launch(BindableAdapterTestActivity::class.java).use { scenario ->
+      scenario.onActivity { activity ->
+        val liveData = getRecyclerViewListLiveData(activity)
+        liveData.value = listOf(STR_VALUE_0, STR_VALUE_1)
+      }
+      testCoroutineDispatchers.runCurrent()
+      boundDataModels.clear()
+
+      scenario.onActivity { activity ->
+        val liveData = getRecyclerViewListLiveData(activity)
+        liveData.value = listOf(STR_VALUE_0, STR_VALUE_2)
+      }
+      testCoroutineDispatchers.runCurrent()
+
+      // The second item is rebound since its contents changed, but the first item is unchanged.
+      assertThat(boundDataModels).containsExactly(STR_VALUE_2)
+      onView(atPosition(recyclerViewId = R.id.test_recycler_view, position = 1))
+        .check(matches(withText(STR_VALUE_2.boundStringValue)))
+    }
+  }
+
+  @Test
+  fun testSingleTypeAdapter_withDiffing_insertItemBeforeExisting_keepsStableIdsOfExistingItems() {
+    // Set up the adapter to be used for this test.
+    TestModule.testAdapterFactory = { singleTypeFactory, _ ->
+      createSingleViewTypeWithDiffingBindableAdapter(singleTypeFactory)
+    }
+
+    launch(BindableAdapterTestActivity::class.java).use { scenario ->
+      var originalItemId: Long? = null
+      scenario.onActivity { activity ->
+        val liveData = getRecyclerViewListLiveData(activity)
+        liveData.value = listOf(STR_VALUE_0)
+      }
+      testCoroutineDispatchers.runCurrent()
+      scenario.onActivity { activity ->
+        originalItemId = getTestRecyclerViewAdapter(activity).getItemId(0)
+      }
+
+      scenario.onActivity { activity ->
+        val liveData = getRecyclerViewListLiveData(activity)
+        liveData.value = listOf(STR_VALUE_1, STR_VALUE_0)
+      }
+      testCoroutineDispatchers.runCurrent()
+
+      scenario.onActivity { activity ->
+        val adapter = getTestRecyclerViewAdapter(activity)
+        assertThat(adapter.hasStableIds()).isTrue()
+        assertThat(adapter.getItemId(1)).isEqualTo(originalItemId)
+        assertThat(adapter.getItemId(0)).isNotEqualTo(originalItemId)
+      }
+    }
+  }
+
+  @Test
+  fun testSingleTypeAdapter_withDiffing_duplicateItems_assignsUniqueStableIds() {
+    // Set up the adapter to be used for this test.
+    TestModule.testAdapterFactory = { singleTypeFactory, _ ->
+      createSingleViewTypeWithDiffingBindableAdapter(singleTypeFactory)
+    }
+
+    launch(BindableAdapterTestActivity::class.java).use { scenario ->
+      scenario.onActivity { activity ->
+        val liveData = getRecyclerViewListLiveData(activity)
+        liveData.value = listOf(STR_VALUE_0, STR_VALUE_0)
+      }
+      testCoroutineDispatchers.runCurrent()
+
+      scenario.onActivity { activity ->
+        val adapter = getTestRecyclerViewAdapter(activity)
+        assertThat(adapter.itemCount).isEqualTo(2)
+        assertThat(adapter.getItemId(0)).isNotEqualTo(adapter.getItemId(1))
+      }
+    }
+  }
+
+  @Test
+  fun testSingleTypeAdapter_withoutDiffing_doesNotHaveStableIds() {
+    // Set up the adapter to be used for this test.
+    TestModule.testAdapterFactory = { singleTypeFactory, _ ->
+      createSingleViewTypeNoDataBindingBindableAdapter(singleTypeFactory)
+    }
+
+    launch(BindableAdapterTestActivity::class.java).use { scenario ->
+      scenario.onActivity { activity ->
+        val liveData = getRecyclerViewListLiveData(activity)
+        liveData.value = listOf(STR_VALUE_0)
+      }
+      testCoroutineDispatchers.runCurrent()
+
+      scenario.onActivity { activity ->
+        val adapter = getTestRecyclerViewAdapter(activity)
+        assertThat(adapter.hasStableIds()).isFalse()
+        assertThat(adapter.getItemId(0)).isEqualTo(RecyclerView.NO_ID)
+      }
+    }
+  }
+
+  @Test
+  fun testMultiTypeAdapter_withDiffing_updateItems_onlyBindsChangedItems() {
+    // Set up the adapter to be used for this test.
+    TestModule.testAdapterFactory = { _, multiTypeFactory ->
+      createMultiViewTypeWithDiffingBindableAdapter(multiTypeFactory)
+    }
+
+    launch(BindableAdapterTestActivity::class.java).use { scenario ->
+      scenario.onActivity { activity ->
+        val liveData = getRecyclerViewListLiveData(activity)
+        liveData.value = listOf(STR_VALUE_0, INT_VALUE_0)
+      }
+      testCoroutineDispatchers.runCurrent()
+      boundDataModels.clear()
+
+      scenario.onActivity { activity ->
+        val liveData = getRecyclerViewListLiveData(activity)
+        liveData.value = listOf(STR_VALUE_0, INT_VALUE_1)
+      }
+      testCoroutineDispatchers.runCurrent()
+
+      // Only the changed int item should be rebound.
+      assertThat(boundDataModels).containsExactly(INT_VALUE_1)
+      onView(atPosition(recyclerViewId = R.id.test_recycler_view, position = 1))
+        .check(matches(withSubstring(INT_VALUE_1.intValue.toString())))
+    }
+  }
+
   private fun setUpTestApplicationComponent() {
     ApplicationProvider.getApplicationContext<TestApplication>().inject(this)
   }
@@ -516,6 +707,47 @@ class BindableAdapterTest {
       .build()
   }
 
+  private fun createSingleViewTypeWithDiffingBindableAdapter(
+    singleTypeBuilderFactory: SingleTypeBuilder.Factory,
+    computeItemIdentity: (BindableAdapterTestDataModel) -> Any = { it }
+  ): BindableAdapter<BindableAdapterTestDataModel> {
+    return singleTypeBuilderFactory.create<BindableAdapterTestDataModel>()
+      .registerViewBinder(
+        inflateView = this::inflateTextViewForStringWithoutDataBinding,
+        bindView = { textView, data ->
+          boundDataModels += data
+          bindTextViewForStringWithoutDataBinding(textView, data)
+        }
+      )
+      .enableDiffing(computeItemIdentity)
+      .build()
+  }
+
+  private fun createMultiViewTypeWithDiffingBindableAdapter(
+    multiTypeBuilderFactory: MultiTypeBuilder.Factory
+  ): BindableAdapter<BindableAdapterTestDataModel> {
+    return multiTypeBuilderFactory.create(ViewModelType.Companion::deriveTypeFrom)
+      .registerViewBinder(
+        viewType = ViewModelType.STRING,
+        inflateView = this::inflateTextViewForStringWithoutDataBinding,
+        bindView = { textView, data ->
+          boundDataModels += data
+          bindTextViewForStringWithoutDataBinding(textView, data)
+        }
+      )
+      .registerViewBinder(
+        viewType = ViewModelType.INT,
+        inflateView = this::inflateTextViewForIntWithoutDataBinding,
+        bindView = { textView, data ->
+          boundDataModels += data
+          bindTextViewForIntWithoutDataBinding(textView, data)
+        }
+      )
+      // All items of the same type share an identity so that changed values are rebound in place.
+      .enableDiffing(ViewModelType.Companion::deriveTypeFrom)
+      .build()
+  }
+
   private fun inflateTextViewForStringWithoutDataBinding(viewGroup: ViewGroup): TextView {
     val inflater = LayoutInflater.from(ApplicationProvider.getApplicationContext())
     return inflater.inflate(
@@ -562,6 +794,14 @@ class BindableAdapterTest {
     return getTestFragment(activity).bindableAdapterTestFragmentPresenter
   }
 
+  private fun getTestRecyclerViewAdapter(
+    activity: BindableAdapterTestActivity
+  ): RecyclerView.Adapter<*> {
+    val recyclerView: RecyclerView =
+      getTestFragment(activity).view!!.findViewById(R.id.test_recycler_view)
+    return checkNotNull(recyclerView.adapter)
+  }
+
   private fun getTestFragment(activity: BindableAdapterTestActivity): BindableAdapterTestFragment {
     return activity.supportFragmentManager.findFragmentByTag(
       BINDABLE_TEST_FRAGMENT_TAG
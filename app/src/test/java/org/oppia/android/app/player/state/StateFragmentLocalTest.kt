@@ -28,6 +28,7 @@ import androidx.test.espresso.assertion.ViewAssertions.matches
 import androidx.test.espresso.contrib.RecyclerViewActions.scrollToHolder
 import androidx.test.espresso.contrib.RecyclerViewActions.scrollToPosition
 import androidx.test.espresso.matcher.RootMatchers.isDialog
+import androidx.test.espresso.matcher.ViewMatchers.hasDescendant
 import androidx.test.espresso.matcher.ViewMatchers.isClickable
 import androidx.test.espresso.matcher.ViewMatchers.isCompletelyDisplayed
 import androidx.test.espresso.matcher.ViewMatchers.isDisplayed
@@ -476,6 +477,35 @@ class StateFragmentLocalTest {
     }
   }
 
+  @Test
+  fun testStateFragment_nextState_typeAnswer_wait60seconds_hintIsAvailable_typedAnswerIsKept() {
+    launchForExploration(FRACTIONS_EXPLORATION_ID_1).use {
+      startPlayingExploration()
+      playThroughFractionsState1()
+      typeFractionAnswer(text = "1/")
+
+      testCoroutineDispatchers.advanceTimeBy(TimeUnit.SECONDS.toMillis(60))
+
+      // The hint becoming available shouldn't reset the learner's in-progress answer.
+      onView(withId(R.id.hint_bulb)).check(matches(isDisplayed()))
+      onView(withId(R.id.state_recycler_view)).perform(scrollToViewType(FRACTION_INPUT_INTERACTION))
+      onView(withId(R.id.fraction_input_interaction_view)).check(matches(withText("1/")))
+    }
+  }
+
+  @Test
+  fun testStateFragment_nextState_submitWrongAnswer_typedAnswerIsReset() {
+    launchForExploration(FRACTIONS_EXPLORATION_ID_1).use {
+      startPlayingExploration()
+      playThroughFractionsState1()
+
+      submitWrongAnswerToFractionsState2()
+
+      onView(withId(R.id.state_recycler_view)).perform(scrollToViewType(FRACTION_INPUT_INTERACTION))
+      onView(withId(R.id.fraction_input_interaction_view)).check(matches(withText("")))
+    }
+  }
+
   @Test
   fun testStateFragment_nextState_wait60seconds_canViewOneHint() {
     launchForExploration(FRACTIONS_EXPLORATION_ID_1).use {
@@ -706,6 +736,90 @@ class StateFragmentLocalTest {
     }
   }
 
+  @Test
+  fun testStateFragment_expandResponse_viewHint_checkPreviousHeaderStaysExpanded() {
+    launchForExploration(FRACTIONS_EXPLORATION_ID_1).use {
+      startPlayingExploration()
+      playThroughFractionsState1()
+      submitTwoWrongAnswersForFractionsState2()
+      onView(withId(R.id.state_recycler_view)).perform(scrollToViewType(PREVIOUS_RESPONSES_HEADER))
+      testCoroutineDispatchers.runCurrent()
+      onView(withId(R.id.previous_response_header)).perform(click())
+      testCoroutineDispatchers.runCurrent()
+
+      // Revealing a hint updates the state without changing its previous responses.
+      openHintsAndSolutionsDialog()
+      pressRevealHintButton(hintPosition = 0)
+      closeHintsAndSolutionsDialog()
+      onView(withId(R.id.state_recycler_view)).perform(scrollToViewType(PREVIOUS_RESPONSES_HEADER))
+      testCoroutineDispatchers.runCurrent()
+
+      // Both failed answers should still be showing.
+      onView(withId(R.id.state_recycler_view))
+        .check(
+          matchesChildren(matcher = withId(R.id.submitted_answer_container), times = 2)
+        )
+    }
+  }
+
+  @Test
+  fun testStateFragment_expandResponse_viewHint_collapseResponse_checkPreviousHeaderCollapsed() {
+    launchForExploration(FRACTIONS_EXPLORATION_ID_1).use {
+      startPlayingExploration()
+      playThroughFractionsState1()
+      submitTwoWrongAnswersForFractionsState2()
+      onView(withId(R.id.state_recycler_view)).perform(scrollToViewType(PREVIOUS_RESPONSES_HEADER))
+      testCoroutineDispatchers.runCurrent()
+      onView(withId(R.id.previous_response_header)).perform(click())
+      testCoroutineDispatchers.runCurrent()
+      openHintsAndSolutionsDialog()
+      pressRevealHintButton(hintPosition = 0)
+      closeHintsAndSolutionsDialog()
+
+      onView(withId(R.id.state_recycler_view)).perform(scrollToViewType(PREVIOUS_RESPONSES_HEADER))
+      testCoroutineDispatchers.runCurrent()
+      onView(withId(R.id.previous_response_header)).perform(click())
+      testCoroutineDispatchers.runCurrent()
+
+      // Only the latest failed answer should now be showing.
+      onView(withId(R.id.state_recycler_view))
+        .check(
+          matchesChildren(matcher = withId(R.id.submitted_answer_container), times = 1)
+        )
+    }
+  }
+
+  @Test
+  fun testStateFragment_submitWrongThenCorrectAnswer_expandResponse_onlyLastAnswerIsCorrect() {
+    launchForExploration(FRACTIONS_EXPLORATION_ID_1).use {
+      startPlayingExploration()
+      playThroughFractionsState1()
+      submitWrongAnswerToFractionsState2()
+      submitFractionAnswer(text = "3/4")
+
+      onView(withId(R.id.state_recycler_view)).perform(scrollToViewType(PREVIOUS_RESPONSES_HEADER))
+      testCoroutineDispatchers.runCurrent()
+      onView(withId(R.id.previous_response_header)).perform(click())
+      testCoroutineDispatchers.runCurrent()
+
+      // The earlier answer is shown as incorrect even though it was the latest answer beforehand.
+      onView(withId(R.id.state_recycler_view))
+        .check(
+          matchesChildren(
+            matcher = hasDescendant(withContentDescription("Incorrect submitted answer")),
+            times = 1
+          )
+        )
+      onView(withId(R.id.state_recycler_view))
+        .check(
+          matchesChildren(
+            matcher = hasDescendant(withContentDescription("Correct submitted answer")),
+            times = 1
+          )
+        )
+    }
+  }
+
   @Test
   fun testStateFragment_nextState_submitInitialWrongAnswer_noHintAvailable() {
     launchForExploration(FRACTIONS_EXPLORATION_ID_1).use {
@@ -2,6 +2,8 @@ package org.oppia.android.data.persistence
 
 import android.app.Application
 import androidx.annotation.GuardedBy
+import com.google.protobuf.CodedInputStream
+import com.google.protobuf.CodedOutputStream
 import com.google.protobuf.MessageLite
 import kotlinx.coroutines.Deferred
 import org.oppia.android.app.model.ProfileId
@@ -10,15 +12,26 @@ import org.oppia.android.util.data.AsyncResult
 import org.oppia.android.util.data.DataProvider
 import org.oppia.android.util.data.InMemoryBlockingCache
 import org.oppia.android.util.profile.DirectoryManagementUtil
+import java.io.DataInputStream
+import java.io.DataOutputStream
 import java.io.File
-import java.io.FileInputStream
 import java.io.FileOutputStream
 import java.io.IOException
+import java.io.RandomAccessFile
 import java.util.concurrent.locks.ReentrantLock
+import java.util.zip.CRC32
 import javax.inject.Inject
 import javax.inject.Singleton
 import kotlin.concurrent.withLock
 
+private const val CACHE_FILE_MAGIC = 0x004F4353 // '\0' followed by "OCS".
+private const val CACHE_FILE_FORMAT_VERSION = 1
+private const val CACHE_FILE_HEADER_SIZE_BYTES = 16
+private const val JOURNAL_FORMAT_VERSION = 1
+private const val JOURNAL_HEADER_SIZE_BYTES = 8
+private const val JOURNAL_RECORD_CHECKSUM_SIZE_BYTES = 4
+private const val MIN_JOURNAL_COMPACTION_SIZE_BYTES = 16 * 1024L
+
 /**
  * An on-disk persistent cache for proto messages that ensures reads and writes happen in a
  * well-defined order.
@@ -33,6 +46,17 @@ import kotlin.concurrent.withLock
  *
  * Note that this is a fast-response data provider, meaning it will provide a [AsyncResult.Pending]
  * result to subscribers immediately until the actual store is retrieved from disk.
+ *
+ * Writes to the store are crash-safe: the new store is written to a temporary file, synced to disk,
+ * and then atomically renamed over the store's file (keeping the previous generation as a backup).
+ * Each file starts with a header containing a format version and a checksum of its payload so that
+ * corrupted or partially written files can be detected on load, in which case the store falls back
+ * to the last good generation rather than failing.
+ *
+ * Stores created with [StorageMode.JOURNALED] additionally keep an append-only journal of changes
+ * made via [storeDeltaAsync] next to the on-disk snapshot of the store. This allows small,
+ * additive changes to large stores to be persisted with I/O proportional to the size of the change
+ * rather than the size of the whole store. See [StorageMode] for specifics.
  */
 class PersistentCacheStore<T : MessageLite> private constructor(
   application: Application,
@@ -40,6 +64,7 @@ class PersistentCacheStore<T : MessageLite> private constructor(
   private val asyncDataSubscriptionManager: AsyncDataSubscriptionManager,
   cacheName: String,
   private val initialValue: T,
+  private val storageMode: StorageMode,
   directory: File = application.filesDir
 ) : DataProvider<T>(application) {
   private val cacheFileName = "$cacheName.cache"
@@ -47,8 +72,27 @@ class PersistentCacheStore<T : MessageLite> private constructor(
   private val failureLock = ReentrantLock()
 
   private val cacheFile = File(directory, cacheFileName)
+  private val tempCacheFile = File(directory, "$cacheFileName.tmp")
+  private val backupCacheFile = File(directory, "$cacheFileName.bak")
+  private val journalFile = File(directory, "$cacheName.journal")
   @GuardedBy("failureLock")
   private var deferredLoadCacheFailure: Throwable? = null
+
+  /**
+   * Whether [cacheFile] is known to contain a valid generation of the store (and thus is safe to
+   * keep as a backup when writing a new generation). This doesn't require a lock since it's only
+   * ever accessed from the cache's update thread.
+   */
+  private var isCacheFileValid = false
+
+  // The following journal bookkeeping properties don't require a lock since they're only ever
+  // accessed from the cache's update thread (and only used for JOURNALED stores).
+  /** The most recent value persisted on disk (snapshot plus journal), if known. */
+  private var onDiskValue: T? = null
+  private var snapshotChecksum: Int = 0
+  private var snapshotSizeBytes: Int = 0
+  private var journalSizeBytes: Long = 0
+
   private val cache =
     cacheFactory.create(CachePayload(state = CacheState.UNLOADED, value = initialValue))
 
@@ -231,6 +275,41 @@ class PersistentCacheStore<T : MessageLite> private constructor(
     }
   }
 
+  /**
+   * Updates the store similarly to [storeDataAsync], except the provided function computes a
+   * [Delta] describing the change rather than the full new value of the store.
+   *
+   * [Delta.Merge] changes are merged into the current value of the store using protobuf merge
+   * semantics (singular fields are overwritten if set, repeated fields are appended, and map
+   * entries are overwritten by key). For [StorageMode.JOURNALED] stores these are appended to the
+   * store's on-disk journal rather than rewriting the entire store. [Delta.Replace] changes (such
+   * as those which remove data from the store) always rewrite the full store, and compact any
+   * journal.
+   *
+   * Stores using [StorageMode.SNAPSHOT] support this method, too, but always rewrite the full
+   * store.
+   *
+   * See [storeDataAsync] for specifics on [updateInMemoryCache].
+   */
+  fun storeDeltaAsync(updateInMemoryCache: Boolean = true, update: (T) -> Delta<T>): Deferred<Any> {
+    return cache.updateIfPresentAsync { cachedPayload ->
+      val updatedPayload = storeFileCacheDelta(cachedPayload, update(cachedPayload.value))
+      if (updateInMemoryCache) updatedPayload else cachedPayload
+    }
+  }
+
+  /** See [storeDeltaAsync]. Stores a [Delta] and allows for a custom deferred result. */
+  fun <V> storeDeltaWithCustomChannelAsync(
+    updateInMemoryCache: Boolean = true,
+    update: suspend (T) -> Pair<Delta<T>, V>
+  ): Deferred<V> {
+    return cache.updateWithCustomChannelIfPresentAsync { cachedPayload ->
+      val (delta, customResult) = update(cachedPayload.value)
+      val updatedPayload = storeFileCacheDelta(cachedPayload, delta)
+      Pair(if (updateInMemoryCache) updatedPayload else cachedPayload, customResult)
+    }
+  }
+
   /**
    * Returns a [Deferred] indicating when the cache was cleared and its on-disk file, removed. This
    * does notify subscribers.
@@ -240,6 +319,15 @@ class PersistentCacheStore<T : MessageLite> private constructor(
       if (cacheFile.exists()) {
         cacheFile.delete()
       }
+      if (backupCacheFile.exists()) {
+        backupCacheFile.delete()
+      }
+      isCacheFileValid = false
+      if (journalFile.exists()) {
+        journalFile.delete()
+      }
+      onDiskValue = null
+      journalSizeBytes = 0
       failureLock.withLock {
         deferredLoadCacheFailure = null
       }
@@ -267,8 +355,10 @@ class PersistentCacheStore<T : MessageLite> private constructor(
    */
   @Suppress("UNCHECKED_CAST") // Cast is ensured since root proto is initialValue with type T.
   private fun loadFileCache(currentPayload: CachePayload<T>): CachePayload<T> {
-    if (!cacheFile.exists()) {
-      // The store is not yet persisted on disk.
+    if (!cacheFile.exists() && !backupCacheFile.exists()) {
+      // The store is not yet persisted on disk. Note that any leftover journal is stale since
+      // changes are only ever journaled on top of an existing snapshot.
+      if (journalFile.exists()) journalFile.delete()
       return currentPayload.copy(state = CacheState.IN_MEMORY_ONLY)
     }
 
@@ -278,12 +368,16 @@ class PersistentCacheStore<T : MessageLite> private constructor(
     // - Duplicating loaded on-disk state (since "mergeFrom()" is used for loading).
     if (currentPayload.state != CacheState.UNLOADED) return currentPayload
 
-    val cacheBuilder = currentPayload.value.toBuilder()
     return try {
-      currentPayload.copy(
-        state = CacheState.IN_MEMORY_AND_ON_DISK,
-        value = FileInputStream(cacheFile).use { cacheBuilder.mergeFrom(it) }.build() as T
-      )
+      val (snapshotBytes, cacheBuilder) = loadLatestValidSnapshot(currentPayload.value)
+      if (storageMode == StorageMode.JOURNALED) {
+        snapshotChecksum = computeChecksum(snapshotBytes)
+        snapshotSizeBytes = snapshotBytes.size
+        replayJournal(cacheBuilder)
+      }
+      val loadedValue = cacheBuilder.build() as T
+      onDiskValue = loadedValue
+      currentPayload.copy(state = CacheState.IN_MEMORY_AND_ON_DISK, value = loadedValue)
     } catch (e: IOException) {
       failureLock.withLock {
         deferredLoadCacheFailure = e
@@ -294,13 +388,69 @@ class PersistentCacheStore<T : MessageLite> private constructor(
     }
   }
 
+  /**
+   * Returns the payload of the most recent valid on-disk generation of the store, along with a
+   * builder with that payload merged into [baseValue]. Generations that are corrupted (such as from
+   * the app being killed mid-write) are skipped in favor of older ones. This should only be called
+   * from the cache's update thread.
+   *
+   * @throws IOException if there's no valid on-disk generation of the store
+   */
+  private fun loadLatestValidSnapshot(baseValue: T): Pair<ByteArray, MessageLite.Builder> {
+    var failure: IOException? = null
+    for (snapshotFile in listOf(cacheFile, backupCacheFile)) {
+      if (!snapshotFile.exists()) continue
+      try {
+        val snapshotBytes = readCacheFilePayload(snapshotFile)
+        val cacheBuilder = baseValue.toBuilder().mergeFrom(snapshotBytes)
+        isCacheFileValid = snapshotFile == cacheFile
+        return snapshotBytes to cacheBuilder
+      } catch (e: IOException) {
+        // Report the failure for the most recent generation if none can be loaded.
+        failure = failure ?: e
+      }
+    }
+    throw failure ?: IOException("Failed to find an on-disk generation of: $cacheFile")
+  }
+
   /**
    * Stores the file store to disk, and returns the persisted payload. This should only be called
    * from the cache's update thread.
    */
   private fun storeFileCache(currentPayload: CachePayload<T>, update: (T) -> T): CachePayload<T> {
     val updatedCacheValue = update(currentPayload.value)
-    FileOutputStream(cacheFile).use { updatedCacheValue.writeTo(it) }
+    writeSnapshot(updatedCacheValue)
+    return currentPayload.copy(state = CacheState.IN_MEMORY_AND_ON_DISK, value = updatedCacheValue)
+  }
+
+  /**
+   * See [storeFileCache]. Stores the specified [Delta] either by appending it to the store's
+   * journal (if possible) or by rewriting the full store.
+   */
+  @Suppress("UNCHECKED_CAST") // Cast is ensured since root proto is initialValue with type T.
+  private fun storeFileCacheDelta(
+    currentPayload: CachePayload<T>,
+    delta: Delta<T>
+  ): CachePayload<T> {
+    val updatedCacheValue = when (delta) {
+      is Delta.Merge -> {
+        val deltaBytes = delta.delta.toByteArray()
+        val mergedValue = currentPayload.value.toBuilder().mergeFrom(deltaBytes).build() as T
+        // Journaling is only possible if the on-disk store matches the value the delta applies to
+        // (otherwise the on-disk store would diverge from its in-memory counterpart).
+        val canJournal =
+          storageMode == StorageMode.JOURNALED &&
+            currentPayload.state == CacheState.IN_MEMORY_AND_ON_DISK &&
+            onDiskValue === currentPayload.value
+        if (canJournal) {
+          appendToJournal(deltaBytes)
+          onDiskValue = mergedValue
+          maybeScheduleCompaction()
+        } else writeSnapshot(mergedValue)
+        mergedValue
+      }
+      is Delta.Replace -> delta.newValue.also { writeSnapshot(it) }
+    }
     return currentPayload.copy(state = CacheState.IN_MEMORY_AND_ON_DISK, value = updatedCacheValue)
   }
 
@@ -311,7 +461,7 @@ class PersistentCacheStore<T : MessageLite> private constructor(
   ): Pair<CachePayload<T>, V> {
     val (updatedCacheValue, customResult) = update(currentPayload.value)
     // TODO(#4264): Move this over to using an I/O-specific dispatcher.
-    FileOutputStream(cacheFile).use { updatedCacheValue.writeTo(it) }
+    writeSnapshot(updatedCacheValue)
     return Pair(
       currentPayload.copy(state = CacheState.IN_MEMORY_AND_ON_DISK, value = updatedCacheValue),
       customResult
@@ -328,6 +478,136 @@ class PersistentCacheStore<T : MessageLite> private constructor(
     }
   }
 
+  /**
+   * Writes [value] as the full on-disk snapshot of this store, compacting away any existing
+   * journal. This should only be called from the cache's update thread.
+   */
+  private fun writeSnapshot(value: T) {
+    val snapshotBytes = value.toByteArray()
+    val newChecksum = computeChecksum(snapshotBytes)
+    if (storageMode == StorageMode.JOURNALED && (journalSizeBytes > 0 || journalFile.exists())) {
+      // The journal is tied to its snapshot by checksum, so it must be deleted before writing a
+      // snapshot identical to the current one (otherwise a crash between the two steps would
+      // replay the stale journal on top of it). The same is true if the store was never loaded
+      // (since the current snapshot's checksum isn't known). In all other cases the journal is
+      // deleted after the snapshot is written so that a crash in between never loses journaled
+      // changes (the stale journal will fail to match the new snapshot's checksum and be
+      // discarded).
+      if (newChecksum == snapshotChecksum || onDiskValue == null) deleteJournal()
+      commitCacheFile(snapshotBytes, newChecksum)
+      deleteJournal()
+    } else commitCacheFile(snapshotBytes, newChecksum)
+    snapshotChecksum = newChecksum
+    snapshotSizeBytes = snapshotBytes.size
+    onDiskValue = value
+  }
+
+  /**
+   * Atomically replaces the store's on-disk file with a new generation containing [payload]. The
+   * new generation is fully written and synced to disk before being renamed into place, and the
+   * previous generation is kept as a backup (if it's valid) in case the new one is later found to
+   * be corrupted.
+   */
+  private fun commitCacheFile(payload: ByteArray, checksum: Int) {
+    FileOutputStream(tempCacheFile).use { fileStream ->
+      DataOutputStream(fileStream.buffered()).apply {
+        writeInt(CACHE_FILE_MAGIC)
+        writeInt(CACHE_FILE_FORMAT_VERSION)
+        writeInt(payload.size)
+        writeInt(checksum)
+        write(payload)
+        flush()
+      }
+      fileStream.fd.sync()
+    }
+    if (isCacheFileValid && cacheFile.exists() && !cacheFile.renameTo(backupCacheFile)) {
+      throw IOException("Failed to back up cache file: $cacheFile.")
+    }
+    if (!tempCacheFile.renameTo(cacheFile)) {
+      throw IOException("Failed to commit cache file: $cacheFile.")
+    }
+    isCacheFileValid = true
+  }
+
+  /**
+   * Replays the on-disk journal (if any) into [cacheBuilder]. Journals that don't correspond to the
+   * current snapshot are discarded, and a partially written or corrupted trailing record (such as
+   * from the app being killed mid-append) is dropped along with anything after it.
+   */
+  private fun replayJournal(cacheBuilder: MessageLite.Builder) {
+    journalSizeBytes = 0
+    if (!journalFile.exists()) return
+
+    var validJournalSizeBytes = 0L
+    DataInputStream(journalFile.inputStream().buffered()).use { stream ->
+      try {
+        val formatVersion = stream.readInt()
+        val baseChecksum = stream.readInt()
+        if (formatVersion != JOURNAL_FORMAT_VERSION || baseChecksum != snapshotChecksum) return@use
+        validJournalSizeBytes = JOURNAL_HEADER_SIZE_BYTES.toLong()
+        while (true) {
+          val firstByte = stream.read()
+          if (firstByte == -1) break // The end of the journal has been reached.
+          val recordSize = CodedInputStream.readRawVarint32(firstByte, stream)
+          val recordBytes = ByteArray(recordSize).also { stream.readFully(it) }
+          // Verify that the record is intact before merging it to avoid partially applying it.
+          if (stream.readInt() != computeChecksum(recordBytes)) break
+          cacheBuilder.mergeFrom(recordBytes)
+          validJournalSizeBytes += computeJournalRecordSize(recordSize)
+        }
+      } catch (e: IOException) {
+        // The last record was only partially written (or is otherwise invalid), so it and anything
+        // after it are ignored.
+      }
+    }
+
+    if (validJournalSizeBytes == 0L) {
+      journalFile.delete()
+    } else if (validJournalSizeBytes < journalFile.length()) {
+      RandomAccessFile(journalFile, "rw").use { it.setLength(validJournalSizeBytes) }
+    }
+    journalSizeBytes = validJournalSizeBytes
+  }
+
+  /** Appends the serialized delta [deltaBytes] to the journal, creating it if needed. */
+  private fun appendToJournal(deltaBytes: ByteArray) {
+    DataOutputStream(FileOutputStream(journalFile, /* append= */ true).buffered()).use { stream ->
+      if (journalSizeBytes == 0L) {
+        stream.writeInt(JOURNAL_FORMAT_VERSION)
+        stream.writeInt(snapshotChecksum)
+        journalSizeBytes = JOURNAL_HEADER_SIZE_BYTES.toLong()
+      }
+      CodedOutputStream.newInstance(stream).apply {
+        writeUInt32NoTag(deltaBytes.size)
+        writeRawBytes(deltaBytes)
+        flush()
+      }
+      stream.writeInt(computeChecksum(deltaBytes))
+    }
+    journalSizeBytes += computeJournalRecordSize(deltaBytes.size)
+  }
+
+  /**
+   * Schedules the journal to be compacted into a new snapshot once it's grown larger than the
+   * snapshot itself. Compaction happens as a separate cache operation so that it doesn't delay the
+   * store operation which triggered it.
+   */
+  private fun maybeScheduleCompaction() {
+    val compactionThresholdBytes =
+      maxOf(snapshotSizeBytes.toLong(), MIN_JOURNAL_COMPACTION_SIZE_BYTES)
+    if (journalSizeBytes > compactionThresholdBytes) {
+      cache.updateInPlaceIfPresentAsync {
+        // The journal may have already been compacted by a full store since this was scheduled.
+        if (journalSizeBytes > 0) onDiskValue?.let { writeSnapshot(it) }
+      }
+    }
+  }
+
+  private fun deleteJournal() {
+    if (journalFile.exists()) journalFile.delete()
+    journalSizeBytes = 0
+  }
+
   private data class PersistentCacheStoreId(private val id: String)
 
   /** Represents different states the cache store can be in. */
@@ -344,6 +624,42 @@ class PersistentCacheStore<T : MessageLite> private constructor(
 
   private data class CachePayload<T>(val state: CacheState, val value: T)
 
+  /** The mode of on-disk storage used by a [PersistentCacheStore]. */
+  enum class StorageMode {
+    /** Indicates that every change to the store rewrites the store's full on-disk snapshot. */
+    SNAPSHOT,
+
+    /**
+     * Indicates that [Delta.Merge] changes passed to [storeDeltaAsync] should be appended to an
+     * on-disk journal rather than rewriting the store's full snapshot.
+     *
+     * The journal is replayed on top of the snapshot when the store is loaded, and it's compacted
+     * into a new snapshot in the background once it grows larger than the snapshot. All other
+     * changes to the store (including [Delta.Replace] changes) compact the journal, too.
+     *
+     * This mode is mainly useful for large stores that are mostly appended to (such as logs).
+     */
+    JOURNALED
+  }
+
+  /** A change to a [PersistentCacheStore] computed for [storeDeltaAsync]. */
+  sealed class Delta<T : MessageLite> {
+    /**
+     * A change that's merged into the store's current value using protobuf merge semantics, such
+     * that it can be journaled for [StorageMode.JOURNALED] stores.
+     *
+     * @property delta a message containing only the changes to merge into the store
+     */
+    data class Merge<T : MessageLite>(val delta: T) : Delta<T>()
+
+    /**
+     * A change that fully replaces the store's current value (such as to remove data from it).
+     *
+     * @property newValue the new value of the store
+     */
+    data class Replace<T : MessageLite>(val newValue: T) : Delta<T>()
+  }
+
   /**
    * The mode of on-disk data updating that can be configured for specific operations like cache
    * priming.
@@ -393,25 +709,35 @@ class PersistentCacheStore<T : MessageLite> private constructor(
      * the shared directory context.filesDir.
      *
      * Use this method when data is shared by all profiles.
+     *
+     * @param storageMode the [StorageMode] the store should use for on-disk persistence
      */
-    fun <T : MessageLite> create(cacheName: String, initialValue: T): PersistentCacheStore<T> {
+    fun <T : MessageLite> create(
+      cacheName: String,
+      initialValue: T,
+      storageMode: StorageMode = StorageMode.SNAPSHOT
+    ): PersistentCacheStore<T> {
       return PersistentCacheStore(
         application,
         cacheFactory,
         asyncDataSubscriptionManager,
         cacheName,
-        initialValue
+        initialValue,
+        storageMode
       )
     }
 
     /**
      * Returns a new [PersistentCacheStore] with the specified cache name and initial value under
      * the directory specified by profileId. Use this method when data is unique to each profile.
+     *
+     * @param storageMode the [StorageMode] the store should use for on-disk persistence
      */
     fun <T : MessageLite> createPerProfile(
       cacheName: String,
       initialValue: T,
-      profileId: ProfileId
+      profileId: ProfileId,
+      storageMode: StorageMode = StorageMode.SNAPSHOT
     ): PersistentCacheStore<T> {
       val profileDirectory = directoryManagementUtil.getOrCreateDir(profileId.internalId.toString())
       return PersistentCacheStore(
@@ -420,8 +746,53 @@ class PersistentCacheStore<T : MessageLite> private constructor(
         asyncDataSubscriptionManager,
         cacheName,
         initialValue,
+        storageMode,
         profileDirectory
       )
     }
   }
+
+  companion object {
+    /**
+     * Returns the serialized proto payload stored in the specified on-disk cache [file], verifying
+     * its header and checksum. Files written before checksums were introduced (which have no
+     * header) are returned as-is.
+     *
+     * This is primarily useful for tests that need to inspect a store's on-disk state.
+     *
+     * @throws IOException if the file can't be read, or is corrupted
+     */
+    fun readCacheFilePayload(file: File): ByteArray {
+      val fileBytes = file.readBytes()
+      // Valid serialized protos can never start with a zero byte (since 0 isn't a valid field tag),
+      // so anything else must be a legacy cache file without a header.
+      if (fileBytes.isEmpty() || fileBytes[0] != 0.toByte()) return fileBytes
+
+      if (fileBytes.size < CACHE_FILE_HEADER_SIZE_BYTES) {
+        throw IOException("Cache file is truncated: $file.")
+      }
+      val (magic, formatVersion, payloadSize, checksum) =
+        DataInputStream(fileBytes.inputStream()).use { stream -> List(4) { stream.readInt() } }
+      if (magic != CACHE_FILE_MAGIC || formatVersion != CACHE_FILE_FORMAT_VERSION) {
+        throw IOException("Cache file has an unrecognized header: $file.")
+      }
+      if (payloadSize != fileBytes.size - CACHE_FILE_HEADER_SIZE_BYTES) {
+        throw IOException("Cache file is truncated: $file.")
+      }
+      val payload = fileBytes.copyOfRange(CACHE_FILE_HEADER_SIZE_BYTES, fileBytes.size)
+      if (computeChecksum(payload) != checksum) {
+        throw IOException("Cache file failed checksum verification: $file.")
+      }
+      return payload
+    }
+
+    private fun computeChecksum(bytes: ByteArray): Int =
+      CRC32().apply { update(bytes) }.value.toInt()
+
+    private fun computeJournalRecordSize(recordSize: Int): Int {
+      return CodedOutputStream.computeUInt32SizeNoTag(recordSize) +
+        recordSize +
+        JOURNAL_RECORD_CHECKSUM_SIZE_BYTES
+    }
+  }
 }
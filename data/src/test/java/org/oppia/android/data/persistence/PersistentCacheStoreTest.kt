@@ -29,7 +29,9 @@ import org.mockito.junit.MockitoJUnit
 import org.mockito.junit.MockitoRule
 import org.oppia.android.app.model.TestMessage
 import org.oppia.android.data.persistence.PersistentCacheStore.PublishMode.DO_NOT_PUBLISH_TO_IN_MEMORY_CACHE
+import org.oppia.android.data.persistence.PersistentCacheStore.Delta
 import org.oppia.android.data.persistence.PersistentCacheStore.PublishMode.PUBLISH_TO_IN_MEMORY_CACHE
+import org.oppia.android.data.persistence.PersistentCacheStore.StorageMode.JOURNALED
 import org.oppia.android.data.persistence.PersistentCacheStore.UpdateMode.UPDATE_ALWAYS
 import org.oppia.android.data.persistence.PersistentCacheStore.UpdateMode.UPDATE_IF_NEW_CACHE
 import org.oppia.android.data.persistence.PersistentCacheStoreTest.SubscriptionCallback.Companion.toAsyncChange
@@ -50,7 +52,6 @@ import org.oppia.android.util.threading.BackgroundDispatcher
 import org.robolectric.annotation.Config
 import org.robolectric.annotation.LooperMode
 import java.io.File
-import java.io.FileInputStream
 import java.io.FileOutputStream
 import java.io.IOException
 import java.lang.IllegalStateException
@@ -410,6 +411,95 @@ class PersistentCacheStoreTest {
     assertThat(error).isInstanceOf(IOException::class.java)
   }
 
+  @Test
+  fun testNewCache_fileCorrupted_withPreviousGeneration_providesPreviousGeneration() {
+    val cacheStore1 = cacheFactory.create(CACHE_NAME_1, TestMessage.getDefaultInstance())
+    cacheStore1.storeDataAsync { TEST_INT_MESSAGE_V1 }.waitForSuccessfulResult()
+    cacheStore1.storeDataAsync { TEST_INT_MESSAGE_V2 }.waitForSuccessfulResult()
+
+    // Simulate the latest file being corrupted & reopen the file in a new store.
+    corruptFileCache(CACHE_NAME_1)
+    val cacheStore2 = cacheFactory.create(CACHE_NAME_1, TestMessage.getDefaultInstance())
+
+    // The store should fall back to the last good generation of the file.
+    assertThat(monitorFactory.waitForNextSuccessfulResult(cacheStore2))
+      .isEqualTo(TEST_INT_MESSAGE_V1)
+  }
+
+  @Test
+  fun testNewCache_fileTruncated_withPreviousGeneration_providesPreviousGeneration() {
+    val cacheStore1 = cacheFactory.create(CACHE_NAME_1, TestMessage.getDefaultInstance())
+    cacheStore1.storeDataAsync { TEST_INT_MESSAGE_V1 }.waitForSuccessfulResult()
+    cacheStore1.storeDataAsync { createTestMessage(strValue = TEST_STR_V1) }
+      .waitForSuccessfulResult()
+
+    // Simulate the latest file only being partially written.
+    val cacheFileBytes = getCacheFile(CACHE_NAME_1).readBytes()
+    getCacheFile(CACHE_NAME_1).writeBytes(cacheFileBytes.copyOf(cacheFileBytes.size - 3))
+    val cacheStore2 = cacheFactory.create(CACHE_NAME_1, TestMessage.getDefaultInstance())
+
+    assertThat(monitorFactory.waitForNextSuccessfulResult(cacheStore2))
+      .isEqualTo(TEST_INT_MESSAGE_V1)
+  }
+
+  @Test
+  fun testNewCache_filePayloadChanged_noPreviousGeneration_providesError() {
+    val cacheStore1 = cacheFactory.create(CACHE_NAME_1, TestMessage.getDefaultInstance())
+    cacheStore1.storeDataAsync { createTestMessage(strValue = TEST_STR_V1) }
+      .waitForSuccessfulResult()
+
+    // Flip a bit in the payload such that the file is still a valid proto, but with the wrong data.
+    val cacheFileBytes = getCacheFile(CACHE_NAME_1).readBytes()
+    cacheFileBytes[cacheFileBytes.size - 1] = (cacheFileBytes.last().toInt() xor 1).toByte()
+    getCacheFile(CACHE_NAME_1).writeBytes(cacheFileBytes)
+    val cacheStore2 = cacheFactory.create(CACHE_NAME_1, TestMessage.getDefaultInstance())
+
+    // The checksum should catch the corruption.
+    val error = monitorFactory.waitForNextFailureResult(cacheStore2)
+    assertThat(error).isInstanceOf(IOException::class.java)
+    assertThat(error).hasMessageThat().contains("checksum")
+  }
+
+  @Test
+  fun testNewCache_fileMissing_withPreviousGeneration_providesPreviousGeneration() {
+    val cacheStore1 = cacheFactory.create(CACHE_NAME_1, TestMessage.getDefaultInstance())
+    cacheStore1.storeDataAsync { TEST_INT_MESSAGE_V1 }.waitForSuccessfulResult()
+    cacheStore1.storeDataAsync { TEST_INT_MESSAGE_V2 }.waitForSuccessfulResult()
+
+    // Simulate the app being killed after backing up the previous generation, but before the new
+    // generation was moved into place.
+    deleteCacheFile(CACHE_NAME_1)
+    val cacheStore2 = cacheFactory.create(CACHE_NAME_1, TestMessage.getDefaultInstance())
+
+    assertThat(monitorFactory.waitForNextSuccessfulResult(cacheStore2))
+      .isEqualTo(TEST_INT_MESSAGE_V1)
+  }
+
+  @Test
+  fun testStore_writesFileAtomically_keepsPreviousGenerationAndNoTempFile() {
+    val cacheStore = cacheFactory.create(CACHE_NAME_1, TestMessage.getDefaultInstance())
+
+    cacheStore.storeDataAsync { TEST_INT_MESSAGE_V1 }.waitForSuccessfulResult()
+    cacheStore.storeDataAsync { TEST_INT_MESSAGE_V2 }.waitForSuccessfulResult()
+
+    val backupPayload = PersistentCacheStore.readCacheFilePayload(getBackupCacheFile(CACHE_NAME_1))
+    assertThat(File(context.filesDir, "$CACHE_NAME_1.cache.tmp").exists()).isFalse()
+    verifyDiskCacheHasValue(CACHE_NAME_1, TEST_INT_MESSAGE_V2)
+    assertThat(TestMessage.parseFrom(backupPayload)).isEqualTo(TEST_INT_MESSAGE_V1)
+  }
+
+  @Test
+  fun testClear_withPreviousGeneration_removesAllGenerations() {
+    val cacheStore = cacheFactory.create(CACHE_NAME_1, TestMessage.getDefaultInstance())
+    cacheStore.storeDataAsync { TEST_INT_MESSAGE_V1 }.waitForSuccessfulResult()
+    cacheStore.storeDataAsync { TEST_INT_MESSAGE_V2 }.waitForSuccessfulResult()
+
+    cacheStore.clearCacheAsync().waitForSuccessfulResult()
+
+    assertThat(getCacheFile(CACHE_NAME_1).exists()).isFalse()
+    assertThat(getBackupCacheFile(CACHE_NAME_1).exists()).isFalse()
+  }
+
   @Test
   fun testNewCache_notYetRead_noCacheFileOnDisk() {
     cacheFactory.create(CACHE_NAME_1, TestMessage.getDefaultInstance())
@@ -1554,6 +1644,188 @@ class PersistentCacheStoreTest {
     assertThat(onDiskValue.strValue).isEqualTo("different initial first transform")
   }
 
+  @Test
+  fun testStoreDelta_snapshotStore_merge_rewritesFullStoreOnDisk() {
+    val cacheStore = cacheFactory.create(CACHE_NAME_1, TEST_INT_MESSAGE_V1)
+    loadCacheIntoMemory(cacheStore)
+
+    cacheStore.storeDeltaAsync {
+      Delta.Merge(TestMessage.newBuilder().addStrValues("one").build())
+    }.waitForSuccessfulResult()
+
+    // Non-journaled stores never create a journal.
+    val expectedMessage = TEST_INT_MESSAGE_V1.toBuilder().addStrValues("one").build()
+    assertThat(getJournalFile(CACHE_NAME_1).exists()).isFalse()
+    verifyDiskCacheHasValue(CACHE_NAME_1, expectedMessage)
+    assertThat(monitorFactory.waitForNextSuccessfulResult(cacheStore)).isEqualTo(expectedMessage)
+  }
+
+  @Test
+  fun testStoreDelta_journaledStore_merge_appendsToJournalAndKeepsSnapshot() {
+    val cacheStore = cacheFactory.create(CACHE_NAME_1, TEST_INT_MESSAGE_V1, JOURNALED)
+    cacheStore.storeDataAsync { it }.waitForSuccessfulResult()
+
+    cacheStore.storeDeltaAsync {
+      Delta.Merge(TestMessage.newBuilder().addStrValues("one").build())
+    }.waitForSuccessfulResult()
+    cacheStore.storeDeltaAsync {
+      Delta.Merge(TestMessage.newBuilder().addStrValues("two").build())
+    }.waitForSuccessfulResult()
+
+    // The snapshot shouldn't change, but the in-memory cache should include both deltas.
+    val expectedMessage =
+      TEST_INT_MESSAGE_V1.toBuilder().addStrValues("one").addStrValues("two").build()
+    assertThat(getJournalFile(CACHE_NAME_1).exists()).isTrue()
+    verifyDiskCacheHasValue(CACHE_NAME_1, TEST_INT_MESSAGE_V1)
+    assertThat(monitorFactory.waitForNextSuccessfulResult(cacheStore)).isEqualTo(expectedMessage)
+  }
+
+  @Test
+  fun testStoreDelta_journaledStore_merge_newCache_replaysJournalOnLoad() {
+    val cacheStore1 = cacheFactory.create(CACHE_NAME_1, TEST_INT_MESSAGE_V1, JOURNALED)
+    cacheStore1.storeDataAsync { it }.waitForSuccessfulResult()
+    cacheStore1.storeDeltaAsync {
+      Delta.Merge(TestMessage.newBuilder().addStrValues("one").build())
+    }.waitForSuccessfulResult()
+    cacheStore1.storeDeltaAsync {
+      Delta.Merge(TestMessage.newBuilder().setStrValue(TEST_STR_V1).build())
+    }.waitForSuccessfulResult()
+
+    val cacheStore2 = cacheFactory.create(CACHE_NAME_1, DEFAULT_TEST_MESSAGE, JOURNALED)
+
+    // A new store should load the snapshot and then replay the journal on top of it.
+    val expectedMessage =
+      TEST_INT_MESSAGE_V1.toBuilder().addStrValues("one").setStrValue(TEST_STR_V1).build()
+    assertThat(monitorFactory.waitForNextSuccessfulResult(cacheStore2)).isEqualTo(expectedMessage)
+  }
+
+  @Test
+  fun testStoreDelta_journaledStore_replace_compactsJournalIntoSnapshot() {
+    val cacheStore = cacheFactory.create(CACHE_NAME_1, TEST_INT_MESSAGE_V1, JOURNALED)
+    cacheStore.storeDataAsync { it }.waitForSuccessfulResult()
+    cacheStore.storeDeltaAsync {
+      Delta.Merge(TestMessage.newBuilder().addStrValues("one").build())
+    }.waitForSuccessfulResult()
+
+    cacheStore.storeDeltaAsync {
+      Delta.Replace(it.toBuilder().clearStrValues().addStrValues("two").build())
+    }.waitForSuccessfulResult()
+
+    // Replacing the store's value should rewrite the snapshot and remove the journal.
+    val expectedMessage = TEST_INT_MESSAGE_V1.toBuilder().addStrValues("two").build()
+    assertThat(getJournalFile(CACHE_NAME_1).exists()).isFalse()
+    verifyDiskCacheHasValue(CACHE_NAME_1, expectedMessage)
+    assertThat(monitorFactory.waitForNextSuccessfulResult(cacheStore)).isEqualTo(expectedMessage)
+  }
+
+  @Test
+  fun testStoreDelta_journaledStore_partiallyWrittenRecord_newCache_ignoresPartialRecord() {
+    val cacheStore1 = cacheFactory.create(CACHE_NAME_1, TEST_INT_MESSAGE_V1, JOURNALED)
+    cacheStore1.storeDataAsync { it }.waitForSuccessfulResult()
+    cacheStore1.storeDeltaAsync {
+      Delta.Merge(TestMessage.newBuilder().addStrValues("one").build())
+    }.waitForSuccessfulResult()
+    cacheStore1.storeDeltaAsync {
+      Delta.Merge(TestMessage.newBuilder().addStrValues("two").build())
+    }.waitForSuccessfulResult()
+    // Simulate the app being killed part way through writing the last record.
+    val journalBytes = getJournalFile(CACHE_NAME_1).readBytes()
+    getJournalFile(CACHE_NAME_1).writeBytes(journalBytes.copyOf(journalBytes.size - 2))
+
+    val cacheStore2 = cacheFactory.create(CACHE_NAME_1, DEFAULT_TEST_MESSAGE, JOURNALED)
+
+    // Only the fully written record should be replayed.
+    val expectedMessage = TEST_INT_MESSAGE_V1.toBuilder().addStrValues("one").build()
+    assertThat(monitorFactory.waitForNextSuccessfulResult(cacheStore2)).isEqualTo(expectedMessage)
+  }
+
+  @Test
+  fun testStoreDelta_journaledStore_snapshotReplacedExternally_newCache_ignoresStaleJournal() {
+    val cacheStore1 = cacheFactory.create(CACHE_NAME_1, TEST_INT_MESSAGE_V1, JOURNALED)
+    cacheStore1.storeDataAsync { it }.waitForSuccessfulResult()
+    cacheStore1.storeDeltaAsync {
+      Delta.Merge(TestMessage.newBuilder().addStrValues("one").build())
+    }.waitForSuccessfulResult()
+    // Simulate the snapshot being rewritten without the journal being cleaned up.
+    writeFileCache(CACHE_NAME_1, TEST_INT_MESSAGE_V2)
+
+    val cacheStore2 = cacheFactory.create(CACHE_NAME_1, DEFAULT_TEST_MESSAGE, JOURNALED)
+
+    // The journal no longer corresponds to the snapshot, so it shouldn't be replayed.
+    assertThat(monitorFactory.waitForNextSuccessfulResult(cacheStore2))
+      .isEqualTo(TEST_INT_MESSAGE_V2)
+  }
+
+  @Test
+  fun testStoreDelta_journaledStore_largeJournal_compactsJournalInBackground() {
+    val cacheStore = cacheFactory.create(CACHE_NAME_1, TEST_INT_MESSAGE_V1, JOURNALED)
+    cacheStore.storeDataAsync { it }.waitForSuccessfulResult()
+
+    // Append enough data to exceed the minimum journal compaction size.
+    val largeString = "a".repeat(1024)
+    repeat(20) {
+      cacheStore.storeDeltaAsync {
+        Delta.Merge(TestMessage.newBuilder().addStrValues(largeString).build())
+      }.waitForSuccessfulResult()
+    }
+    testCoroutineDispatchers.advanceUntilIdle()
+
+    // The journal should have been folded into the snapshot once it grew large enough (though
+    // later changes may still be journaled on top of the new snapshot).
+    val onDiskValue = readFileCache<TestMessage>(CACHE_NAME_1)
+    assertThat(onDiskValue.strValuesList.size).isAtLeast(16)
+    assertThat(monitorFactory.waitForNextSuccessfulResult(cacheStore).strValuesList).hasSize(20)
+  }
+
+  @Test
+  fun testStoreDeltaWithCustomChannel_journaledStore_merge_journalsDeltaAndReturnsResult() {
+    val cacheStore = cacheFactory.create(CACHE_NAME_1, TEST_INT_MESSAGE_V1, JOURNALED)
+    cacheStore.storeDataAsync { it }.waitForSuccessfulResult()
+
+    val result = cacheStore.storeDeltaWithCustomChannelAsync { currentValue ->
+      Delta.Merge(TestMessage.newBuilder().addStrValues("one").build()) to currentValue.intValue
+    }.waitForSuccessfulResult()
+
+    val expectedMessage = TEST_INT_MESSAGE_V1.toBuilder().addStrValues("one").build()
+    assertThat(result).isEqualTo(TEST_INT_V1)
+    assertThat(getJournalFile(CACHE_NAME_1).exists()).isTrue()
+    verifyDiskCacheHasValue(CACHE_NAME_1, TEST_INT_MESSAGE_V1)
+    assertThat(monitorFactory.waitForNextSuccessfulResult(cacheStore)).isEqualTo(expectedMessage)
+  }
+
+  @Test
+  fun testStoreDeltaWithCustomChannel_journaledStore_replace_compactsJournalAndReturnsResult() {
+    val cacheStore = cacheFactory.create(CACHE_NAME_1, TEST_INT_MESSAGE_V1, JOURNALED)
+    cacheStore.storeDataAsync { it }.waitForSuccessfulResult()
+    cacheStore.storeDeltaAsync {
+      Delta.Merge(TestMessage.newBuilder().addStrValues("one").build())
+    }.waitForSuccessfulResult()
+
+    val result = cacheStore.storeDeltaWithCustomChannelAsync { currentValue ->
+      Delta.Replace(TEST_INT_MESSAGE_V2) to currentValue.strValuesCount
+    }.waitForSuccessfulResult()
+
+    assertThat(result).isEqualTo(1)
+    assertThat(getJournalFile(CACHE_NAME_1).exists()).isFalse()
+    verifyDiskCacheHasValue(CACHE_NAME_1, TEST_INT_MESSAGE_V2)
+    assertThat(monitorFactory.waitForNextSuccessfulResult(cacheStore))
+      .isEqualTo(TEST_INT_MESSAGE_V2)
+  }
+
+  @Test
+  fun testClear_journaledStore_withJournal_removesJournal() {
+    val cacheStore = cacheFactory.create(CACHE_NAME_1, TEST_INT_MESSAGE_V1, JOURNALED)
+    cacheStore.storeDataAsync { it }.waitForSuccessfulResult()
+    cacheStore.storeDeltaAsync {
+      Delta.Merge(TestMessage.newBuilder().addStrValues("one").build())
+    }.waitForSuccessfulResult()
+
+    cacheStore.clearCacheAsync().waitForSuccessfulResult()
+
+    assertThat(getCacheFile(CACHE_NAME_1).exists()).isFalse()
+    assertThat(getJournalFile(CACHE_NAME_1).exists()).isFalse()
+  }
+
   @Test
   @Suppress("DeferredResultUnused") // The result of the test implies the deferred ops' results.
   fun testLoadFileCacheFromDisk_multipleTimesInTandem_onlyLoadsOnce() {
@@ -1619,6 +1891,11 @@ class PersistentCacheStoreTest {
 
   private fun getCacheFile(cacheName: String) = File(context.filesDir, "$cacheName.cache")
 
+  private fun getJournalFile(cacheName: String) = File(context.filesDir, "$cacheName.journal")
+
+  private fun getBackupCacheFile(cacheName: String) =
+    File(context.filesDir, "$cacheName.cache.bak")
+
   private fun deleteCacheFile(cacheName: String) = getCacheFile(cacheName).delete()
 
   private fun corruptFileCache(cacheName: String) {
@@ -1642,9 +1919,8 @@ class PersistentCacheStoreTest {
     // Use reflection to simplify the test API.
     val defaultInstance =
       T::class.staticFunctions.find { it.name == "getDefaultInstance" }?.call() as? T?
-    return FileInputStream(getCacheFile(cacheName)).use {
-      checkNotNull(defaultInstance).newBuilderForType().mergeFrom(it).build()
-    } as T
+    val payload = PersistentCacheStore.readCacheFilePayload(getCacheFile(cacheName))
+    return checkNotNull(defaultInstance).newBuilderForType().mergeFrom(payload).build() as T
   }
 
   private fun <T> Deferred<T>.waitForSuccessfulResult() = toStateFlow().waitForLatestValue()
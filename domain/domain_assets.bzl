@@ -4,6 +4,77 @@ Macros for preparing & creating assets to include in the domain module.
 
 load("//model:text_proto_assets.bzl", "generate_proto_binary_assets")
 
+def _generate_lesson_asset_manifest_impl(ctx):
+    output_file = ctx.outputs.output_file
+    asset_files = ctx.files.asset_files
+
+    # See the corresponding generation script for details on the passed arguments.
+    arguments = [
+        output_file.path,
+        ",".join(ctx.attr.topic_ids),
+    ] + [asset_file.path for asset_file in asset_files]
+
+    # Reference: https://docs.bazel.build/versions/master/skylark/lib/actions.html#run.
+    ctx.actions.run(
+        outputs = [output_file],
+        inputs = asset_files,
+        tools = [ctx.executable._generate_lesson_asset_manifest_tool],
+        executable = ctx.executable._generate_lesson_asset_manifest_tool.path,
+        arguments = arguments,
+        mnemonic = "GenerateLessonAssetManifest",
+        progress_message = "Generating lesson asset manifest",
+    )
+    return DefaultInfo(
+        files = depset([output_file]),
+        runfiles = ctx.runfiles(files = [output_file]),
+    )
+
+_generate_lesson_asset_manifest = rule(
+    attrs = {
+        "asset_files": attr.label_list(
+            allow_files = True,
+            mandatory = True,
+        ),
+        "output_file": attr.output(
+            mandatory = True,
+        ),
+        "topic_ids": attr.string_list(mandatory = True),
+        "_generate_lesson_asset_manifest_tool": attr.label(
+            executable = True,
+            cfg = "host",
+            default = "//scripts:generate_lesson_asset_manifest",
+        ),
+    },
+    implementation = _generate_lesson_asset_manifest_impl,
+)
+
+def generate_lesson_asset_manifest(name, topic_ids, asset_files, asset_dir):
+    """
+    Generates a binary LessonAssetManifest proto describing the specified lesson assets.
+
+    The manifest records the size & content hash of each asset, and the stories, explorations, and
+    subtopics that make up each topic, so that the app doesn't need to read lesson assets in order
+    to compute this information.
+
+    Args:
+        name: str. The name of this generation instance.
+        topic_ids: list of str. The IDs of the topics whose dependencies should be recorded. Each
+            topic & its stories must have corresponding binary proto assets in asset_files.
+        asset_files: list of str. The lesson asset files (JSON & binary protos) to include.
+        asset_dir: str. The path to the assets directory in which the manifest will be generated.
+
+    Returns:
+        str. The path to the newly generated manifest file.
+    """
+    output_file = "%s/lesson_asset_manifest.pb" % asset_dir
+    _generate_lesson_asset_manifest(
+        name = "generate_lesson_asset_manifest_%s" % name,
+        topic_ids = topic_ids,
+        asset_files = asset_files,
+        output_file = output_file,
+    )
+    return output_file
+
 def generate_assets_list_from_text_protos(
         name,
         classroom_file_names,
@@ -27,9 +98,10 @@ def generate_assets_list_from_text_protos(
         exploration_file_names: list of str. The list of exploration file names.
 
     Returns:
-        list of str. The list of new proto binary asset files that were generated.
+        list of str. The list of new proto binary asset files that were generated, along with a
+        generated lesson asset manifest (see generate_lesson_asset_manifest).
     """
-    return generate_proto_binary_assets(
+    proto_assets = generate_proto_binary_assets(
         name = name,
         names = classroom_list_file_names,
         proto_dep_name = "topic",
@@ -93,3 +165,11 @@ def generate_assets_list_from_text_protos(
         proto_dep_bazel_target_prefix = "//model/src/main/proto",
         proto_package = "model",
     )
+    return proto_assets + [
+        generate_lesson_asset_manifest(
+            name = name,
+            topic_ids = topic_file_names,
+            asset_files = proto_assets + native.glob(["src/main/assets/*.json"]),
+            asset_dir = "src/main/assets",
+        ),
+    ]
@@ -0,0 +1,233 @@
+package org.oppia.android.domain.classify.rules
+
+import org.oppia.android.app.model.ComparableOperation
+import org.oppia.android.app.model.MathEquation
+import org.oppia.android.app.model.MathExpression
+import org.oppia.android.app.model.Polynomial
+import org.oppia.android.app.model.Real
+import org.oppia.android.util.caching.StripedLruCache
+import org.oppia.android.util.math.MathExpressionParser.Companion.ErrorCheckingMode
+import org.oppia.android.util.math.MathExpressionParser.Companion.MathParsingResult
+import org.oppia.android.util.math.MathExpressionParser.Companion.parseAlgebraicEquation
+import org.oppia.android.util.math.MathExpressionParser.Companion.parseAlgebraicExpression
+import org.oppia.android.util.math.MathExpressionParser.Companion.parseNumericExpression
+import org.oppia.android.util.math.computeStructuralHash
+import org.oppia.android.util.math.evaluateAsNumericExpression
+import org.oppia.android.util.math.isApproximatelyEqualTo
+import org.oppia.android.util.math.stripRedundantGroups
+import org.oppia.android.util.math.toComparableOperation
+import org.oppia.android.util.math.toPolynomial
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * The approximate maximum number of bytes of compiled expressions & equations kept in memory at
+ * once.
+ */
+private const val MAX_COMPILED_CACHE_SIZE_BYTES = 1024L * 1024
+
+/**
+ * A rough estimate of how many bytes a compiled expression occupies per character of its raw
+ * expression (since parsed trees, polynomials, and comparable operations are all much larger than
+ * the text they're parsed from).
+ */
+private const val ESTIMATED_COMPILED_BYTES_PER_CHAR = 256
+
+/** The number of independently locked stripes used by each of the compiled caches. */
+private const val COMPILED_CACHE_STRIPE_COUNT = 4
+
+/**
+ * Application-wide cache of parsed ("compiled") math expressions & equations, along with the
+ * representations that math rule classifiers derive from them.
+ *
+ * Creator-specified rule inputs are static for a given interaction, yet classifiers previously
+ * re-parsed them (and re-derived polynomials, comparable operations, etc.) for every rule of every
+ * answer group each time a learner submitted an answer. Routing parsing through this cache ensures
+ * that each rule input is compiled once, and that a learner's answer is only parsed once per
+ * submission even though it's compared against many rules. Derived representations are computed
+ * lazily so that only the forms actually needed by a classifier are ever computed.
+ *
+ * Entries are keyed by everything that affects the parse (the raw text, the allowed variables, and
+ * the error checking mode), and are evicted in least-recently-used order to bound memory use.
+ */
+@Singleton
+class CompiledMathExpressionCache @Inject constructor() {
+  private val compiledExpressions =
+    StripedLruCache<CompilationKey, CompiledMathExpression>(
+      MAX_COMPILED_CACHE_SIZE_BYTES, COMPILED_CACHE_STRIPE_COUNT
+    ) { key, _ -> key.estimateCompiledSizeBytes() }
+  private val compiledEquations =
+    StripedLruCache<CompilationKey, CompiledMathEquation>(
+      MAX_COMPILED_CACHE_SIZE_BYTES, COMPILED_CACHE_STRIPE_COUNT
+    ) { key, _ -> key.estimateCompiledSizeBytes() }
+
+  /**
+   * Returns the [CompiledMathExpression] for the specified numeric expression (see
+   * [parseNumericExpression]).
+   */
+  fun compileNumericExpression(
+    rawExpression: String,
+    checkingMode: ErrorCheckingMode
+  ): CompiledMathExpression {
+    val key = CompilationKey(
+      CompilationType.NUMERIC_EXPRESSION, rawExpression, allowedVariables = listOf(), checkingMode
+    )
+    return compiledExpressions.getOrPut(key) {
+      CompiledMathExpression(parseNumericExpression(rawExpression, checkingMode))
+    }
+  }
+
+  /**
+   * Returns the [CompiledMathExpression] for the specified algebraic expression (see
+   * [parseAlgebraicExpression]).
+   */
+  fun compileAlgebraicExpression(
+    rawExpression: String,
+    allowedVariables: List<String>,
+    checkingMode: ErrorCheckingMode
+  ): CompiledMathExpression {
+    val key = CompilationKey(
+      CompilationType.ALGEBRAIC_EXPRESSION, rawExpression, allowedVariables, checkingMode
+    )
+    return compiledExpressions.getOrPut(key) {
+      CompiledMathExpression(
+        parseAlgebraicExpression(rawExpression, allowedVariables, checkingMode)
+      )
+    }
+  }
+
+  /**
+   * Returns the [CompiledMathEquation] for the specified algebraic equation (see
+   * [parseAlgebraicEquation]).
+   */
+  fun compileAlgebraicEquation(
+    rawEquation: String,
+    allowedVariables: List<String>,
+    checkingMode: ErrorCheckingMode
+  ): CompiledMathEquation {
+    val key = CompilationKey(
+      CompilationType.ALGEBRAIC_EQUATION, rawEquation, allowedVariables, checkingMode
+    )
+    return compiledEquations.getOrPut(key) {
+      CompiledMathEquation(parseAlgebraicEquation(rawEquation, allowedVariables, checkingMode))
+    }
+  }
+
+  /**
+   * A parsed [MathExpression] along with lazily computed representations derived from it. Note that
+   * the derived representations are null if parsing failed (see [parsingResult]).
+   */
+  class CompiledMathExpression internal constructor(
+    /** The result of parsing the expression. */
+    val parsingResult: MathParsingResult<MathExpression>
+  ) {
+    /** The parsed expression, or null if parsing failed. */
+    val expression: MathExpression? =
+      (parsingResult as? MathParsingResult.Success<MathExpression>)?.result
+
+    /** The parsed expression with redundant groups removed (see [stripRedundantGroups]). */
+    val groupStrippedExpression: MathExpression? by lazy { expression?.stripRedundantGroups() }
+
+    /** The expression's [Polynomial] form, or null if it isn't a supported polynomial. */
+    val polynomial: Polynomial? by lazy { expression?.toPolynomial() }
+
+    /** The expression's [ComparableOperation] form. */
+    val comparableOperation: ComparableOperation? by lazy { expression?.toComparableOperation() }
+
+    /** The structural hash of [comparableOperation] (see [computeStructuralHash]). */
+    val comparableOperationHash: Int? by lazy { comparableOperation?.computeStructuralHash() }
+
+    /** The expression's numeric value, or null if it can't be evaluated numerically. */
+    val numericValue: Real? by lazy { expression?.evaluateAsNumericExpression() }
+
+    /**
+     * Returns whether this expression's [comparableOperation] is approximately equal to [other]'s
+     * (see [isApproximatelyEqualTo]), or false if either expression failed to parse.
+     *
+     * The structural hashes of both operations are compared first so that the vast majority of
+     * non-matching expressions are rejected without a full tree comparison.
+     */
+    fun isComparablyEqualTo(other: CompiledMathExpression): Boolean {
+      val operation = comparableOperation ?: return false
+      val otherOperation = other.comparableOperation ?: return false
+      return comparableOperationHash == other.comparableOperationHash &&
+        operation.isApproximatelyEqualTo(otherOperation)
+    }
+  }
+
+  /**
+   * A parsed [MathEquation] along with lazily computed representations derived from it. Note that
+   * the derived representations are null if parsing failed (see [parsingResult]).
+   */
+  class CompiledMathEquation internal constructor(
+    /** The result of parsing the equation. */
+    val parsingResult: MathParsingResult<MathEquation>
+  ) {
+    /** The parsed equation, or null if parsing failed. */
+    val equation: MathEquation? =
+      (parsingResult as? MathParsingResult.Success<MathEquation>)?.result
+
+    /** The equation's sides with redundant groups removed (see [stripRedundantGroups]). */
+    val groupStrippedSides: Pair<MathExpression, MathExpression>? by lazy {
+      equation?.let { it.leftSide.stripRedundantGroups() to it.rightSide.stripRedundantGroups() }
+    }
+
+    /**
+     * The [Polynomial] forms of the equation's left & right sides, or null if either side isn't a
+     * supported polynomial.
+     */
+    val sidePolynomials: Pair<Polynomial, Polynomial>? by lazy {
+      equation?.let { equation ->
+        val lhsPolynomial = equation.leftSide.toPolynomial()
+        val rhsPolynomial = equation.rightSide.toPolynomial()
+        if (lhsPolynomial != null && rhsPolynomial != null) lhsPolynomial to rhsPolynomial else null
+      }
+    }
+
+    /** The [ComparableOperation] forms of the equation's left & right sides. */
+    val sideComparableOperations: Pair<ComparableOperation, ComparableOperation>? by lazy {
+      equation?.let { it.leftSide.toComparableOperation() to it.rightSide.toComparableOperation() }
+    }
+
+    /**
+     * The structural hashes of the equation's [sideComparableOperations] (see
+     * [computeStructuralHash]).
+     */
+    val sideComparableOperationHashes: Pair<Int, Int>? by lazy {
+      sideComparableOperations?.let { (lhs, rhs) ->
+        lhs.computeStructuralHash() to rhs.computeStructuralHash()
+      }
+    }
+
+    /**
+     * Returns whether both of this equation's [sideComparableOperations] are approximately equal to
+     * [other]'s corresponding sides (see [isApproximatelyEqualTo]), or false if either equation
+     * failed to parse. Note that sides are never swapped when comparing.
+     *
+     * Similar to [CompiledMathExpression.isComparablyEqualTo], structural hashes are compared first
+     * to cheaply rule out most non-matching equations.
+     */
+    fun isComparablyEqualTo(other: CompiledMathEquation): Boolean {
+      val (lhs, rhs) = sideComparableOperations ?: return false
+      val (otherLhs, otherRhs) = other.sideComparableOperations ?: return false
+      return sideComparableOperationHashes == other.sideComparableOperationHashes &&
+        lhs.isApproximatelyEqualTo(otherLhs) &&
+        rhs.isApproximatelyEqualTo(otherRhs)
+    }
+  }
+
+  private enum class CompilationType {
+    NUMERIC_EXPRESSION,
+    ALGEBRAIC_EXPRESSION,
+    ALGEBRAIC_EQUATION
+  }
+
+  private data class CompilationKey(
+    val type: CompilationType,
+    val rawText: String,
+    val allowedVariables: List<String>,
+    val checkingMode: ErrorCheckingMode
+  ) {
+    fun estimateCompiledSizeBytes(): Int = rawText.length * ESTIMATED_COMPILED_BYTES_PER_CHAR
+  }
+}
@@ -4,6 +4,7 @@ import org.oppia.android.app.model.InteractionObject
 import org.oppia.android.app.model.Polynomial
 import org.oppia.android.domain.classify.ClassificationContext
 import org.oppia.android.domain.classify.RuleClassifier
+import org.oppia.android.domain.classify.rules.CompiledMathExpressionCache
 import org.oppia.android.domain.classify.rules.GenericRuleClassifier
 import org.oppia.android.domain.classify.rules.RuleClassifierProvider
 import org.oppia.android.util.logging.ConsoleLogger
@@ -12,9 +13,7 @@ import org.oppia.android.util.math.MathExpressionParser.Companion.ErrorCheckingM
 import org.oppia.android.util.math.MathExpressionParser.Companion.ErrorCheckingMode.REQUIRED_ONLY
 import org.oppia.android.util.math.MathExpressionParser.Companion.MathParsingResult
 import org.oppia.android.util.math.isApproximatelyEqualTo
-import org.oppia.android.util.math.toPolynomial
 import javax.inject.Inject
-import org.oppia.android.util.math.MathExpressionParser.Companion.parseAlgebraicExpression as parseExpression
 
 /**
  * Provider for a classifier that determines whether an algebraic expression is mathematically
@@ -26,6 +25,7 @@ import org.oppia.android.util.math.MathExpressionParser.Companion.parseAlgebraic
  */
 class AlgebraicExpressionInputIsEquivalentToRuleClassifierProvider @Inject constructor(
   private val classifierFactory: GenericRuleClassifier.Factory,
+  private val compiledMathExpressionCache: CompiledMathExpressionCache,
   private val consoleLogger: ConsoleLogger
 ) : RuleClassifierProvider, GenericRuleClassifier.SingleInputMatcher<String> {
   override fun createRuleClassifier(): RuleClassifier {
@@ -52,9 +52,12 @@ class AlgebraicExpressionInputIsEquivalentToRuleClassifierProvider @Inject const
     allowedVariables: List<String>,
     checkingMode: ErrorCheckingMode
   ): Polynomial? {
-    return when (val expResult = parseExpression(rawExpression, allowedVariables, checkingMode)) {
+    val compiledExpression = compiledMathExpressionCache.compileAlgebraicExpression(
+      rawExpression, allowedVariables, checkingMode
+    )
+    return when (val expResult = compiledExpression.parsingResult) {
       is MathParsingResult.Success -> {
-        expResult.result.toPolynomial().also {
+        compiledExpression.polynomial.also {
           if (it == null) {
             consoleLogger.w(
               "AlgebraExpEquivalent", "Expression is not a supported polynomial: $rawExpression."
@@ -1,9 +1,10 @@
 package org.oppia.android.domain.classify.rules.algebraicexpressioninput
 
 import org.oppia.android.app.model.InteractionObject
-import org.oppia.android.app.model.MathExpression
 import org.oppia.android.domain.classify.ClassificationContext
 import org.oppia.android.domain.classify.RuleClassifier
+import org.oppia.android.domain.classify.rules.CompiledMathExpressionCache
+import org.oppia.android.domain.classify.rules.CompiledMathExpressionCache.CompiledMathExpression
 import org.oppia.android.domain.classify.rules.GenericRuleClassifier
 import org.oppia.android.domain.classify.rules.RuleClassifierProvider
 import org.oppia.android.util.logging.ConsoleLogger
@@ -12,9 +13,7 @@ import org.oppia.android.util.math.MathExpressionParser.Companion.ErrorCheckingM
 import org.oppia.android.util.math.MathExpressionParser.Companion.ErrorCheckingMode.REQUIRED_ONLY
 import org.oppia.android.util.math.MathExpressionParser.Companion.MathParsingResult
 import org.oppia.android.util.math.isApproximatelyEqualTo
-import org.oppia.android.util.math.stripRedundantGroups
 import javax.inject.Inject
-import org.oppia.android.util.math.MathExpressionParser.Companion.parseAlgebraicExpression as parseExpression
 
 /**
  * Provider for a classifier that determines whether an algebraic expression is exactly equal to the
@@ -25,6 +24,7 @@ import org.oppia.android.util.math.MathExpressionParser.Companion.parseAlgebraic
  */
 class AlgebraicExpressionInputMatchesExactlyWithRuleClassifierProvider @Inject constructor(
   private val classifierFactory: GenericRuleClassifier.Factory,
+  private val compiledMathExpressionCache: CompiledMathExpressionCache,
   private val consoleLogger: ConsoleLogger
 ) : RuleClassifierProvider, GenericRuleClassifier.SingleInputMatcher<String> {
   override fun createRuleClassifier(): RuleClassifier {
@@ -42,19 +42,23 @@ class AlgebraicExpressionInputMatchesExactlyWithRuleClassifierProvider @Inject c
   ): Boolean {
     val allowedVariables = classificationContext.extractAllowedVariables()
     val answerExpression =
-      parseAlgebraicExpression(answer, allowedVariables, ALL_ERRORS) ?: return false
+      parseAlgebraicExpression(answer, allowedVariables, ALL_ERRORS)?.expression ?: return false
     val inputExpression =
-      parseAlgebraicExpression(input, allowedVariables, REQUIRED_ONLY) ?: return false
-    return answerExpression.isApproximatelyEqualTo(inputExpression.stripRedundantGroups())
+      parseAlgebraicExpression(input, allowedVariables, REQUIRED_ONLY)?.groupStrippedExpression
+        ?: return false
+    return answerExpression.isApproximatelyEqualTo(inputExpression)
   }
 
   private fun parseAlgebraicExpression(
     rawExpression: String,
     allowedVariables: List<String>,
     checkingMode: ErrorCheckingMode
-  ): MathExpression? {
-    return when (val expResult = parseExpression(rawExpression, allowedVariables, checkingMode)) {
-      is MathParsingResult.Success -> expResult.result
+  ): CompiledMathExpression? {
+    val compiledExpression = compiledMathExpressionCache.compileAlgebraicExpression(
+      rawExpression, allowedVariables, checkingMode
+    )
+    return when (val expResult = compiledExpression.parsingResult) {
+      is MathParsingResult.Success -> compiledExpression
       is MathParsingResult.Failure -> {
         consoleLogger.e(
           "AlgebraExpMatchesExact",
@@ -1,9 +1,10 @@
 package org.oppia.android.domain.classify.rules.algebraicexpressioninput
 
-import org.oppia.android.app.model.ComparableOperation
 import org.oppia.android.app.model.InteractionObject
 import org.oppia.android.domain.classify.ClassificationContext
 import org.oppia.android.domain.classify.RuleClassifier
+import org.oppia.android.domain.classify.rules.CompiledMathExpressionCache
+import org.oppia.android.domain.classify.rules.CompiledMathExpressionCache.CompiledMathExpression
 import org.oppia.android.domain.classify.rules.GenericRuleClassifier
 import org.oppia.android.domain.classify.rules.RuleClassifierProvider
 import org.oppia.android.util.logging.ConsoleLogger
@@ -11,10 +12,7 @@ import org.oppia.android.util.math.MathExpressionParser.Companion.ErrorCheckingM
 import org.oppia.android.util.math.MathExpressionParser.Companion.ErrorCheckingMode.ALL_ERRORS
 import org.oppia.android.util.math.MathExpressionParser.Companion.ErrorCheckingMode.REQUIRED_ONLY
 import org.oppia.android.util.math.MathExpressionParser.Companion.MathParsingResult
-import org.oppia.android.util.math.isApproximatelyEqualTo
-import org.oppia.android.util.math.toComparableOperation
 import javax.inject.Inject
-import org.oppia.android.util.math.MathExpressionParser.Companion.parseAlgebraicExpression as parseExpression
 
 /**
  * Provider for a classifier that determines whether an algebraic expression is equal to the
@@ -28,6 +26,7 @@ import org.oppia.android.util.math.MathExpressionParser.Companion.parseAlgebraic
 class AlgebraicExpressionInputMatchesUpToTrivialManipulationsRuleClassifierProvider
 @Inject constructor(
   private val classifierFactory: GenericRuleClassifier.Factory,
+  private val compiledMathExpressionCache: CompiledMathExpressionCache,
   private val consoleLogger: ConsoleLogger
 ) : RuleClassifierProvider, GenericRuleClassifier.SingleInputMatcher<String> {
   override fun createRuleClassifier(): RuleClassifier {
@@ -44,20 +43,21 @@ class AlgebraicExpressionInputMatchesUpToTrivialManipulationsRuleClassifierProvi
     classificationContext: ClassificationContext
   ): Boolean {
     val allowedVariables = classificationContext.extractAllowedVariables()
-    val answerExpression =
-      parseComparableOperation(answer, allowedVariables, ALL_ERRORS) ?: return false
-    val inputExpression =
-      parseComparableOperation(input, allowedVariables, REQUIRED_ONLY) ?: return false
-    return answerExpression.isApproximatelyEqualTo(inputExpression)
+    val answerExpression = compileExpression(answer, allowedVariables, ALL_ERRORS) ?: return false
+    val inputExpression = compileExpression(input, allowedVariables, REQUIRED_ONLY) ?: return false
+    return answerExpression.isComparablyEqualTo(inputExpression)
   }
 
-  private fun parseComparableOperation(
+  private fun compileExpression(
     rawExpression: String,
     allowedVariables: List<String>,
     checkingMode: ErrorCheckingMode
-  ): ComparableOperation? {
-    return when (val expResult = parseExpression(rawExpression, allowedVariables, checkingMode)) {
-      is MathParsingResult.Success -> expResult.result.toComparableOperation()
+  ): CompiledMathExpression? {
+    val compiledExpression = compiledMathExpressionCache.compileAlgebraicExpression(
+      rawExpression, allowedVariables, checkingMode
+    )
+    return when (val expResult = compiledExpression.parsingResult) {
+      is MathParsingResult.Success -> compiledExpression
       is MathParsingResult.Failure -> {
         consoleLogger.e(
           "AlgebraExpTrivialManips",
@@ -0,0 +1,144 @@
+package org.oppia.android.domain.classify.rules.dragAndDropSortInput
+
+import org.oppia.android.app.model.ListOfSetsOfTranslatableHtmlContentIds
+import org.oppia.android.util.caching.StripedLruCache
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/** The approximate maximum number of bytes of compiled orderings kept in memory at once. */
+private const val MAX_COMPILED_CACHE_SIZE_BYTES = 256L * 1024
+
+/** The number of independently locked stripes used by the compiled ordering cache. */
+private const val COMPILED_CACHE_STRIPE_COUNT = 4
+
+/** A rough estimate of the fixed per-ordering overhead of a [CompiledContentIdOrdering]. */
+private const val ESTIMATED_COMPILED_OVERHEAD_BYTES = 64
+
+/**
+ * Application-wide cache of "compiled" [ListOfSetsOfTranslatableHtmlContentIds]s for drag & drop
+ * sort input rule classifiers.
+ *
+ * Content IDs are interned to small integers that are shared across all compiled orderings, so
+ * that each position's set of content IDs can be represented as a bitset and compared against
+ * other orderings' positions using bit operations. Each compiled ordering also precomputes the
+ * position of every content ID it contains. Since creator-specified rule inputs are static and a
+ * learner's answer is compared against many rules, routing classification through this cache means
+ * that each ordering is compiled once, and that rules are evaluated without allocating any
+ * collections per submission.
+ */
+@Singleton
+class CompiledContentIdOrderingCache @Inject constructor() {
+  private val contentIdIndexLock = Any()
+  private val contentIdIndexes = mutableMapOf<String, Int>()
+  private val compiledOrderings =
+    StripedLruCache<ListOfSetsOfTranslatableHtmlContentIds, CompiledContentIdOrdering>(
+      MAX_COMPILED_CACHE_SIZE_BYTES, COMPILED_CACHE_STRIPE_COUNT
+    ) { _, compiledOrdering -> compiledOrdering.estimateSizeBytes() }
+
+  /** Returns the [CompiledContentIdOrdering] corresponding to the specified [ordering]. */
+  fun compileOrdering(
+    ordering: ListOfSetsOfTranslatableHtmlContentIds
+  ): CompiledContentIdOrdering {
+    return compiledOrderings.getOrPut(ordering) {
+      CompiledContentIdOrdering(
+        ordering.contentIdListsList.map { contentIdSet ->
+          contentIdSet.contentIdsList.map { getContentIdIndex(it.contentId) }
+        }
+      )
+    }
+  }
+
+  /**
+   * Returns the interned index of [contentId], which can be used to query the positions of the
+   * content ID within any [CompiledContentIdOrdering] produced by this cache.
+   */
+  fun getContentIdIndex(contentId: String): Int {
+    return synchronized(contentIdIndexLock) {
+      contentIdIndexes.getOrPut(contentId) { contentIdIndexes.size }
+    }
+  }
+
+  /**
+   * A compiled [ListOfSetsOfTranslatableHtmlContentIds] where each position's set of content IDs is
+   * represented as a bitset of interned content ID indexes (see [getContentIdIndex]).
+   *
+   * Note that compiled orderings can only be compared with other orderings produced by the same
+   * [CompiledContentIdOrderingCache].
+   */
+  class CompiledContentIdOrdering internal constructor(positionIndexes: List<List<Int>>) {
+    private val positionBitsets: Array<LongArray>
+    private val contentIdPositions: IntArray
+
+    init {
+      val maxIndex = positionIndexes.maxOfOrNull { indexes -> indexes.maxOrNull() ?: -1 } ?: -1
+      val wordCount = (maxIndex shr 6) + 1
+      positionBitsets = Array(positionIndexes.size) { LongArray(wordCount) }
+      contentIdPositions = IntArray(maxIndex + 1) { -1 }
+      positionIndexes.forEachIndexed { position, indexes ->
+        val bitset = positionBitsets[position]
+        for (index in indexes) {
+          bitset[index shr 6] = bitset[index shr 6] or (1L shl index)
+          // Content IDs are considered to be at the first position that contains them.
+          if (contentIdPositions[index] == -1) contentIdPositions[index] = position
+        }
+      }
+    }
+
+    /** The number of positions (that is, sets of content IDs) in this ordering. */
+    val positionCount: Int
+      get() = positionBitsets.size
+
+    /**
+     * Returns the 0-based position of the first set that contains the content ID with the specified
+     * interned index, or -1 if no set in this ordering contains it.
+     */
+    fun getPositionOf(contentIdIndex: Int): Int =
+      contentIdPositions.getOrElse(contentIdIndex) { -1 }
+
+    /**
+     * Returns whether this ordering has the same number of positions as [other], and whether each
+     * position contains exactly the same set of content IDs as its counterpart in [other].
+     */
+    fun isEqualTo(other: CompiledContentIdOrdering): Boolean {
+      if (positionCount != other.positionCount) return false
+      for (position in 0 until positionCount) {
+        if (countDifferingBits(positionBitsets[position], other.positionBitsets[position]) != 0) {
+          return false
+        }
+      }
+      return true
+    }
+
+    /**
+     * Returns the total size of the symmetric differences between the sets at each position of this
+     * ordering & [other] (that is, the number of content IDs which are only in one of the two sets
+     * at each position). Note that only positions present in both orderings are compared.
+     */
+    fun countSymmetricDifference(other: CompiledContentIdOrdering): Int {
+      var count = 0
+      for (position in 0 until minOf(positionCount, other.positionCount)) {
+        count += countDifferingBits(positionBitsets[position], other.positionBitsets[position])
+      }
+      return count
+    }
+
+    internal fun estimateSizeBytes(): Int {
+      val wordCount = positionBitsets.firstOrNull()?.size ?: 0
+      return ESTIMATED_COMPILED_OVERHEAD_BYTES +
+        positionBitsets.size * (wordCount * Long.SIZE_BYTES + ESTIMATED_COMPILED_OVERHEAD_BYTES) +
+        contentIdPositions.size * Int.SIZE_BYTES
+    }
+
+    private companion object {
+      private fun countDifferingBits(first: LongArray, second: LongArray): Int {
+        var count = 0
+        for (wordIndex in 0 until maxOf(first.size, second.size)) {
+          val firstWord = first.getOrElse(wordIndex) { 0L }
+          val secondWord = second.getOrElse(wordIndex) { 0L }
+          count += java.lang.Long.bitCount(firstWord xor secondWord)
+        }
+        return count
+      }
+    }
+  }
+}
@@ -9,7 +9,6 @@ import org.oppia.android.domain.classify.ClassificationContext
 import org.oppia.android.domain.classify.RuleClassifier
 import org.oppia.android.domain.classify.rules.GenericRuleClassifier
 import org.oppia.android.domain.classify.rules.RuleClassifierProvider
-import org.oppia.android.domain.util.getContentIdSet
 import javax.inject.Inject
 
 // Note: the number is needed due to https://youtrack.jetbrains.com/issue/KT-24700 to avoid a
@@ -26,7 +25,8 @@ private typealias ListOfContentIdSets1 = ListOfSetsOfTranslatableHtmlContentIds
  */
 // TODO(#1580): Re-restrict access using Bazel visibilities
 class DragDropSortInputHasElementXAtPositionYClassifierProvider @Inject constructor(
-  private val classifierFactory: GenericRuleClassifier.Factory
+  private val classifierFactory: GenericRuleClassifier.Factory,
+  private val compiledContentIdOrderingCache: CompiledContentIdOrderingCache
 ) : RuleClassifierProvider,
   GenericRuleClassifier.MultiTypeDoubleInputMatcher<ListOfContentIdSets1, ContentId1, Int> {
 
@@ -49,8 +49,8 @@ class DragDropSortInputHasElementXAtPositionYClassifierProvider @Inject construc
   ): Boolean {
     // Note that the '1' returned here is to have consistency with the web platform: matched indexes
     // start at 1 rather than 0 to make the indexes more human friendly.
-    return answer.contentIdListsList.indexOfFirst {
-      firstInput.contentId in it.getContentIdSet()
-    } + 1 == secondInput
+    val compiledAnswer = compiledContentIdOrderingCache.compileOrdering(answer)
+    val contentIdIndex = compiledContentIdOrderingCache.getContentIdIndex(firstInput.contentId)
+    return compiledAnswer.getPositionOf(contentIdIndex) + 1 == secondInput
   }
 }
@@ -8,7 +8,6 @@ import org.oppia.android.domain.classify.ClassificationContext
 import org.oppia.android.domain.classify.RuleClassifier
 import org.oppia.android.domain.classify.rules.GenericRuleClassifier
 import org.oppia.android.domain.classify.rules.RuleClassifierProvider
-import org.oppia.android.domain.util.getContentIdSet
 import javax.inject.Inject
 
 // Note: the number is needed due to https://youtrack.jetbrains.com/issue/KT-24700 to avoid a
@@ -25,7 +24,8 @@ private typealias ListOfContentIdSets2 = ListOfSetsOfTranslatableHtmlContentIds
  */
 // TODO(#1580): Re-restrict access using Bazel visibilities
 class DragDropSortInputHasElementXBeforeElementYClassifierProvider @Inject constructor(
-  private val classifierFactory: GenericRuleClassifier.Factory
+  private val classifierFactory: GenericRuleClassifier.Factory,
+  private val compiledContentIdOrderingCache: CompiledContentIdOrderingCache
 ) : RuleClassifierProvider,
   GenericRuleClassifier.MultiTypeDoubleInputMatcher<ListOfContentIdSets2, ContentId2, ContentId2> {
 
@@ -46,11 +46,9 @@ class DragDropSortInputHasElementXBeforeElementYClassifierProvider @Inject const
     secondInput: ContentId2,
     classificationContext: ClassificationContext
   ): Boolean {
-    val answerSets = answer.contentIdListsList.map { it.getContentIdSet() }
-    return answerSets.indexOfFirst {
-      firstInput.contentId in it
-    } < answerSets.indexOfFirst {
-      secondInput.contentId in it
-    }
+    val compiledAnswer = compiledContentIdOrderingCache.compileOrdering(answer)
+    val firstIndex = compiledContentIdOrderingCache.getContentIdIndex(firstInput.contentId)
+    val secondIndex = compiledContentIdOrderingCache.getContentIdIndex(secondInput.contentId)
+    return compiledAnswer.getPositionOf(firstIndex) < compiledAnswer.getPositionOf(secondIndex)
   }
 }
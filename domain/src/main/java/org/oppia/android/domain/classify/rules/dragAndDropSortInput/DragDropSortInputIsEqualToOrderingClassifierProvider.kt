@@ -2,12 +2,10 @@ package org.oppia.android.domain.classify.rules.dragAndDropSortInput
 
 import org.oppia.android.app.model.InteractionObject.ObjectTypeCase.LIST_OF_SETS_OF_TRANSLATABLE_HTML_CONTENT_IDS
 import org.oppia.android.app.model.ListOfSetsOfTranslatableHtmlContentIds
-import org.oppia.android.app.model.SetOfTranslatableHtmlContentIds
 import org.oppia.android.domain.classify.ClassificationContext
 import org.oppia.android.domain.classify.RuleClassifier
 import org.oppia.android.domain.classify.rules.GenericRuleClassifier
 import org.oppia.android.domain.classify.rules.RuleClassifierProvider
-import org.oppia.android.domain.util.getContentIdSet
 import javax.inject.Inject
 
 /**
@@ -19,7 +17,8 @@ import javax.inject.Inject
  */
 // TODO(#1580): Re-restrict access using Bazel visibilities
 class DragDropSortInputIsEqualToOrderingClassifierProvider @Inject constructor(
-  private val classifierFactory: GenericRuleClassifier.Factory
+  private val classifierFactory: GenericRuleClassifier.Factory,
+  private val compiledContentIdOrderingCache: CompiledContentIdOrderingCache
 ) : RuleClassifierProvider,
   GenericRuleClassifier.SingleInputMatcher<ListOfSetsOfTranslatableHtmlContentIds> {
 
@@ -35,36 +34,11 @@ class DragDropSortInputIsEqualToOrderingClassifierProvider @Inject constructor(
     answer: ListOfSetsOfTranslatableHtmlContentIds,
     input: ListOfSetsOfTranslatableHtmlContentIds,
     classificationContext: ClassificationContext
-  ): Boolean = areListOfSetsOfHtmlStringsEqual(answer, input)
-
-  /**
-   * Returns whether the two specified lists are equal irrespective of the item positions in each
-   * list.
-   */
-  private fun areListOfSetsOfHtmlStringsEqual(
-    answer: ListOfSetsOfTranslatableHtmlContentIds,
-    input: ListOfSetsOfTranslatableHtmlContentIds
   ): Boolean {
-    /*
-     * For Ex - list1 = [a, b, c] & list2 = [1, 2, 3]
-     *          list1 zip list2 => [{a, 1}, {b, 2}, {b, 3}]
-     *          then two items are checked using areSetsOfHtmlStringsEqual which gives a boolean value
-     *          then reduce operator on a list of boolean for ex [false, true, false, false, false]
-     *          will result in  val a = false && true && false && false && false where && signifies the operator
-     *          which is meant to be applied.
-     */
-    if (answer.contentIdListsCount != input.contentIdListsCount) {
-      return false
-    }
-    val answerStringSets = answer.contentIdListsList
-    val inputStringSets = input.contentIdListsList
-    return (answerStringSets zip inputStringSets).map { (first, second) ->
-      areSetsOfHtmlStringsEqual(first, second)
-    }.reduce(Boolean::and)
+    // The lists must be the same length, and the sets at each position must contain the same
+    // elements (irrespective of their order within each set).
+    val compiledAnswer = compiledContentIdOrderingCache.compileOrdering(answer)
+    val compiledInput = compiledContentIdOrderingCache.compileOrdering(input)
+    return compiledAnswer.isEqualTo(compiledInput)
   }
-
-  private fun areSetsOfHtmlStringsEqual(
-    first: SetOfTranslatableHtmlContentIds,
-    second: SetOfTranslatableHtmlContentIds
-  ): Boolean = first.getContentIdSet() == second.getContentIdSet()
 }
@@ -6,7 +6,6 @@ import org.oppia.android.domain.classify.ClassificationContext
 import org.oppia.android.domain.classify.RuleClassifier
 import org.oppia.android.domain.classify.rules.GenericRuleClassifier
 import org.oppia.android.domain.classify.rules.RuleClassifierProvider
-import org.oppia.android.domain.util.getContentIdSet
 import javax.inject.Inject
 
 /**
@@ -18,7 +17,8 @@ import javax.inject.Inject
 // TODO(#1580): Re-restrict access using Bazel visibilities
 class DragDropSortInputIsEqualToOrderingWithOneItemAtIncorrectPositionClassifierProvider
 @Inject constructor(
-  private val classifierFactory: GenericRuleClassifier.Factory
+  private val classifierFactory: GenericRuleClassifier.Factory,
+  private val compiledContentIdOrderingCache: CompiledContentIdOrderingCache
 ) : RuleClassifierProvider,
   GenericRuleClassifier.SingleInputMatcher<ListOfSetsOfTranslatableHtmlContentIds> {
 
@@ -35,18 +35,8 @@ class DragDropSortInputIsEqualToOrderingWithOneItemAtIncorrectPositionClassifier
     input: ListOfSetsOfTranslatableHtmlContentIds,
     classificationContext: ClassificationContext
   ): Boolean {
-    val answerStringSets = answer.contentIdListsList
-    val inputStringSets = input.contentIdListsList
-    return (answerStringSets zip inputStringSets).map { (first, second) ->
-      computeSymmetricDifference(first.getContentIdSet(), second.getContentIdSet()).size
-    }.reduce(Int::plus) == 1
-  }
-
-  /**
-   * Returns the symmetric difference of the two sets. That is, the set of elements that are
-   * individually one of either sets, but not both.
-   */
-  private fun computeSymmetricDifference(first: Set<String>, second: Set<String>): Set<String> {
-    return (first union second) subtract (first intersect second)
+    val compiledAnswer = compiledContentIdOrderingCache.compileOrdering(answer)
+    val compiledInput = compiledContentIdOrderingCache.compileOrdering(input)
+    return compiledAnswer.countSymmetricDifference(compiledInput) == 1
   }
 }
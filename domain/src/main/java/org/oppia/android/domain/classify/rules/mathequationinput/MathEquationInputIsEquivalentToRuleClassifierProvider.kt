@@ -4,6 +4,7 @@ import org.oppia.android.app.model.InteractionObject
 import org.oppia.android.app.model.Polynomial
 import org.oppia.android.domain.classify.ClassificationContext
 import org.oppia.android.domain.classify.RuleClassifier
+import org.oppia.android.domain.classify.rules.CompiledMathExpressionCache
 import org.oppia.android.domain.classify.rules.GenericRuleClassifier
 import org.oppia.android.domain.classify.rules.RuleClassifierProvider
 import org.oppia.android.util.logging.ConsoleLogger
@@ -14,10 +15,8 @@ import org.oppia.android.util.math.MathExpressionParser.Companion.MathParsingRes
 import org.oppia.android.util.math.isApproximatelyEqualTo
 import org.oppia.android.util.math.minus
 import org.oppia.android.util.math.sort
-import org.oppia.android.util.math.toPolynomial
 import org.oppia.android.util.math.unaryMinus
 import javax.inject.Inject
-import org.oppia.android.util.math.MathExpressionParser.Companion.parseAlgebraicEquation as parseEquation
 
 /**
  * Provider for a classifier that determines whether a math equation expression is mathematically
@@ -31,6 +30,7 @@ import org.oppia.android.util.math.MathExpressionParser.Companion.parseAlgebraic
  */
 class MathEquationInputIsEquivalentToRuleClassifierProvider @Inject constructor(
   private val classifierFactory: GenericRuleClassifier.Factory,
+  private val compiledMathExpressionCache: CompiledMathExpressionCache,
   private val consoleLogger: ConsoleLogger
 ) : RuleClassifierProvider, GenericRuleClassifier.SingleInputMatcher<String> {
   override fun createRuleClassifier(): RuleClassifier {
@@ -73,17 +73,17 @@ class MathEquationInputIsEquivalentToRuleClassifierProvider @Inject constructor(
     allowedVariables: List<String>,
     checkingMode: ErrorCheckingMode
   ): Pair<Polynomial, Polynomial>? {
-    return when (val eqResult = parseEquation(rawEquation, allowedVariables, checkingMode)) {
+    val compiledEquation = compiledMathExpressionCache.compileAlgebraicEquation(
+      rawEquation, allowedVariables, checkingMode
+    )
+    return when (val eqResult = compiledEquation.parsingResult) {
       is MathParsingResult.Success -> {
-        val lhsExp = eqResult.result.leftSide.toPolynomial()
-        val rhsExp = eqResult.result.rightSide.toPolynomial()
-        if (lhsExp != null && rhsExp != null) {
-          lhsExp to rhsExp
-        } else {
-          consoleLogger.w(
-            "AlgebraEqEquivalent", "Equation is not a supported polynomial: $rawEquation."
-          )
-          null
+        compiledEquation.sidePolynomials.also {
+          if (it == null) {
+            consoleLogger.w(
+              "AlgebraEqEquivalent", "Equation is not a supported polynomial: $rawEquation."
+            )
+          }
         }
       }
       is MathParsingResult.Failure -> {
@@ -2,8 +2,11 @@ package org.oppia.android.domain.classify.rules.mathequationinput
 
 import org.oppia.android.app.model.InteractionObject
 import org.oppia.android.app.model.MathEquation
+import org.oppia.android.app.model.MathExpression
 import org.oppia.android.domain.classify.ClassificationContext
 import org.oppia.android.domain.classify.RuleClassifier
+import org.oppia.android.domain.classify.rules.CompiledMathExpressionCache
+import org.oppia.android.domain.classify.rules.CompiledMathExpressionCache.CompiledMathEquation
 import org.oppia.android.domain.classify.rules.GenericRuleClassifier
 import org.oppia.android.domain.classify.rules.RuleClassifierProvider
 import org.oppia.android.util.logging.ConsoleLogger
@@ -12,9 +15,7 @@ import org.oppia.android.util.math.MathExpressionParser.Companion.ErrorCheckingM
 import org.oppia.android.util.math.MathExpressionParser.Companion.ErrorCheckingMode.REQUIRED_ONLY
 import org.oppia.android.util.math.MathExpressionParser.Companion.MathParsingResult
 import org.oppia.android.util.math.isApproximatelyEqualTo
-import org.oppia.android.util.math.stripRedundantGroups
 import javax.inject.Inject
-import org.oppia.android.util.math.MathExpressionParser.Companion.parseAlgebraicEquation as parseExpression
 
 /**
  * Provider for a classifier that determines whether a math equation is exactly equal to the
@@ -25,6 +26,7 @@ import org.oppia.android.util.math.MathExpressionParser.Companion.parseAlgebraic
  */
 class MathEquationInputMatchesExactlyWithRuleClassifierProvider @Inject constructor(
   private val classifierFactory: GenericRuleClassifier.Factory,
+  private val compiledMathExpressionCache: CompiledMathExpressionCache,
   private val consoleLogger: ConsoleLogger
 ) : RuleClassifierProvider, GenericRuleClassifier.SingleInputMatcher<String> {
   override fun createRuleClassifier(): RuleClassifier {
@@ -42,19 +44,23 @@ class MathEquationInputMatchesExactlyWithRuleClassifierProvider @Inject construc
   ): Boolean {
     val allowedVariables = classificationContext.extractAllowedVariables()
     val answerEquation =
-      parseAlgebraicEquation(answer, allowedVariables, ALL_ERRORS) ?: return false
-    val inputEquation =
-      parseAlgebraicEquation(input, allowedVariables, REQUIRED_ONLY) ?: return false
-    return answerEquation.approximatelyEquals(inputEquation)
+      parseAlgebraicEquation(answer, allowedVariables, ALL_ERRORS)?.equation ?: return false
+    val inputSides =
+      parseAlgebraicEquation(input, allowedVariables, REQUIRED_ONLY)?.groupStrippedSides
+        ?: return false
+    return answerEquation.approximatelyEquals(inputSides)
   }
 
   private fun parseAlgebraicEquation(
     rawEquation: String,
     allowedVariables: List<String>,
     checkingMode: ErrorCheckingMode
-  ): MathEquation? {
-    return when (val eqResult = parseExpression(rawEquation, allowedVariables, checkingMode)) {
-      is MathParsingResult.Success -> eqResult.result
+  ): CompiledMathEquation? {
+    val compiledEquation = compiledMathExpressionCache.compileAlgebraicEquation(
+      rawEquation, allowedVariables, checkingMode
+    )
+    return when (val eqResult = compiledEquation.parsingResult) {
+      is MathParsingResult.Success -> compiledEquation
       is MathParsingResult.Failure -> {
         consoleLogger.e(
           "AlgebraEqMatchesExact",
@@ -75,9 +81,11 @@ class MathEquationInputMatchesExactlyWithRuleClassifierProvider @Inject construc
         ?: listOf()
     }
 
-    private fun MathEquation.approximatelyEquals(input: MathEquation): Boolean {
-      return leftSide.isApproximatelyEqualTo(input.leftSide.stripRedundantGroups()) &&
-        rightSide.isApproximatelyEqualTo(input.rightSide.stripRedundantGroups())
+    private fun MathEquation.approximatelyEquals(
+      groupStrippedInputSides: Pair<MathExpression, MathExpression>
+    ): Boolean {
+      val (inputLhs, inputRhs) = groupStrippedInputSides
+      return leftSide.isApproximatelyEqualTo(inputLhs) && rightSide.isApproximatelyEqualTo(inputRhs)
     }
   }
 }
@@ -1,9 +1,10 @@
 package org.oppia.android.domain.classify.rules.mathequationinput
 
-import org.oppia.android.app.model.ComparableOperation
 import org.oppia.android.app.model.InteractionObject
 import org.oppia.android.domain.classify.ClassificationContext
 import org.oppia.android.domain.classify.RuleClassifier
+import org.oppia.android.domain.classify.rules.CompiledMathExpressionCache
+import org.oppia.android.domain.classify.rules.CompiledMathExpressionCache.CompiledMathEquation
 import org.oppia.android.domain.classify.rules.GenericRuleClassifier
 import org.oppia.android.domain.classify.rules.RuleClassifierProvider
 import org.oppia.android.util.logging.ConsoleLogger
@@ -11,10 +12,7 @@ import org.oppia.android.util.math.MathExpressionParser.Companion.ErrorCheckingM
 import org.oppia.android.util.math.MathExpressionParser.Companion.ErrorCheckingMode.ALL_ERRORS
 import org.oppia.android.util.math.MathExpressionParser.Companion.ErrorCheckingMode.REQUIRED_ONLY
 import org.oppia.android.util.math.MathExpressionParser.Companion.MathParsingResult
-import org.oppia.android.util.math.isApproximatelyEqualTo
-import org.oppia.android.util.math.toComparableOperation
 import javax.inject.Inject
-import org.oppia.android.util.math.MathExpressionParser.Companion.parseAlgebraicEquation as parseEquation
 
 /**
  * Provider for a classifier that determines whether a math equation is equal to the
@@ -28,6 +26,7 @@ import org.oppia.android.util.math.MathExpressionParser.Companion.parseAlgebraic
 class MathEquationInputMatchesUpToTrivialManipulationsRuleClassifierProvider
 @Inject constructor(
   private val classifierFactory: GenericRuleClassifier.Factory,
+  private val compiledMathExpressionCache: CompiledMathExpressionCache,
   private val consoleLogger: ConsoleLogger
 ) : RuleClassifierProvider, GenericRuleClassifier.SingleInputMatcher<String> {
   override fun createRuleClassifier(): RuleClassifier {
@@ -44,26 +43,23 @@ class MathEquationInputMatchesUpToTrivialManipulationsRuleClassifierProvider
     classificationContext: ClassificationContext
   ): Boolean {
     val allowedVariables = classificationContext.extractAllowedVariables()
-    val (answerLhs, answerRhs) =
-      parseComparableLists(answer, allowedVariables, ALL_ERRORS) ?: return false
-    val (inputLhs, inputRhs) =
-      parseComparableLists(input, allowedVariables, REQUIRED_ONLY) ?: return false
+    val answerEquation = compileEquation(answer, allowedVariables, ALL_ERRORS) ?: return false
+    val inputEquation = compileEquation(input, allowedVariables, REQUIRED_ONLY) ?: return false
 
     // Sides must match (reordering around the '=' is not allowed by this classifier).
-    return answerLhs.isApproximatelyEqualTo(inputLhs) && answerRhs.isApproximatelyEqualTo(inputRhs)
+    return answerEquation.isComparablyEqualTo(inputEquation)
   }
 
-  private fun parseComparableLists(
+  private fun compileEquation(
     rawEquation: String,
     allowedVariables: List<String>,
     checkingMode: ErrorCheckingMode
-  ): Pair<ComparableOperation, ComparableOperation>? {
-    return when (val eqResult = parseEquation(rawEquation, allowedVariables, checkingMode)) {
-      is MathParsingResult.Success -> {
-        val lhsExp = eqResult.result.leftSide
-        val rhsExp = eqResult.result.rightSide
-        lhsExp.toComparableOperation() to rhsExp.toComparableOperation()
-      }
+  ): CompiledMathEquation? {
+    val compiledEquation = compiledMathExpressionCache.compileAlgebraicEquation(
+      rawEquation, allowedVariables, checkingMode
+    )
+    return when (val eqResult = compiledEquation.parsingResult) {
+      is MathParsingResult.Success -> compiledEquation
       is MathParsingResult.Failure -> {
         consoleLogger.e(
           "AlgebraEqTrivialManips",
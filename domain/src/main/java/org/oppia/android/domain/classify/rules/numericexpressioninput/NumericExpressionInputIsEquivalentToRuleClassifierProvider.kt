@@ -4,6 +4,7 @@ import org.oppia.android.app.model.InteractionObject
 import org.oppia.android.app.model.Real
 import org.oppia.android.domain.classify.ClassificationContext
 import org.oppia.android.domain.classify.RuleClassifier
+import org.oppia.android.domain.classify.rules.CompiledMathExpressionCache
 import org.oppia.android.domain.classify.rules.GenericRuleClassifier
 import org.oppia.android.domain.classify.rules.RuleClassifierProvider
 import org.oppia.android.util.logging.ConsoleLogger
@@ -11,8 +12,6 @@ import org.oppia.android.util.math.MathExpressionParser.Companion.ErrorCheckingM
 import org.oppia.android.util.math.MathExpressionParser.Companion.ErrorCheckingMode.ALL_ERRORS
 import org.oppia.android.util.math.MathExpressionParser.Companion.ErrorCheckingMode.REQUIRED_ONLY
 import org.oppia.android.util.math.MathExpressionParser.Companion.MathParsingResult
-import org.oppia.android.util.math.MathExpressionParser.Companion.parseNumericExpression
-import org.oppia.android.util.math.evaluateAsNumericExpression
 import org.oppia.android.util.math.isApproximatelyEqualTo
 import javax.inject.Inject
 
@@ -24,6 +23,7 @@ import javax.inject.Inject
  */
 class NumericExpressionInputIsEquivalentToRuleClassifierProvider @Inject constructor(
   private val classifierFactory: GenericRuleClassifier.Factory,
+  private val compiledMathExpressionCache: CompiledMathExpressionCache,
   private val consoleLogger: ConsoleLogger
 ) : RuleClassifierProvider, GenericRuleClassifier.SingleInputMatcher<String> {
   override fun createRuleClassifier(): RuleClassifier {
@@ -48,9 +48,11 @@ class NumericExpressionInputIsEquivalentToRuleClassifierProvider @Inject constru
     rawExpression: String,
     checkingMode: ErrorCheckingMode
   ): Real? {
-    return when (val expResult = parseNumericExpression(rawExpression, checkingMode)) {
+    val compiledExpression =
+      compiledMathExpressionCache.compileNumericExpression(rawExpression, checkingMode)
+    return when (val expResult = compiledExpression.parsingResult) {
       is MathParsingResult.Success -> {
-        expResult.result.evaluateAsNumericExpression().also {
+        compiledExpression.numericValue.also {
           if (it == null) {
             consoleLogger.w(
               "NumericExpEquivalent", "Expression failed to evaluate: $rawExpression."
@@ -1,9 +1,10 @@
 package org.oppia.android.domain.classify.rules.numericexpressioninput
 
 import org.oppia.android.app.model.InteractionObject
-import org.oppia.android.app.model.MathExpression
 import org.oppia.android.domain.classify.ClassificationContext
 import org.oppia.android.domain.classify.RuleClassifier
+import org.oppia.android.domain.classify.rules.CompiledMathExpressionCache
+import org.oppia.android.domain.classify.rules.CompiledMathExpressionCache.CompiledMathExpression
 import org.oppia.android.domain.classify.rules.GenericRuleClassifier
 import org.oppia.android.domain.classify.rules.RuleClassifierProvider
 import org.oppia.android.util.logging.ConsoleLogger
@@ -11,9 +12,7 @@ import org.oppia.android.util.math.MathExpressionParser.Companion.ErrorCheckingM
 import org.oppia.android.util.math.MathExpressionParser.Companion.ErrorCheckingMode.ALL_ERRORS
 import org.oppia.android.util.math.MathExpressionParser.Companion.ErrorCheckingMode.REQUIRED_ONLY
 import org.oppia.android.util.math.MathExpressionParser.Companion.MathParsingResult
-import org.oppia.android.util.math.MathExpressionParser.Companion.parseNumericExpression
 import org.oppia.android.util.math.isApproximatelyEqualTo
-import org.oppia.android.util.math.stripRedundantGroups
 import javax.inject.Inject
 
 /**
@@ -25,6 +24,7 @@ import javax.inject.Inject
  */
 class NumericExpressionInputMatchesExactlyWithRuleClassifierProvider @Inject constructor(
   private val classifierFactory: GenericRuleClassifier.Factory,
+  private val compiledMathExpressionCache: CompiledMathExpressionCache,
   private val consoleLogger: ConsoleLogger
 ) : RuleClassifierProvider, GenericRuleClassifier.SingleInputMatcher<String> {
   override fun createRuleClassifier(): RuleClassifier {
@@ -40,9 +40,10 @@ class NumericExpressionInputMatchesExactlyWithRuleClassifierProvider @Inject con
     input: String,
     classificationContext: ClassificationContext
   ): Boolean {
-    val answerExpression = parseExpression(answer, ALL_ERRORS) ?: return false
-    val inputExpression = parseExpression(input, REQUIRED_ONLY) ?: return false
-    return answerExpression.isApproximatelyEqualTo(inputExpression.stripRedundantGroups())
+    val answerExpression = parseExpression(answer, ALL_ERRORS)?.expression ?: return false
+    val inputExpression =
+      parseExpression(input, REQUIRED_ONLY)?.groupStrippedExpression ?: return false
+    return answerExpression.isApproximatelyEqualTo(inputExpression)
   }
 
   // TODO(#4345): Add tests for this & other math expression classifiers to verifying that rule
@@ -50,9 +51,11 @@ class NumericExpressionInputMatchesExactlyWithRuleClassifierProvider @Inject con
   private fun parseExpression(
     rawExpression: String,
     checkingMode: ErrorCheckingMode
-  ): MathExpression? {
-    return when (val expResult = parseNumericExpression(rawExpression, checkingMode)) {
-      is MathParsingResult.Success -> expResult.result
+  ): CompiledMathExpression? {
+    val compiledExpression =
+      compiledMathExpressionCache.compileNumericExpression(rawExpression, checkingMode)
+    return when (val expResult = compiledExpression.parsingResult) {
+      is MathParsingResult.Success -> compiledExpression
       is MathParsingResult.Failure -> {
         consoleLogger.e(
           "NumericExpMatchesExact",
@@ -1,9 +1,10 @@
 package org.oppia.android.domain.classify.rules.numericexpressioninput
 
-import org.oppia.android.app.model.ComparableOperation
 import org.oppia.android.app.model.InteractionObject
 import org.oppia.android.domain.classify.ClassificationContext
 import org.oppia.android.domain.classify.RuleClassifier
+import org.oppia.android.domain.classify.rules.CompiledMathExpressionCache
+import org.oppia.android.domain.classify.rules.CompiledMathExpressionCache.CompiledMathExpression
 import org.oppia.android.domain.classify.rules.GenericRuleClassifier
 import org.oppia.android.domain.classify.rules.RuleClassifierProvider
 import org.oppia.android.util.logging.ConsoleLogger
@@ -11,9 +12,6 @@ import org.oppia.android.util.math.MathExpressionParser.Companion.ErrorCheckingM
 import org.oppia.android.util.math.MathExpressionParser.Companion.ErrorCheckingMode.ALL_ERRORS
 import org.oppia.android.util.math.MathExpressionParser.Companion.ErrorCheckingMode.REQUIRED_ONLY
 import org.oppia.android.util.math.MathExpressionParser.Companion.MathParsingResult
-import org.oppia.android.util.math.MathExpressionParser.Companion.parseNumericExpression
-import org.oppia.android.util.math.isApproximatelyEqualTo
-import org.oppia.android.util.math.toComparableOperation
 import javax.inject.Inject
 
 /**
@@ -28,6 +26,7 @@ import javax.inject.Inject
 class NumericExpressionInputMatchesUpToTrivialManipulationsRuleClassifierProvider
 @Inject constructor(
   private val classifierFactory: GenericRuleClassifier.Factory,
+  private val compiledMathExpressionCache: CompiledMathExpressionCache,
   private val consoleLogger: ConsoleLogger
 ) : RuleClassifierProvider, GenericRuleClassifier.SingleInputMatcher<String> {
   override fun createRuleClassifier(): RuleClassifier {
@@ -43,17 +42,19 @@ class NumericExpressionInputMatchesUpToTrivialManipulationsRuleClassifierProvide
     input: String,
     classificationContext: ClassificationContext
   ): Boolean {
-    val answerExpression = parseComparableOperation(answer, ALL_ERRORS) ?: return false
-    val inputExpression = parseComparableOperation(input, REQUIRED_ONLY) ?: return false
-    return answerExpression.isApproximatelyEqualTo(inputExpression)
+    val answerExpression = compileExpression(answer, ALL_ERRORS) ?: return false
+    val inputExpression = compileExpression(input, REQUIRED_ONLY) ?: return false
+    return answerExpression.isComparablyEqualTo(inputExpression)
   }
 
-  private fun parseComparableOperation(
+  private fun compileExpression(
     rawExpression: String,
     checkingMode: ErrorCheckingMode
-  ): ComparableOperation? {
-    return when (val expResult = parseNumericExpression(rawExpression, checkingMode)) {
-      is MathParsingResult.Success -> expResult.result.toComparableOperation()
+  ): CompiledMathExpression? {
+    val compiledExpression =
+      compiledMathExpressionCache.compileNumericExpression(rawExpression, checkingMode)
+    return when (val expResult = compiledExpression.parsingResult) {
+      is MathParsingResult.Success -> compiledExpression
       is MathParsingResult.Failure -> {
         consoleLogger.e(
           "NumericExpTrivialManips",
@@ -7,8 +7,6 @@ import org.oppia.android.domain.classify.RuleClassifier
 import org.oppia.android.domain.classify.rules.GenericRuleClassifier
 import org.oppia.android.domain.classify.rules.RuleClassifierProvider
 import org.oppia.android.domain.translation.TranslationController
-import org.oppia.android.util.extensions.normalizeWhitespace
-import org.oppia.android.util.locale.OppiaLocale
 import javax.inject.Inject
 
 /**
@@ -20,8 +18,8 @@ import javax.inject.Inject
 // TODO(#1580): Re-restrict access using Bazel visibilities
 class TextInputFuzzyEqualsRuleClassifierProvider @Inject constructor(
   private val classifierFactory: GenericRuleClassifier.Factory,
-  private val machineLocale: OppiaLocale.MachineLocale,
-  private val translationController: TranslationController
+  private val translationController: TranslationController,
+  private val textInputMatchingEngine: TextInputMatchingEngine
 ) : RuleClassifierProvider,
   GenericRuleClassifier.MultiTypeSingleInputMatcher<String, TranslatableSetOfNormalizedString> {
 
@@ -43,42 +41,11 @@ class TextInputFuzzyEqualsRuleClassifierProvider @Inject constructor(
       translationController.extractStringList(
         input, classificationContext.writtenTranslationContext
       )
-    return inputStringList.any { hasEditDistanceEqualToOne(it, answer) }
-  }
-
-  private fun hasEditDistanceEqualToOne(inputString: String, matchString: String): Boolean {
-    val lowerInput = machineLocale.run { inputString.normalizeWhitespace().toMachineLowerCase() }
-    val lowerMatch = machineLocale.run { matchString.normalizeWhitespace().toMachineLowerCase() }
-    if (lowerInput == lowerMatch) {
-      return true
-    }
-
-    val editDistance = mutableListOf<MutableList<Int>>()
-    for (i in 0..lowerInput.length) {
-      editDistance.add(mutableListOf(i))
-    }
-    for (j in 1..lowerMatch.length) {
-      editDistance[0].add(j)
-    }
-
-    for (i in 1..lowerInput.length) {
-      for (j in 1..lowerMatch.length) {
-        check(j == editDistance[i].size) {
-          "Something went wrong. Expected index $j to not yet be in array: ${editDistance[i]}"
-        }
-        if (lowerInput[i - 1] == lowerMatch[j - 1]) {
-          editDistance[i].add(editDistance[i - 1][j - 1])
-        } else {
-          editDistance[i].add(
-            minOf(
-              editDistance[i - 1][j - 1],
-              editDistance[i][j - 1],
-              editDistance[i - 1][j]
-            ) + 1
-          )
-        }
-      }
+    val normalizedAnswer = textInputMatchingEngine.normalize(answer)
+    return textInputMatchingEngine.normalizeRuleInputs(inputStringList).any { normalizedInput ->
+      textInputMatchingEngine.isWithinEditDistance(
+        normalizedInput, normalizedAnswer, maxDistance = 1
+      )
     }
-    return editDistance[lowerInput.length][lowerMatch.length] == 1
   }
 }
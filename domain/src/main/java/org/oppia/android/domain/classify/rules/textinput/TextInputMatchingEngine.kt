@@ -0,0 +1,122 @@
+package org.oppia.android.domain.classify.rules.textinput
+
+import org.oppia.android.util.caching.StripedLruCache
+import org.oppia.android.util.extensions.normalizeWhitespace
+import org.oppia.android.util.locale.OppiaLocale
+import javax.inject.Inject
+import javax.inject.Singleton
+import kotlin.math.abs
+
+/**
+ * The approximate maximum number of bytes of normalized rule input strings that are kept in memory
+ * at once.
+ */
+private const val MAX_NORMALIZED_INPUTS_CACHE_SIZE_BYTES = 512L * 1024
+
+/** The number of independently locked stripes used by the normalized rule input cache. */
+private const val NORMALIZED_INPUTS_CACHE_STRIPE_COUNT = 4
+
+/** The initial length of each reusable edit distance row (rows grow as longer strings are seen). */
+private const val INITIAL_EDIT_DISTANCE_ROW_LENGTH = 32
+
+/**
+ * Application-wide engine for the string comparisons performed by text input rule classifiers.
+ *
+ * Rule inputs are static for a given interaction, so their normalized forms (see [normalize]) are
+ * computed once and cached (see [normalizeRuleInputs]) rather than being recomputed for every
+ * answer that's checked against them. Edit distances are computed using two reusable primitive
+ * rows (rather than a full matrix) and stop as soon as the distance is known to exceed the caller's
+ * threshold, so checking an answer against a long list of rule inputs doesn't allocate per
+ * comparison.
+ */
+@Singleton
+class TextInputMatchingEngine @Inject constructor(
+  private val machineLocale: OppiaLocale.MachineLocale
+) {
+  private val normalizedRuleInputs =
+    StripedLruCache<List<String>, List<String>>(
+      MAX_NORMALIZED_INPUTS_CACHE_SIZE_BYTES, NORMALIZED_INPUTS_CACHE_STRIPE_COUNT
+    ) { ruleInputs, _ -> ruleInputs.sumOf { it.length } * Char.SIZE_BYTES * 2 }
+  private val editDistanceRows = object : ThreadLocal<EditDistanceRows>() {
+    override fun initialValue(): EditDistanceRows = EditDistanceRows()
+  }
+
+  /**
+   * Returns the normalized form of the specified text: whitespace is normalized (see
+   * [normalizeWhitespace]) and the text is lowercased per the machine locale.
+   */
+  fun normalize(text: String): String =
+    machineLocale.run { text.normalizeWhitespace().toMachineLowerCase() }
+
+  /**
+   * Returns the normalized forms (see [normalize]) of each of the specified rule inputs, in the
+   * same order. Results are cached, so repeated calls for the same inputs won't re-normalize them.
+   */
+  fun normalizeRuleInputs(ruleInputs: List<String>): List<String> {
+    return normalizedRuleInputs.getOrPut(ruleInputs) { ruleInputs.map(::normalize) }
+  }
+
+  /**
+   * Returns whether the Levenshtein edit distance between the two specified strings is at most
+   * [maxDistance]. Note that strings are compared exactly, so callers should normalize them first
+   * (see [normalize]).
+   */
+  fun isWithinEditDistance(first: String, second: String, maxDistance: Int): Boolean {
+    require(maxDistance >= 0) { "Expected non-negative max distance, not: $maxDistance." }
+    // The distance is never smaller than the difference in lengths, so avoid any further work if
+    // that difference is already too large.
+    if (abs(first.length - second.length) > maxDistance) return false
+    if (first == second) return true
+    return computeBoundedEditDistance(first, second, maxDistance) <= maxDistance
+  }
+
+  /**
+   * Returns the Levenshtein edit distance between [source] and [target], or any value larger than
+   * [maxDistance] if the distance exceeds [maxDistance].
+   */
+  private fun computeBoundedEditDistance(source: String, target: String, maxDistance: Int): Int {
+    val rows = editDistanceRows.get()!!
+    rows.ensureCapacity(target.length + 1)
+    var previousRow = rows.first
+    var currentRow = rows.second
+    for (j in 0..target.length) previousRow[j] = j
+
+    for (i in 1..source.length) {
+      val sourceChar = source[i - 1]
+      currentRow[0] = i
+      var rowMinimum = i
+      for (j in 1..target.length) {
+        val substitutionCost = if (sourceChar == target[j - 1]) 0 else 1
+        val distance = minOf(
+          previousRow[j - 1] + substitutionCost, previousRow[j] + 1, currentRow[j - 1] + 1
+        )
+        currentRow[j] = distance
+        if (distance < rowMinimum) rowMinimum = distance
+      }
+      // Distances never decrease from one row to the next, so the final distance must be too large
+      // if every entry in this row already is.
+      if (rowMinimum > maxDistance) return rowMinimum
+
+      val swapRow = previousRow
+      previousRow = currentRow
+      currentRow = swapRow
+    }
+    return previousRow[target.length]
+  }
+
+  /** The pair of reusable rows used for computing edit distances on a single thread. */
+  private class EditDistanceRows {
+    var first = IntArray(INITIAL_EDIT_DISTANCE_ROW_LENGTH)
+      private set
+    var second = IntArray(INITIAL_EDIT_DISTANCE_ROW_LENGTH)
+      private set
+
+    fun ensureCapacity(length: Int) {
+      if (first.size < length) {
+        val newLength = maxOf(length, first.size * 2)
+        first = IntArray(newLength)
+        second = IntArray(newLength)
+      }
+    }
+  }
+}
@@ -25,6 +25,7 @@ import org.oppia.android.app.model.HelpIndex.IndexTypeCase.LATEST_REVEALED_HINT_
 import org.oppia.android.app.model.HelpIndex.IndexTypeCase.NEXT_AVAILABLE_HINT_INDEX
 import org.oppia.android.app.model.HelpIndex.IndexTypeCase.SHOW_SOLUTION
 import org.oppia.android.app.model.ProfileId
+import org.oppia.android.app.model.State
 import org.oppia.android.app.model.UserAnswer
 import org.oppia.android.app.model.WrittenTranslationLanguageSelection
 import org.oppia.android.domain.classify.AnswerClassificationController
@@ -46,6 +47,7 @@ import org.oppia.android.util.data.DataProvider
 import org.oppia.android.util.data.DataProviders
 import org.oppia.android.util.data.DataProviders.Companion.combineWith
 import org.oppia.android.util.data.DataProviders.Companion.transform
+import org.oppia.android.util.parser.math.LatexRenderPipeline
 import org.oppia.android.util.system.OppiaClock
 import org.oppia.android.util.threading.BackgroundDispatcher
 import java.util.UUID
@@ -117,6 +119,7 @@ class ExplorationProgressController @Inject constructor(
   private val loggingIdentifierController: LoggingIdentifierController,
   private val profileManagementController: ProfileManagementController,
   private val learnerAnalyticsLogger: LearnerAnalyticsLogger,
+  private val latexRenderPipeline: LatexRenderPipeline,
   @BackgroundDispatcher private val backgroundCoroutineDispatcher: CoroutineDispatcher,
   private val explorationProgressListeners: Set<@JvmSuppressWildcards ExplorationProgressListener>
 ) {
@@ -707,6 +710,7 @@ class ExplorationProgressController @Inject constructor(
               isContinueButtonAnimationSeen = isContinueButtonAnimationSeen
             )
             hintHandler.finishState(newState)
+            prefetchLatexForCurrentState()
           }
           ephemeralState.stateTypeCase == EphemeralState.StateTypeCase.PENDING_STATE -> {
             // Schedule, or show immediately, a new hint or solution based on the current
@@ -1006,6 +1010,8 @@ class ExplorationProgressController @Inject constructor(
       }
     }
 
+    prefetchLatexForCurrentState()
+
     // Advance the stage, but do not notify observers since the current state can be reported
     // immediately to the UI.
     progress.advancePlayStageTo(VIEWING_STATE)
@@ -1014,6 +1020,26 @@ class ExplorationProgressController @Inject constructor(
     saveExplorationCheckpoint()
   }
 
+  /**
+   * Starts rendering the LaTeX that the learner is likely to see next: the LaTeX in the current
+   * state (including its feedback, hints, and solution) and in the content of each state it can
+   * lead to.
+   */
+  private fun ControllerState.prefetchLatexForCurrentState() {
+    val currentState = explorationProgress.stateDeck.getCurrentState()
+    val interaction = currentState.interaction
+    val outcomes = interaction.answerGroupsList.map { it.outcome } + interaction.defaultOutcome
+    val destinationStates = outcomes.map { it.destStateName }.distinct().mapNotNull { stateName ->
+      explorationProgress.stateGraph.getStateOrNull(stateName)
+    }.filter { it.name != currentState.name }
+    val htmls = listOf(currentState.content.html) +
+      outcomes.map { it.feedback.html } +
+      interaction.hintList.map { it.hintContent.html } +
+      interaction.solution.explanation.html +
+      destinationStates.map(State::getContent).map { it.html }
+    latexRenderPipeline.prefetchLatexInHtml(htmls.filter(String::isNotEmpty))
+  }
+
   private fun ControllerState.computeBaseCurrentEphemeralState(): EphemeralState =
     explorationProgress.stateDeck.getCurrentEphemeralState(
       retrieveCurrentHelpIndex(),
@@ -1,18 +1,31 @@
 package org.oppia.android.domain.exploration.lightweightcheckpointing
 
 import androidx.annotation.VisibleForTesting
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.CoroutineStart
 import kotlinx.coroutines.Deferred
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.async
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
 import org.oppia.android.app.model.AnswerAndResponse
 import org.oppia.android.app.model.CheckpointState
 import org.oppia.android.app.model.CompletedStateInCheckpoint
 import org.oppia.android.app.model.Exploration
 import org.oppia.android.app.model.ExplorationCheckpoint
 import org.oppia.android.app.model.ExplorationCheckpointDatabase
+import org.oppia.android.app.model.ExplorationCheckpointDelta
 import org.oppia.android.app.model.ExplorationCheckpointDetails
+import org.oppia.android.app.model.ExplorationCheckpointIndex
+import org.oppia.android.app.model.ExplorationCheckpointIndexEntry
 import org.oppia.android.app.model.ProfileId
+import org.oppia.android.app.model.SavedExplorationCheckpoint
 import org.oppia.android.app.model.State
 import org.oppia.android.data.persistence.PersistentCacheStore
+import org.oppia.android.data.persistence.PersistentCacheStore.Delta
 import org.oppia.android.data.persistence.PersistentCacheStore.PublishMode
+import org.oppia.android.data.persistence.PersistentCacheStore.StorageMode
 import org.oppia.android.data.persistence.PersistentCacheStore.UpdateMode
 import org.oppia.android.domain.classify.AnswerClassificationController
 import org.oppia.android.domain.exploration.ExplorationRetriever
@@ -20,12 +33,16 @@ import org.oppia.android.domain.oppialogger.OppiaLogger
 import org.oppia.android.util.data.AsyncResult
 import org.oppia.android.util.data.DataProvider
 import org.oppia.android.util.data.DataProviders
-import org.oppia.android.util.data.DataProviders.Companion.transform
+import org.oppia.android.util.data.DataProviders.Companion.combineWithAsync
 import org.oppia.android.util.data.DataProviders.Companion.transformAsync
+import org.oppia.android.util.threading.BackgroundDispatcher
+import java.util.concurrent.ConcurrentHashMap
 import javax.inject.Inject
 import javax.inject.Singleton
 
-private const val CACHE_NAME = "exploration_checkpoint_database"
+private const val LEGACY_DATABASE_CACHE_NAME = "exploration_checkpoint_database"
+private const val INDEX_CACHE_NAME = "exploration_checkpoint_index"
+private const val CHECKPOINT_CACHE_NAME_PREFIX = "exploration_checkpoint_entry_"
 private const val RETRIEVE_EXPLORATION_CHECKPOINT_DATA_PROVIDER_ID =
   "retrieve_exploration_checkpoint_provider_id"
 private const val RETRIEVE_OLDEST_CHECKPOINT_DETAILS_DATA_PROVIDER_ID =
@@ -35,8 +52,26 @@ private const val RECORD_EXPLORATION_CHECKPOINT_DATA_PROVIDER_ID =
 private const val DELETE_EXPLORATION_CHECKPOINT_DATA_PROVIDER_ID =
   "delete_exploration_checkpoint_provider_id"
 
+/**
+ * The number of checkpoint deltas that may accumulate for an exploration's saved checkpoint before
+ * they're folded into its base checkpoint. This bounds how many deltas need to be applied when
+ * reading a checkpoint.
+ */
+private const val MAX_CHECKPOINT_DELTAS_BEFORE_COMPACTION = 32
+
 /**
  * Controller for saving, retrieving, updating, and deleting exploration checkpoints.
+ *
+ * Each exploration's checkpoint is stored in its own file (as a [SavedExplorationCheckpoint]) so
+ * that saving or resuming one checkpoint never requires loading or rewriting any other. A small
+ * per-profile [ExplorationCheckpointIndex] tracks the title, version, timestamp & size of every
+ * saved checkpoint (along with the order in which they were first saved) so that the profile's
+ * total checkpoint size & oldest checkpoint can be determined without loading any checkpoints.
+ *
+ * Checkpoints are saved incrementally: each save only records the states & answers completed
+ * since the checkpoint was last saved (as an [ExplorationCheckpointDelta]) and appends it to the
+ * exploration's journaled checkpoint file. Deltas are periodically compacted into the file's base
+ * checkpoint.
  */
 @Singleton
 class ExplorationCheckpointController @Inject constructor(
@@ -45,7 +80,8 @@ class ExplorationCheckpointController @Inject constructor(
   private val oppiaLogger: OppiaLogger,
   @ExplorationStorageDatabaseSize private val explorationCheckpointDatabaseSizeLimit: Int,
   private val explorationRetriever: ExplorationRetriever,
-  private val answerClassificationController: AnswerClassificationController
+  private val answerClassificationController: AnswerClassificationController,
+  @BackgroundDispatcher private val backgroundDispatcher: CoroutineDispatcher
 ) {
 
   /** Indicates that no checkpoint was found for the specified explorationId and profileId. */
@@ -67,8 +103,10 @@ class ExplorationCheckpointController @Inject constructor(
     SUCCESS
   }
 
-  private val cacheStoreMap =
-    mutableMapOf<ProfileId, PersistentCacheStore<ExplorationCheckpointDatabase>>()
+  // A supervisor job is used so that a single failed operation doesn't cancel the scope (which
+  // would otherwise cause every later checkpoint operation to fail, as well).
+  private val backgroundScope = CoroutineScope(SupervisorJob() + backgroundDispatcher)
+  private val profileStorageMap = mutableMapOf<ProfileId, ProfileCheckpointStorage>()
 
   /**
    * Records an exploration checkpoint for the specified profile.
@@ -79,49 +117,40 @@ class ExplorationCheckpointController @Inject constructor(
    *     [CheckpointState.CHECKPOINT_SAVED_DATABASE_NOT_EXCEEDED_LIMIT]. If the size of the
    *     checkpoint database exceeded [ExplorationStorageDatabaseSize] then
    *     [CheckpointState.CHECKPOINT_SAVED_DATABASE_EXCEEDED_LIMIT] is returned upon successful
-   *     completion of deferred.
+   *     completion of deferred. Note that no checkpoints are evicted when the limit is exceeded
+   *     since the learner is instead asked whether to delete the oldest checkpoint (per
+   *     [retrieveOldestSavedExplorationCheckpointDetails]).
    */
   internal fun recordExplorationCheckpointAsync(
     profileId: ProfileId,
     explorationId: String,
     explorationCheckpoint: ExplorationCheckpoint
   ): Deferred<CheckpointState> {
-    return retrieveCacheStore(profileId).storeDataWithCustomChannelAsync(
-      updateInMemoryCache = true
-    ) {
-      val explorationCheckpointDatabaseBuilder = it.toBuilder()
-
-      val checkpoint = explorationCheckpointDatabaseBuilder
-        .explorationCheckpointMap[explorationId]
-
-      // Add checkpoint to the map if it was not saved previously.
-      if (checkpoint == null) {
-        explorationCheckpointDatabaseBuilder
-          .putExplorationCheckpoint(explorationId, explorationCheckpoint)
-      } else {
-        // Update the timestamp to the time when the checkpoint was saved for the first time and
-        // then replace the existing checkpoint in the map with the updated checkpoint.
-        explorationCheckpointDatabaseBuilder.putExplorationCheckpoint(
-          explorationId,
-          explorationCheckpoint.toBuilder()
-            .setTimestampOfFirstCheckpoint(checkpoint.timestampOfFirstCheckpoint)
-            .build()
-        )
-      }
-
-      val explorationCheckpointDatabase = explorationCheckpointDatabaseBuilder.build()
-
-      if (explorationCheckpointDatabase.serializedSize <= explorationCheckpointDatabaseSizeLimit) {
-        Pair(
-          explorationCheckpointDatabase,
-          CheckpointState.CHECKPOINT_SAVED_DATABASE_NOT_EXCEEDED_LIMIT
-        )
-      } else {
-        Pair(
-          explorationCheckpointDatabase,
-          CheckpointState.CHECKPOINT_SAVED_DATABASE_EXCEEDED_LIMIT
-        )
-      }
+    val profileStorage = retrieveProfileStorage(profileId)
+    return profileStorage.runExclusiveAsync {
+      val checkpointStore = profileStorage.retrieveCheckpointStore(explorationId)
+      // Ensure the store is loaded so that the save applies on top of the on-disk checkpoint.
+      checkpointStore.readDataAsync().await()
+      val indexEntry = checkpointStore.storeDeltaWithCustomChannelAsync(
+        updateInMemoryCache = true
+      ) { savedCheckpoint ->
+        computeCheckpointUpdate(savedCheckpoint, explorationId, explorationCheckpoint)
+      }.await()
+
+      val checkpointsSizeBytes = profileStorage.indexStore.storeDataWithCustomChannelAsync(
+        updateInMemoryCache = true
+      ) { index ->
+        val previousSizeBytes = index.checkpointEntryMap[explorationId]?.sizeBytes ?: 0
+        val updatedIndex = index.toBuilder().apply {
+          putCheckpointEntryInAgeOrder(explorationId, indexEntry)
+          totalSizeBytes = index.totalSizeBytes - previousSizeBytes + indexEntry.sizeBytes
+        }.build()
+        Pair(updatedIndex, updatedIndex.totalSizeBytes)
+      }.await()
+
+      if (checkpointsSizeBytes <= explorationCheckpointDatabaseSizeLimit) {
+        CheckpointState.CHECKPOINT_SAVED_DATABASE_NOT_EXCEEDED_LIMIT
+      } else CheckpointState.CHECKPOINT_SAVED_DATABASE_EXCEEDED_LIMIT
     }
   }
 
@@ -141,7 +170,12 @@ class ExplorationCheckpointController @Inject constructor(
     return dataProviders.createInMemoryDataProviderAsync(
       RECORD_EXPLORATION_CHECKPOINT_DATA_PROVIDER_ID
     ) {
-      return@createInMemoryDataProviderAsync AsyncResult.Success(deferred.await())
+      return@createInMemoryDataProviderAsync try {
+        AsyncResult.Success(deferred.await())
+      } catch (e: Exception) {
+        oppiaLogger.e("ExplorationCheckpointController", "Failed to record checkpoint.", e)
+        AsyncResult.Failure(e)
+      }
     }
   }
 
@@ -150,40 +184,44 @@ class ExplorationCheckpointController @Inject constructor(
     profileId: ProfileId,
     explorationId: String
   ): DataProvider<ExplorationCheckpoint> {
-    return retrieveCacheStore(profileId)
-      .transformAsync(
-        RETRIEVE_EXPLORATION_CHECKPOINT_DATA_PROVIDER_ID
-      ) { explorationCheckpointDatabase ->
-
-        val checkpoint = explorationCheckpointDatabase.explorationCheckpointMap[explorationId]
-        val exploration = explorationRetriever.loadExploration(explorationId)
-
-        when {
-          checkpoint != null && exploration.version == checkpoint.explorationVersion -> {
-            AsyncResult.Success(checkpoint)
-          }
-          checkpoint != null && exploration.version != checkpoint.explorationVersion -> {
-            val migratedCheckpoint = replayCheckpoint(checkpoint, exploration)
-            if (migratedCheckpoint == null) {
-              AsyncResult.Failure(
-                OutdatedExplorationCheckpointException(
-                  "Checkpoint with version: ${checkpoint.explorationVersion} cannot be used to" +
-                    " resume exploration $explorationId with version: ${exploration.version}" +
-                    " (checkpoint has been deemed as incompatible with this exploration version)."
-                )
-              )
-            } else AsyncResult.Success(migratedCheckpoint)
-          }
-          else -> {
+    val profileStorage = retrieveProfileStorage(profileId)
+    return profileStorage.indexStore.combineWithAsync(
+      profileStorage.retrieveCheckpointStore(explorationId),
+      RETRIEVE_EXPLORATION_CHECKPOINT_DATA_PROVIDER_ID
+    ) { index, savedCheckpoint ->
+      // Wait for any earlier checkpoints to be migrated before looking up the checkpoint.
+      if (!index.legacyDatabaseMigrated) return@combineWithAsync AsyncResult.Pending()
+
+      val checkpoint =
+        if (explorationId in index.checkpointEntryMap) savedCheckpoint.toCheckpoint() else null
+      val exploration = explorationRetriever.loadExploration(explorationId)
+
+      when {
+        checkpoint != null && exploration.version == checkpoint.explorationVersion -> {
+          AsyncResult.Success(checkpoint)
+        }
+        checkpoint != null && exploration.version != checkpoint.explorationVersion -> {
+          val migratedCheckpoint = replayCheckpoint(checkpoint, exploration)
+          if (migratedCheckpoint == null) {
             AsyncResult.Failure(
-              ExplorationCheckpointNotFoundException(
-                "Checkpoint with the explorationId $explorationId was not found " +
-                  "for profileId ${profileId.internalId}."
+              OutdatedExplorationCheckpointException(
+                "Checkpoint with version: ${checkpoint.explorationVersion} cannot be used to" +
+                  " resume exploration $explorationId with version: ${exploration.version}" +
+                  " (checkpoint has been deemed as incompatible with this exploration version)."
               )
             )
-          }
+          } else AsyncResult.Success(migratedCheckpoint)
+        }
+        else -> {
+          AsyncResult.Failure(
+            ExplorationCheckpointNotFoundException(
+              "Checkpoint with the explorationId $explorationId was not found " +
+                "for profileId ${profileId.internalId}."
+            )
+          )
         }
       }
+    }
   }
 
   /**
@@ -195,20 +233,23 @@ class ExplorationCheckpointController @Inject constructor(
   fun retrieveOldestSavedExplorationCheckpointDetails(
     profileId: ProfileId
   ): DataProvider<ExplorationCheckpointDetails> {
-    return retrieveCacheStore(profileId)
-      .transform(
+    return retrieveProfileStorage(profileId).indexStore
+      .transformAsync(
         RETRIEVE_OLDEST_CHECKPOINT_DETAILS_DATA_PROVIDER_ID
-      ) { explorationCheckpointDatabase ->
-        // Find the oldest checkpoint by timestamp or null if no checkpoints is saved.
-        explorationCheckpointDatabase.explorationCheckpointMap.minByOrNull {
-          it.value.timestampOfFirstCheckpoint
-        }?.let { (expId, exp) ->
+      ) { index ->
+        // Wait for any earlier checkpoints to be migrated before looking up the oldest checkpoint.
+        if (!index.legacyDatabaseMigrated) return@transformAsync AsyncResult.Pending()
+
+        // The oldest checkpoint is always first, or there is none if no checkpoints are saved.
+        val oldestCheckpointDetails = index.explorationIdByAgeList.firstOrNull()?.let { expId ->
+          val entry = index.checkpointEntryMap.getValue(expId)
           ExplorationCheckpointDetails.newBuilder().apply {
             explorationId = expId
-            explorationTitle = exp.explorationTitle
-            explorationVersion = exp.explorationVersion
+            explorationTitle = entry.explorationTitle
+            explorationVersion = entry.explorationVersion
           }.build()
         } ?: ExplorationCheckpointDetails.getDefaultInstance()
+        AsyncResult.Success(oldestCheckpointDetails)
       }
   }
 
@@ -217,26 +258,20 @@ class ExplorationCheckpointController @Inject constructor(
     profileId: ProfileId,
     explorationId: String
   ): DataProvider<Any?> {
-    val deferred = retrieveCacheStore(profileId).storeDataWithCustomChannelAsync(
-      updateInMemoryCache = true
-    ) { explorationCheckpointDatabase ->
-
-      if (!explorationCheckpointDatabase.explorationCheckpointMap.containsKey(explorationId)) {
-        return@storeDataWithCustomChannelAsync Pair(
-          explorationCheckpointDatabase,
-          ExplorationCheckpointActionStatus.CHECKPOINT_NOT_FOUND
-        )
-      }
-
-      val explorationCheckpointDatabaseBuilder = explorationCheckpointDatabase.toBuilder()
-
-      explorationCheckpointDatabaseBuilder
-        .removeExplorationCheckpoint(explorationId)
-
-      Pair(
-        explorationCheckpointDatabaseBuilder.build(),
-        ExplorationCheckpointActionStatus.SUCCESS
-      )
+    val profileStorage = retrieveProfileStorage(profileId)
+    val deferred = profileStorage.runExclusiveAsync {
+      val index = profileStorage.indexStore.readDataAsync().await()
+      val indexEntry = index.checkpointEntryMap[explorationId]
+        ?: return@runExclusiveAsync ExplorationCheckpointActionStatus.CHECKPOINT_NOT_FOUND
+
+      profileStorage.retrieveCheckpointStore(explorationId).clearCacheAsync().await()
+      profileStorage.indexStore.storeDataAsync(updateInMemoryCache = true) {
+        it.toBuilder().apply {
+          removeCheckpointEntryInAgeOrder(explorationId)
+          totalSizeBytes = it.totalSizeBytes - indexEntry.sizeBytes
+        }.build()
+      }.await()
+      ExplorationCheckpointActionStatus.SUCCESS
     }
     return dataProviders.createInMemoryDataProviderAsync(
       DELETE_EXPLORATION_CHECKPOINT_DATA_PROVIDER_ID
@@ -254,7 +289,13 @@ class ExplorationCheckpointController @Inject constructor(
     explorationId: String?,
     profileId: ProfileId?,
   ): AsyncResult<Any?> {
-    return when (deferred.await()) {
+    val status = try {
+      deferred.await()
+    } catch (e: Exception) {
+      oppiaLogger.e("ExplorationCheckpointController", "Failed to delete checkpoint.", e)
+      return AsyncResult.Failure(e)
+    }
+    return when (status) {
       ExplorationCheckpointActionStatus.CHECKPOINT_NOT_FOUND ->
         AsyncResult.Failure(
           ExplorationCheckpointNotFoundException(
@@ -266,23 +307,15 @@ class ExplorationCheckpointController @Inject constructor(
     }
   }
 
-  private fun retrieveCacheStore(
-    profileId: ProfileId
-  ): PersistentCacheStore<ExplorationCheckpointDatabase> {
-    val cacheStore = if (profileId in cacheStoreMap) {
-      cacheStoreMap[profileId]!!
-    } else {
-      val cacheStore =
-        cacheStoreFactory.createPerProfile(
-          CACHE_NAME,
-          ExplorationCheckpointDatabase.getDefaultInstance(),
-          profileId
-        )
-      cacheStoreMap[profileId] = cacheStore
-      cacheStore
+  private fun retrieveProfileStorage(profileId: ProfileId): ProfileCheckpointStorage {
+    return synchronized(profileStorageMap) {
+      profileStorageMap.getOrPut(profileId) { createProfileStorage(profileId) }
     }
+  }
 
-    cacheStore.primeInMemoryAndDiskCacheAsync(
+  private fun createProfileStorage(profileId: ProfileId): ProfileCheckpointStorage {
+    val profileStorage = ProfileCheckpointStorage(profileId)
+    profileStorage.indexStore.primeInMemoryAndDiskCacheAsync(
       updateMode = UpdateMode.UPDATE_IF_NEW_CACHE,
       publishMode = PublishMode.PUBLISH_TO_IN_MEMORY_CACHE
     ).invokeOnCompletion { throwable ->
@@ -294,7 +327,264 @@ class ExplorationCheckpointController @Inject constructor(
         )
       }
     }
-    return cacheStore
+    // Migrate any checkpoints saved by earlier versions of the app before any other changes are
+    // made to the profile's checkpoints.
+    profileStorage.runExclusiveAsync {
+      try {
+        migrateLegacyDatabase(profileStorage)
+      } catch (e: Exception) {
+        // The profile's checkpoints are still marked as migrated so that reads (which wait for the
+        // migration) don't remain pending indefinitely.
+        oppiaLogger.e(
+          "ExplorationCheckpointController",
+          "Failed to migrate legacy checkpoints for ExplorationCheckpointController.",
+          e
+        )
+        markLegacyDatabaseMigrated(profileStorage)
+      }
+    }
+    return profileStorage
+  }
+
+  /**
+   * Moves all checkpoints from the specified profile's [ExplorationCheckpointDatabase] (which was
+   * used by earlier versions of the app to store all of the profile's checkpoints in a single file)
+   * to per-exploration checkpoint files, and then removes the database.
+   *
+   * This is safe to rerun if it's interrupted since the index is only marked as migrated once all
+   * checkpoints have been moved.
+   */
+  private suspend fun migrateLegacyDatabase(profileStorage: ProfileCheckpointStorage) {
+    val indexStore = profileStorage.indexStore
+    if (indexStore.readDataAsync().await().legacyDatabaseMigrated) return
+
+    val legacyDatabaseStore =
+      cacheStoreFactory.createPerProfile(
+        LEGACY_DATABASE_CACHE_NAME,
+        ExplorationCheckpointDatabase.getDefaultInstance(),
+        profileStorage.profileId
+      )
+    val legacyDatabase = legacyDatabaseStore.readDataAsync().await()
+    val migratedEntries = legacyDatabase.explorationCheckpointMap.mapValues { (expId, checkpoint) ->
+      val checkpointStore = profileStorage.retrieveCheckpointStore(expId)
+      checkpointStore.readDataAsync().await()
+      checkpointStore.storeDeltaWithCustomChannelAsync(updateInMemoryCache = true) {
+        val savedCheckpoint =
+          SavedExplorationCheckpoint.newBuilder().setBaseCheckpoint(checkpoint).build()
+        Delta.Replace(savedCheckpoint) to savedCheckpoint.toIndexEntry()
+      }.await()
+    }
+
+    indexStore.storeDataAsync(updateInMemoryCache = true) { index ->
+      ExplorationCheckpointIndex.newBuilder().apply {
+        putAllCheckpointEntry(index.checkpointEntryMap)
+        putAllCheckpointEntry(migratedEntries)
+        totalSizeBytes = checkpointEntryMap.values.sumOf { it.sizeBytes.toLong() }
+        addAllExplorationIdByAge(
+          checkpointEntryMap.entries.sortedBy { it.value.timestampOfFirstCheckpoint }.map { it.key }
+        )
+        legacyDatabaseMigrated = true
+      }.build()
+    }.await()
+    legacyDatabaseStore.clearCacheAsync().await()
+  }
+
+  /**
+   * Marks the specified profile's index as migrated without moving any checkpoints to it. This
+   * should be called if [migrateLegacyDatabase] fails since reads wait for the migration to finish
+   * (and would otherwise never complete). Any checkpoints that weren't migrated are ignored, but
+   * the legacy database is kept on disk.
+   */
+  private suspend fun markLegacyDatabaseMigrated(profileStorage: ProfileCheckpointStorage) {
+    try {
+      profileStorage.indexStore.storeDataAsync(updateInMemoryCache = true) { index ->
+        index.toBuilder().setLegacyDatabaseMigrated(true).build()
+      }.await()
+    } catch (e: Exception) {
+      oppiaLogger.e(
+        "ExplorationCheckpointController",
+        "Failed to mark legacy checkpoints as migrated for ExplorationCheckpointController.",
+        e
+      )
+    }
+  }
+
+  /**
+   * Returns the [Delta] to store in order to update [savedCheckpoint] to [newCheckpoint], along
+   * with the [ExplorationCheckpointIndexEntry] corresponding to the updated saved checkpoint.
+   */
+  private fun computeCheckpointUpdate(
+    savedCheckpoint: SavedExplorationCheckpoint,
+    explorationId: String,
+    newCheckpoint: ExplorationCheckpoint
+  ): Pair<Delta<SavedExplorationCheckpoint>, ExplorationCheckpointIndexEntry> {
+    val previousCheckpoint = savedCheckpoint.toCheckpoint()
+    val checkpointDelta = computeCheckpointDelta(explorationId, previousCheckpoint, newCheckpoint)
+    val updatedCheckpoint = previousCheckpoint.applyDelta(checkpointDelta)
+    val deltaCheckpoint =
+      SavedExplorationCheckpoint.newBuilder().addCheckpointDelta(checkpointDelta).build()
+    // Appending a delta appends its serialized form to the serialized checkpoint, so the new size
+    // can be computed without re-serializing the saved checkpoint (note that the sizes of the
+    // saved checkpoint's unchanged states & answers are memoized by protobuf).
+    val sizeBytes = savedCheckpoint.serializedSize + deltaCheckpoint.serializedSize
+    // Deltas are compacted once there are too many of them, or once they've made the saved
+    // checkpoint much larger than the checkpoint itself (such as from repeatedly saving the same
+    // pending state) so that they don't count against the profile's checkpoint storage limit.
+    val shouldCompact =
+      savedCheckpoint.checkpointDeltaCount + 1 >= MAX_CHECKPOINT_DELTAS_BEFORE_COMPACTION ||
+        sizeBytes > updatedCheckpoint.serializedSize * 2
+    return if (!shouldCompact) {
+      Delta.Merge(deltaCheckpoint) to updatedCheckpoint.toIndexEntry(sizeBytes)
+    } else {
+      val compactedCheckpoint =
+        SavedExplorationCheckpoint.newBuilder().setBaseCheckpoint(updatedCheckpoint).build()
+      Delta.Replace(compactedCheckpoint) to compactedCheckpoint.toIndexEntry()
+    }
+  }
+
+  /**
+   * Puts [entry] in this index for [explorationId] while keeping the index's exploration IDs
+   * ordered by the timestamps of their first checkpoints.
+   *
+   * Checkpoints are nearly always either already in the index (in which case their first
+   * checkpoint's timestamp is unchanged) or newer than every other checkpoint, so this usually
+   * doesn't need to reorder any existing IDs.
+   */
+  private fun ExplorationCheckpointIndex.Builder.putCheckpointEntryInAgeOrder(
+    explorationId: String,
+    entry: ExplorationCheckpointIndexEntry
+  ) {
+    val previousEntry = checkpointEntryMap[explorationId]
+    putCheckpointEntry(explorationId, entry)
+    val timestamp = entry.timestampOfFirstCheckpoint
+    if (previousEntry?.timestampOfFirstCheckpoint == timestamp) return
+    val newestTimestamp = explorationIdByAgeList.lastOrNull()?.let {
+      checkpointEntryMap.getValue(it).timestampOfFirstCheckpoint
+    }
+    if (previousEntry == null && (newestTimestamp == null || newestTimestamp <= timestamp)) {
+      addExplorationIdByAge(explorationId)
+    } else {
+      val orderedIds = explorationIdByAgeList.filterNot { it == explorationId }.toMutableList()
+      val insertionIndex = orderedIds.indexOfFirst {
+        checkpointEntryMap.getValue(it).timestampOfFirstCheckpoint > timestamp
+      }.takeIf { it != -1 } ?: orderedIds.size
+      orderedIds.add(insertionIndex, explorationId)
+      clearExplorationIdByAge()
+      addAllExplorationIdByAge(orderedIds)
+    }
+  }
+
+  /** Removes the entry for [explorationId] from this index, along with its ordered ID. */
+  private fun ExplorationCheckpointIndex.Builder.removeCheckpointEntryInAgeOrder(
+    explorationId: String
+  ) {
+    removeCheckpointEntry(explorationId)
+    val remainingIds = explorationIdByAgeList.filterNot { it == explorationId }
+    clearExplorationIdByAge()
+    addAllExplorationIdByAge(remainingIds)
+  }
+
+  private fun SavedExplorationCheckpoint.toIndexEntry(): ExplorationCheckpointIndexEntry =
+    baseCheckpoint.toIndexEntry(serializedSize)
+
+  private fun ExplorationCheckpoint.toIndexEntry(sizeBytes: Int): ExplorationCheckpointIndexEntry {
+    return ExplorationCheckpointIndexEntry.newBuilder().apply {
+      explorationTitle = this@toIndexEntry.explorationTitle
+      explorationVersion = this@toIndexEntry.explorationVersion
+      timestampOfFirstCheckpoint = this@toIndexEntry.timestampOfFirstCheckpoint
+      this.sizeBytes = sizeBytes
+    }.build()
+  }
+
+  /**
+   * Returns the latest version of this saved checkpoint (that is, its base checkpoint with all of
+   * its deltas applied), or null if no checkpoint has been saved.
+   */
+  private fun SavedExplorationCheckpoint.toCheckpoint(): ExplorationCheckpoint? {
+    val baseCheckpoint = if (hasBaseCheckpoint()) baseCheckpoint else null
+    return checkpointDeltaList.fold(baseCheckpoint) { checkpoint, delta ->
+      checkpoint.applyDelta(delta)
+    }
+  }
+
+  /**
+   * Returns the [ExplorationCheckpointDelta] which changes [previousCheckpoint] into
+   * [newCheckpoint].
+   *
+   * Completed states are never changed once they're completed, and pending answers are only ever
+   * added to for a given pending state, so the retained portion of the previous checkpoint is
+   * determined by checking only the last state (or answer) the two checkpoints have in common. The
+   * delta fully replaces the previous checkpoint's states (or answers) if that check fails (such as
+   * if the exploration was restarted).
+   *
+   * The returned delta retains the timestamp of the first checkpoint from [previousCheckpoint].
+   */
+  private fun computeCheckpointDelta(
+    explorationId: String,
+    previousCheckpoint: ExplorationCheckpoint?,
+    newCheckpoint: ExplorationCheckpoint
+  ): ExplorationCheckpointDelta {
+    val retainedCompletedStateCount =
+      computeRetainedCount(
+        previousCheckpoint?.completedStatesInCheckpointList ?: listOf(),
+        newCheckpoint.completedStatesInCheckpointList
+      )
+    val retainedPendingUserAnswerCount =
+      if (previousCheckpoint?.pendingStateName == newCheckpoint.pendingStateName) {
+        computeRetainedCount(
+          previousCheckpoint.pendingUserAnswersList, newCheckpoint.pendingUserAnswersList
+        )
+      } else 0
+    val completedStates = newCheckpoint.completedStatesInCheckpointList
+    val pendingUserAnswers = newCheckpoint.pendingUserAnswersList
+    return ExplorationCheckpointDelta.newBuilder().apply {
+      this.explorationId = explorationId
+      this.retainedCompletedStateCount = retainedCompletedStateCount
+      addAllNewCompletedStatesInCheckpoint(
+        completedStates.subList(retainedCompletedStateCount, completedStates.size)
+      )
+      this.retainedPendingUserAnswerCount = retainedPendingUserAnswerCount
+      addAllNewPendingUserAnswers(
+        pendingUserAnswers.subList(retainedPendingUserAnswerCount, pendingUserAnswers.size)
+      )
+      pendingStateName = newCheckpoint.pendingStateName
+      stateIndex = newCheckpoint.stateIndex
+      explorationTitle = newCheckpoint.explorationTitle
+      explorationVersion = newCheckpoint.explorationVersion
+      timestampOfFirstCheckpoint =
+        previousCheckpoint?.timestampOfFirstCheckpoint ?: newCheckpoint.timestampOfFirstCheckpoint
+      if (newCheckpoint.hasHelpIndex()) helpIndex = newCheckpoint.helpIndex
+    }.build()
+  }
+
+  private fun <T> computeRetainedCount(previousItems: List<T>, newItems: List<T>): Int {
+    val commonCount = minOf(previousItems.size, newItems.size)
+    return if (commonCount == 0 || previousItems[commonCount - 1] == newItems[commonCount - 1]) {
+      commonCount
+    } else 0
+  }
+
+  /** Returns the checkpoint resulting from applying [delta] to this checkpoint (if any). */
+  private fun ExplorationCheckpoint?.applyDelta(
+    delta: ExplorationCheckpointDelta
+  ): ExplorationCheckpoint {
+    val baseCheckpoint = this ?: ExplorationCheckpoint.getDefaultInstance()
+    val retainedCompletedStates =
+      baseCheckpoint.completedStatesInCheckpointList.take(delta.retainedCompletedStateCount)
+    val retainedPendingUserAnswers =
+      baseCheckpoint.pendingUserAnswersList.take(delta.retainedPendingUserAnswerCount)
+    return ExplorationCheckpoint.newBuilder().apply {
+      addAllCompletedStatesInCheckpoint(retainedCompletedStates)
+      addAllCompletedStatesInCheckpoint(delta.newCompletedStatesInCheckpointList)
+      addAllPendingUserAnswers(retainedPendingUserAnswers)
+      addAllPendingUserAnswers(delta.newPendingUserAnswersList)
+      pendingStateName = delta.pendingStateName
+      stateIndex = delta.stateIndex
+      explorationTitle = delta.explorationTitle
+      explorationVersion = delta.explorationVersion
+      timestampOfFirstCheckpoint = delta.timestampOfFirstCheckpoint
+      if (delta.hasHelpIndex()) helpIndex = delta.helpIndex
+    }.build()
   }
 
   /**
@@ -418,4 +708,47 @@ class ExplorationCheckpointController @Inject constructor(
 
   @VisibleForTesting(otherwise = VisibleForTesting.NONE)
   fun getExplorationCheckpointDatabaseSizeLimit(): Int = explorationCheckpointDatabaseSizeLimit
+
+  /** The stores containing a single profile's saved checkpoints. */
+  private inner class ProfileCheckpointStorage(val profileId: ProfileId) {
+    /** The store containing the profile's [ExplorationCheckpointIndex]. */
+    val indexStore =
+      cacheStoreFactory.createPerProfile(
+        INDEX_CACHE_NAME,
+        ExplorationCheckpointIndex.getDefaultInstance(),
+        profileId
+      )
+    private val checkpointStores =
+      ConcurrentHashMap<String, PersistentCacheStore<SavedExplorationCheckpoint>>()
+    private val operationLock = Mutex()
+
+    /** Returns the store containing the saved checkpoint for the specified exploration. */
+    fun retrieveCheckpointStore(
+      explorationId: String
+    ): PersistentCacheStore<SavedExplorationCheckpoint> {
+      // Note that checkpoint stores are intentionally not primed since that would create a file
+      // for every exploration whose checkpoint is looked up, even if it's never saved.
+      return checkpointStores.getOrPut(explorationId) {
+        cacheStoreFactory.createPerProfile(
+          CHECKPOINT_CACHE_NAME_PREFIX + explorationId,
+          SavedExplorationCheckpoint.getDefaultInstance(),
+          profileId,
+          StorageMode.JOURNALED
+        )
+      }
+    }
+
+    /**
+     * Runs [operation] in the background after all of the profile's previously started operations
+     * have finished, returning a [Deferred] for the operation's result. This ensures that changes
+     * to the profile's index & checkpoint stores are always consistent with one another.
+     */
+    fun <T> runExclusiveAsync(operation: suspend () -> T): Deferred<T> {
+      // The coroutine is started undispatched so that the lock is requested immediately (which
+      // guarantees that operations run in the order they were started).
+      return backgroundScope.async(start = CoroutineStart.UNDISPATCHED) {
+        operationLock.withLock { operation() }
+      }
+    }
+  }
 }
@@ -0,0 +1,16 @@
+package org.oppia.android.domain.math
+
+import dagger.Binds
+import dagger.Module
+import dagger.multibindings.IntoSet
+import org.oppia.android.domain.oppialogger.ApplicationStartupListener
+
+/** Binds [LatexRenderWarmUpStartupListener] as an [ApplicationStartupListener]. */
+@Module
+interface LatexRenderWarmUpModule {
+  @Binds
+  @IntoSet
+  fun bindLatexRenderWarmUpStartupListener(
+    latexRenderWarmUpStartupListener: LatexRenderWarmUpStartupListener
+  ): ApplicationStartupListener
+}
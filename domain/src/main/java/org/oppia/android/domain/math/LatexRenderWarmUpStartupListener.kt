@@ -0,0 +1,17 @@
+package org.oppia.android.domain.math
+
+import org.oppia.android.domain.oppialogger.ApplicationStartupListener
+import org.oppia.android.util.parser.math.LatexRenderPipeline
+import javax.inject.Inject
+
+/**
+ * [ApplicationStartupListener] which prepares LaTeX rendering in the background at app startup, so
+ * that the LaTeX in explorations can be rendered in parallel as soon as it's needed.
+ */
+class LatexRenderWarmUpStartupListener @Inject constructor(
+  private val latexRenderPipeline: LatexRenderPipeline
+) : ApplicationStartupListener {
+  override fun onCreate() {
+    latexRenderPipeline.warmUp()
+  }
+}
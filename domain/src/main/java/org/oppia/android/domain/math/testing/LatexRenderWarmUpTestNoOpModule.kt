@@ -0,0 +1,19 @@
+package org.oppia.android.domain.math.testing
+
+import dagger.Binds
+import dagger.Module
+import dagger.multibindings.IntoSet
+import org.oppia.android.domain.oppialogger.ApplicationStartupListener
+
+/**
+ * Test-only module which binds [TestNoOpLatexRenderWarmUpStartupListener] in place of the
+ * production LaTeX warm-up listener, so that tests don't prepare KotliTeX at app startup.
+ */
+@Module
+interface LatexRenderWarmUpTestNoOpModule {
+  @Binds
+  @IntoSet
+  fun bindTestNoOpLatexRenderWarmUpStartupListener(
+    testNoOpLatexRenderWarmUpStartupListener: TestNoOpLatexRenderWarmUpStartupListener
+  ): ApplicationStartupListener
+}
@@ -0,0 +1,12 @@
+package org.oppia.android.domain.math.testing
+
+import org.oppia.android.domain.oppialogger.ApplicationStartupListener
+import javax.inject.Inject
+
+/**
+ * Test-only [ApplicationStartupListener] which does nothing at app startup. LaTeX is instead
+ * prepared lazily when it's first rendered.
+ */
+class TestNoOpLatexRenderWarmUpStartupListener @Inject constructor() : ApplicationStartupListener {
+  override fun onCreate() {}
+}
@@ -6,10 +6,8 @@ import kotlinx.coroutines.Deferred
 import kotlinx.coroutines.async
 import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.SharingStarted
-import kotlinx.coroutines.flow.emitAll
 import kotlinx.coroutines.flow.flow
 import kotlinx.coroutines.flow.lastOrNull
-import kotlinx.coroutines.flow.map
 import kotlinx.coroutines.flow.onCompletion
 import kotlinx.coroutines.flow.stateIn
 import kotlinx.coroutines.flow.transform
@@ -20,7 +18,9 @@ import org.oppia.android.app.model.OppiaEventLogs
 import org.oppia.android.app.model.ProfileId
 import org.oppia.android.data.backends.gae.NetworkLoggingInterceptor
 import org.oppia.android.data.persistence.PersistentCacheStore
+import org.oppia.android.data.persistence.PersistentCacheStore.Delta
 import org.oppia.android.data.persistence.PersistentCacheStore.PublishMode.PUBLISH_TO_IN_MEMORY_CACHE
+import org.oppia.android.data.persistence.PersistentCacheStore.StorageMode.JOURNALED
 import org.oppia.android.data.persistence.PersistentCacheStore.UpdateMode.UPDATE_IF_NEW_CACHE
 import org.oppia.android.domain.oppialogger.EventLogStorageCacheSize
 import org.oppia.android.domain.oppialogger.OppiaLogger
@@ -39,11 +39,11 @@ import org.oppia.android.util.platformparameter.PlatformParameterValue
 import org.oppia.android.util.system.OppiaClock
 import org.oppia.android.util.threading.BackgroundDispatcher
 import org.oppia.android.util.threading.BlockingDispatcher
-import java.util.concurrent.atomic.AtomicInteger
 import javax.inject.Inject
 import javax.inject.Singleton
 
 private const val UPLOAD_ALL_EVENTS_PROVIDER_ID = "AnalyticsController.upload_all_events"
+private const val EVENT_UPLOAD_BATCH_SIZE = 50
 
 /**
  * Controller for handling analytics event logging.
@@ -72,9 +72,12 @@ class AnalyticsController @Inject constructor(
   // NOTE TO DEVELOPER: This log store should not be lazy since it needs to be primed as early as
   // possible. Creating the log store with a delay (such as would happen if it were lazy delegated)
   // shouldn't affect event record integrity, but it can affect how the sync status manager reports
-  // progress since it won't have a data source to properly monitor for changes.
+  // progress since it won't have a data source to properly monitor for changes. Note also that the
+  // store is journaled since events are cached far more often than they're removed from the store.
   private val eventLogStore =
-    cacheStoreFactory.create("event_logs", OppiaEventLogs.getDefaultInstance()).also { store ->
+    cacheStoreFactory.create(
+      "event_logs", OppiaEventLogs.getDefaultInstance(), storageMode = JOURNALED
+    ).also { store ->
       store.primeInMemoryAndDiskCacheAsync(
         UPDATE_IF_NEW_CACHE, PUBLISH_TO_IN_MEMORY_CACHE
       ).invokeOnCompletion { error ->
@@ -189,15 +192,17 @@ class AnalyticsController @Inject constructor(
    * the [eventLog] is added to the store.
    */
   private suspend fun cacheEventLog(eventLog: EventLog) {
-    eventLogStore.storeDataAsync(updateInMemoryCache = true) { oppiaEventLogs ->
+    eventLogStore.storeDeltaAsync(updateInMemoryCache = true) { oppiaEventLogs ->
       val storeSize = oppiaEventLogs.eventLogsToUploadList.size
       if (storeSize + 1 > eventLogStorageCacheSize) {
         val eventLogRemovalIndex = getLeastRecentEventIndex(oppiaEventLogs)
         if (eventLogRemovalIndex != null) {
-          return@storeDataAsync oppiaEventLogs.toBuilder()
-            .removeEventLogsToUpload(eventLogRemovalIndex)
-            .addEventLogsToUpload(eventLog)
-            .build()
+          return@storeDeltaAsync Delta.Replace(
+            oppiaEventLogs.toBuilder()
+              .removeEventLogsToUpload(eventLogRemovalIndex)
+              .addEventLogsToUpload(eventLog)
+              .build()
+          )
         } else {
           val exception =
             IllegalStateException("Least Recent Event index absent -- EventLogCacheStoreSize is 0")
@@ -205,13 +210,16 @@ class AnalyticsController @Inject constructor(
           exceptionLogger.logException(exception)
         }
       }
-      return@storeDataAsync oppiaEventLogs.toBuilder().addEventLogsToUpload(eventLog).build()
+      // Only the new event needs to be journaled since it's appended to the end of the store.
+      return@storeDeltaAsync Delta.Merge(
+        OppiaEventLogs.newBuilder().addEventLogsToUpload(eventLog).build()
+      )
     }.await()
   }
 
   private suspend fun recordUploadedEvent(eventLog: EventLog) {
-    eventLogStore.storeDataAsync(updateInMemoryCache = true) { oppiaEventLogs ->
-      oppiaEventLogs.toBuilder().addUploadedEventLogs(eventLog).build()
+    eventLogStore.storeDeltaAsync(updateInMemoryCache = true) {
+      Delta.Merge(OppiaEventLogs.newBuilder().addUploadedEventLogs(eventLog).build())
     }.await()
   }
 
@@ -275,20 +283,16 @@ class AnalyticsController @Inject constructor(
   }
 
   private fun uploadAllEvents(): Flow<AsyncResult<Pair<Int, Int>>> {
-    val completedEventCount = AtomicInteger()
     syncStatusManager.reportUploadingStarted()
     return retrieveEventLogCountAsync().transform { eventLogCount ->
-      // Values are emitted in any order of completion (since N operations of "remove first" should
-      // ensure that all logs are uploaded, and roughly in order).
-      when (eventLogCount) {
-        0 -> emit(AsyncResult.Success(0 to 0))
-        else -> repeat(eventLogCount) {
-          emitAll(
-            logFirstEventLogFromStoreAsync().map {
-              AsyncResult.Success(completedEventCount.incrementAndGet() to eventLogCount)
-            }
-          )
-        }
+      // Events are uploaded in batches (with progress reported after each batch) so that the store
+      // only needs to be rewritten once per batch rather than once per event.
+      var uploadedEventCount = 0
+      if (eventLogCount == 0) emit(AsyncResult.Success(0 to 0))
+      while (uploadedEventCount < eventLogCount) {
+        val maxBatchSize = minOf(EVENT_UPLOAD_BATCH_SIZE, eventLogCount - uploadedEventCount)
+        uploadedEventCount += uploadFirstEventLogBatch(maxBatchSize)
+        emit(AsyncResult.Success(uploadedEventCount to eventLogCount))
       }
     }.onCompletion {
       // Only consider uploading successfully completed if nothing went wrong during upload.
@@ -299,26 +303,50 @@ class AnalyticsController @Inject constructor(
   private fun retrieveEventLogCountAsync(): Flow<Int> =
     flow { emit(eventLogStore.readDataAsync().await().eventLogsToUploadCount) }
 
-  private fun logFirstEventLogFromStoreAsync(): Flow<Unit> {
-    return flow {
-      check(networkConnectionUtil.getCurrentConnectionStatus() != NONE) {
-        "Cannot upload events without internet connectivity."
-      }
-      emit(analyticsEventLogger.logEvent(removeFirstEventLogFromStoreAsync().await()))
+  /**
+   * Uploads up to [maxBatchSize] of the oldest events pending upload, and returns the number of
+   * events that were uploaded.
+   *
+   * The batch is snapshotted from the store and uploaded in order while tracking an upload cursor,
+   * and all uploaded events are then removed from the store in a single update. If the upload fails
+   * partway through the batch, only the events before the cursor are removed (so that the remaining
+   * events will be retried during a later upload) before the failure is rethrown.
+   */
+  private suspend fun uploadFirstEventLogBatch(maxBatchSize: Int): Int {
+    check(networkConnectionUtil.getCurrentConnectionStatus() != NONE) {
+      "Cannot upload events without internet connectivity."
+    }
+    val eventLogBatch =
+      eventLogStore.readDataAsync().await().eventLogsToUploadList.take(maxBatchSize)
+    check(eventLogBatch.isNotEmpty()) { "Expected events to upload, but the store is empty." }
+
+    var uploadCursor = 0
+    try {
+      analyticsEventLogger.logEvents(eventLogBatch) { uploadCursor++ }
+    } finally {
+      if (uploadCursor > 0) removeEventLogsFromStoreAsync(eventLogBatch.take(uploadCursor)).await()
     }
+    return uploadCursor
   }
 
-  private fun removeFirstEventLogFromStoreAsync(): Deferred<EventLog> {
-    return eventLogStore.storeDataWithCustomChannelAsync(updateInMemoryCache = true) { eventLogs ->
-      eventLogs.toBuilder().apply {
-        if (enableLearnerStudyAnalytics) {
-          addUploadedEventLogs(eventLogs.eventLogsToUploadList.first())
-        }
-        removeEventLogsToUpload(0)
-      }.build() to eventLogs.eventLogsToUploadList.first()
+  private fun removeEventLogsFromStoreAsync(uploadedEventLogs: List<EventLog>): Deferred<Any> {
+    return eventLogStore.storeDeltaAsync(updateInMemoryCache = true) { eventLogs ->
+      val eventLogsToUpload = eventLogs.eventLogsToUploadList
+      // The uploaded events are generally still at the front of the store, but events may have
+      // been evicted from the store while the batch was uploading.
+      val remainingEventLogs = if (eventLogsToUpload.startsWith(uploadedEventLogs)) {
+        eventLogsToUpload.drop(uploadedEventLogs.size)
+      } else eventLogsToUpload.toMutableList().apply { uploadedEventLogs.forEach(::remove) }
+      Delta.Replace(
+        eventLogs.toBuilder().apply {
+          if (enableLearnerStudyAnalytics) addAllUploadedEventLogs(uploadedEventLogs)
+          clearEventLogsToUpload()
+          addAllEventLogsToUpload(remainingEventLogs)
+        }.build()
+      )
     }.also {
       it.invokeOnCompletion { error ->
-        error?.let { consoleLogger.e("AnalyticsController", "Failed to remove event log.", error) }
+        error?.let { consoleLogger.e("AnalyticsController", "Failed to remove event logs.", error) }
       }
     }
   }
@@ -393,6 +421,9 @@ class AnalyticsController @Inject constructor(
   }
 
   private companion object {
+    private fun <T> List<T>.startsWith(prefix: List<T>): Boolean =
+      size >= prefix.size && subList(0, prefix.size) == prefix
+
     private suspend fun <T> resolveProfileOperation(
       profileId: ProfileId?,
       createProvider: (ProfileId) -> DataProvider<T>
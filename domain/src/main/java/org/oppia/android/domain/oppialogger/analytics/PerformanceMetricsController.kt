@@ -166,9 +166,19 @@ class PerformanceMetricsController @Inject constructor(
   }
 
   /** Removes the first metric log report that had been recorded for upload. */
-  fun removeFirstMetricLogFromStore() {
-    metricLogStore.storeDataAsync(updateInMemoryCache = true) { oppiaEventLogs ->
-      return@storeDataAsync oppiaEventLogs.toBuilder().removeOppiaMetricLog(0).build()
+  fun removeFirstMetricLogFromStore() = removeFirstMetricLogsFromStore(count = 1)
+
+  /**
+   * Removes the first [count] metric log reports that had been recorded for upload, in a single
+   * store update.
+   */
+  fun removeFirstMetricLogsFromStore(count: Int) {
+    metricLogStore.storeDataAsync(updateInMemoryCache = true) { oppiaMetricLogs ->
+      val remainingMetricLogs = oppiaMetricLogs.oppiaMetricLogList.drop(count)
+      return@storeDataAsync oppiaMetricLogs.toBuilder().apply {
+        clearOppiaMetricLog()
+        addAllOppiaMetricLog(remainingMetricLogs)
+      }.build()
     }.invokeOnCompletion {
       it?.let {
         consoleLogger.e(
@@ -177,9 +177,19 @@ class ExceptionsController @Inject constructor(
   }
 
   /** Removes the first exception log report that had been recorded for upload. */
-  fun removeFirstExceptionLogFromStore() {
+  fun removeFirstExceptionLogFromStore() = removeFirstExceptionLogsFromStore(count = 1)
+
+  /**
+   * Removes the first [count] exception log reports that had been recorded for upload, in a single
+   * store update.
+   */
+  fun removeFirstExceptionLogsFromStore(count: Int) {
     exceptionLogStore.storeDataAsync(updateInMemoryCache = true) { oppiaExceptionLogs ->
-      return@storeDataAsync oppiaExceptionLogs.toBuilder().removeExceptionLog(0).build()
+      val remainingExceptionLogs = oppiaExceptionLogs.exceptionLogList.drop(count)
+      return@storeDataAsync oppiaExceptionLogs.toBuilder().apply {
+        clearExceptionLog()
+        addAllExceptionLog(remainingExceptionLogs)
+      }.build()
     }.invokeOnCompletion {
       it?.let {
         consoleLogger.e(
@@ -63,10 +63,16 @@ class LogUploadWorker private constructor(
   private suspend fun uploadExceptions(): Result {
     return try {
       val exceptionLogs = exceptionsController.getExceptionLogStoreList()
-      exceptionLogs.let {
-        for (exceptionLog in it) {
+      var uploadedCount = 0
+      try {
+        for (exceptionLog in exceptionLogs) {
           exceptionLogger.logException(exceptionLog.toException())
-          exceptionsController.removeFirstExceptionLogFromStore()
+          uploadedCount++
+        }
+      } finally {
+        // Remove everything that was uploaded in one store update (even if a later upload failed).
+        if (uploadedCount > 0) {
+          exceptionsController.removeFirstExceptionLogsFromStore(uploadedCount)
         }
       }
       Result.success()
@@ -92,9 +98,17 @@ class LogUploadWorker private constructor(
   private suspend fun uploadPerformanceMetrics(): Result {
     return try {
       val performanceMetricsLogs = performanceMetricsController.getMetricLogStoreList()
-      performanceMetricsLogs.forEach { performanceMetricsLog ->
-        performanceMetricsEventLogger.logPerformanceMetric(performanceMetricsLog)
-        performanceMetricsController.removeFirstMetricLogFromStore()
+      var uploadedCount = 0
+      try {
+        performanceMetricsLogs.forEach { performanceMetricsLog ->
+          performanceMetricsEventLogger.logPerformanceMetric(performanceMetricsLog)
+          uploadedCount++
+        }
+      } finally {
+        // Remove everything that was uploaded in one store update (even if a later upload failed).
+        if (uploadedCount > 0) {
+          performanceMetricsController.removeFirstMetricLogsFromStore(uploadedCount)
+        }
       }
       Result.success()
     } catch (e: Exception) {
@@ -8,38 +8,52 @@ import org.oppia.android.domain.util.getStringFromArray
 import org.oppia.android.domain.util.getStringFromObject
 import org.oppia.android.util.caching.LoadLessonProtosFromAssets
 import javax.inject.Inject
+import javax.inject.Singleton
 
 // TODO(#1580): Restrict access using Bazel visibilities.
 /** Retriever for [Question] objects from the filesystem. */
+@Singleton
 class QuestionRetriever @Inject constructor(
   private val jsonAssetRetriever: JsonAssetRetriever,
   private val stateRetriever: StateRetriever,
   @LoadLessonProtosFromAssets private val loadLessonProtosFromAssets: Boolean
 ) {
+  /**
+   * An index of skill IDs to the [Question]s linked to them (in the order they're defined), built
+   * on first use. Questions linked to multiple skills are only converted once, and are shared
+   * across each of their skills' lists.
+   */
+  private val questionsBySkillId: Map<String, List<Question>> by lazy { loadQuestionsIndex() }
+
   /**
    * Returns a list of [Question]s corresponding to the specified list of skills, loaded from the
    * filesystem.
    */
   fun loadQuestions(skillIdsList: List<String>): List<Question> {
-    val questionsList = mutableListOf<Question>()
     // TODO(#2976): Add support for loading questions locally once questions are available on web.
     check(!loadLessonProtosFromAssets) { "No support yet for loading proto questions from assets" }
+    return skillIdsList.flatMap { skillId -> questionsBySkillId[skillId] ?: listOf() }
+  }
+
+  private fun loadQuestionsIndex(): Map<String, List<Question>> {
     val questionJsonArray = jsonAssetRetriever.loadJsonFromAsset(
       "questions.json"
     )?.getJSONArray("question_dicts")!!
 
-    for (skillId in skillIdsList) {
-      for (i in 0 until questionJsonArray.length()) {
-        val questionJsonObject = questionJsonArray.getJSONObject(i)
-        val linkedSkillIdList = questionJsonObject.optJSONArray("linked_skill_ids")?.let { array ->
-          (0 until array.length()).map(array::getStringFromArray)
-        } ?: listOf()
-        if (skillId in linkedSkillIdList) {
-          questionsList.add(createQuestionFromJsonObject(questionJsonObject))
-        }
+    val questionsBySkillId = mutableMapOf<String, MutableList<Question>>()
+    for (i in 0 until questionJsonArray.length()) {
+      val questionJsonObject = questionJsonArray.getJSONObject(i)
+      val linkedSkillIdList = questionJsonObject.optJSONArray("linked_skill_ids")?.let { array ->
+        (0 until array.length()).map(array::getStringFromArray)
+      } ?: listOf()
+      if (linkedSkillIdList.isEmpty()) continue
+
+      val question = createQuestionFromJsonObject(questionJsonObject)
+      for (skillId in linkedSkillIdList.distinct()) {
+        questionsBySkillId.getOrPut(skillId) { mutableListOf() } += question
       }
     }
-    return questionsList
+    return questionsBySkillId
   }
 
   private fun createQuestionFromJsonObject(questionJson: JSONObject): Question {
@@ -21,6 +21,9 @@ class StateGraph constructor(
     return stateGraph.getValue(stateName)
   }
 
+  /** Returns the [State] corresponding to the specified name, or null if there isn't one. */
+  fun getStateOrNull(stateName: String): State? = stateGraph[stateName]
+
   /** Returns an [AnswerOutcome] based on the current state and resulting [Outcome] from the learner's answer. */
   fun computeAnswerOutcomeForResult(currentState: State, outcome: Outcome): AnswerOutcome {
     val answerOutcomeBuilder = AnswerOutcome.newBuilder()
@@ -34,6 +34,7 @@ import org.oppia.android.domain.classroom.ClassroomController
 import org.oppia.android.domain.question.QuestionRetriever
 import org.oppia.android.domain.translation.TranslationController
 import org.oppia.android.domain.util.JsonAssetRetriever
+import org.oppia.android.domain.util.LessonAssetManifestRetriever
 import org.oppia.android.domain.util.getStringFromObject
 import org.oppia.android.util.caching.AssetRepository
 import org.oppia.android.util.caching.LoadLessonProtosFromAssets
@@ -41,6 +42,7 @@ import org.oppia.android.util.data.AsyncResult
 import org.oppia.android.util.data.DataProvider
 import org.oppia.android.util.data.DataProviders
 import org.oppia.android.util.data.DataProviders.Companion.combineWith
+import org.oppia.android.util.data.DataProviders.Companion.combineWithMemoized
 import org.oppia.android.util.data.DataProviders.Companion.transform
 import org.oppia.android.util.data.DataProviders.Companion.transformAsync
 import org.oppia.android.util.locale.OppiaLocale
@@ -108,6 +110,7 @@ class TopicController @Inject constructor(
   @LoadLessonProtosFromAssets private val loadLessonProtosFromAssets: Boolean,
   private val translationController: TranslationController,
   private val classroomController: ClassroomController,
+  private val lessonAssetManifestRetriever: LessonAssetManifestRetriever
 ) {
 
   /**
@@ -149,7 +152,9 @@ class TopicController @Inject constructor(
     val topicsProgressDataProvider =
       storyProgressController.retrieveTopicsProgressDataProvider(profileId, topicIds)
 
-    val topicsCombinedProvider = topicsDataProvider.combineWith(
+    // Merging topics with their progress rebuilds every story & chapter, so avoid redoing it when
+    // neither has changed (e.g. when only the content locale changed).
+    val topicsCombinedProvider = topicsDataProvider.combineWithMemoized(
       topicsProgressDataProvider,
       GET_TOPICS_COMBINED_PROVIDER_ID,
       ::combineTopicsAndTopicsProgress
@@ -183,7 +188,7 @@ class TopicController @Inject constructor(
     val storyProgressDataProvider =
       storyProgressController.retrieveStoryProgressDataProvider(profileId, topicId, storyId)
 
-    val storyCombinedProvider = storyDataProvider.combineWith(
+    val storyCombinedProvider = storyDataProvider.combineWithMemoized(
       storyProgressDataProvider,
       GET_STORY_COMBINED_PROVIDER_ID,
       ::combineStorySummaryAndStoryProgress
@@ -619,16 +624,25 @@ class TopicController @Inject constructor(
   private fun computeTopicSizeBytes(constituentFiles: List<String>): Int {
     // TODO(#169): Compute this based on protos & the combined topic package.
     // TODO(#169): Incorporate image files in this computation.
+    // Prefer sizes precomputed at build time since otherwise each file needs to be fully read.
     return constituentFiles.sumOf { file ->
       if (loadLessonProtosFromAssets) {
-        assetRepository.getLocalAssetProtoSize(file)
+        lessonAssetManifestRetriever.getAssetSizeBytes("$file.pb")?.toInt()
+          ?: assetRepository.getLocalAssetProtoSize(file)
       } else {
-        jsonAssetRetriever.getAssetSize(file)
+        lessonAssetManifestRetriever.getAssetSizeBytes(file)?.toInt()
+          ?: jsonAssetRetriever.getAssetSize(file)
       }
     }
   }
 
   private fun getProtoAssetFileNameList(topicId: String): List<String> {
+    lessonAssetManifestRetriever.getTopicDependencies(topicId)?.let { dependencies ->
+      return dependencies.explorationIdsList +
+        dependencies.storyIdsList +
+        dependencies.subtopicIdsList.map { "${topicId}_$it" } +
+        listOf("skills", topicId)
+    }
     val topicRecord =
       assetRepository.loadProtoFromLocalAssets(
         assetName = topicId,
@@ -646,6 +660,12 @@ class TopicController @Inject constructor(
   }
 
   internal fun getJsonAssetFileNameList(topicId: String): List<String> {
+    lessonAssetManifestRetriever.getTopicDependencies(topicId)?.let { dependencies ->
+      return listOf("questions.json", "skills.json", "$topicId.json") +
+        dependencies.storyIdsList.map { "$it.json" } +
+        dependencies.explorationIdsList.map { "$it.json" } +
+        dependencies.subtopicIdsList.map { "${topicId}_$it.json" }
+    }
     val topicJsonObject = jsonAssetRetriever.loadJsonFromAsset("$topicId.json")
     val storyFileNames = topicJsonObject?.optJSONArray("canonical_story_dicts")?.let { storyArray ->
       (0 until storyArray.length()).mapNotNull(storyArray::optJSONObject)
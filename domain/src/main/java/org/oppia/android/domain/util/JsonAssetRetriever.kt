@@ -1,16 +1,65 @@
 package org.oppia.android.domain.util
 
+import android.util.JsonReader
 import org.json.JSONArray
 import org.json.JSONObject
 import org.oppia.android.util.caching.AssetRepository
+import org.oppia.android.util.caching.StripedLruCache
+import java.io.StringReader
+import java.util.concurrent.atomic.AtomicLong
 import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * The approximate maximum number of bytes of parsed JSON assets that are kept in memory at once,
+ * estimated using the sizes of the assets' source text.
+ */
+private const val MAX_PARSED_JSON_CACHE_SIZE_BYTES = 4L * 1024 * 1024
+
+/** The number of independently locked stripes used by the parsed JSON asset cache. */
+private const val PARSED_JSON_CACHE_STRIPE_COUNT = 8
 
 /** Utility that retrieves JSON assets and converts them to JSON objects. */
+@Singleton
 class JsonAssetRetriever @Inject constructor(private val assetRepository: AssetRepository) {
+  private val parsedJsonAssets =
+    StripedLruCache<String, ParsedJsonAsset>(
+      MAX_PARSED_JSON_CACHE_SIZE_BYTES, PARSED_JSON_CACHE_STRIPE_COUNT
+    ) { _, parsedAsset -> parsedAsset.estimatedSizeBytes }
+  private val cacheHitCount = AtomicLong()
+  private val cacheMissCount = AtomicLong()
 
-  /** Loads the JSON string from an asset and converts it to a JSONObject. */
+  /**
+   * Loads the JSON string from an asset and converts it to a JSONObject.
+   *
+   * Parsed assets are cached (and evicted in least-recently-used order once the cache is full), so
+   * repeated calls for the same asset generally return the same [JSONObject] instance. Since that
+   * instance is shared among all callers, the returned object must be treated as immutable.
+   */
   fun loadJsonFromAsset(assetName: String): JSONObject? {
-    return JSONObject(assetRepository.loadTextFileFromLocalAssets(assetName))
+    parsedJsonAssets.get(assetName)?.let { parsedAsset ->
+      cacheHitCount.incrementAndGet()
+      return parsedAsset.jsonObject
+    }
+    cacheMissCount.incrementAndGet()
+    val jsonText = assetRepository.loadTextFileFromLocalAssets(assetName)
+    return JSONObject(jsonText).also { jsonObject ->
+      val estimatedSizeBytes = jsonText.length * Char.SIZE_BYTES
+      parsedJsonAssets.put(assetName, ParsedJsonAsset(jsonObject, estimatedSizeBytes))
+    }
+  }
+
+  /**
+   * Returns the result of calling [read] with a [JsonReader] positioned at the start of the
+   * specified JSON asset.
+   *
+   * Unlike [loadJsonFromAsset], this never builds or caches a [JSONObject] tree for the asset, so
+   * it should be preferred for large assets that are immediately converted into other structures
+   * (such as lesson protos).
+   */
+  fun <T> readJsonFromAsset(assetName: String, read: (JsonReader) -> T): T {
+    val jsonText = assetRepository.loadTextFileFromLocalAssets(assetName)
+    return JsonReader(StringReader(jsonText)).use(read)
   }
 
   /** Returns the on-disk size of the specified asset, in bytes. */
@@ -27,4 +76,18 @@ class JsonAssetRetriever @Inject constructor(private val assetRepository: AssetR
     }
     return stringList
   }
+
+  /**
+   * Returns the number of [loadJsonFromAsset] calls that were served from the parsed asset cache
+   * since the app started.
+   */
+  fun getCacheHitCount(): Long = cacheHitCount.get()
+
+  /**
+   * Returns the number of [loadJsonFromAsset] calls that required an asset to be parsed since the
+   * app started.
+   */
+  fun getCacheMissCount(): Long = cacheMissCount.get()
+
+  private class ParsedJsonAsset(val jsonObject: JSONObject, val estimatedSizeBytes: Int)
 }
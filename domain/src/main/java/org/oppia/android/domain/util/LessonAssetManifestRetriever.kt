@@ -0,0 +1,43 @@
+package org.oppia.android.domain.util
+
+import org.oppia.android.app.model.LessonAssetManifest
+import org.oppia.android.app.model.TopicAssetDependencies
+import org.oppia.android.util.caching.AssetRepository
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/** The name of the lesson asset manifest generated at build time (without its extension). */
+private const val LESSON_ASSET_MANIFEST_ASSET_NAME = "lesson_asset_manifest"
+
+/**
+ * Utility that retrieves lesson asset metadata from the [LessonAssetManifest] that's generated
+ * alongside the app's lesson assets at build time.
+ *
+ * The manifest is loaded at most once, after which all lookups are constant-time. Note that the
+ * manifest may not be available (such as in builds which don't generate it), or may not include
+ * specific assets or topics, so callers must be prepared to fall back to reading the assets.
+ */
+@Singleton
+class LessonAssetManifestRetriever @Inject constructor(
+  private val assetRepository: AssetRepository
+) {
+  private val manifest by lazy {
+    assetRepository.tryLoadProtoFromLocalAssets(
+      LESSON_ASSET_MANIFEST_ASSET_NAME, LessonAssetManifest.getDefaultInstance()
+    )
+  }
+
+  /**
+   * Returns the size, in bytes, of the asset with the specified file name (including its extension,
+   * e.g. 'skills.json'), or null if the asset isn't included in the manifest.
+   */
+  fun getAssetSizeBytes(assetFileName: String): Long? =
+    manifest.assetsMap[assetFileName]?.sizeBytes
+
+  /**
+   * Returns the [TopicAssetDependencies] for the specified topic, or null if the topic isn't
+   * included in the manifest.
+   */
+  fun getTopicDependencies(topicId: String): TopicAssetDependencies? =
+    manifest.topicDependenciesMap[topicId]
+}
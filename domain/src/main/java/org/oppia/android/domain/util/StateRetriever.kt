@@ -60,8 +60,12 @@ class StateRetriever @Inject constructor() {
       }?.let { linkedSkillId = it }
     }.build()
 
-  // Creates an interaction from JSON
-  private fun createInteractionFromJson(interactionJson: JSONObject): Interaction {
+  /**
+   * Returns a new [Interaction] parsed from the specified [JSONObject]. This is exposed for
+   * [StreamingLessonJsonConverter] which only materializes interactions (rather than entire
+   * lessons) as [JSONObject]s since their parsing depends on the interaction's ID.
+   */
+  fun createInteractionFromJson(interactionJson: JSONObject): Interaction {
     return Interaction.newBuilder().apply {
       id = interactionJson.getStringFromObject("id")
       addAllAnswerGroups(
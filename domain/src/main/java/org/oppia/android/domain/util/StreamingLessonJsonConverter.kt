@@ -0,0 +1,277 @@
+package org.oppia.android.domain.util
+
+import android.util.JsonReader
+import android.util.JsonToken
+import org.json.JSONArray
+import org.json.JSONObject
+import org.oppia.android.app.model.Exploration
+import org.oppia.android.app.model.HtmlTranslationList
+import org.oppia.android.app.model.State
+import org.oppia.android.app.model.SubtitledHtml
+import org.oppia.android.app.model.Translation
+import org.oppia.android.app.model.TranslationMapping
+import org.oppia.android.app.model.Voiceover
+import org.oppia.android.app.model.VoiceoverMapping
+import javax.inject.Inject
+
+/**
+ * Utility that converts lesson JSON into lesson protos in a single pass over a [JsonReader], rather
+ * than first materializing the entire lesson as a [JSONObject] tree (see [StateRetriever]).
+ *
+ * This produces protos identical to those produced by the [JSONObject]-based path, but with much
+ * lower peak memory for large lessons since the bulk of a lesson (its content, voiceovers, and
+ * translations) is converted directly from the stream. Note that each state's interaction is still
+ * briefly materialized as a [JSONObject] (and converted using [StateRetriever]) since its parsing
+ * depends on the interaction's ID, which isn't guaranteed to precede the rest of the interaction's
+ * properties in the JSON.
+ */
+class StreamingLessonJsonConverter @Inject constructor(
+  private val stateRetriever: StateRetriever
+) {
+  /**
+   * Returns a new [Exploration] read from the specified [reader], which is expected to be
+   * positioned at the start of the exploration's top-level JSON object.
+   */
+  fun convertToExploration(reader: JsonReader): Exploration {
+    return Exploration.newBuilder().apply {
+      var explorationId: String? = null
+      var version: Int? = null
+      reader.readObject { propertyName ->
+        when (propertyName) {
+          "exploration_id" -> explorationId = reader.nextString()
+          "version" -> version = reader.nextInt()
+          "exploration" -> readInnerExploration(reader)
+          else -> reader.skipValue()
+        }
+      }
+      id = checkNotNull(explorationId) { "Expected exploration to have an ID." }
+      this.version = checkNotNull(version) { "Expected exploration $id to have a version." }
+    }.build()
+  }
+
+  /**
+   * Returns a new [State] with the specified name read from the specified [reader], which is
+   * expected to be positioned at the start of the state's JSON object.
+   */
+  fun convertToState(stateName: String, reader: JsonReader): State {
+    return State.newBuilder().apply {
+      name = stateName
+      var hasContent = false
+      var hasInteraction = false
+      reader.readObject { propertyName ->
+        when (propertyName) {
+          "content" -> {
+            content = readSubtitledHtml(reader)
+            hasContent = true
+          }
+          "interaction" -> {
+            interaction = stateRetriever.createInteractionFromJson(readJsonObject(reader))
+            hasInteraction = true
+          }
+          "recorded_voiceovers" -> readVoiceoverMappings(reader)
+          "written_translations" -> readWrittenTranslationMappings(reader)
+          "linked_skill_id" -> {
+            // Match JSONObject.optString(), which converts null values to "null".
+            val linkedSkillId = if (reader.peek() == JsonToken.NULL) {
+              reader.nextNull()
+              "null"
+            } else reader.nextString()
+            if (linkedSkillId.isNotEmpty() && linkedSkillId != "null") {
+              this.linkedSkillId = linkedSkillId
+            }
+          }
+          else -> reader.skipValue()
+        }
+      }
+      check(hasContent) { "Expected state $stateName to have content." }
+      check(hasInteraction) { "Expected state $stateName to have an interaction." }
+    }.build()
+  }
+
+  private fun Exploration.Builder.readInnerExploration(reader: JsonReader) {
+    var title: String? = null
+    var objective: String? = null
+    var languageCode: String? = null
+    var initStateName: String? = null
+    reader.readObject { propertyName ->
+      when (propertyName) {
+        "title" -> title = reader.nextString()
+        "objective" -> objective = reader.nextString()
+        "language_code" -> languageCode = reader.nextString()
+        "init_state_name" -> initStateName = reader.nextString()
+        "states" -> reader.readObject { stateName ->
+          putStates(stateName, convertToState(stateName, reader))
+        }
+        else -> reader.skipValue()
+      }
+    }
+    translatableTitle = SubtitledHtml.newBuilder().apply {
+      contentId = "title"
+      html = checkNotNull(title) { "Expected exploration to have a title." }
+    }.build()
+    description = SubtitledHtml.newBuilder().apply {
+      contentId = "description"
+      html = checkNotNull(objective) { "Expected exploration to have an objective." }
+    }.build()
+    this.languageCode = checkNotNull(languageCode) { "Expected exploration to have a language." }
+    this.initStateName =
+      checkNotNull(initStateName) { "Expected exploration to have an initial state." }
+  }
+
+  private fun State.Builder.readVoiceoverMappings(reader: JsonReader) {
+    reader.readObject { propertyName ->
+      if (propertyName == "voiceovers_mapping") {
+        reader.readObject { contentId ->
+          val voiceoverMapping = VoiceoverMapping.newBuilder().apply {
+            reader.readObject { languageCode ->
+              putVoiceoverMapping(languageCode, readVoiceover(reader))
+            }
+          }.build()
+          // Content IDs without any voiceovers are omitted.
+          if (voiceoverMapping.voiceoverMappingCount != 0) {
+            putRecordedVoiceovers(contentId, voiceoverMapping)
+          }
+        }
+      } else reader.skipValue()
+    }
+  }
+
+  private fun readVoiceover(reader: JsonReader): Voiceover {
+    return Voiceover.newBuilder().apply {
+      reader.readObject { propertyName ->
+        when (propertyName) {
+          "needs_update" -> needsUpdate = reader.nextBoolean()
+          "filename" -> fileName = reader.nextString()
+          else -> reader.skipValue()
+        }
+      }
+    }.build()
+  }
+
+  private fun State.Builder.readWrittenTranslationMappings(reader: JsonReader) {
+    reader.readObject { propertyName ->
+      if (propertyName == "translations_mapping") {
+        reader.readObject { contentId ->
+          val translationMapping = TranslationMapping.newBuilder().apply {
+            reader.readObject { languageCode ->
+              putTranslationMapping(languageCode, readTranslation(reader))
+            }
+          }.build()
+          // Content IDs without any translations are omitted.
+          if (translationMapping.translationMappingCount != 0) {
+            putWrittenTranslations(contentId, translationMapping)
+          }
+        }
+      } else reader.skipValue()
+    }
+  }
+
+  private fun readTranslation(reader: JsonReader): Translation {
+    return Translation.newBuilder().apply {
+      var dataFormat: String? = null
+      var translatedHtml: String? = null
+      var translatedHtmlList: HtmlTranslationList? = null
+      reader.readObject { propertyName ->
+        when (propertyName) {
+          "data_format" -> dataFormat = reader.nextString()
+          "needs_update" -> needsUpdate = reader.nextBoolean()
+          // The data format may not have been read yet, so retain both possible translation forms.
+          "translation" -> reader.readObject { translationName ->
+            when (translationName) {
+              "translation" -> translatedHtml = reader.nextString()
+              "translations" -> translatedHtmlList = HtmlTranslationList.newBuilder().apply {
+                reader.readArray { addHtml(reader.nextString()) }
+              }.build()
+              else -> reader.skipValue()
+            }
+          }
+          else -> reader.skipValue()
+        }
+      }
+      when (dataFormat) {
+        "html", "unicode" ->
+          html = checkNotNull(translatedHtml) { "Expected translation to have HTML." }
+        "set_of_normalized_string", "set_of_unicode_string" ->
+          htmlList = checkNotNull(translatedHtmlList) { "Expected translation to have strings." }
+        else -> error("Unsupported data format: $dataFormat")
+      }
+    }.build()
+  }
+
+  private fun readSubtitledHtml(reader: JsonReader): SubtitledHtml {
+    var contentId: String? = null
+    var html: String? = null
+    reader.readObject { propertyName ->
+      when (propertyName) {
+        "content_id" -> contentId = reader.nextString()
+        "html" -> html = reader.nextString()
+        else -> reader.skipValue()
+      }
+    }
+    return SubtitledHtml.newBuilder().apply {
+      this.contentId = checkNotNull(contentId) { "Expected subtitled HTML to have a content ID." }
+      this.html = checkNotNull(html) { "Expected subtitled HTML to have HTML." }
+    }.build()
+  }
+}
+
+/**
+ * Reads the JSON object at the reader's current position, calling [readProperty] with the name
+ * of each of the object's properties. [readProperty] must consume the property's value.
+ */
+private inline fun JsonReader.readObject(readProperty: (String) -> Unit) {
+  beginObject()
+  while (hasNext()) readProperty(nextName())
+  endObject()
+}
+
+/**
+ * Reads the JSON array at the reader's current position, calling [readElement] for each of its
+ * elements. [readElement] must consume the element.
+ */
+private inline fun JsonReader.readArray(readElement: () -> Unit) {
+  beginArray()
+  while (hasNext()) readElement()
+  endArray()
+}
+
+/**
+ * Returns the JSON object at the reader's current position as a [JSONObject] with values
+ * represented in the same way as if the object had been parsed by [JSONObject] itself.
+ */
+private fun readJsonObject(reader: JsonReader): JSONObject {
+  return JSONObject().apply {
+    reader.readObject { name -> put(name, readJsonValue(reader)) }
+  }
+}
+
+private fun readJsonValue(reader: JsonReader): Any {
+  return when (reader.peek()) {
+    JsonToken.BEGIN_OBJECT -> readJsonObject(reader)
+    JsonToken.BEGIN_ARRAY -> JSONArray().apply {
+      reader.readArray { put(readJsonValue(reader)) }
+    }
+    JsonToken.STRING -> reader.nextString()
+    JsonToken.NUMBER -> parseJsonNumber(reader.nextString())
+    JsonToken.BOOLEAN -> reader.nextBoolean()
+    JsonToken.NULL -> {
+      reader.nextNull()
+      JSONObject.NULL
+    }
+    else -> error("Unexpected JSON token: ${reader.peek()}.")
+  }
+}
+
+/**
+ * Returns the [Number] corresponding to the specified JSON number literal using the same types
+ * as JSONTokener (that is, [Int]s or [Long]s for integers, and [Double]s otherwise) so that
+ * values are later converted to strings identically.
+ */
+private fun parseJsonNumber(literal: String): Number {
+  if (literal.none { it == '.' || it == 'e' || it == 'E' }) {
+    literal.toLongOrNull()?.let { longValue ->
+      return if (longValue in Int.MIN_VALUE..Int.MAX_VALUE) longValue.toInt() else longValue
+    }
+  }
+  return literal.toDouble()
+}
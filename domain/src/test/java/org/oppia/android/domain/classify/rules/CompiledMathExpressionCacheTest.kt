@@ -0,0 +1,251 @@
+package org.oppia.android.domain.classify.rules
+
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import com.google.common.truth.Truth.assertThat
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.oppia.android.util.math.MathExpressionParser.Companion.ErrorCheckingMode.ALL_ERRORS
+import org.oppia.android.util.math.MathExpressionParser.Companion.ErrorCheckingMode.REQUIRED_ONLY
+import org.oppia.android.util.math.MathExpressionParser.Companion.MathParsingResult
+import org.oppia.android.util.math.MathExpressionParser.Companion.parseAlgebraicEquation
+import org.oppia.android.util.math.MathExpressionParser.Companion.parseAlgebraicExpression
+import org.oppia.android.util.math.MathExpressionParser.Companion.parseNumericExpression
+import org.oppia.android.util.math.computeStructuralHash
+import org.oppia.android.util.math.evaluateAsNumericExpression
+import org.oppia.android.util.math.stripRedundantGroups
+import org.oppia.android.util.math.toComparableOperation
+import org.oppia.android.util.math.toPolynomial
+import org.robolectric.annotation.Config
+import org.robolectric.annotation.LooperMode
+
+/** Tests for [CompiledMathExpressionCache]. */
+// FunctionName: test names are conventionally named with underscores.
+@Suppress("FunctionName")
+@RunWith(AndroidJUnit4::class)
+@LooperMode(LooperMode.Mode.PAUSED)
+@Config(manifest = Config.NONE)
+class CompiledMathExpressionCacheTest {
+  private val compiledMathExpressionCache = CompiledMathExpressionCache()
+
+  @Test
+  fun testCompileNumericExpression_validExpression_providesParsedExpression() {
+    val compiled = compiledMathExpressionCache.compileNumericExpression("1+(2)", REQUIRED_ONLY)
+
+    val expectedExpression = parseNumericExpression("1+(2)", REQUIRED_ONLY).getResult()
+    assertThat(compiled.parsingResult).isInstanceOf(MathParsingResult.Success::class.java)
+    assertThat(compiled.expression).isEqualTo(expectedExpression)
+  }
+
+  @Test
+  fun testCompileNumericExpression_validExpression_providesDerivedForms() {
+    val compiled = compiledMathExpressionCache.compileNumericExpression("1+(2)", REQUIRED_ONLY)
+
+    val expectedExpression = parseNumericExpression("1+(2)", REQUIRED_ONLY).getResult()
+    assertThat(compiled.numericValue).isEqualTo(expectedExpression.evaluateAsNumericExpression())
+    assertThat(compiled.groupStrippedExpression)
+      .isEqualTo(expectedExpression.stripRedundantGroups())
+    assertThat(compiled.comparableOperation)
+      .isEqualTo(expectedExpression.toComparableOperation())
+  }
+
+  @Test
+  fun testCompileNumericExpression_sameExpressionTwice_returnsSameCompiledExpression() {
+    val first = compiledMathExpressionCache.compileNumericExpression("1+2", REQUIRED_ONLY)
+
+    val second = compiledMathExpressionCache.compileNumericExpression("1+2", REQUIRED_ONLY)
+
+    assertThat(second).isSameInstanceAs(first)
+  }
+
+  @Test
+  fun testCompileNumericExpression_differentCheckingModes_returnsDifferentCompiledExpressions() {
+    val first = compiledMathExpressionCache.compileNumericExpression("1+2", REQUIRED_ONLY)
+
+    val second = compiledMathExpressionCache.compileNumericExpression("1+2", ALL_ERRORS)
+
+    assertThat(second).isNotSameInstanceAs(first)
+  }
+
+  @Test
+  fun testCompileNumericExpression_invalidExpression_providesFailureWithNoDerivedForms() {
+    val compiled = compiledMathExpressionCache.compileNumericExpression("1+", REQUIRED_ONLY)
+
+    assertThat(compiled.parsingResult).isInstanceOf(MathParsingResult.Failure::class.java)
+    assertThat(compiled.expression).isNull()
+    assertThat(compiled.numericValue).isNull()
+    assertThat(compiled.comparableOperation).isNull()
+  }
+
+  @Test
+  fun testCompileNumericExpression_validExpression_providesComparableOperationHash() {
+    val compiled = compiledMathExpressionCache.compileNumericExpression("1+(2)", REQUIRED_ONLY)
+
+    val expectedExpression = parseNumericExpression("1+(2)", REQUIRED_ONLY).getResult()
+    assertThat(compiled.comparableOperationHash)
+      .isEqualTo(expectedExpression.toComparableOperation().computeStructuralHash())
+  }
+
+  @Test
+  fun testIsComparablyEqualTo_rearrangedNumericExpressions_returnsTrue() {
+    val first = compiledMathExpressionCache.compileNumericExpression("1+2*3", REQUIRED_ONLY)
+    val second = compiledMathExpressionCache.compileNumericExpression("3*2+1", REQUIRED_ONLY)
+
+    assertThat(first.isComparablyEqualTo(second)).isTrue()
+    assertThat(second.isComparablyEqualTo(first)).isTrue()
+  }
+
+  @Test
+  fun testIsComparablyEqualTo_numericExpressionsWithDifferentConstants_returnsFalse() {
+    val first = compiledMathExpressionCache.compileNumericExpression("1+2", REQUIRED_ONLY)
+    val second = compiledMathExpressionCache.compileNumericExpression("1+3", REQUIRED_ONLY)
+
+    // The structural hashes match (since constants aren't hashed), so this relies on the full
+    // comparison.
+    assertThat(first.comparableOperationHash).isEqualTo(second.comparableOperationHash)
+    assertThat(first.isComparablyEqualTo(second)).isFalse()
+  }
+
+  @Test
+  fun testIsComparablyEqualTo_structurallyDifferentAlgebraicExpressions_returnsFalse() {
+    val first =
+      compiledMathExpressionCache.compileAlgebraicExpression("x+y", listOf("x", "y"), REQUIRED_ONLY)
+    val second =
+      compiledMathExpressionCache.compileAlgebraicExpression("x*y", listOf("x", "y"), REQUIRED_ONLY)
+
+    assertThat(first.comparableOperationHash).isNotEqualTo(second.comparableOperationHash)
+    assertThat(first.isComparablyEqualTo(second)).isFalse()
+  }
+
+  @Test
+  fun testIsComparablyEqualTo_invalidExpression_returnsFalse() {
+    val first = compiledMathExpressionCache.compileNumericExpression("1+", REQUIRED_ONLY)
+    val second = compiledMathExpressionCache.compileNumericExpression("1+", REQUIRED_ONLY)
+
+    assertThat(first.isComparablyEqualTo(second)).isFalse()
+  }
+
+  @Test
+  fun testCompileAlgebraicExpression_validExpression_providesPolynomial() {
+    val compiled =
+      compiledMathExpressionCache.compileAlgebraicExpression("2x+x", listOf("x"), REQUIRED_ONLY)
+
+    val expectedExpression =
+      parseAlgebraicExpression("2x+x", listOf("x"), REQUIRED_ONLY).getResult()
+    assertThat(compiled.expression).isEqualTo(expectedExpression)
+    assertThat(compiled.polynomial).isEqualTo(expectedExpression.toPolynomial())
+  }
+
+  @Test
+  fun testCompileAlgebraicExpression_sameExpressionTwice_returnsSameCompiledExpression() {
+    val first =
+      compiledMathExpressionCache.compileAlgebraicExpression("2x+x", listOf("x"), REQUIRED_ONLY)
+
+    val second =
+      compiledMathExpressionCache.compileAlgebraicExpression("2x+x", listOf("x"), REQUIRED_ONLY)
+
+    assertThat(second).isSameInstanceAs(first)
+  }
+
+  @Test
+  fun testCompileAlgebraicExpression_differentAllowedVariables_returnsDifferentCompilations() {
+    val first =
+      compiledMathExpressionCache.compileAlgebraicExpression("2x+x", listOf("x"), REQUIRED_ONLY)
+
+    val second = compiledMathExpressionCache.compileAlgebraicExpression(
+      "2x+x", listOf("x", "y"), REQUIRED_ONLY
+    )
+
+    assertThat(second).isNotSameInstanceAs(first)
+  }
+
+  @Test
+  fun testCompileAlgebraicExpression_numericExpressionWithSameText_isCompiledSeparately() {
+    val numeric = compiledMathExpressionCache.compileNumericExpression("1+2", REQUIRED_ONLY)
+
+    val algebraic =
+      compiledMathExpressionCache.compileAlgebraicExpression("1+2", listOf(), REQUIRED_ONLY)
+
+    assertThat(algebraic).isNotSameInstanceAs(numeric)
+  }
+
+  @Test
+  fun testCompileAlgebraicEquation_validEquation_providesSideForms() {
+    val compiled = compiledMathExpressionCache.compileAlgebraicEquation(
+      "y=(2x)", listOf("x", "y"), REQUIRED_ONLY
+    )
+
+    val expectedEquation =
+      parseAlgebraicEquation("y=(2x)", listOf("x", "y"), REQUIRED_ONLY).getResult()
+    assertThat(compiled.equation).isEqualTo(expectedEquation)
+    assertThat(compiled.sidePolynomials).isEqualTo(
+      expectedEquation.leftSide.toPolynomial() to expectedEquation.rightSide.toPolynomial()
+    )
+    assertThat(compiled.sideComparableOperations).isEqualTo(
+      expectedEquation.leftSide.toComparableOperation() to
+        expectedEquation.rightSide.toComparableOperation()
+    )
+    assertThat(compiled.groupStrippedSides).isEqualTo(
+      expectedEquation.leftSide.stripRedundantGroups() to
+        expectedEquation.rightSide.stripRedundantGroups()
+    )
+  }
+
+  @Test
+  fun testCompileAlgebraicEquation_sameEquationTwice_returnsSameCompiledEquation() {
+    val first =
+      compiledMathExpressionCache.compileAlgebraicEquation("y=2x", listOf("x", "y"), REQUIRED_ONLY)
+
+    val second =
+      compiledMathExpressionCache.compileAlgebraicEquation("y=2x", listOf("x", "y"), REQUIRED_ONLY)
+
+    assertThat(second).isSameInstanceAs(first)
+  }
+
+  @Test
+  fun testCompileAlgebraicEquation_invalidEquation_providesFailureWithNoDerivedForms() {
+    val compiled =
+      compiledMathExpressionCache.compileAlgebraicEquation("y=", listOf("x", "y"), REQUIRED_ONLY)
+
+    assertThat(compiled.parsingResult).isInstanceOf(MathParsingResult.Failure::class.java)
+    assertThat(compiled.equation).isNull()
+    assertThat(compiled.sidePolynomials).isNull()
+    assertThat(compiled.sideComparableOperations).isNull()
+    assertThat(compiled.groupStrippedSides).isNull()
+  }
+
+  @Test
+  fun testIsComparablyEqualTo_equationsWithRearrangedSides_returnsTrue() {
+    val first =
+      compiledMathExpressionCache.compileAlgebraicEquation("y=2x+1", listOf("x", "y"), ALL_ERRORS)
+    val second =
+      compiledMathExpressionCache.compileAlgebraicEquation("y=1+x*2", listOf("x", "y"), ALL_ERRORS)
+
+    assertThat(first.isComparablyEqualTo(second)).isTrue()
+  }
+
+  @Test
+  fun testIsComparablyEqualTo_equationsWithSwappedSides_returnsFalse() {
+    val first =
+      compiledMathExpressionCache.compileAlgebraicEquation("y=2x", listOf("x", "y"), ALL_ERRORS)
+    val second =
+      compiledMathExpressionCache.compileAlgebraicEquation("2x=y", listOf("x", "y"), ALL_ERRORS)
+
+    assertThat(first.isComparablyEqualTo(second)).isFalse()
+  }
+
+  @Test
+  fun testIsComparablyEqualTo_invalidEquation_returnsFalse() {
+    val first =
+      compiledMathExpressionCache.compileAlgebraicEquation("y=2x", listOf("x", "y"), ALL_ERRORS)
+    val second =
+      compiledMathExpressionCache.compileAlgebraicEquation("y=", listOf("x", "y"), REQUIRED_ONLY)
+
+    assertThat(first.isComparablyEqualTo(second)).isFalse()
+    assertThat(second.sideComparableOperationHashes).isNull()
+  }
+
+  private companion object {
+    private fun <T> MathParsingResult<T>.getResult(): T =
+      (this as MathParsingResult.Success<T>).result
+  }
+}
@@ -0,0 +1,182 @@
+package org.oppia.android.domain.classify.rules.dragAndDropSortInput
+
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import com.google.common.truth.Truth.assertThat
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.oppia.android.app.model.ListOfSetsOfTranslatableHtmlContentIds
+import org.oppia.android.domain.classify.InteractionObjectTestBuilder.createListOfSetsOfTranslatableHtmlContentIds
+import org.robolectric.annotation.Config
+import org.robolectric.annotation.LooperMode
+
+/** Tests for [CompiledContentIdOrderingCache]. */
+// FunctionName: test names are conventionally named with underscores.
+@Suppress("FunctionName")
+@RunWith(AndroidJUnit4::class)
+@LooperMode(LooperMode.Mode.PAUSED)
+@Config(manifest = Config.NONE)
+class CompiledContentIdOrderingCacheTest {
+  private val compiledContentIdOrderingCache = CompiledContentIdOrderingCache()
+
+  @Test
+  fun testGetContentIdIndex_sameContentIdTwice_returnsSameIndex() {
+    val first = compiledContentIdOrderingCache.getContentIdIndex("content_id_1")
+
+    val second = compiledContentIdOrderingCache.getContentIdIndex("content_id_1")
+
+    assertThat(second).isEqualTo(first)
+  }
+
+  @Test
+  fun testGetContentIdIndex_differentContentIds_returnsDifferentIndexes() {
+    val first = compiledContentIdOrderingCache.getContentIdIndex("content_id_1")
+
+    val second = compiledContentIdOrderingCache.getContentIdIndex("content_id_2")
+
+    assertThat(second).isNotEqualTo(first)
+  }
+
+  @Test
+  fun testCompileOrdering_sameOrderingTwice_returnsSameCompiledOrdering() {
+    val first = compiledContentIdOrderingCache.compileOrdering(ORDERING_12_3_4)
+
+    val second = compiledContentIdOrderingCache.compileOrdering(ORDERING_12_3_4)
+
+    assertThat(second).isSameInstanceAs(first)
+  }
+
+  @Test
+  fun testCompileOrdering_providesPositionCount() {
+    val compiled = compiledContentIdOrderingCache.compileOrdering(ORDERING_12_3_4)
+
+    assertThat(compiled.positionCount).isEqualTo(3)
+  }
+
+  @Test
+  fun testGetPositionOf_contentIdsInOrdering_returnsPositionsOfTheirSets() {
+    val compiled = compiledContentIdOrderingCache.compileOrdering(ORDERING_12_3_4)
+
+    assertThat(compiled.getPositionOf(getIndex("content_id_1"))).isEqualTo(0)
+    assertThat(compiled.getPositionOf(getIndex("content_id_2"))).isEqualTo(0)
+    assertThat(compiled.getPositionOf(getIndex("content_id_3"))).isEqualTo(1)
+    assertThat(compiled.getPositionOf(getIndex("content_id_4"))).isEqualTo(2)
+  }
+
+  @Test
+  fun testGetPositionOf_contentIdNotInOrdering_returnsNegativeOne() {
+    val compiled = compiledContentIdOrderingCache.compileOrdering(ORDERING_12_3_4)
+
+    assertThat(compiled.getPositionOf(getIndex("content_id_5"))).isEqualTo(-1)
+  }
+
+  @Test
+  fun testGetPositionOf_contentIdInMultipleSets_returnsFirstPosition() {
+    val ordering = createOrdering(listOf("content_id_3"), listOf("content_id_1", "content_id_3"))
+    val compiled = compiledContentIdOrderingCache.compileOrdering(ordering)
+
+    assertThat(compiled.getPositionOf(getIndex("content_id_3"))).isEqualTo(0)
+  }
+
+  @Test
+  fun testIsEqualTo_sameOrdering_returnsTrue() {
+    val first = compiledContentIdOrderingCache.compileOrdering(ORDERING_12_3_4)
+    val second = compiledContentIdOrderingCache.compileOrdering(ORDERING_21_3_4)
+
+    // The order of elements within each set doesn't matter.
+    assertThat(first.isEqualTo(second)).isTrue()
+    assertThat(second.isEqualTo(first)).isTrue()
+  }
+
+  @Test
+  fun testIsEqualTo_differentOrder_returnsFalse() {
+    val first = compiledContentIdOrderingCache.compileOrdering(ORDERING_12_3_4)
+    val second = compiledContentIdOrderingCache.compileOrdering(ORDERING_3_12_4)
+
+    assertThat(first.isEqualTo(second)).isFalse()
+  }
+
+  @Test
+  fun testIsEqualTo_differentLength_returnsFalse() {
+    val first = compiledContentIdOrderingCache.compileOrdering(ORDERING_12_3_4)
+    val second = compiledContentIdOrderingCache.compileOrdering(ORDERING_12_3)
+
+    assertThat(first.isEqualTo(second)).isFalse()
+    assertThat(second.isEqualTo(first)).isFalse()
+  }
+
+  @Test
+  fun testIsEqualTo_orderingsWithDifferentMaxContentIdIndexes_comparesCorrectly() {
+    val first = compiledContentIdOrderingCache.compileOrdering(ORDERING_12_3_4)
+    // Intern many content IDs so that the two orderings' bitsets have different sizes.
+    repeat(100) { compiledContentIdOrderingCache.getContentIdIndex("padding_content_id_$it") }
+    val second = compiledContentIdOrderingCache.compileOrdering(
+      createOrdering(listOf("content_id_1", "content_id_2"), listOf("content_id_3", "late_id"))
+    )
+
+    assertThat(first.isEqualTo(second)).isFalse()
+    assertThat(first.countSymmetricDifference(second)).isEqualTo(1)
+    assertThat(second.countSymmetricDifference(first)).isEqualTo(1)
+  }
+
+  @Test
+  fun testCountSymmetricDifference_sameOrdering_returnsZero() {
+    val first = compiledContentIdOrderingCache.compileOrdering(ORDERING_12_3_4)
+    val second = compiledContentIdOrderingCache.compileOrdering(ORDERING_21_3_4)
+
+    assertThat(first.countSymmetricDifference(second)).isEqualTo(0)
+  }
+
+  @Test
+  fun testCountSymmetricDifference_itemMovedToEarlierSet_returnsCombinedDifference() {
+    val first = compiledContentIdOrderingCache.compileOrdering(ORDERING_12_3_4)
+    val second = compiledContentIdOrderingCache.compileOrdering(
+      createOrdering(listOf("content_id_1", "content_id_2", "content_id_3"), listOf("content_id_4"))
+    )
+
+    // The first position differs by content_id_3 and the second by both content_id_3 &
+    // content_id_4. The third position is ignored since it's only in the first ordering.
+    assertThat(first.countSymmetricDifference(second)).isEqualTo(3)
+  }
+
+  @Test
+  fun testCountSymmetricDifference_swappedSets_returnsTotalDifference() {
+    val first = compiledContentIdOrderingCache.compileOrdering(ORDERING_12_3_4)
+    val second = compiledContentIdOrderingCache.compileOrdering(ORDERING_3_12_4)
+
+    // Positions 0 & 1 each differ by three elements.
+    assertThat(first.countSymmetricDifference(second)).isEqualTo(6)
+  }
+
+  @Test
+  fun testCountSymmetricDifference_emptyOrderings_returnsZero() {
+    val first = compiledContentIdOrderingCache.compileOrdering(createOrdering())
+    val second = compiledContentIdOrderingCache.compileOrdering(ORDERING_12_3_4)
+
+    assertThat(first.countSymmetricDifference(second)).isEqualTo(0)
+    assertThat(first.isEqualTo(second)).isFalse()
+  }
+
+  private fun getIndex(contentId: String): Int =
+    compiledContentIdOrderingCache.getContentIdIndex(contentId)
+
+  private companion object {
+    private val ORDERING_12_3_4 = createOrdering(
+      listOf("content_id_1", "content_id_2"), listOf("content_id_3"), listOf("content_id_4")
+    )
+    private val ORDERING_21_3_4 = createOrdering(
+      listOf("content_id_2", "content_id_1"), listOf("content_id_3"), listOf("content_id_4")
+    )
+    private val ORDERING_3_12_4 = createOrdering(
+      listOf("content_id_3"), listOf("content_id_1", "content_id_2"), listOf("content_id_4")
+    )
+    private val ORDERING_12_3 =
+      createOrdering(listOf("content_id_1", "content_id_2"), listOf("content_id_3"))
+
+    private fun createOrdering(
+      vararg contentIdsLists: List<String>
+    ): ListOfSetsOfTranslatableHtmlContentIds {
+      return createListOfSetsOfTranslatableHtmlContentIds(*contentIdsLists)
+        .listOfSetsOfTranslatableHtmlContentIds
+    }
+  }
+}
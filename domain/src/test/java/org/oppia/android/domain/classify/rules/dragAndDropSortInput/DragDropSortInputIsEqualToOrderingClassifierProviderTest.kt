@@ -49,6 +49,7 @@ class DragDropSortInputIsEqualToOrderingClassifierProviderTest {
     createListOfSetsOfTranslatableHtmlContentIds(
       ITEM_SET_1_ITEM_1, ITEM_SET_2_ITEM_3, ITEM_SET_3_ITEM_4
     )
+  private val EMPTY_LIST_OF_SETS = createListOfSetsOfTranslatableHtmlContentIds()
 
   @Inject
   internal lateinit var dragDropSortInputIsEqualToOrderingClassifierProvider:
@@ -133,6 +134,34 @@ class DragDropSortInputIsEqualToOrderingClassifierProviderTest {
     assertThat(matches).isFalse()
   }
 
+  @Test
+  fun testAnswer_testLisOfSetsOfHtmlString_bothEmpty_bothValuesMatch() {
+    val inputs = mapOf("x" to EMPTY_LIST_OF_SETS)
+
+    val matches =
+      isEqualToOrderingClassifierProvider.matches(
+        answer = EMPTY_LIST_OF_SETS,
+        inputs = inputs,
+        classificationContext = ClassificationContext()
+      )
+
+    assertThat(matches).isTrue()
+  }
+
+  @Test
+  fun testAnswer_testLisOfSetsOfHtmlString_emptyAnswer_nonEmptyInput_bothValuesDoNotMatch() {
+    val inputs = mapOf("x" to LIST_OF_SETS_12_3_4)
+
+    val matches =
+      isEqualToOrderingClassifierProvider.matches(
+        answer = EMPTY_LIST_OF_SETS,
+        inputs = inputs,
+        classificationContext = ClassificationContext()
+      )
+
+    assertThat(matches).isFalse()
+  }
+
   @Test
   fun testAnswer_testLisOfSetsOfHtmlString_incorrectInputMap_throwsException() {
     val inputs = mapOf("y" to LIST_OF_SETS_12_3_4)
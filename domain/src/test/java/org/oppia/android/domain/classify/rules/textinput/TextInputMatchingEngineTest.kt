@@ -0,0 +1,195 @@
+package org.oppia.android.domain.classify.rules.textinput
+
+import android.app.Application
+import android.content.Context
+import androidx.test.core.app.ApplicationProvider
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import com.google.common.truth.Truth.assertThat
+import dagger.BindsInstance
+import dagger.Component
+import dagger.Module
+import dagger.Provides
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.oppia.android.testing.assertThrows
+import org.oppia.android.testing.robolectric.RobolectricModule
+import org.oppia.android.testing.threading.TestDispatcherModule
+import org.oppia.android.testing.time.FakeOppiaClockModule
+import org.oppia.android.util.locale.LocaleProdModule
+import org.robolectric.annotation.Config
+import org.robolectric.annotation.LooperMode
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/** Tests for [TextInputMatchingEngine]. */
+// FunctionName: test names are conventionally named with underscores.
+@Suppress("FunctionName")
+@RunWith(AndroidJUnit4::class)
+@LooperMode(LooperMode.Mode.PAUSED)
+@Config(manifest = Config.NONE)
+class TextInputMatchingEngineTest {
+  @Inject lateinit var textInputMatchingEngine: TextInputMatchingEngine
+
+  @Before
+  fun setUp() {
+    setUpTestApplicationComponent()
+  }
+
+  @Test
+  fun testNormalize_mixedCaseWithExtraWhitespace_returnsLowercaseWithSingleSpaces() {
+    val normalized = textInputMatchingEngine.normalize("  Hello   WORLD ")
+
+    assertThat(normalized).isEqualTo("hello world")
+  }
+
+  @Test
+  fun testNormalizeRuleInputs_returnsNormalizedInputsInOrder() {
+    val normalized = textInputMatchingEngine.normalizeRuleInputs(listOf("B  c", "A"))
+
+    assertThat(normalized).containsExactly("b c", "a").inOrder()
+  }
+
+  @Test
+  fun testNormalizeRuleInputs_sameInputsTwice_returnsCachedList() {
+    val first = textInputMatchingEngine.normalizeRuleInputs(listOf("First", "Second"))
+
+    val second = textInputMatchingEngine.normalizeRuleInputs(listOf("First", "Second"))
+
+    assertThat(second).isSameInstanceAs(first)
+  }
+
+  @Test
+  fun testIsWithinEditDistance_equalStrings_zeroMaxDistance_returnsTrue() {
+    val isWithinDistance =
+      textInputMatchingEngine.isWithinEditDistance("test", "test", maxDistance = 0)
+
+    assertThat(isWithinDistance).isTrue()
+  }
+
+  @Test
+  fun testIsWithinEditDistance_oneSubstitution_maxDistanceOne_returnsTrue() {
+    val isWithinDistance =
+      textInputMatchingEngine.isWithinEditDistance("test", "tesk", maxDistance = 1)
+
+    assertThat(isWithinDistance).isTrue()
+  }
+
+  @Test
+  fun testIsWithinEditDistance_oneInsertion_maxDistanceOne_returnsTrue() {
+    val isWithinDistance =
+      textInputMatchingEngine.isWithinEditDistance("test", "tests", maxDistance = 1)
+
+    assertThat(isWithinDistance).isTrue()
+  }
+
+  @Test
+  fun testIsWithinEditDistance_oneDeletion_maxDistanceOne_returnsTrue() {
+    val isWithinDistance =
+      textInputMatchingEngine.isWithinEditDistance("tests", "test", maxDistance = 1)
+
+    assertThat(isWithinDistance).isTrue()
+  }
+
+  @Test
+  fun testIsWithinEditDistance_oneSubstitution_zeroMaxDistance_returnsFalse() {
+    val isWithinDistance =
+      textInputMatchingEngine.isWithinEditDistance("test", "tesk", maxDistance = 0)
+
+    assertThat(isWithinDistance).isFalse()
+  }
+
+  @Test
+  fun testIsWithinEditDistance_twoEdits_maxDistanceOne_returnsFalse() {
+    val isWithinDistance =
+      textInputMatchingEngine.isWithinEditDistance("test", "best!", maxDistance = 1)
+
+    assertThat(isWithinDistance).isFalse()
+  }
+
+  @Test
+  fun testIsWithinEditDistance_twoEdits_maxDistanceTwo_returnsTrue() {
+    val isWithinDistance =
+      textInputMatchingEngine.isWithinEditDistance("test", "best!", maxDistance = 2)
+
+    assertThat(isWithinDistance).isTrue()
+  }
+
+  @Test
+  fun testIsWithinEditDistance_lengthsDifferByTwo_maxDistanceOne_returnsFalse() {
+    val isWithinDistance =
+      textInputMatchingEngine.isWithinEditDistance("test", "te", maxDistance = 1)
+
+    assertThat(isWithinDistance).isFalse()
+  }
+
+  @Test
+  fun testIsWithinEditDistance_emptyAndSingleCharacter_maxDistanceOne_returnsTrue() {
+    val isWithinDistance = textInputMatchingEngine.isWithinEditDistance("", "a", maxDistance = 1)
+
+    assertThat(isWithinDistance).isTrue()
+  }
+
+  @Test
+  fun testIsWithinEditDistance_longStrings_oneEdit_returnsTrue() {
+    val longString = "a".repeat(100)
+
+    val isWithinDistance =
+      textInputMatchingEngine.isWithinEditDistance(longString, "${longString}b", maxDistance = 1)
+
+    assertThat(isWithinDistance).isTrue()
+  }
+
+  @Test
+  fun testIsWithinEditDistance_sameLengthCompletelyDifferent_returnsFalse() {
+    val isWithinDistance =
+      textInputMatchingEngine.isWithinEditDistance("abcdef", "uvwxyz", maxDistance = 1)
+
+    assertThat(isWithinDistance).isFalse()
+  }
+
+  @Test
+  fun testIsWithinEditDistance_negativeMaxDistance_throwsException() {
+    val exception = assertThrows<IllegalArgumentException>() {
+      textInputMatchingEngine.isWithinEditDistance("test", "test", maxDistance = -1)
+    }
+
+    assertThat(exception).hasMessageThat().contains("Expected non-negative max distance")
+  }
+
+  private fun setUpTestApplicationComponent() {
+    DaggerTextInputMatchingEngineTest_TestApplicationComponent.builder()
+      .setApplication(ApplicationProvider.getApplicationContext())
+      .build()
+      .inject(this)
+  }
+
+  @Module
+  class TestModule {
+    @Provides
+    @Singleton
+    fun provideContext(application: Application): Context {
+      return application
+    }
+  }
+
+  // TODO(#89): Move this to a common test application component.
+  @Singleton
+  @Component(
+    modules = [
+      TestModule::class, TestDispatcherModule::class, RobolectricModule::class,
+      FakeOppiaClockModule::class, LocaleProdModule::class
+    ]
+  )
+  interface TestApplicationComponent {
+    @Component.Builder
+    interface Builder {
+      @BindsInstance
+      fun setApplication(application: Application): Builder
+
+      fun build(): TestApplicationComponent
+    }
+
+    fun inject(textInputMatchingEngineTest: TextInputMatchingEngineTest)
+  }
+}
@@ -2,6 +2,7 @@ package org.oppia.android.domain.exploration.lightweightcheckpointing
 
 import android.app.Application
 import android.content.Context
+import android.content.Context.MODE_PRIVATE
 import androidx.test.core.app.ApplicationProvider
 import androidx.test.ext.junit.runners.AndroidJUnit4
 import com.google.common.truth.Truth.assertThat
@@ -13,12 +14,17 @@ import dagger.Provides
 import org.junit.Before
 import org.junit.Test
 import org.junit.runner.RunWith
+import org.oppia.android.app.model.AnswerAndResponse
 import org.oppia.android.app.model.CheckpointState
+import org.oppia.android.app.model.CompletedState
+import org.oppia.android.app.model.CompletedStateInCheckpoint
 import org.oppia.android.app.model.ExplorationCheckpoint
+import org.oppia.android.app.model.ExplorationCheckpointDatabase
 import org.oppia.android.app.model.HelpIndex.IndexTypeCase.NEXT_AVAILABLE_HINT_INDEX
 import org.oppia.android.app.model.InteractionObject
 import org.oppia.android.app.model.ProfileId
 import org.oppia.android.app.model.UserAnswer
+import org.oppia.android.data.persistence.PersistentCacheStore
 import org.oppia.android.domain.classify.InteractionsModule
 import org.oppia.android.domain.classify.rules.algebraicexpressioninput.AlgebraicExpressionInputModule
 import org.oppia.android.domain.classify.rules.continueinteraction.ContinueModule
@@ -77,6 +83,7 @@ import org.oppia.android.util.logging.SyncStatusModule
 import org.oppia.android.util.networking.NetworkConnectionUtilDebugModule
 import org.robolectric.annotation.Config
 import org.robolectric.annotation.LooperMode
+import java.io.File
 import javax.inject.Inject
 import javax.inject.Singleton
 
@@ -117,6 +124,7 @@ class ExplorationCheckpointControllerTest {
   @Inject lateinit var explorationProgressController: ExplorationProgressController
   @Inject lateinit var monitorFactory: DataProviderTestMonitor.Factory
   @Inject lateinit var fakeExplorationRetriever: FakeExplorationRetriever
+  @Inject lateinit var cacheStoreFactory: PersistentCacheStore.Factory
 
   private val firstTestProfile = ProfileId.newBuilder().setInternalId(0).build()
   private val secondTestProfile = ProfileId.newBuilder().setInternalId(1).build()
@@ -224,6 +232,369 @@ class ExplorationCheckpointControllerTest {
       .isEqualTo(FRACTIONS_STORY_0_EXPLORATION_0_SECOND_STATE_NAME)
   }
 
+  @Test
+  fun testController_saveCheckpointRepeatedly_withNewStates_retrievesLatestCheckpoint() {
+    saveCheckpoint(firstTestProfile, index = 0, completedStateCount = 1, pendingAnswerCount = 1)
+    saveCheckpoint(firstTestProfile, index = 0, completedStateCount = 1, pendingAnswerCount = 2)
+    saveCheckpoint(firstTestProfile, index = 0, completedStateCount = 3, pendingAnswerCount = 0)
+
+    val checkpoint = retrieveCheckpoint(firstTestProfile, index = 0)
+
+    assertThat(checkpoint.completedStatesInCheckpointList)
+      .containsExactlyElementsIn(createCompletedStates(count = 3))
+      .inOrder()
+    assertThat(checkpoint.pendingUserAnswersList).isEmpty()
+    assertThat(checkpoint.pendingStateName).isEqualTo("state_3")
+  }
+
+  @Test
+  fun testController_saveCheckpointRepeatedly_withNewAnswers_retrievesAllPendingAnswers() {
+    saveCheckpoint(firstTestProfile, index = 0, completedStateCount = 2, pendingAnswerCount = 1)
+    saveCheckpoint(firstTestProfile, index = 0, completedStateCount = 2, pendingAnswerCount = 3)
+
+    val checkpoint = retrieveCheckpoint(firstTestProfile, index = 0)
+
+    assertThat(checkpoint.completedStatesInCheckpointList)
+      .containsExactlyElementsIn(createCompletedStates(count = 2))
+      .inOrder()
+    assertThat(checkpoint.pendingUserAnswersList)
+      .containsExactlyElementsIn(createAnswers(count = 3))
+      .inOrder()
+  }
+
+  @Test
+  fun testController_saveCheckpoint_thenSaveRestartedCheckpoint_retrievesRestartedCheckpoint() {
+    saveCheckpoint(firstTestProfile, index = 0, completedStateCount = 3, pendingAnswerCount = 2)
+    val restartedCheckpoint = createResumableCheckpoint(index = 0).toBuilder().apply {
+      pendingStateName = "state_1"
+      addCompletedStatesInCheckpoint(
+        CompletedStateInCheckpoint.newBuilder().setStateName("restarted_state").build()
+      )
+    }.build()
+
+    explorationCheckpointController.recordExplorationCheckpoint(
+      firstTestProfile, createExplorationIdForIndex(index = 0), restartedCheckpoint
+    ).ensureSucceeds()
+
+    // The previously saved states & answers don't match the new checkpoint, so they're replaced.
+    val checkpoint = retrieveCheckpoint(firstTestProfile, index = 0)
+    assertThat(checkpoint).isEqualTo(restartedCheckpoint)
+  }
+
+  @Test
+  fun testController_saveCheckpointRepeatedly_keepsTimestampOfFirstCheckpoint() {
+    saveCheckpoint(firstTestProfile, index = 0, completedStateCount = 1, timestamp = 10L)
+    saveCheckpoint(firstTestProfile, index = 0, completedStateCount = 2, timestamp = 20L)
+
+    val checkpoint = retrieveCheckpoint(firstTestProfile, index = 0)
+
+    assertThat(checkpoint.timestampOfFirstCheckpoint).isEqualTo(10L)
+  }
+
+  @Test
+  fun testController_saveManyCheckpoints_afterCompaction_retrievesLatestCheckpoints() {
+    // Save enough checkpoints to trigger the accumulated checkpoint deltas to be compacted.
+    for (stateCount in 0 until 40) {
+      saveCheckpoint(firstTestProfile, index = stateCount % 2, completedStateCount = stateCount)
+    }
+
+    val checkpoint0 = retrieveCheckpoint(firstTestProfile, index = 0)
+    val checkpoint1 = retrieveCheckpoint(firstTestProfile, index = 1)
+
+    assertThat(checkpoint0.completedStatesInCheckpointList)
+      .containsExactlyElementsIn(createCompletedStates(count = 38))
+      .inOrder()
+    assertThat(checkpoint1.completedStatesInCheckpointList)
+      .containsExactlyElementsIn(createCompletedStates(count = 39))
+      .inOrder()
+  }
+
+  @Test
+  fun testController_saveCheckpointRepeatedly_deleteCheckpoint_checkpointWasDeleted() {
+    saveCheckpoint(firstTestProfile, index = 0, completedStateCount = 1)
+    saveCheckpoint(firstTestProfile, index = 0, completedStateCount = 2)
+
+    explorationCheckpointController.deleteSavedExplorationCheckpoint(
+      firstTestProfile, createExplorationIdForIndex(index = 0)
+    ).ensureSucceeds()
+
+    // Test explorations don't exist, so a real exploration is loaded in their place.
+    fakeExplorationRetriever.setExplorationProxy(
+      expIdToLoad = createExplorationIdForIndex(index = 0), FRACTIONS_EXPLORATION_ID_0
+    )
+    val retrieveCheckpointProvider =
+      explorationCheckpointController.retrieveExplorationCheckpoint(
+        firstTestProfile, createExplorationIdForIndex(index = 0)
+      )
+    val error = monitorFactory.waitForNextFailureResult(retrieveCheckpointProvider)
+    assertThat(error).isInstanceOf(ExplorationCheckpointNotFoundException::class.java)
+  }
+
+  @Test
+  fun testController_saveCheckpoints_storesEachCheckpointInItsOwnFile() {
+    saveMultipleCheckpoints(firstTestProfile, numberOfCheckpoints = 2)
+
+    val profileDirectory = context.getDir(firstTestProfile.internalId.toString(), MODE_PRIVATE)
+    assertThat(
+      File(profileDirectory, "exploration_checkpoint_entry_test_exploration_0.cache").exists()
+    ).isTrue()
+    assertThat(
+      File(profileDirectory, "exploration_checkpoint_entry_test_exploration_1.cache").exists()
+    ).isTrue()
+  }
+
+  @Test
+  fun testController_failedSaveCheckpoint_isFailure() {
+    blockCheckpointFile(firstTestProfile, createExplorationIdForIndex(index = 0))
+
+    val recordProvider = explorationCheckpointController.recordExplorationCheckpoint(
+      profileId = firstTestProfile,
+      explorationId = createExplorationIdForIndex(index = 0),
+      explorationCheckpoint = createCheckpoint(index = 0)
+    )
+
+    monitorFactory.waitForNextFailureResult(recordProvider)
+  }
+
+  @Test
+  fun testController_failedSaveCheckpoint_saveOtherCheckpoint_isSuccessful() {
+    blockCheckpointFile(firstTestProfile, createExplorationIdForIndex(index = 0))
+    val failedRecordProvider = explorationCheckpointController.recordExplorationCheckpoint(
+      profileId = firstTestProfile,
+      explorationId = createExplorationIdForIndex(index = 0),
+      explorationCheckpoint = createCheckpoint(index = 0)
+    )
+    monitorFactory.waitForNextFailureResult(failedRecordProvider)
+
+    val result = saveCheckpoint(firstTestProfile, index = 1)
+
+    // The earlier failure shouldn't prevent later checkpoints from being saved.
+    assertThat(result).isEqualTo(CheckpointState.CHECKPOINT_SAVED_DATABASE_NOT_EXCEEDED_LIMIT)
+    val checkpointProvider =
+      explorationCheckpointController.retrieveOldestSavedExplorationCheckpointDetails(
+        firstTestProfile
+      )
+    val oldestCheckpointDetails = monitorFactory.waitForNextSuccessfulResult(checkpointProvider)
+    assertThat(oldestCheckpointDetails.explorationId).isEqualTo(createExplorationIdForIndex(1))
+  }
+
+  @Test
+  fun testController_saveCheckpointsWithReservedNameIds_checkpointsDoNotOverwriteEachOther() {
+    // Exploration IDs matching the names of the profile's other checkpoint files shouldn't clobber
+    // those files.
+    explorationCheckpointController.recordExplorationCheckpoint(
+      profileId = firstTestProfile,
+      explorationId = "index",
+      explorationCheckpoint = createCheckpoint(index = 0)
+    ).ensureSucceeds()
+    explorationCheckpointController.recordExplorationCheckpoint(
+      profileId = firstTestProfile,
+      explorationId = "database",
+      explorationCheckpoint = createCheckpoint(index = 1)
+    ).ensureSucceeds()
+
+    val checkpointProvider =
+      explorationCheckpointController.retrieveOldestSavedExplorationCheckpointDetails(
+        firstTestProfile
+      )
+    val oldestCheckpointDetails = monitorFactory.waitForNextSuccessfulResult(checkpointProvider)
+    assertThat(oldestCheckpointDetails.explorationId).isAnyOf("index", "database")
+    val profileDirectory = context.getDir(firstTestProfile.internalId.toString(), MODE_PRIVATE)
+    assertThat(File(profileDirectory, "exploration_checkpoint_entry_index.cache").exists())
+      .isTrue()
+    assertThat(File(profileDirectory, "exploration_checkpoint_entry_database.cache").exists())
+      .isTrue()
+  }
+
+  @Test
+  fun testController_databaseFull_deleteCheckpoint_saveCheckpoint_databaseNotFull() {
+    saveMultipleCheckpoints(firstTestProfile, numberOfCheckpoints = 3)
+
+    explorationCheckpointController.deleteSavedExplorationCheckpoint(
+      firstTestProfile, createExplorationIdForIndex(index = 0)
+    ).ensureSucceeds()
+    explorationCheckpointController.deleteSavedExplorationCheckpoint(
+      firstTestProfile, createExplorationIdForIndex(index = 1)
+    ).ensureSucceeds()
+    val result = saveCheckpoint(firstTestProfile, index = 3)
+
+    // Deleting a checkpoint should free up its space in the profile's checkpoint budget.
+    assertThat(result).isEqualTo(CheckpointState.CHECKPOINT_SAVED_DATABASE_NOT_EXCEEDED_LIMIT)
+  }
+
+  @Test
+  fun testController_saveCheckpoints_deleteOldest_retrieveOldestDetails_returnsNextOldest() {
+    saveCheckpoint(firstTestProfile, index = 0, completedStateCount = 0, timestamp = 10L)
+    saveCheckpoint(firstTestProfile, index = 1, completedStateCount = 0, timestamp = 20L)
+    saveCheckpoint(firstTestProfile, index = 2, completedStateCount = 0, timestamp = 30L)
+
+    explorationCheckpointController.deleteSavedExplorationCheckpoint(
+      firstTestProfile, createExplorationIdForIndex(index = 0)
+    ).ensureSucceeds()
+
+    val checkpointProvider =
+      explorationCheckpointController.retrieveOldestSavedExplorationCheckpointDetails(
+        firstTestProfile
+      )
+    val oldestCheckpointDetails = monitorFactory.waitForNextSuccessfulResult(checkpointProvider)
+    assertThat(oldestCheckpointDetails.explorationId).isEqualTo(createExplorationIdForIndex(1))
+    assertThat(oldestCheckpointDetails.explorationTitle)
+      .isEqualTo(createExplorationTitleForIndex(1))
+  }
+
+  @Test
+  fun testController_saveCheckpointsOutOfOrder_retrieveOldestDetails_returnsOldest() {
+    saveCheckpoint(firstTestProfile, index = 0, completedStateCount = 0, timestamp = 30L)
+    saveCheckpoint(firstTestProfile, index = 1, completedStateCount = 0, timestamp = 10L)
+    saveCheckpoint(firstTestProfile, index = 2, completedStateCount = 0, timestamp = 20L)
+
+    val checkpointProvider =
+      explorationCheckpointController.retrieveOldestSavedExplorationCheckpointDetails(
+        firstTestProfile
+      )
+
+    val oldestCheckpointDetails = monitorFactory.waitForNextSuccessfulResult(checkpointProvider)
+    assertThat(oldestCheckpointDetails.explorationId).isEqualTo(createExplorationIdForIndex(1))
+  }
+
+  @Test
+  fun testController_saveCheckpoints_updateOldest_retrieveOldestDetails_returnsSameCheckpoint() {
+    saveCheckpoint(firstTestProfile, index = 0, completedStateCount = 0, timestamp = 10L)
+    saveCheckpoint(firstTestProfile, index = 1, completedStateCount = 0, timestamp = 20L)
+
+    // Later saves keep the timestamp of the exploration's first checkpoint.
+    saveCheckpoint(firstTestProfile, index = 0, completedStateCount = 1, timestamp = 30L)
+
+    val checkpointProvider =
+      explorationCheckpointController.retrieveOldestSavedExplorationCheckpointDetails(
+        firstTestProfile
+      )
+    val oldestCheckpointDetails = monitorFactory.waitForNextSuccessfulResult(checkpointProvider)
+    assertThat(oldestCheckpointDetails.explorationId).isEqualTo(createExplorationIdForIndex(0))
+  }
+
+  @Test
+  fun testController_legacyDatabaseCheckpoint_retrieveCheckpoint_returnsMigratedCheckpoint() {
+    val legacyCheckpoint = createResumableCheckpoint(index = 0).toBuilder().apply {
+      addAllCompletedStatesInCheckpoint(createCompletedStates(count = 2))
+    }.build()
+    writeLegacyDatabase(firstTestProfile, createExplorationIdForIndex(index = 0), legacyCheckpoint)
+
+    val checkpoint = retrieveCheckpoint(firstTestProfile, index = 0)
+
+    assertThat(checkpoint).isEqualTo(legacyCheckpoint)
+  }
+
+  @Test
+  fun testController_legacyDatabaseCheckpoint_retrieveOldestDetails_returnsMigratedCheckpoint() {
+    writeLegacyDatabase(
+      firstTestProfile, createExplorationIdForIndex(index = 0), createCheckpoint(index = 0)
+    )
+
+    val checkpointProvider =
+      explorationCheckpointController.retrieveOldestSavedExplorationCheckpointDetails(
+        firstTestProfile
+      )
+
+    val oldestCheckpointDetails = monitorFactory.waitForNextSuccessfulResult(checkpointProvider)
+    assertThat(oldestCheckpointDetails.explorationId).isEqualTo(createExplorationIdForIndex(0))
+  }
+
+  @Test
+  fun testController_legacyDatabaseCheckpoint_afterMigration_removesLegacyDatabase() {
+    writeLegacyDatabase(
+      firstTestProfile, createExplorationIdForIndex(index = 0), createResumableCheckpoint(index = 0)
+    )
+
+    retrieveCheckpoint(firstTestProfile, index = 0)
+
+    val profileDirectory = context.getDir(firstTestProfile.internalId.toString(), MODE_PRIVATE)
+    assertThat(File(profileDirectory, "exploration_checkpoint_database.cache").exists()).isFalse()
+  }
+
+  @Test
+  fun testController_corruptLegacyDatabase_retrieveCheckpoint_isFailure() {
+    writeCorruptLegacyDatabase(firstTestProfile)
+    fakeExplorationRetriever.setExplorationProxy(
+      expIdToLoad = createExplorationIdForIndex(index = 0), FRACTIONS_EXPLORATION_ID_0
+    )
+
+    val retrieveCheckpointProvider =
+      explorationCheckpointController.retrieveExplorationCheckpoint(
+        firstTestProfile, createExplorationIdForIndex(index = 0)
+      )
+
+    // The corrupt database shouldn't block reads from ever completing.
+    val error = monitorFactory.waitForNextFailureResult(retrieveCheckpointProvider)
+    assertThat(error).isInstanceOf(ExplorationCheckpointNotFoundException::class.java)
+  }
+
+  @Test
+  fun testController_corruptLegacyDatabase_retrieveOldestDetails_returnsDefaultDetails() {
+    writeCorruptLegacyDatabase(firstTestProfile)
+
+    val checkpointProvider =
+      explorationCheckpointController.retrieveOldestSavedExplorationCheckpointDetails(
+        firstTestProfile
+      )
+
+    val oldestCheckpointDetails = monitorFactory.waitForNextSuccessfulResult(checkpointProvider)
+    assertThat(oldestCheckpointDetails).isEqualToDefaultInstance()
+  }
+
+  @Test
+  fun testController_legacyDatabaseCheckpoint_failedMigration_retrieveCheckpoint_isFailure() {
+    writeLegacyDatabase(
+      firstTestProfile, createExplorationIdForIndex(index = 0), createResumableCheckpoint(index = 0)
+    )
+    blockCheckpointFile(firstTestProfile, createExplorationIdForIndex(index = 0))
+    fakeExplorationRetriever.setExplorationProxy(
+      expIdToLoad = createExplorationIdForIndex(index = 0), FRACTIONS_EXPLORATION_ID_0
+    )
+
+    val retrieveCheckpointProvider =
+      explorationCheckpointController.retrieveExplorationCheckpoint(
+        firstTestProfile, createExplorationIdForIndex(index = 0)
+      )
+
+    // The checkpoint couldn't be migrated, so it's dropped rather than leaving reads pending.
+    val error = monitorFactory.waitForNextFailureResult(retrieveCheckpointProvider)
+    assertThat(error).isInstanceOf(ExplorationCheckpointNotFoundException::class.java)
+  }
+
+  @Test
+  fun testController_legacyDatabaseCheckpoint_failedMigration_retrieveOldestDetails_isDefault() {
+    writeLegacyDatabase(
+      firstTestProfile, createExplorationIdForIndex(index = 0), createCheckpoint(index = 0)
+    )
+    blockCheckpointFile(firstTestProfile, createExplorationIdForIndex(index = 0))
+
+    val checkpointProvider =
+      explorationCheckpointController.retrieveOldestSavedExplorationCheckpointDetails(
+        firstTestProfile
+      )
+
+    val oldestCheckpointDetails = monitorFactory.waitForNextSuccessfulResult(checkpointProvider)
+    assertThat(oldestCheckpointDetails).isEqualToDefaultInstance()
+  }
+
+  @Test
+  fun testController_legacyDatabaseCheckpoint_failedMigration_canStillSaveOtherCheckpoints() {
+    writeLegacyDatabase(
+      firstTestProfile, createExplorationIdForIndex(index = 0), createCheckpoint(index = 0)
+    )
+    blockCheckpointFile(firstTestProfile, createExplorationIdForIndex(index = 0))
+
+    saveCheckpoint(firstTestProfile, index = 1)
+
+    val checkpointProvider =
+      explorationCheckpointController.retrieveOldestSavedExplorationCheckpointDetails(
+        firstTestProfile
+      )
+    val oldestCheckpointDetails = monitorFactory.waitForNextSuccessfulResult(checkpointProvider)
+    assertThat(oldestCheckpointDetails.explorationId).isEqualTo(createExplorationIdForIndex(1))
+  }
+
   @Test
   fun testController_saveCheckpoints_retrieveOldestCheckpointDetails_correctCheckpointRetrieved() {
     explorationCheckpointTestHelper.saveCheckpointForFractionsStory0Exploration0(
@@ -836,6 +1207,92 @@ class ExplorationCheckpointControllerTest {
     return monitorFactory.waitForNextSuccessfulResult(recordProvider)
   }
 
+  private fun saveCheckpoint(
+    profileId: ProfileId,
+    index: Int,
+    completedStateCount: Int,
+    pendingAnswerCount: Int = 0,
+    timestamp: Long = 0L
+  ): Any? {
+    val checkpoint = createResumableCheckpoint(index).toBuilder().apply {
+      pendingStateName = "state_$completedStateCount"
+      timestampOfFirstCheckpoint = timestamp
+      addAllCompletedStatesInCheckpoint(createCompletedStates(completedStateCount))
+      addAllPendingUserAnswers(createAnswers(pendingAnswerCount))
+    }.build()
+    val recordProvider = explorationCheckpointController.recordExplorationCheckpoint(
+      profileId = profileId,
+      explorationId = createExplorationIdForIndex(index),
+      explorationCheckpoint = checkpoint
+    )
+    return monitorFactory.waitForNextSuccessfulResult(recordProvider)
+  }
+
+  private fun retrieveCheckpoint(profileId: ProfileId, index: Int): ExplorationCheckpoint {
+    // Test explorations don't exist, so a real exploration is loaded in their place.
+    fakeExplorationRetriever.setExplorationProxy(
+      expIdToLoad = createExplorationIdForIndex(index), FRACTIONS_EXPLORATION_ID_0
+    )
+    val retrieveCheckpointProvider =
+      explorationCheckpointController.retrieveExplorationCheckpoint(
+        profileId, createExplorationIdForIndex(index)
+      )
+    return monitorFactory.waitForNextSuccessfulResult(retrieveCheckpointProvider)
+  }
+
+  private fun createCompletedStates(count: Int): List<CompletedStateInCheckpoint> {
+    return (0 until count).map { stateIndex ->
+      CompletedStateInCheckpoint.newBuilder().apply {
+        stateName = "state_$stateIndex"
+        completedState = CompletedState.newBuilder().addAllAnswer(createAnswers(count = 1)).build()
+      }.build()
+    }
+  }
+
+  private fun createAnswers(count: Int): List<AnswerAndResponse> {
+    return (0 until count).map { answerIndex ->
+      AnswerAndResponse.newBuilder().apply {
+        userAnswer = UserAnswer.newBuilder().setPlainAnswer("answer_$answerIndex").build()
+      }.build()
+    }
+  }
+
+  private fun writeLegacyDatabase(
+    profileId: ProfileId,
+    explorationId: String,
+    checkpoint: ExplorationCheckpoint
+  ) {
+    val legacyDatabaseStore =
+      cacheStoreFactory.createPerProfile(
+        "exploration_checkpoint_database",
+        ExplorationCheckpointDatabase.getDefaultInstance(),
+        profileId
+      )
+    legacyDatabaseStore.storeDataAsync {
+      it.toBuilder().putExplorationCheckpoint(explorationId, checkpoint).build()
+    }
+    testCoroutineDispatchers.runCurrent()
+  }
+
+  private fun writeCorruptLegacyDatabase(profileId: ProfileId) {
+    val profileDirectory = context.getDir(profileId.internalId.toString(), MODE_PRIVATE)
+    File(profileDirectory, "exploration_checkpoint_database.cache")
+      .writeBytes(byteArrayOf(0x7f, 0x00, 0x3a, 0x12, 0x55))
+  }
+
+  /**
+   * Prevents the checkpoint for the specified exploration from being saved by replacing its cache
+   * file with a non-empty directory.
+   */
+  private fun blockCheckpointFile(profileId: ProfileId, explorationId: String) {
+    val profileDirectory = context.getDir(profileId.internalId.toString(), MODE_PRIVATE)
+    val checkpointFile = File(profileDirectory, "exploration_checkpoint_entry_$explorationId.cache")
+    File(checkpointFile, "placeholder").apply {
+      parentFile?.mkdirs()
+      writeText("placeholder")
+    }
+  }
+
   private fun saveMultipleCheckpoints(profileId: ProfileId, numberOfCheckpoints: Int) {
     for (index in 0 until numberOfCheckpoints) {
       saveCheckpoint(profileId, index)
@@ -879,6 +1336,15 @@ class ExplorationCheckpointControllerTest {
       .setStateIndex(0)
       .build()
 
+  /**
+   * Returns a checkpoint for the test exploration with the specified index that's compatible with
+   * the exploration loaded in its place by [retrieveCheckpoint] (so that it's returned verbatim).
+   */
+  private fun createResumableCheckpoint(index: Int): ExplorationCheckpoint =
+    createCheckpoint(index).toBuilder()
+      .setExplorationVersion(FRACTIONS_STORY_0_EXPLORATION_0_CURRENT_VERSION)
+      .build()
+
   private fun retrieveExplorationCheckpointWithOverride(
     profileId: ProfileId,
     expIdToLoadInstead: String
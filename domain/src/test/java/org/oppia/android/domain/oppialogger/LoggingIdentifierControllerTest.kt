@@ -367,6 +367,8 @@ class LoggingIdentifierControllerTest {
 
   private fun deleteCacheFile(cacheName: String) {
     check(getCacheFile(cacheName).delete()) { "Failed to delete: $cacheName." }
+    // Also remove the store's previous generation (if any) so that it's actually treated as new.
+    File(context.filesDir, "$cacheName.cache.bak").delete()
   }
 
   private fun getCacheFile(cacheName: String) = File(context.filesDir, "$cacheName.cache")
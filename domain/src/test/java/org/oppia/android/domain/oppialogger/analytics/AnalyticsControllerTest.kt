@@ -1119,6 +1119,19 @@ class AnalyticsControllerTest {
     assertThat(fakeAnalyticsEventLogger.getEventListCount()).isEqualTo(2)
   }
 
+  @Test
+  fun testController_uploadEventLogsAndWait_withLogs_uploadsEventsInOrder() {
+    setUpTestApplicationComponent()
+    logTwoEventsOffline()
+
+    runSynchronously { analyticsController.uploadEventLogsAndWait() }
+
+    // Events should be uploaded in the order they were logged (oldest first).
+    val uploadedEvents = fakeAnalyticsEventLogger.getOldestEvents(count = 2)
+    assertThat(uploadedEvents[0]).isEssentialPriority()
+    assertThat(uploadedEvents[1]).isOptionalPriority()
+  }
+
   @Test
   fun testController_cachedEventsFromLastAppInstance_logNewEvent_onlyLatestEventLogged() {
     setUpTestApplicationComponent()
@@ -262,6 +262,36 @@ class LogUploadWorkerTest {
     assertThat(loggedExceptionStackTraceElems).isEqualTo(expectedExceptionStackTraceElems)
   }
 
+  @Test
+  fun testWorker_logTwoExceptions_withoutNetwork_enqueueRequest_uploadsAndRemovesBoth() {
+    setUpTestApplicationComponent()
+    networkConnectionUtil.setCurrentConnectionStatus(NONE)
+    exceptionsController.logNonFatalException(exception, TEST_TIMESTAMP)
+    exceptionsController.logNonFatalException(exception, TEST_TIMESTAMP + 1)
+    testCoroutineDispatchers.runCurrent()
+
+    val workManager = WorkManager.getInstance(ApplicationProvider.getApplicationContext())
+
+    val inputData = Data.Builder().putString(
+      LogUploadWorker.WORKER_CASE_KEY,
+      LogUploadWorker.EXCEPTION_WORKER
+    ).build()
+
+    val request: OneTimeWorkRequest = OneTimeWorkRequestBuilder<LogUploadWorker>()
+      .setInputData(inputData)
+      .build()
+    workManager.enqueue(request)
+    testCoroutineDispatchers.runCurrent()
+
+    // Both exceptions should be uploaded, and then removed from the store together.
+    val workInfo = workManager.getWorkInfoById(request.id)
+    val exceptionLogs =
+      monitorFactory.waitForNextSuccessfulResult(exceptionsController.getExceptionLogStore())
+    assertThat(workInfo.get().state).isEqualTo(WorkInfo.State.SUCCEEDED)
+    assertThat(fakeExceptionLogger.noExceptionsPresent()).isFalse()
+    assertThat(exceptionLogs.exceptionLogList).isEmpty()
+  }
+
   @Test
   fun testWorker_logPerformanceMetric_withoutNetwork_enqueueRequest_verifySuccess() {
     setUpTestApplicationComponent()
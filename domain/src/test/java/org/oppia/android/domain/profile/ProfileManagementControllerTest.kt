@@ -30,6 +30,7 @@ import org.oppia.android.app.model.ProfileDatabase
 import org.oppia.android.app.model.ProfileId
 import org.oppia.android.app.model.ProfileType
 import org.oppia.android.app.model.ReadingTextSize.MEDIUM_TEXT_SIZE
+import org.oppia.android.data.persistence.PersistentCacheStore
 import org.oppia.android.domain.classroom.TEST_CLASSROOM_ID_1
 import org.oppia.android.domain.classroom.TEST_CLASSROOM_ID_2
 import org.oppia.android.domain.oppialogger.ApplicationIdSeed
@@ -70,7 +71,6 @@ import org.oppia.android.util.threading.BackgroundDispatcher
 import org.robolectric.annotation.Config
 import org.robolectric.annotation.LooperMode
 import java.io.File
-import java.io.FileInputStream
 import javax.inject.Inject
 import javax.inject.Singleton
 
@@ -1658,9 +1658,9 @@ class ProfileManagementControllerTest {
   }
 
   private fun readProfileDatabase(): ProfileDatabase {
-    return FileInputStream(
-      File(context.filesDir, "profile_database.cache")
-    ).use(ProfileDatabase::parseFrom)
+    return ProfileDatabase.parseFrom(
+      PersistentCacheStore.readCacheFilePayload(File(context.filesDir, "profile_database.cache"))
+    )
   }
 
   private fun addAdminProfile(name: String, pin: String = DEFAULT_PIN): DataProvider<Any?> =
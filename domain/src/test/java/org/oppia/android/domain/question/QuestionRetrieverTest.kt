@@ -0,0 +1,206 @@
+package org.oppia.android.domain.question
+
+import android.app.Application
+import android.content.Context
+import androidx.test.core.app.ApplicationProvider
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import com.google.common.truth.Truth.assertThat
+import dagger.BindsInstance
+import dagger.Component
+import dagger.Module
+import dagger.Provides
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.oppia.android.app.model.Question
+import org.oppia.android.domain.topic.TEST_QUESTION_ID_0
+import org.oppia.android.domain.topic.TEST_QUESTION_ID_1
+import org.oppia.android.domain.topic.TEST_QUESTION_ID_2
+import org.oppia.android.domain.topic.TEST_QUESTION_ID_3
+import org.oppia.android.domain.topic.TEST_SKILL_ID_0
+import org.oppia.android.domain.topic.TEST_SKILL_ID_1
+import org.oppia.android.domain.topic.TEST_SKILL_ID_2
+import org.oppia.android.domain.util.JsonAssetRetriever
+import org.oppia.android.domain.util.StateRetriever
+import org.oppia.android.testing.assertThrows
+import org.oppia.android.testing.robolectric.RobolectricModule
+import org.oppia.android.testing.threading.TestDispatcherModule
+import org.oppia.android.testing.time.FakeOppiaClockModule
+import org.oppia.android.util.caching.AssetModule
+import org.oppia.android.util.caching.LoadLessonProtosFromAssets
+import org.oppia.android.util.locale.LocaleProdModule
+import org.oppia.android.util.logging.EnableConsoleLog
+import org.oppia.android.util.logging.EnableFileLog
+import org.oppia.android.util.logging.GlobalLogLevel
+import org.oppia.android.util.logging.LogLevel
+import org.robolectric.annotation.Config
+import org.robolectric.annotation.LooperMode
+import javax.inject.Inject
+import javax.inject.Singleton
+
+private const val TEST_QUESTION_ID_4 = "question_id_4"
+private const val TEST_QUESTION_ID_5 = "question_id_5"
+
+/** Tests for [QuestionRetriever]. */
+// Function name: test names are conventionally named with underscores.
+@Suppress("FunctionName")
+@RunWith(AndroidJUnit4::class)
+@LooperMode(LooperMode.Mode.PAUSED)
+@Config(manifest = Config.NONE)
+class QuestionRetrieverTest {
+  @Inject lateinit var questionRetriever: QuestionRetriever
+  @Inject lateinit var jsonAssetRetriever: JsonAssetRetriever
+  @Inject lateinit var stateRetriever: StateRetriever
+
+  @Before
+  fun setUp() {
+    setUpTestApplicationComponent()
+  }
+
+  @Test
+  fun testLoadQuestions_noSkills_returnsEmptyList() {
+    val questions = questionRetriever.loadQuestions(skillIdsList = listOf())
+
+    assertThat(questions).isEmpty()
+  }
+
+  @Test
+  fun testLoadQuestions_unknownSkill_returnsEmptyList() {
+    val questions = questionRetriever.loadQuestions(skillIdsList = listOf("unknown_skill_id"))
+
+    assertThat(questions).isEmpty()
+  }
+
+  @Test
+  fun testLoadQuestions_oneSkill_returnsLinkedQuestionsInOrder() {
+    val questions = questionRetriever.loadQuestions(skillIdsList = listOf(TEST_SKILL_ID_0))
+
+    assertThat(questions.map(Question::getQuestionId))
+      .containsExactly(TEST_QUESTION_ID_0, TEST_QUESTION_ID_1, TEST_QUESTION_ID_2)
+      .inOrder()
+  }
+
+  @Test
+  fun testLoadQuestions_oneSkill_questionsIncludeStateAndLinkedSkills() {
+    val questions = questionRetriever.loadQuestions(skillIdsList = listOf(TEST_SKILL_ID_1))
+
+    val firstQuestion = questions.first()
+    assertThat(firstQuestion.questionId).isEqualTo(TEST_QUESTION_ID_0)
+    assertThat(firstQuestion.questionState.name).isEqualTo("question")
+    assertThat(firstQuestion.linkedSkillIdsList)
+      .containsExactly(TEST_SKILL_ID_0, TEST_SKILL_ID_1)
+      .inOrder()
+  }
+
+  @Test
+  fun testLoadQuestions_multipleSkills_returnsQuestionsGroupedBySkillInOrder() {
+    val questions =
+      questionRetriever.loadQuestions(skillIdsList = listOf(TEST_SKILL_ID_2, TEST_SKILL_ID_1))
+
+    assertThat(questions.map(Question::getQuestionId))
+      .containsExactly(
+        TEST_QUESTION_ID_2, TEST_QUESTION_ID_4, TEST_QUESTION_ID_5,
+        TEST_QUESTION_ID_0, TEST_QUESTION_ID_3
+      )
+      .inOrder()
+  }
+
+  @Test
+  fun testLoadQuestions_skillsSharingQuestion_includesQuestionForEachSkill() {
+    val questions =
+      questionRetriever.loadQuestions(skillIdsList = listOf(TEST_SKILL_ID_0, TEST_SKILL_ID_1))
+
+    // Question 0 is linked to both skills, so it's included once per skill.
+    assertThat(questions.map(Question::getQuestionId))
+      .containsExactly(
+        TEST_QUESTION_ID_0, TEST_QUESTION_ID_1, TEST_QUESTION_ID_2,
+        TEST_QUESTION_ID_0, TEST_QUESTION_ID_3
+      )
+      .inOrder()
+  }
+
+  @Test
+  fun testLoadQuestions_skillsSharingQuestion_sharesConvertedQuestion() {
+    val questions =
+      questionRetriever.loadQuestions(skillIdsList = listOf(TEST_SKILL_ID_0, TEST_SKILL_ID_1))
+
+    // The shared question should only be converted once.
+    assertThat(questions[3]).isSameInstanceAs(questions[0])
+  }
+
+  @Test
+  fun testLoadQuestions_calledTwice_returnsSameQuestions() {
+    val firstQuestions = questionRetriever.loadQuestions(skillIdsList = listOf(TEST_SKILL_ID_0))
+
+    val secondQuestions = questionRetriever.loadQuestions(skillIdsList = listOf(TEST_SKILL_ID_0))
+
+    assertThat(secondQuestions).isEqualTo(firstQuestions)
+    assertThat(secondQuestions.first()).isSameInstanceAs(firstQuestions.first())
+  }
+
+  @Test
+  fun testLoadQuestions_loadingProtosFromAssets_throwsException() {
+    val protoQuestionRetriever =
+      QuestionRetriever(jsonAssetRetriever, stateRetriever, loadLessonProtosFromAssets = true)
+
+    val exception = assertThrows<IllegalStateException>() {
+      protoQuestionRetriever.loadQuestions(skillIdsList = listOf(TEST_SKILL_ID_0))
+    }
+
+    assertThat(exception).hasMessageThat().contains("No support yet for loading proto questions")
+  }
+
+  private fun setUpTestApplicationComponent() {
+    DaggerQuestionRetrieverTest_TestApplicationComponent.builder()
+      .setApplication(ApplicationProvider.getApplicationContext())
+      .build()
+      .inject(this)
+  }
+
+  @Module
+  class TestModule {
+    @Provides
+    @Singleton
+    fun provideContext(application: Application): Context {
+      return application
+    }
+
+    @Provides
+    @LoadLessonProtosFromAssets
+    fun provideLoadLessonProtosFromAssets(): Boolean = false
+
+    // TODO(#59): Either isolate these to their own shared test module, or use the real logging
+    // module in tests to avoid needing to specify these settings for tests.
+    @EnableConsoleLog
+    @Provides
+    fun provideEnableConsoleLog(): Boolean = true
+
+    @EnableFileLog
+    @Provides
+    fun provideEnableFileLog(): Boolean = false
+
+    @GlobalLogLevel
+    @Provides
+    fun provideGlobalLogLevel(): LogLevel = LogLevel.VERBOSE
+  }
+
+  // TODO(#89): Move this to a common test application component.
+  @Singleton
+  @Component(
+    modules = [
+      TestModule::class, TestDispatcherModule::class, RobolectricModule::class,
+      FakeOppiaClockModule::class, AssetModule::class, LocaleProdModule::class
+    ]
+  )
+  interface TestApplicationComponent {
+    @Component.Builder
+    interface Builder {
+      @BindsInstance
+      fun setApplication(application: Application): Builder
+
+      fun build(): TestApplicationComponent
+    }
+
+    fun inject(questionRetrieverTest: QuestionRetrieverTest)
+  }
+}
@@ -0,0 +1,202 @@
+package org.oppia.android.domain.util
+
+import android.app.Application
+import android.content.Context
+import androidx.test.core.app.ApplicationProvider
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import com.google.common.truth.Truth.assertThat
+import dagger.BindsInstance
+import dagger.Component
+import dagger.Module
+import dagger.Provides
+import org.json.JSONArray
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.oppia.android.testing.assertThrows
+import org.oppia.android.testing.robolectric.RobolectricModule
+import org.oppia.android.testing.threading.TestDispatcherModule
+import org.oppia.android.testing.time.FakeOppiaClockModule
+import org.oppia.android.util.caching.AssetModule
+import org.oppia.android.util.locale.LocaleProdModule
+import org.oppia.android.util.logging.EnableConsoleLog
+import org.oppia.android.util.logging.EnableFileLog
+import org.oppia.android.util.logging.GlobalLogLevel
+import org.oppia.android.util.logging.LogLevel
+import org.robolectric.annotation.Config
+import org.robolectric.annotation.LooperMode
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/** Tests for [JsonAssetRetriever]. */
+// Function name: test names are conventionally named with underscores.
+@Suppress("FunctionName")
+@RunWith(AndroidJUnit4::class)
+@LooperMode(LooperMode.Mode.PAUSED)
+@Config(manifest = Config.NONE)
+class JsonAssetRetrieverTest {
+  @Inject lateinit var jsonAssetRetriever: JsonAssetRetriever
+
+  @Before
+  fun setUp() {
+    setUpTestApplicationComponent()
+  }
+
+  @Test
+  fun testLoadJsonFromAsset_validAsset_returnsParsedJson() {
+    val classroomsJson = jsonAssetRetriever.loadJsonFromAsset("classrooms.json")
+
+    val classroomIds = classroomsJson?.getJSONArray("classroom_id_list")
+    assertThat(classroomIds?.length()).isEqualTo(3)
+    assertThat(classroomIds?.getString(0)).isEqualTo("test_classroom_id_0")
+  }
+
+  @Test
+  fun testLoadJsonFromAsset_validAsset_countsCacheMiss() {
+    jsonAssetRetriever.loadJsonFromAsset("classrooms.json")
+
+    assertThat(jsonAssetRetriever.getCacheMissCount()).isEqualTo(1)
+    assertThat(jsonAssetRetriever.getCacheHitCount()).isEqualTo(0)
+  }
+
+  @Test
+  fun testLoadJsonFromAsset_sameAssetTwice_returnsSameParsedObject() {
+    val firstJson = jsonAssetRetriever.loadJsonFromAsset("classrooms.json")
+
+    val secondJson = jsonAssetRetriever.loadJsonFromAsset("classrooms.json")
+
+    assertThat(secondJson).isSameInstanceAs(firstJson)
+  }
+
+  @Test
+  fun testLoadJsonFromAsset_sameAssetTwice_parsesOnceAndCountsCacheHit() {
+    jsonAssetRetriever.loadJsonFromAsset("classrooms.json")
+
+    jsonAssetRetriever.loadJsonFromAsset("classrooms.json")
+
+    assertThat(jsonAssetRetriever.getCacheMissCount()).isEqualTo(1)
+    assertThat(jsonAssetRetriever.getCacheHitCount()).isEqualTo(1)
+  }
+
+  @Test
+  fun testLoadJsonFromAsset_differentAssets_parsesEachAsset() {
+    val classroomsJson = jsonAssetRetriever.loadJsonFromAsset("classrooms.json")
+
+    val skillsJson = jsonAssetRetriever.loadJsonFromAsset("skills.json")
+
+    assertThat(skillsJson).isNotSameInstanceAs(classroomsJson)
+    assertThat(skillsJson?.has("skills")).isTrue()
+    assertThat(jsonAssetRetriever.getCacheMissCount()).isEqualTo(2)
+    assertThat(jsonAssetRetriever.getCacheHitCount()).isEqualTo(0)
+  }
+
+  @Test
+  fun testLoadJsonFromAsset_missingAsset_throwsException() {
+    val exception = assertThrows<IllegalStateException>() {
+      jsonAssetRetriever.loadJsonFromAsset("missing_asset.json")
+    }
+
+    assertThat(exception).hasMessageThat().contains("Asset doesn't exist: missing_asset.json")
+  }
+
+  @Test
+  fun testLoadJsonFromAsset_missingAssetTwice_doesNotCacheFailure() {
+    assertThrows<IllegalStateException>() {
+      jsonAssetRetriever.loadJsonFromAsset("missing_asset.json")
+    }
+
+    assertThrows<IllegalStateException>() {
+      jsonAssetRetriever.loadJsonFromAsset("missing_asset.json")
+    }
+
+    assertThat(jsonAssetRetriever.getCacheMissCount()).isEqualTo(2)
+    assertThat(jsonAssetRetriever.getCacheHitCount()).isEqualTo(0)
+  }
+
+  @Test
+  fun testReadJsonFromAsset_validAsset_readsAssetFromStart() {
+    val firstPropertyName = jsonAssetRetriever.readJsonFromAsset("classrooms.json") { reader ->
+      reader.beginObject()
+      reader.nextName()
+    }
+
+    assertThat(firstPropertyName).isEqualTo("classroom_id_list")
+  }
+
+  @Test
+  fun testReadJsonFromAsset_validAsset_doesNotUseParsedAssetCache() {
+    jsonAssetRetriever.readJsonFromAsset("classrooms.json") { it.skipValue() }
+
+    jsonAssetRetriever.loadJsonFromAsset("classrooms.json")
+
+    // Streamed assets are neither served from, nor added to, the parsed asset cache.
+    assertThat(jsonAssetRetriever.getCacheMissCount()).isEqualTo(1)
+    assertThat(jsonAssetRetriever.getCacheHitCount()).isEqualTo(0)
+  }
+
+  @Test
+  fun testGetAssetSize_validAsset_returnsNonZeroSize() {
+    val assetSize = jsonAssetRetriever.getAssetSize("classrooms.json")
+
+    assertThat(assetSize).isGreaterThan(0)
+  }
+
+  @Test
+  fun testGetStringsFromJsonArray_returnsArrayStrings() {
+    val jsonArray = JSONArray(listOf("first", "second"))
+
+    val strings = jsonAssetRetriever.getStringsFromJSONArray(jsonArray)
+
+    assertThat(strings).containsExactly("first", "second").inOrder()
+  }
+
+  private fun setUpTestApplicationComponent() {
+    DaggerJsonAssetRetrieverTest_TestApplicationComponent.builder()
+      .setApplication(ApplicationProvider.getApplicationContext())
+      .build()
+      .inject(this)
+  }
+
+  @Module
+  class TestModule {
+    @Provides
+    @Singleton
+    fun provideContext(application: Application): Context {
+      return application
+    }
+
+    // TODO(#59): Either isolate these to their own shared test module, or use the real logging
+    // module in tests to avoid needing to specify these settings for tests.
+    @EnableConsoleLog
+    @Provides
+    fun provideEnableConsoleLog(): Boolean = true
+
+    @EnableFileLog
+    @Provides
+    fun provideEnableFileLog(): Boolean = false
+
+    @GlobalLogLevel
+    @Provides
+    fun provideGlobalLogLevel(): LogLevel = LogLevel.VERBOSE
+  }
+
+  // TODO(#89): Move this to a common test application component.
+  @Singleton
+  @Component(
+    modules = [
+      TestModule::class, TestDispatcherModule::class, RobolectricModule::class,
+      FakeOppiaClockModule::class, AssetModule::class, LocaleProdModule::class
+    ]
+  )
+  interface TestApplicationComponent {
+    @Component.Builder
+    interface Builder {
+      @BindsInstance
+      fun setApplication(application: Application): Builder
+
+      fun build(): TestApplicationComponent
+    }
+
+    fun inject(jsonAssetRetrieverTest: JsonAssetRetrieverTest)
+  }
+}
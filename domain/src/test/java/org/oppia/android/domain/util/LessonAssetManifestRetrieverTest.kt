@@ -0,0 +1,175 @@
+package org.oppia.android.domain.util
+
+import android.app.Application
+import android.content.Context
+import androidx.test.core.app.ApplicationProvider
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import com.google.common.truth.Truth.assertThat
+import dagger.BindsInstance
+import dagger.Component
+import dagger.Module
+import dagger.Provides
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.oppia.android.app.model.LessonAssetManifest
+import org.oppia.android.app.model.LessonAssetMetadata
+import org.oppia.android.app.model.TopicAssetDependencies
+import org.oppia.android.testing.robolectric.RobolectricModule
+import org.oppia.android.testing.threading.TestDispatcherModule
+import org.oppia.android.testing.time.FakeOppiaClockModule
+import org.oppia.android.util.caching.AssetRepository
+import org.oppia.android.util.caching.testing.FakeAssetRepository
+import org.oppia.android.util.locale.LocaleProdModule
+import org.oppia.android.util.logging.EnableConsoleLog
+import org.oppia.android.util.logging.EnableFileLog
+import org.oppia.android.util.logging.GlobalLogLevel
+import org.oppia.android.util.logging.LogLevel
+import org.robolectric.annotation.Config
+import org.robolectric.annotation.LooperMode
+import javax.inject.Inject
+import javax.inject.Singleton
+
+private const val TEST_TOPIC_ID = "test_topic_id"
+
+/** Tests for [LessonAssetManifestRetriever]. */
+// Function name: test names are conventionally named with underscores.
+@Suppress("FunctionName")
+@RunWith(AndroidJUnit4::class)
+@LooperMode(LooperMode.Mode.PAUSED)
+@Config(manifest = Config.NONE)
+class LessonAssetManifestRetrieverTest {
+  @Inject lateinit var lessonAssetManifestRetriever: LessonAssetManifestRetriever
+  @Inject lateinit var fakeAssetRepository: FakeAssetRepository
+
+  @Before
+  fun setUp() {
+    setUpTestApplicationComponent()
+  }
+
+  @Test
+  fun testGetAssetSizeBytes_assetInManifest_returnsSize() {
+    setManifestOverride(TEST_MANIFEST)
+
+    val sizeBytes = lessonAssetManifestRetriever.getAssetSizeBytes("$TEST_TOPIC_ID.json")
+
+    assertThat(sizeBytes).isEqualTo(1234L)
+  }
+
+  @Test
+  fun testGetAssetSizeBytes_assetNotInManifest_returnsNull() {
+    setManifestOverride(TEST_MANIFEST)
+
+    val sizeBytes = lessonAssetManifestRetriever.getAssetSizeBytes("missing_asset.json")
+
+    assertThat(sizeBytes).isNull()
+  }
+
+  @Test
+  fun testGetAssetSizeBytes_emptyManifest_returnsNull() {
+    setManifestOverride(LessonAssetManifest.getDefaultInstance())
+
+    val sizeBytes = lessonAssetManifestRetriever.getAssetSizeBytes("$TEST_TOPIC_ID.json")
+
+    assertThat(sizeBytes).isNull()
+  }
+
+  @Test
+  fun testGetTopicDependencies_topicInManifest_returnsDependencies() {
+    setManifestOverride(TEST_MANIFEST)
+
+    val dependencies = lessonAssetManifestRetriever.getTopicDependencies(TEST_TOPIC_ID)
+
+    assertThat(dependencies?.storyIdsList).containsExactly("test_story_id")
+    assertThat(dependencies?.explorationIdsList)
+      .containsExactly("test_exp_id_0", "test_exp_id_1")
+      .inOrder()
+    assertThat(dependencies?.subtopicIdsList).containsExactly(1)
+  }
+
+  @Test
+  fun testGetTopicDependencies_topicNotInManifest_returnsNull() {
+    setManifestOverride(TEST_MANIFEST)
+
+    val dependencies = lessonAssetManifestRetriever.getTopicDependencies("missing_topic_id")
+
+    assertThat(dependencies).isNull()
+  }
+
+  private fun setManifestOverride(manifest: LessonAssetManifest) {
+    fakeAssetRepository.setProtoAssetOverride(assetName = "lesson_asset_manifest", proto = manifest)
+  }
+
+  private fun setUpTestApplicationComponent() {
+    DaggerLessonAssetManifestRetrieverTest_TestApplicationComponent.builder()
+      .setApplication(ApplicationProvider.getApplicationContext())
+      .build()
+      .inject(this)
+  }
+
+  private companion object {
+    private val TEST_MANIFEST = LessonAssetManifest.newBuilder().apply {
+      putAssets(
+        "$TEST_TOPIC_ID.json",
+        LessonAssetMetadata.newBuilder().apply {
+          sizeBytes = 1234L
+        }.build()
+      )
+      putTopicDependencies(
+        TEST_TOPIC_ID,
+        TopicAssetDependencies.newBuilder().apply {
+          addStoryIds("test_story_id")
+          addExplorationIds("test_exp_id_0")
+          addExplorationIds("test_exp_id_1")
+          addSubtopicIds(1)
+        }.build()
+      )
+    }.build()
+  }
+
+  @Module
+  class TestModule {
+    @Provides
+    @Singleton
+    fun provideContext(application: Application): Context {
+      return application
+    }
+
+    // TODO(#59): Either isolate these to their own shared test module, or use the real logging
+    // module in tests to avoid needing to specify these settings for tests.
+    @EnableConsoleLog
+    @Provides
+    fun provideEnableConsoleLog(): Boolean = true
+
+    @EnableFileLog
+    @Provides
+    fun provideEnableFileLog(): Boolean = false
+
+    @GlobalLogLevel
+    @Provides
+    fun provideGlobalLogLevel(): LogLevel = LogLevel.VERBOSE
+
+    @Provides
+    fun provideFakeAssetRepository(fakeImpl: FakeAssetRepository): AssetRepository = fakeImpl
+  }
+
+  // TODO(#89): Move this to a common test application component.
+  @Singleton
+  @Component(
+    modules = [
+      TestModule::class, TestDispatcherModule::class, RobolectricModule::class,
+      FakeOppiaClockModule::class, LocaleProdModule::class
+    ]
+  )
+  interface TestApplicationComponent {
+    @Component.Builder
+    interface Builder {
+      @BindsInstance
+      fun setApplication(application: Application): Builder
+
+      fun build(): TestApplicationComponent
+    }
+
+    fun inject(lessonAssetManifestRetrieverTest: LessonAssetManifestRetrieverTest)
+  }
+}
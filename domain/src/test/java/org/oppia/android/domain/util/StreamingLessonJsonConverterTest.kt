@@ -0,0 +1,305 @@
+package org.oppia.android.domain.util
+
+import android.app.Application
+import android.content.Context
+import android.util.JsonReader
+import androidx.test.core.app.ApplicationProvider
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import com.google.common.truth.Truth.assertThat
+import dagger.BindsInstance
+import dagger.Component
+import dagger.Module
+import dagger.Provides
+import org.json.JSONObject
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.oppia.android.app.model.Exploration
+import org.oppia.android.app.model.SubtitledHtml
+import org.oppia.android.testing.assertThrows
+import org.oppia.android.testing.robolectric.RobolectricModule
+import org.oppia.android.testing.threading.TestDispatcherModule
+import org.oppia.android.testing.time.FakeOppiaClockModule
+import org.oppia.android.util.caching.AssetModule
+import org.oppia.android.util.locale.LocaleProdModule
+import org.oppia.android.util.logging.EnableConsoleLog
+import org.oppia.android.util.logging.EnableFileLog
+import org.oppia.android.util.logging.GlobalLogLevel
+import org.oppia.android.util.logging.LogLevel
+import org.robolectric.annotation.Config
+import org.robolectric.annotation.LooperMode
+import java.io.StringReader
+import javax.inject.Inject
+import javax.inject.Singleton
+
+private const val TEST_EXPLORATION_ID_2 = "test_exp_id_2"
+
+/** Tests for [StreamingLessonJsonConverter]. */
+// Function name: test names are conventionally named with underscores.
+@Suppress("FunctionName")
+@RunWith(AndroidJUnit4::class)
+@LooperMode(LooperMode.Mode.PAUSED)
+@Config(manifest = Config.NONE)
+class StreamingLessonJsonConverterTest {
+  @Inject lateinit var context: Context
+  @Inject lateinit var streamingLessonJsonConverter: StreamingLessonJsonConverter
+  @Inject lateinit var stateRetriever: StateRetriever
+  @Inject lateinit var jsonAssetRetriever: JsonAssetRetriever
+
+  @Before
+  fun setUp() {
+    setUpTestApplicationComponent()
+  }
+
+  @Test
+  fun testConvertToExploration_allExplorationAssets_matchJsonObjectConversion() {
+    val explorationAssetNames = context.assets.list("")!!.filter { assetName ->
+      assetName.endsWith(".json") &&
+        jsonAssetRetriever.loadJsonFromAsset(assetName)?.has("exploration") == true
+    }
+
+    // Verify that the test is actually checking the app's exploration fixtures.
+    assertThat(explorationAssetNames).contains("$TEST_EXPLORATION_ID_2.json")
+    for (assetName in explorationAssetNames) {
+      val explorationJson = checkNotNull(jsonAssetRetriever.loadJsonFromAsset(assetName))
+      val expectedExploration = createExplorationFromJsonObject(explorationJson)
+
+      val exploration = jsonAssetRetriever.readJsonFromAsset(
+        assetName, streamingLessonJsonConverter::convertToExploration
+      )
+
+      // Compare serialized forms to verify that the protos are byte-for-byte identical.
+      assertThat(exploration.toByteArray()).isEqualTo(expectedExploration.toByteArray())
+    }
+  }
+
+  @Test
+  fun testConvertToExploration_testExploration_hasExpectedProperties() {
+    val exploration = jsonAssetRetriever.readJsonFromAsset(
+      "$TEST_EXPLORATION_ID_2.json", streamingLessonJsonConverter::convertToExploration
+    )
+
+    assertThat(exploration.id).isEqualTo(TEST_EXPLORATION_ID_2)
+    assertThat(exploration.translatableTitle.contentId).isEqualTo("title")
+    assertThat(exploration.description.contentId).isEqualTo("description")
+    assertThat(exploration.statesMap).containsKey(exploration.initStateName)
+  }
+
+  @Test
+  fun testConvertToExploration_missingExplorationId_throwsException() {
+    val exception = assertThrows<IllegalStateException>() {
+      streamingLessonJsonConverter.convertToExploration(createReader("""{"version": 1}"""))
+    }
+
+    assertThat(exception).hasMessageThat().contains("Expected exploration to have an ID.")
+  }
+
+  @Test
+  fun testConvertToState_unknownProperties_areIgnored() {
+    val stateJson = createStateJson(extraProperties = """"unknown": {"nested": [1, 2.5, null]},""")
+
+    val state = streamingLessonJsonConverter.convertToState("State", createReader(stateJson))
+
+    assertThat(state.name).isEqualTo("State")
+    assertThat(state.content).isEqualTo(CONTENT)
+    assertThat(state.interaction.id).isEqualTo("Continue")
+  }
+
+  @Test
+  fun testConvertToState_interactionBeforeContent_matchesJsonObjectConversion() {
+    val stateJson =
+      """{"interaction": $CONTINUE_INTERACTION_JSON, "content": $CONTENT_JSON, "solicit": false}"""
+
+    val state = streamingLessonJsonConverter.convertToState("State", createReader(stateJson))
+
+    assertThat(state).isEqualTo(stateRetriever.createStateFromJson("State", JSONObject(stateJson)))
+  }
+
+  @Test
+  fun testConvertToState_contentIdWithoutVoiceovers_omitsContentId() {
+    val stateJson = createStateJson(
+      extraProperties =
+        """
+        "recorded_voiceovers": {
+          "voiceovers_mapping": {
+            "content": {"hi": {"filename": "content-hi.mp3", "needs_update": false}},
+            "default_outcome": {}
+          }
+        },
+        """
+    )
+
+    val state = streamingLessonJsonConverter.convertToState("State", createReader(stateJson))
+
+    assertThat(state.recordedVoiceoversMap).containsKey("content")
+    assertThat(state.recordedVoiceoversMap).doesNotContainKey("default_outcome")
+    assertThat(state.recordedVoiceoversMap["content"]?.voiceoverMappingMap?.get("hi")?.fileName)
+      .isEqualTo("content-hi.mp3")
+  }
+
+  @Test
+  fun testConvertToState_translationBeforeDataFormat_parsesTranslation() {
+    val stateJson = createStateJson(
+      extraProperties =
+        """
+        "written_translations": {
+          "translations_mapping": {
+            "content": {
+              "hi": {"translation": {"translation": "<p>Namaste</p>"}, "data_format": "html"}
+            }
+          }
+        },
+        """
+    )
+
+    val state = streamingLessonJsonConverter.convertToState("State", createReader(stateJson))
+
+    assertThat(state.writtenTranslationsMap["content"]?.translationMappingMap?.get("hi")?.html)
+      .isEqualTo("<p>Namaste</p>")
+  }
+
+  @Test
+  fun testConvertToState_unsupportedTranslationDataFormat_throwsException() {
+    val stateJson = createStateJson(
+      extraProperties =
+        """
+        "written_translations": {
+          "translations_mapping": {
+            "content": {"hi": {"data_format": "unknown", "translation": {}, "needs_update": false}}
+          }
+        },
+        """
+    )
+
+    val exception = assertThrows<IllegalStateException>() {
+      streamingLessonJsonConverter.convertToState("State", createReader(stateJson))
+    }
+
+    assertThat(exception).hasMessageThat().contains("Unsupported data format: unknown")
+  }
+
+  @Test
+  fun testConvertToState_nullLinkedSkillId_doesNotSetLinkedSkillId() {
+    val stateJson = createStateJson(extraProperties = """"linked_skill_id": null,""")
+
+    val state = streamingLessonJsonConverter.convertToState("State", createReader(stateJson))
+
+    assertThat(state.linkedSkillId).isEmpty()
+  }
+
+  @Test
+  fun testConvertToState_missingInteraction_throwsException() {
+    val exception = assertThrows<IllegalStateException>() {
+      streamingLessonJsonConverter.convertToState(
+        "State", createReader("""{"content": $CONTENT_JSON}""")
+      )
+    }
+
+    assertThat(exception).hasMessageThat()
+      .contains("Expected state State to have an interaction.")
+  }
+
+  /**
+   * Returns an [Exploration] converted from the specified [JSONObject] in the same way that
+   * explorations were converted before [StreamingLessonJsonConverter] was introduced.
+   */
+  private fun createExplorationFromJsonObject(explorationJson: JSONObject): Exploration {
+    val innerExplorationJson = explorationJson.getJSONObject("exploration")
+    val statesJson = innerExplorationJson.getJSONObject("states")
+    return Exploration.newBuilder().apply {
+      id = explorationJson.getString("exploration_id")
+      translatableTitle = SubtitledHtml.newBuilder().apply {
+        contentId = "title"
+        html = innerExplorationJson.getString("title")
+      }.build()
+      languageCode = innerExplorationJson.getString("language_code")
+      initStateName = innerExplorationJson.getString("init_state_name")
+      description = SubtitledHtml.newBuilder().apply {
+        contentId = "description"
+        html = innerExplorationJson.getString("objective")
+      }.build()
+      for (stateName in statesJson.keys()) {
+        val stateJson = statesJson.getJSONObject(stateName)
+        putStates(stateName, stateRetriever.createStateFromJson(stateName, stateJson))
+      }
+      version = explorationJson.getInt("version")
+    }.build()
+  }
+
+  private fun createStateJson(extraProperties: String): String =
+    """{"content": $CONTENT_JSON, $extraProperties "interaction": $CONTINUE_INTERACTION_JSON}"""
+
+  private fun createReader(json: String): JsonReader = JsonReader(StringReader(json))
+
+  private fun setUpTestApplicationComponent() {
+    DaggerStreamingLessonJsonConverterTest_TestApplicationComponent.builder()
+      .setApplication(ApplicationProvider.getApplicationContext())
+      .build()
+      .inject(this)
+  }
+
+  private companion object {
+    private const val CONTENT_JSON = """{"content_id": "content", "html": "<p>Hello</p>"}"""
+    private const val CONTINUE_INTERACTION_JSON =
+      """
+      {
+        "id": "Continue",
+        "answer_groups": [],
+        "customization_args": {
+          "buttonText": {"value": {"content_id": "ca_buttonText_0", "unicode_str": "Continue"}}
+        },
+        "default_outcome": null,
+        "hints": [],
+        "solution": null
+      }
+      """
+
+    private val CONTENT = SubtitledHtml.newBuilder().apply {
+      contentId = "content"
+      html = "<p>Hello</p>"
+    }.build()
+  }
+
+  @Module
+  class TestModule {
+    @Provides
+    @Singleton
+    fun provideContext(application: Application): Context {
+      return application
+    }
+
+    // TODO(#59): Either isolate these to their own shared test module, or use the real logging
+    // module in tests to avoid needing to specify these settings for tests.
+    @EnableConsoleLog
+    @Provides
+    fun provideEnableConsoleLog(): Boolean = true
+
+    @EnableFileLog
+    @Provides
+    fun provideEnableFileLog(): Boolean = false
+
+    @GlobalLogLevel
+    @Provides
+    fun provideGlobalLogLevel(): LogLevel = LogLevel.VERBOSE
+  }
+
+  // TODO(#89): Move this to a common test application component.
+  @Singleton
+  @Component(
+    modules = [
+      TestModule::class, TestDispatcherModule::class, RobolectricModule::class,
+      FakeOppiaClockModule::class, AssetModule::class, LocaleProdModule::class
+    ]
+  )
+  interface TestApplicationComponent {
+    @Component.Builder
+    interface Builder {
+      @BindsInstance
+      fun setApplication(application: Application): Builder
+
+      fun build(): TestApplicationComponent
+    }
+
+    fun inject(streamingLessonJsonConverterTest: StreamingLessonJsonConverterTest)
+  }
+}
@@ -0,0 +1,99 @@
+package org.oppia.android.scripts.build
+
+import org.oppia.android.app.model.ChapterRecord
+import org.oppia.android.app.model.LessonAssetManifest
+import org.oppia.android.app.model.LessonAssetMetadata
+import org.oppia.android.app.model.StoryRecord
+import org.oppia.android.app.model.TopicAssetDependencies
+import org.oppia.android.app.model.TopicRecord
+import java.io.File
+import java.security.MessageDigest
+
+/**
+ * Script for generating a [LessonAssetManifest] that describes the lesson assets bundled with the
+ * app, so that the app can look up asset sizes & topic structures without reading the assets.
+ *
+ * Usage:
+ *   bazel run //scripts:generate_lesson_asset_manifest -- \\
+ *     <path_to_output_manifest> <comma_separated_topic_ids> <path_to_asset> [<path_to_asset>...]
+ *
+ * Arguments:
+ * - path_to_output_manifest: path to the binary manifest proto file that will be written.
+ * - comma_separated_topic_ids: the IDs of the topics whose dependencies should be included in the
+ *     manifest. Each topic (and each of its stories) must have a corresponding binary proto asset.
+ * - path_to_asset: path to a lesson asset (either JSON or binary proto) to include in the manifest.
+ *     Assets are keyed in the manifest by their file names, so all assets must have unique names.
+ *
+ * Example:
+ *   bazel run //scripts:generate_lesson_asset_manifest -- \\
+ *     $(pwd)/lesson_asset_manifest.pb GJ2rLXRKD5hw,omzF4oqgeTXd \\
+ *     $(pwd)/bazel-bin/domain/src/main/assets/GJ2rLXRKD5hw.pb ...
+ */
+fun main(vararg args: String) {
+  require(args.size >= 3) {
+    "Usage: bazel run //scripts:generate_lesson_asset_manifest --" +
+      " </absolute/path/to/output_manifest.pb:Path>" +
+      " <comma_separated_topic_ids:String>" +
+      " </absolute/path/to/asset:Path> [</absolute/path/to/asset:Path>...]"
+  }
+  val topicIds = args[1].split(',').filter(String::isNotEmpty)
+  val manifest =
+    GenerateLessonAssetManifest().generateManifest(topicIds, args.drop(2).map(::File))
+  File(args[0]).outputStream().use(manifest::writeTo)
+}
+
+private class GenerateLessonAssetManifest {
+  /**
+   * Returns a new [LessonAssetManifest] that includes metadata for each of the specified
+   * [assetFiles], and the dependencies of each of the specified topics.
+   */
+  fun generateManifest(topicIds: List<String>, assetFiles: List<File>): LessonAssetManifest {
+    val assetFilesByName = assetFiles.groupBy(File::getName).mapValues { (name, files) ->
+      check(files.size == 1) { "Expected asset file names to be unique, but found: $files." }
+      check(files.single().isFile) { "Asset does not exist: $name." }
+      files.single()
+    }
+    return LessonAssetManifest.newBuilder().apply {
+      // Sort the assets to ensure that the generated manifest is deterministic.
+      assetFilesByName.toSortedMap().forEach { (name, file) ->
+        putAssets(name, computeMetadata(file))
+      }
+      topicIds.forEach { topicId ->
+        putTopicDependencies(topicId, computeTopicDependencies(topicId, assetFilesByName))
+      }
+    }.build()
+  }
+
+  private fun computeMetadata(assetFile: File): LessonAssetMetadata {
+    val contents = assetFile.readBytes()
+    return LessonAssetMetadata.newBuilder().apply {
+      sizeBytes = contents.size.toLong()
+      contentSha256 = MessageDigest.getInstance("SHA-256").digest(contents).joinToString("") {
+        "%02x".format(it)
+      }
+    }.build()
+  }
+
+  private fun computeTopicDependencies(
+    topicId: String,
+    assetFilesByName: Map<String, File>
+  ): TopicAssetDependencies {
+    val topicRecord = TopicRecord.parseFrom(assetFilesByName.readProtoAsset(topicId))
+    val storyRecords = topicRecord.canonicalStoryIdsList.map { storyId ->
+      StoryRecord.parseFrom(assetFilesByName.readProtoAsset(storyId))
+    }
+    return TopicAssetDependencies.newBuilder().apply {
+      addAllStoryIds(topicRecord.canonicalStoryIdsList)
+      addAllExplorationIds(
+        storyRecords.flatMap { it.chaptersList.map(ChapterRecord::getExplorationId) }
+      )
+      addAllSubtopicIds(topicRecord.subtopicIdsList)
+    }.build()
+  }
+
+  private fun Map<String, File>.readProtoAsset(assetName: String): ByteArray {
+    return checkNotNull(this["$assetName.pb"]) {
+      "Expected binary proto asset for: $assetName."
+    }.readBytes()
+  }
+}
@@ -0,0 +1,141 @@
+package org.oppia.android.scripts.build
+
+import com.google.common.truth.Truth.assertThat
+import com.google.protobuf.MessageLite
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+import org.oppia.android.app.model.ChapterRecord
+import org.oppia.android.app.model.LessonAssetManifest
+import org.oppia.android.app.model.StoryRecord
+import org.oppia.android.app.model.TopicRecord
+import org.oppia.android.testing.assertThrows
+import java.io.File
+
+/** Tests for the generate_lesson_asset_manifest utility. */
+// PrivatePropertyName: it's valid to have private vals in constant case if they're true constants.
+// FunctionName: test names are conventionally named with underscores.
+@Suppress("PrivatePropertyName", "FunctionName")
+class GenerateLessonAssetManifestTest {
+  private val USAGE_STRING =
+    "Usage: bazel run //scripts:generate_lesson_asset_manifest --" +
+      " </absolute/path/to/output_manifest.pb:Path>" +
+      " <comma_separated_topic_ids:String>" +
+      " </absolute/path/to/asset:Path> [</absolute/path/to/asset:Path>...]"
+
+  // SHA-256 hash of the text "test".
+  private val TEST_TEXT_SHA256 = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08"
+
+  private val TEST_TOPIC_RECORD = TopicRecord.newBuilder().apply {
+    id = "test_topic"
+    addCanonicalStoryIds("test_story_0")
+    addCanonicalStoryIds("test_story_1")
+    addSubtopicIds(1)
+    addSubtopicIds(2)
+  }.build()
+  private val TEST_STORY_RECORD_0 = createStoryRecord("test_story_0", "test_exp_0", "test_exp_1")
+  private val TEST_STORY_RECORD_1 = createStoryRecord("test_story_1", "test_exp_2")
+
+  @field:[Rule JvmField] val tempFolder = TemporaryFolder()
+
+  @Test
+  fun testUtility_noArgs_failsWithUsageString() {
+    val error = assertThrows<IllegalArgumentException>() { runScript() }
+
+    assertThat(error).hasMessageThat().contains(USAGE_STRING)
+  }
+
+  @Test
+  fun testUtility_noAssets_failsWithUsageString() {
+    val error = assertThrows<IllegalArgumentException>() {
+      runScript(tempFolder.getFilePath("manifest.pb"), "test_topic")
+    }
+
+    assertThat(error).hasMessageThat().contains(USAGE_STRING)
+  }
+
+  @Test
+  fun testUtility_jsonAsset_recordsSizeAndHash() {
+    val assetFile = tempFolder.newFile("test.json").apply { writeText("test") }
+
+    runScript(tempFolder.getFilePath("manifest.pb"), "", assetFile.path)
+
+    val metadata = readManifest().assetsMap.getValue("test.json")
+    assertThat(metadata.sizeBytes).isEqualTo(4L)
+    assertThat(metadata.contentSha256).isEqualTo(TEST_TEXT_SHA256)
+  }
+
+  @Test
+  fun testUtility_protoAssets_recordsSizesKeyedByFileName() {
+    val topicFile = writeProtoAsset("test_topic", TEST_TOPIC_RECORD)
+    val storyFile = writeProtoAsset("test_story_0", TEST_STORY_RECORD_0)
+
+    runScript(tempFolder.getFilePath("manifest.pb"), "", topicFile.path, storyFile.path)
+
+    val manifest = readManifest()
+    assertThat(manifest.assetsMap.keys).containsExactly("test_topic.pb", "test_story_0.pb")
+    assertThat(manifest.assetsMap.getValue("test_topic.pb").sizeBytes)
+      .isEqualTo(TEST_TOPIC_RECORD.serializedSize.toLong())
+  }
+
+  @Test
+  fun testUtility_topicWithStories_recordsTopicDependencies() {
+    val assetPaths = listOf(
+      writeProtoAsset("test_topic", TEST_TOPIC_RECORD),
+      writeProtoAsset("test_story_0", TEST_STORY_RECORD_0),
+      writeProtoAsset("test_story_1", TEST_STORY_RECORD_1)
+    ).map(File::getPath)
+
+    runScript(tempFolder.getFilePath("manifest.pb"), "test_topic", *assetPaths.toTypedArray())
+
+    val dependencies = readManifest().topicDependenciesMap.getValue("test_topic")
+    assertThat(dependencies.storyIdsList).containsExactly("test_story_0", "test_story_1").inOrder()
+    assertThat(dependencies.explorationIdsList)
+      .containsExactly("test_exp_0", "test_exp_1", "test_exp_2")
+      .inOrder()
+    assertThat(dependencies.subtopicIdsList).containsExactly(1, 2).inOrder()
+  }
+
+  @Test
+  fun testUtility_topicWithMissingStoryAsset_throwsFailure() {
+    val topicFile = writeProtoAsset("test_topic", TEST_TOPIC_RECORD)
+
+    val error = assertThrows<IllegalStateException>() {
+      runScript(tempFolder.getFilePath("manifest.pb"), "test_topic", topicFile.path)
+    }
+
+    assertThat(error).hasMessageThat().contains("Expected binary proto asset for: test_story_0.")
+  }
+
+  @Test
+  fun testUtility_duplicateAssetFileNames_throwsFailure() {
+    val firstFile = tempFolder.newFolder("first").resolve("test.json").apply { writeText("1") }
+    val secondFile = tempFolder.newFolder("second").resolve("test.json").apply { writeText("2") }
+
+    val error = assertThrows<IllegalStateException>() {
+      runScript(tempFolder.getFilePath("manifest.pb"), "", firstFile.path, secondFile.path)
+    }
+
+    assertThat(error).hasMessageThat().contains("Expected asset file names to be unique")
+  }
+
+  private fun createStoryRecord(storyId: String, vararg explorationIds: String): StoryRecord {
+    return StoryRecord.newBuilder().apply {
+      this.storyId = storyId
+      explorationIds.forEach { explorationId ->
+        addChapters(ChapterRecord.newBuilder().setExplorationId(explorationId))
+      }
+    }.build()
+  }
+
+  private fun writeProtoAsset(assetName: String, proto: MessageLite): File =
+    tempFolder.newFile("$assetName.pb").apply { outputStream().use(proto::writeTo) }
+
+  private fun readManifest(): LessonAssetManifest =
+    File(tempFolder.root, "manifest.pb").inputStream().use(LessonAssetManifest::parseFrom)
+
+  private fun TemporaryFolder.getFilePath(fileName: String): String =
+    File(root, fileName).absolutePath
+
+  private fun runScript(vararg args: String) = main(*args)
+}
@@ -7,13 +7,15 @@ import kotlinx.coroutines.asCoroutineDispatcher
 import org.oppia.android.testing.robolectric.IsOnRobolectric
 import org.oppia.android.util.threading.BackgroundDispatcher
 import org.oppia.android.util.threading.BlockingDispatcher
+import org.oppia.android.util.threading.BlockingPoolDispatcher
+import org.oppia.android.util.threading.LatexRenderDispatcher
 import java.util.concurrent.Executors
 import javax.inject.Provider
 import javax.inject.Singleton
 
 /**
- * Dagger [Module] that provides [CoroutineDispatcher]s that bind to [BackgroundDispatcher] and
- * [BlockingDispatcher] qualifiers.
+ * Dagger [Module] that provides [CoroutineDispatcher]s that bind to [BackgroundDispatcher],
+ * [BlockingDispatcher], [BlockingPoolDispatcher], and [LatexRenderDispatcher] qualifiers.
  */
 @Module
 class TestDispatcherModule {
@@ -29,6 +31,23 @@ class TestDispatcherModule {
     @BlockingTestDispatcher testCoroutineDispatcher: TestCoroutineDispatcher
   ): CoroutineDispatcher = testCoroutineDispatcher
 
+  // The blocking pool is backed by the single-threaded blocking test dispatcher so that tests
+  // remain deterministic (all serial lanes created on top of it are still coordinated by
+  // TestCoroutineDispatchers).
+  @Provides
+  @BlockingPoolDispatcher
+  fun provideBlockingPoolDispatcher(
+    @BlockingTestDispatcher testCoroutineDispatcher: TestCoroutineDispatcher
+  ): CoroutineDispatcher = testCoroutineDispatcher
+
+  // LaTeX rendering is backed by the (multi-threaded) background test dispatcher so that renders
+  // still run in parallel while being coordinated by TestCoroutineDispatchers.
+  @Provides
+  @LatexRenderDispatcher
+  fun provideLatexRenderDispatcher(
+    @BackgroundTestDispatcher testCoroutineDispatcher: TestCoroutineDispatcher
+  ): CoroutineDispatcher = testCoroutineDispatcher
+
   @Provides
   @BackgroundTestDispatcher
   @Singleton
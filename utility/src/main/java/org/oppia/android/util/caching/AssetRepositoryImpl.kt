@@ -8,10 +8,30 @@ import java.io.FileNotFoundException
 import java.io.InputStream
 import java.io.OutputStream
 import java.net.URL
-import java.util.concurrent.locks.ReentrantLock
 import javax.inject.Inject
 import javax.inject.Singleton
-import kotlin.concurrent.withLock
+
+/** The maximum number of bytes of text file assets that are kept in memory at once. */
+private const val MAX_TEXT_ASSET_CACHE_SIZE_BYTES = 6L * 1024 * 1024
+
+/**
+ * The number of bytes of [MAX_TEXT_ASSET_CACHE_SIZE_BYTES] reserved for text assets too large for a
+ * single stripe. This needs to fit at least the largest bundled lesson JSON (~385KB on disk, but
+ * twice that in memory since text is stored as UTF-16).
+ */
+private const val LARGE_TEXT_ASSET_SLOT_SIZE_BYTES = 2L * 1024 * 1024
+
+/** The maximum number of bytes of proto file assets that are kept in memory at once. */
+private const val MAX_PROTO_ASSET_CACHE_SIZE_BYTES = 8L * 1024 * 1024
+
+/**
+ * The number of bytes of [MAX_PROTO_ASSET_CACHE_SIZE_BYTES] reserved for proto assets too large for
+ * a single stripe.
+ */
+private const val LARGE_PROTO_ASSET_SLOT_SIZE_BYTES = 2L * 1024 * 1024
+
+/** The number of independently locked stripes used by each of the in-memory asset caches. */
+private const val ASSET_CACHE_STRIPE_COUNT = 8
 
 // TODO(#169): Leverage this repository or a version of it for caching all topic contents in a
 //  proto. It may also be worth keeping a version of this repository for caching audio files within
@@ -22,35 +42,40 @@ class AssetRepositoryImpl @Inject constructor(
   private val context: Context,
   private val logger: ConsoleLogger
 ) : AssetRepository {
-  private val repositoryLock = ReentrantLock()
-
-  /** Map of asset names to file contents for text file assets. */
-  private val textFileAssets = mutableMapOf<String, String>()
-
-  /** Map of asset names to file contents for proto file assets. */
-  private val protoFileAssets = mutableMapOf<String, ByteArray?>()
+  /** Byte-bounded LRU cache of asset names to file contents for text file assets. */
+  private val textFileAssets =
+    StripedLruCache<String, String>(
+      MAX_TEXT_ASSET_CACHE_SIZE_BYTES, ASSET_CACHE_STRIPE_COUNT, LARGE_TEXT_ASSET_SLOT_SIZE_BYTES
+    ) { _, contents -> contents.length * Char.SIZE_BYTES }
+
+  /** Byte-bounded LRU cache of asset names to file contents for proto file assets. */
+  private val protoFileAssets =
+    StripedLruCache<String, ByteArray>(
+      MAX_PROTO_ASSET_CACHE_SIZE_BYTES, ASSET_CACHE_STRIPE_COUNT, LARGE_PROTO_ASSET_SLOT_SIZE_BYTES
+    ) { _, contents -> contents.size }
+
+  /**
+   * The names of all files in the root of the app's assets directory. This is computed once since
+   * listing assets is expensive, and the set of bundled assets can't change while the app runs.
+   */
+  private val rootAssetFileNames by lazy {
+    context.assets.list(/* path= */ "")?.toSet() ?: setOf()
+  }
 
   override fun loadTextFileFromLocalAssets(assetName: String): String {
-    repositoryLock.withLock {
-      primeTextFileFromLocalAssets(assetName)
-      return textFileAssets.getValue(assetName)
+    return textFileAssets.getOrPut(assetName) {
+      logger.d("AssetRepo", "Caching local text asset: $assetName")
+      try {
+        context.assets.open(assetName).bufferedReader().use { it.readText() }
+      } catch (e: FileNotFoundException) {
+        // Catch & rethrow for consistency with the proto asset codepath.
+        error("Asset doesn't exist: $assetName")
+      }
     }
   }
 
   override fun primeTextFileFromLocalAssets(assetName: String) {
-    repositoryLock.withLock {
-      if (assetName !in textFileAssets) {
-        logger.d("AssetRepo", "Caching local text asset: $assetName")
-        try {
-          textFileAssets[assetName] = context.assets.open(assetName).bufferedReader().use {
-            it.readText()
-          }
-        } catch (e: FileNotFoundException) {
-          // Catch & rethrow for consistency with the proto asset codepath.
-          error("Asset doesn't exist: $assetName")
-        }
-      }
-    }
+    loadTextFileFromLocalAssets(assetName)
   }
 
   override fun <T : MessageLite> loadProtoFromLocalAssets(assetName: String, baseMessage: T): T {
@@ -82,20 +107,12 @@ class AssetRepositoryImpl @Inject constructor(
   }
 
   private fun loadProtoBlobFromLocalAssets(assetName: String): ByteArray? {
-    primeProtoBlobFromLocalAssets(assetName)
-    return protoFileAssets.getValue(assetName)
-  }
-
-  private fun primeProtoBlobFromLocalAssets(assetName: String) {
-    repositoryLock.withLock {
-      if (assetName !in protoFileAssets) {
-        val files = context.assets.list(/* path= */ "")?.toList() ?: listOf()
-        val assetNameFile = "$assetName.pb"
-        protoFileAssets[assetName] = if (assetNameFile in files) {
-          context.assets.open(assetNameFile).use { it.readBytes() }
-        } else null
+    val assetNameFile = "$assetName.pb"
+    return if (assetNameFile in rootAssetFileNames) {
+      protoFileAssets.getOrPut(assetName) {
+        context.assets.open(assetNameFile).use { it.readBytes() }
       }
-    }
+    } else null
   }
 
   override fun loadRemoteBinaryAsset(url: String): () -> ByteArray {
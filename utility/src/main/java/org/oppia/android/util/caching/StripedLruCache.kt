@@ -0,0 +1,127 @@
+package org.oppia.android.util.caching
+
+import java.util.concurrent.locks.ReentrantLock
+import kotlin.concurrent.withLock
+
+/**
+ * A thread-safe, size-bounded least-recently-used cache whose capacity is measured in bytes (as
+ * computed by [sizeOf]) rather than in entries.
+ *
+ * Keys are spread across [stripeCount] independently locked stripes so that concurrent accesses to
+ * different keys rarely contend with one another. [largeValueSlotSizeBytes] of [maxSizeBytes] are
+ * reserved for a single unstriped slot, and each stripe receives an equal share of the rest. Both
+ * the stripes and the slot evict their own least-recently-used entries when their share is
+ * exceeded, so the total size of the cache never exceeds [maxSizeBytes].
+ *
+ * Values which are larger than a single stripe's share are kept in the unstriped slot instead so
+ * that a few large values can still be cached without having to give every stripe enough room for
+ * them. Values which fit in neither are never cached.
+ *
+ * Note that values are loaded outside of any lock in [getOrPut], so two threads racing to load the
+ * same missing key may both perform the load (though only one of the results will be kept).
+ */
+class StripedLruCache<K : Any, V : Any>(
+  maxSizeBytes: Long,
+  stripeCount: Int,
+  largeValueSlotSizeBytes: Long = 0,
+  private val sizeOf: (K, V) -> Int
+) {
+  init {
+    require(stripeCount > 0) { "Expected at least one stripe, not: $stripeCount." }
+    require(maxSizeBytes >= 0) { "Expected a non-negative maximum size, not: $maxSizeBytes." }
+    require(largeValueSlotSizeBytes in 0..maxSizeBytes) {
+      "Expected large value slot size to be within [0, $maxSizeBytes], not:" +
+        " $largeValueSlotSizeBytes."
+    }
+  }
+
+  private val maxStripeSizeBytes = (maxSizeBytes - largeValueSlotSizeBytes) / stripeCount
+  private val stripes = List(stripeCount) { Stripe<K, V>(maxStripeSizeBytes) }
+  private val largeValueSlot = Stripe<K, V>(largeValueSlotSizeBytes)
+
+  /** Returns the value corresponding to [key], or null if it isn't currently cached. */
+  fun get(key: K): V? = getStripe(key).get(key) ?: largeValueSlot.get(key)
+
+  /**
+   * Returns the cached value for [key], or computes it using [load] and caches it (if it fits) if
+   * it isn't cached. Exceptions thrown by [load] are propagated and nothing is cached for them.
+   */
+  fun getOrPut(key: K, load: () -> V): V {
+    return get(key) ?: load().also { put(key, it) }
+  }
+
+  /** Caches [value] for [key], evicting the least-recently-used entries as needed to fit it. */
+  fun put(key: K, value: V) {
+    val valueSizeBytes = sizeOf(key, value)
+    val stripe = getStripe(key)
+    // Any previous value for the key may live in the other container if its size has changed.
+    if (valueSizeBytes > maxStripeSizeBytes) {
+      stripe.remove(key)
+      largeValueSlot.put(key, value, valueSizeBytes)
+    } else {
+      largeValueSlot.remove(key)
+      stripe.put(key, value, valueSizeBytes)
+    }
+  }
+
+  /** Removes any value cached for [key]. */
+  fun remove(key: K) {
+    getStripe(key).remove(key)
+    largeValueSlot.remove(key)
+  }
+
+  /** Removes all cached values. */
+  fun clear() {
+    stripes.forEach { it.clear() }
+    largeValueSlot.clear()
+  }
+
+  /** Returns the total size, in bytes, of all values currently cached. */
+  fun getSizeBytes(): Long = stripes.sumOf { it.getSizeBytes() } + largeValueSlot.getSizeBytes()
+
+  private fun getStripe(key: K): Stripe<K, V> {
+    // Spread the hash's higher bits into the lower ones since only the latter select the stripe.
+    val hash = key.hashCode().let { it xor (it ushr 16) }
+    return stripes[Math.floorMod(hash, stripes.size)]
+  }
+
+  private class Stripe<K : Any, V : Any>(private val maxSizeBytes: Long) {
+    private val lock = ReentrantLock()
+    private val entries = LinkedHashMap<K, SizedValue<V>>(
+      /* initialCapacity= */ 16, /* loadFactor= */ 0.75f, /* accessOrder= */ true
+    )
+    private var sizeBytes = 0L
+
+    fun get(key: K): V? = lock.withLock { entries[key]?.value }
+
+    fun put(key: K, value: V, valueSizeBytes: Int) {
+      lock.withLock {
+        entries.remove(key)?.let { sizeBytes -= it.sizeBytes }
+        if (valueSizeBytes > maxSizeBytes) return
+
+        val iterator = entries.values.iterator()
+        while (sizeBytes + valueSizeBytes > maxSizeBytes && iterator.hasNext()) {
+          sizeBytes -= iterator.next().sizeBytes
+          iterator.remove()
+        }
+        entries[key] = SizedValue(value, valueSizeBytes)
+        sizeBytes += valueSizeBytes
+      }
+    }
+
+    fun remove(key: K) {
+      lock.withLock { entries.remove(key)?.let { sizeBytes -= it.sizeBytes } }
+    }
+
+    fun clear() {
+      lock.withLock {
+        entries.clear()
+        sizeBytes = 0
+      }
+    }
+
+    fun getSizeBytes(): Long = lock.withLock { sizeBytes }
+  }
+
+  private data class SizedValue<V>(val value: V, val sizeBytes: Int)
+}
@@ -6,6 +6,7 @@ import kotlinx.coroutines.launch
 import org.oppia.android.util.threading.BackgroundDispatcher
 import java.lang.IllegalStateException
 import java.lang.StringBuilder
+import java.util.concurrent.ConcurrentHashMap
 import java.util.concurrent.locks.ReentrantLock
 import javax.inject.Inject
 import javax.inject.Singleton
@@ -16,6 +17,12 @@ typealias ObserveAsyncChange = suspend () -> Unit
 /**
  * A subscription manager for all [DataProvider]s. This should only be used outside of this package
  * for notifying changes to custom [DataProvider]s.
+ *
+ * Since change notifications are far more frequent than changes to subscriptions or ID
+ * associations, the full set of callbacks to notify for each ID (including those subscribed to
+ * associated child IDs) is precomputed whenever subscriptions or associations change, and published
+ * as an immutable snapshot. This means [notifyChange] never needs to lock or walk the association
+ * graph.
  */
 @Singleton
 class AsyncDataSubscriptionManager @Inject constructor(
@@ -24,17 +31,26 @@ class AsyncDataSubscriptionManager @Inject constructor(
   private val subscriptionLock = ReentrantLock()
   private val subscriptionMap = mutableMapOf<Any, MutableSet<ObserveAsyncChange>>()
   private val associatedIds = mutableMapOf<Any, MutableSet<Any>>()
+  private val parentIds = mutableMapOf<Any, MutableSet<Any>>()
+  private val notificationClosures = mutableMapOf<Any, Set<Any>>()
+  private val subscriptionSnapshots = ConcurrentHashMap<Any, Array<ObserveAsyncChange>>()
 
   /** Subscribes the specified callback function to the specified [DataProvider] ID. */
   fun subscribe(id: Any, observeChange: ObserveAsyncChange) {
     subscriptionLock.withLock {
-      subscriptionMap.getOrPut(id) { mutableSetOf() } += observeChange
+      if (subscriptionMap.getOrPut(id) { mutableSetOf() }.add(observeChange)) {
+        recomputeSubscriptionSnapshots(computeIdsToUpdate(id))
+      }
     }
   }
 
   /** Unsubscribes the specified callback function from the specified [DataProvider] ID. */
   fun unsubscribe(id: Any, observeChange: ObserveAsyncChange): Boolean {
-    return subscriptionLock.withLock { subscriptionMap[id]?.remove(observeChange) } ?: false
+    return subscriptionLock.withLock {
+      subscriptionMap[id]?.remove(observeChange)?.also { wasRemoved ->
+        if (wasRemoved) recomputeSubscriptionSnapshots(computeIdsToUpdate(id))
+      }
+    } ?: false
   }
 
   /**
@@ -51,19 +67,22 @@ class AsyncDataSubscriptionManager @Inject constructor(
       val isSubscribed = associatedIds[parentId]?.let { childId in it } ?: false
 
       if (!isSubscribed) {
-        // Second, verify that there are no cycles.
-        verifyNoCyclesInClosure(parentId, childId)?.let { failingId ->
+        // Second, verify that there are no cycles (which is the case if the parent is the child, or
+        // is already reachable from it).
+        if (childId == parentId || parentId in (notificationClosures[childId] ?: setOf())) {
           val parentSubscriptionTree = computeSubscriptionTreeString(parentId)
           val childSubscriptionTree = computeSubscriptionTreeString(childId)
           throw IllegalStateException(
             "Encountered cycle when trying to add '$childId' to '$parentId' (at " +
-              "'$failingId'). Subscription trees:\n$parentSubscriptionTree\n\n" +
+              "'$parentId'). Subscription trees:\n$parentSubscriptionTree\n\n" +
               childSubscriptionTree
           )
         }
 
-        // Next, actually add the child.
+        // Next, actually add the child & update the closures affected by the new association.
         associatedIds.getOrPut(parentId) { mutableSetOf() } += childId
+        parentIds.getOrPut(childId) { mutableSetOf() } += parentId
+        updateNotificationClosures(parentId)
       }
     }
   }
@@ -73,7 +92,12 @@ class AsyncDataSubscriptionManager @Inject constructor(
    * parent ID from also notifying observers of the child ID.
    */
   fun dissociateIds(childId: Any, parentId: Any) {
-    subscriptionLock.withLock { associatedIds[parentId]?.remove(childId) }
+    subscriptionLock.withLock {
+      if (associatedIds[parentId]?.remove(childId) == true) {
+        parentIds[childId]?.remove(parentId)
+        updateNotificationClosures(parentId)
+      }
+    }
   }
 
   /**
@@ -81,11 +105,10 @@ class AsyncDataSubscriptionManager @Inject constructor(
    * and should be re-queried for its latest state.
    */
   suspend fun notifyChange(id: Any) {
-    // First, retrieve subscribers & the closure of child IDs to notify.
-    val subscriptions = subscriptionLock.withLock { computeSubscriptionClosure(id) }
-
-    // Notify all subscribers (both directly for this parent & all child IDs).
-    subscriptions.forEach { observeChange -> observeChange() }
+    // Notify all subscribers (both directly for this parent & all child IDs). Note that the
+    // snapshot is immutable, so it can safely be iterated without holding the lock.
+    val subscriptions = subscriptionSnapshots[id] ?: return
+    for (observeChange in subscriptions) observeChange()
   }
 
   /**
@@ -97,93 +120,95 @@ class AsyncDataSubscriptionManager @Inject constructor(
   }
 
   /**
-   * Verifies that a new association between [parentId] and [newChildId] will not result in a cycle
-   * when computing the parent's ID closure (i.e. with [computeNotificationClosure]).
+   * Recomputes the notification closures (& corresponding subscription snapshots) for the specified
+   * ID and all of its ancestors, e.g. after its direct associations have changed.
    *
    * This should only be called within a lock to [subscriptionLock].
-   *
-   * @return the ID that first demonstrates a cycle, or null if there are no cycles when trying to
-   *     add the new child ID
    */
-  private fun verifyNoCyclesInClosure(parentId: Any, newChildId: Any): Any? {
-    val currentChildren = associatedIds[parentId] ?: listOf()
-    return verifyNoCyclesInClosureAux(
-      parentId, mutableSetOf(), mutableSetOf(), currentChildren + newChildId
-    )
-  }
-
-  private fun verifyNoCyclesInClosureAux(
-    nextId: Any,
-    currentBranch: MutableSet<Any>,
-    visitedIds: MutableSet<Any>,
-    children: Iterable<Any>
-  ): Any? {
-    if (nextId in currentBranch) {
-      // This ID has already been encountered in the current branch, so a cycle must exist.
-      return nextId
+  private fun updateNotificationClosures(id: Any) {
+    val idsToUpdate = computeIdsToUpdate(id)
+    // Since IDs are ordered such that descendants come before their ancestors, every child closure
+    // is up-to-date by the time it's used to compute its parents' closures.
+    idsToUpdate.forEach { idToUpdate ->
+      val closure = computeNotificationClosure(idToUpdate)
+      if (closure.isNotEmpty()) {
+        notificationClosures[idToUpdate] = closure
+      } else {
+        notificationClosures.remove(idToUpdate)
+      }
     }
-    currentBranch += nextId
+    recomputeSubscriptionSnapshots(idsToUpdate)
+  }
 
-    if (nextId in visitedIds) {
-      // This ID has already been traversed (& determined to not have a cycle).
-      return null
-    }
-    visitedIds += nextId
-
-    // Check this ID's children for cycles.
-    for (childId in children) {
-      val newChildIds = associatedIds[childId] ?: listOf()
-      val failure = verifyNoCyclesInClosureAux(childId, currentBranch, visitedIds, newChildIds)
-      if (failure != null) {
-        return failure
+  /**
+   * Returns the closure of all IDs that need to be notified in association with the specified
+   * parent ID, computed from the closures of its direct children. Note that this follows all
+   * parent-child pathways to form a complete closure of IDs to notify.
+   *
+   * This should only be called within a lock to [subscriptionLock], and after the closures of all
+   * of the parent's children are up-to-date.
+   */
+  private fun computeNotificationClosure(parentId: Any): Set<Any> {
+    val childIds = associatedIds[parentId] ?: return setOf()
+    // Use a LinkedHashSet to retain order such that "closer" IDs are notified first.
+    return LinkedHashSet<Any>().also { idsToNotify ->
+      idsToNotify.addAll(childIds)
+      childIds.forEach { childId ->
+        notificationClosures[childId]?.let { childClosure -> idsToNotify.addAll(childClosure) }
       }
     }
-
-    // Remove the ID from the current branch since it's been fully explored.
-    currentBranch -= nextId
-
-    return null
   }
 
   /**
-   * Returns the closure of subscriptions for the specified [parentId]. Note that the associations
-   * follow the behavior of [computeNotificationClosure], and direct subscriptions to this parent
-   * are returned first in the set. No guarantee of order exists for indirect subscriptions, though
-   * subscriptions "closer" to direct subscriptions are attempted to be resolved first.
+   * Recomputes the subscription snapshots for each of the specified IDs. Note that direct
+   * subscriptions to an ID are notified first. No guarantee of order exists for indirect
+   * subscriptions, though subscriptions "closer" to direct subscriptions are attempted to be
+   * resolved first.
    *
    * This should only be called within a lock to [subscriptionLock].
    */
-  private fun computeSubscriptionClosure(parentId: Any): Set<ObserveAsyncChange> {
-    // Use a LinkedHashSet to retain order.
-    val subscriptions = LinkedHashSet<ObserveAsyncChange>()
-    subscriptionMap[parentId]?.let { directSubscriptions ->
-      subscriptions.addAll(directSubscriptions)
-    }
-    computeNotificationClosure(parentId).forEach { childId ->
-      subscriptionMap[childId]?.let { indirectSubscriptions ->
-        subscriptions.addAll(indirectSubscriptions)
+  private fun recomputeSubscriptionSnapshots(ids: Iterable<Any>) {
+    ids.forEach { id ->
+      // Use a LinkedHashSet to retain order.
+      val subscriptions = LinkedHashSet<ObserveAsyncChange>()
+      subscriptionMap[id]?.let { directSubscriptions -> subscriptions.addAll(directSubscriptions) }
+      notificationClosures[id]?.forEach { childId ->
+        subscriptionMap[childId]?.let { indirectSubscriptions ->
+          subscriptions.addAll(indirectSubscriptions)
+        }
+      }
+      if (subscriptions.isNotEmpty()) {
+        subscriptionSnapshots[id] = subscriptions.toTypedArray()
+      } else {
+        subscriptionSnapshots.remove(id)
       }
     }
-    return subscriptions
   }
 
   /**
-   * Returns the closure of all IDs that need to be notified in association with the specified
-   * parent ID. Note that this follows all parent-child pathways to form a complete closure of IDs
-   * to notify.
+   * Returns the specified ID along with all IDs whose notification closures include it, ordered
+   * such that each ID appears before all of its ancestors.
    *
    * This should only be called within a lock to [subscriptionLock].
    */
-  private fun computeNotificationClosure(parentId: Any): Set<Any> {
-    return mutableSetOf<Any>().also { idsToNotify ->
-      computeNotificationClosureAux(parentId, idsToNotify)
-    }
+  private fun computeIdsToUpdate(id: Any): List<Any> {
+    val orderedIds = mutableListOf<Any>()
+    computeIdsToUpdateAux(id, visitedIds = mutableSetOf(), orderedIds)
+    // The IDs are computed in post-order (ancestors first), so reversing them ensures descendants
+    // are first.
+    return orderedIds.asReversed()
   }
 
-  private fun computeNotificationClosureAux(nextParentId: Any, idsToNotify: MutableSet<Any>) {
-    associatedIds[nextParentId]?.let { childIds ->
-      idsToNotify.addAll(childIds)
-      childIds.forEach { childId -> computeNotificationClosureAux(childId, idsToNotify) }
+  private fun computeIdsToUpdateAux(
+    nextId: Any,
+    visitedIds: MutableSet<Any>,
+    orderedIds: MutableList<Any>
+  ) {
+    if (visitedIds.add(nextId)) {
+      parentIds[nextId]?.forEach { parentId ->
+        computeIdsToUpdateAux(parentId, visitedIds, orderedIds)
+      }
+      orderedIds += nextId
     }
   }
 
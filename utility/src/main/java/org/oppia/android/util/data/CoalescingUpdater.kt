@@ -0,0 +1,113 @@
+package org.oppia.android.util.data
+
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.CoroutineStart
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.launch
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicReference
+import kotlin.coroutines.coroutineContext
+
+/**
+ * Runs [performUpdate] in response to update requests (see [requestUpdate]), collapsing bursts of
+ * requests into as few updates as possible.
+ *
+ * Requests only mark the updater as dirty and schedule a single update on [dispatcher] if one isn't
+ * already scheduled. Any number of requests received before that update starts are satisfied by it.
+ * Requests received while an update is running result in exactly one more update after it
+ * finishes, so the most recent request is always followed by a full update (i.e. results are
+ * eventually consistent) without updates ever running concurrently.
+ *
+ * @property coalescingWindowMillis the amount of time to wait after the first request of a burst
+ *     before performing the update, or zero to only coalesce requests that are made before the
+ *     scheduled update has a chance to start running
+ */
+class CoalescingUpdater(
+  private val dispatcher: CoroutineDispatcher,
+  private val coalescingWindowMillis: Long = 0L,
+  private val performUpdate: suspend () -> Unit
+) {
+  init {
+    require(coalescingWindowMillis >= 0) {
+      "Expected non-negative coalescing window, not: $coalescingWindowMillis."
+    }
+  }
+
+  private val isDirty = AtomicBoolean(false)
+  private val scheduledUpdate = AtomicReference<ScheduledUpdate?>(null)
+
+  /**
+   * Requests that an update be performed. If [coalesce] is false then the update won't wait for
+   * [coalescingWindowMillis], which is useful for updates that shouldn't be delayed (such as
+   * initial loads). Such requests also preempt any update that's still waiting out its window.
+   */
+  fun requestUpdate(coalesce: Boolean = true) {
+    isDirty.set(true)
+    scheduleUpdateIfNeeded(if (coalesce) coalescingWindowMillis else 0L)
+  }
+
+  /**
+   * Cancels any pending or running update, and clears any outstanding update requests. Later calls
+   * to [requestUpdate] will schedule new updates.
+   */
+  fun cancel() {
+    isDirty.set(false)
+    scheduledUpdate.getAndSet(null)?.job?.cancel()
+  }
+
+  private fun scheduleUpdateIfNeeded(delayMillis: Long) {
+    val currentUpdate = scheduledUpdate.get()
+    // An already scheduled update satisfies this request unless it's still waiting out its window
+    // and the request shouldn't wait, in which case it's replaced with an immediate update.
+    if (currentUpdate != null && !(delayMillis == 0L && currentUpdate.tryPreempt())) return
+    val isWaiting = AtomicBoolean(delayMillis > 0)
+    // The job is lazily started so that it can't run before it's been recorded as scheduled.
+    val job = CoroutineScope(dispatcher).launch(start = CoroutineStart.LAZY) {
+      runUpdates(delayMillis, isWaiting)
+    }
+    if (scheduledUpdate.compareAndSet(currentUpdate, ScheduledUpdate(job, isWaiting))) {
+      job.start()
+      currentUpdate?.job?.cancel()
+    } else job.cancel()
+  }
+
+  private suspend fun runUpdates(delayMillis: Long, isWaiting: AtomicBoolean) {
+    val currentJob = coroutineContext[Job]
+    try {
+      if (delayMillis > 0) {
+        delay(delayMillis)
+        // If this update was preempted then its replacement will perform the update, instead.
+        if (!isWaiting.compareAndSet(true, false)) return
+      }
+      // Clear the dirty flag before each update so that requests arriving during the update will
+      // trigger one more.
+      while (isDirty.getAndSet(false)) performUpdate()
+    } finally {
+      // Note that this may fail if the job was cancelled or preempted, in which case the updater
+      // has already been reset.
+      val update = scheduledUpdate.get()
+      if (update?.job === currentJob &&
+        scheduledUpdate.compareAndSet(update, null) &&
+        isDirty.get()
+      ) {
+        // A request may have arrived after the last check but before the job was cleared, so make
+        // sure it isn't missed.
+        scheduleUpdateIfNeeded(coalescingWindowMillis)
+      }
+    }
+  }
+
+  /**
+   * An update [job] that has been scheduled, where [isWaiting] indicates whether it's still waiting
+   * out its coalescing window (and thus may be preempted).
+   */
+  private class ScheduledUpdate(val job: Job, private val isWaiting: AtomicBoolean) {
+    /**
+     * Returns whether this update was successfully preempted, in which case it will no longer
+     * perform any updates. This fails if the update has already finished waiting.
+     */
+    fun tryPreempt(): Boolean = isWaiting.compareAndSet(true, false)
+  }
+}
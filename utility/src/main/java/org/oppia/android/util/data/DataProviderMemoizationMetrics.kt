@@ -0,0 +1,69 @@
+package org.oppia.android.util.data
+
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicLong
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * Application-wide tracker of how often memoized [DataProvider]s (such as those created by
+ * [DataProviders.transformMemoized]) were able to reuse their previously computed results.
+ *
+ * Metrics are tracked per provider ID, so they can be used to determine which derived providers
+ * are retrieved most frequently, and whether memoizing them is effective.
+ */
+@Singleton
+class DataProviderMemoizationMetrics @Inject constructor() {
+  private val countersById = ConcurrentHashMap<Any, MemoizationCounters>()
+
+  /**
+   * Returns the number of retrievals of the memoized provider with the specified ID that reused a
+   * previously computed result since the app started.
+   */
+  fun getHitCount(id: Any): Long = countersById[id]?.hitCount?.get() ?: 0L
+
+  /**
+   * Returns the number of retrievals of the memoized provider with the specified ID that required
+   * its result to be recomputed since the app started.
+   */
+  fun getMissCount(id: Any): Long = countersById[id]?.missCount?.get() ?: 0L
+
+  /**
+   * Returns a snapshot of the current [MemoizationStats] of every memoized provider that has been
+   * retrieved at least once, keyed by provider ID.
+   */
+  fun computeStatsSnapshot(): Map<Any, MemoizationStats> {
+    return countersById.mapValues { (_, counters) ->
+      MemoizationStats(counters.hitCount.get(), counters.missCount.get())
+    }
+  }
+
+  /**
+   * Records that the memoized provider with the specified ID reused its previously computed result.
+   * This should only be called by memoized providers.
+   */
+  fun recordHit(id: Any) {
+    countersById.getOrPut(id) { MemoizationCounters() }.hitCount.incrementAndGet()
+  }
+
+  /**
+   * Records that the memoized provider with the specified ID needed to recompute its result. This
+   * should only be called by memoized providers.
+   */
+  fun recordMiss(id: Any) {
+    countersById.getOrPut(id) { MemoizationCounters() }.missCount.incrementAndGet()
+  }
+
+  /**
+   * The memoization metrics of a single provider.
+   *
+   * @property hitCount the number of retrievals that reused a previously computed result
+   * @property missCount the number of retrievals that required the result to be recomputed
+   */
+  data class MemoizationStats(val hitCount: Long, val missCount: Long)
+
+  private class MemoizationCounters {
+    val hitCount = AtomicLong()
+    val missCount = AtomicLong()
+  }
+}
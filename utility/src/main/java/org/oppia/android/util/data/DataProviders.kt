@@ -5,12 +5,10 @@ import androidx.lifecycle.LiveData
 import dagger.Reusable
 import kotlinx.coroutines.CoroutineDispatcher
 import kotlinx.coroutines.CoroutineScope
-import kotlinx.coroutines.Job
 import kotlinx.coroutines.flow.StateFlow
 import kotlinx.coroutines.flow.launchIn
 import kotlinx.coroutines.flow.onEach
 import kotlinx.coroutines.flow.transform
-import kotlinx.coroutines.launch
 import org.oppia.android.util.data.DataProviders.Companion.transform
 import org.oppia.android.util.logging.ExceptionLogger
 import org.oppia.android.util.threading.BackgroundDispatcher
@@ -30,7 +28,8 @@ class DataProviders @Inject constructor(
   private val application: Application,
   @BackgroundDispatcher private val backgroundDispatcher: CoroutineDispatcher,
   private val asyncDataSubscriptionManager: AsyncDataSubscriptionManager,
-  private val exceptionLogger: ExceptionLogger
+  private val exceptionLogger: ExceptionLogger,
+  private val memoizationMetrics: DataProviderMemoizationMetrics
 ) {
   companion object {
     /**
@@ -85,6 +84,74 @@ class DataProviders @Inject constructor(
       }
     }
 
+    /**
+     * Returns a transformed [DataProvider] in the same way as [transform] except the result of the
+     * transformation is memoized: if this provider's latest value is equal to the value most
+     * recently transformed, the previous transformed value is provided rather than being
+     * recomputed.
+     *
+     * This should be used for transformations that are expensive relative to comparing their
+     * inputs, and whose providers are retrieved often (e.g. due to being observed in several
+     * places, or frequently notified). Note that, as with [transform], the function must have no
+     * side effects. The effectiveness of memoization can be checked via
+     * [DataProviderMemoizationMetrics] using [newId].
+     */
+    fun <I, O> DataProvider<I>.transformMemoized(
+      newId: Any,
+      function: (I) -> O
+    ): DataProvider<O> {
+      val dataProviders = getDataProviders()
+      dataProviders.asyncDataSubscriptionManager.associateIds(newId, getId())
+      val memoizer = InputMemoizer<O>(newId, dataProviders.memoizationMetrics)
+      return object : DataProvider<O>(application) {
+        override fun getId(): Any = newId
+
+        override suspend fun retrieveData(): AsyncResult<O> {
+          return try {
+            when (val result = this@transformMemoized.retrieveData()) {
+              is AsyncResult.Success -> memoizer.computeIfInputsChanged(listOf(result.value)) {
+                AsyncResult.Success(function(result.value))
+              }
+              else -> result.transform(function)
+            }
+          } catch (e: Exception) {
+            dataProviders.exceptionLogger.logException(e)
+            AsyncResult.Failure(e)
+          }
+        }
+      }
+    }
+
+    /**
+     * Returns a transformed [DataProvider] in the same way as [transformMemoized] except the
+     * transformation function can be blocking (per [transformAsync]).
+     */
+    fun <I, O> DataProvider<I>.transformAsyncMemoized(
+      newId: Any,
+      function: suspend (I) -> AsyncResult<O>
+    ): DataProvider<O> {
+      val dataProviders = getDataProviders()
+      dataProviders.asyncDataSubscriptionManager.associateIds(newId, getId())
+      val memoizer = InputMemoizer<O>(newId, dataProviders.memoizationMetrics)
+      return object : DataProvider<O>(application) {
+        override fun getId(): Any = newId
+
+        override suspend fun retrieveData(): AsyncResult<O> {
+          return try {
+            when (val result = this@transformAsyncMemoized.retrieveData()) {
+              is AsyncResult.Success -> memoizer.computeIfInputsChanged(listOf(result.value)) {
+                function(result.value)
+              }
+              else -> result.transformAsync(function)
+            }
+          } catch (e: Exception) {
+            dataProviders.exceptionLogger.logException(e)
+            AsyncResult.Failure(e)
+          }
+        }
+      }
+    }
+
     /**
      * Returns a new [NestedTransformedDataProvider] based on the current provider. By default, the
      * data provider returned by this function behaves the same as [transformAsync]'s, except this
@@ -135,6 +202,43 @@ class DataProviders @Inject constructor(
       }
     }
 
+    /**
+     * Returns a combined [DataProvider] in the same way as [combineWith] except the result of the
+     * combination is memoized (in the same way as [transformMemoized]): if the latest values of
+     * both providers are equal to the values most recently combined, the previous combined value is
+     * provided rather than being recomputed.
+     */
+    fun <O, T1, T2> DataProvider<T1>.combineWithMemoized(
+      dataProvider: DataProvider<T2>,
+      newId: Any,
+      function: (T1, T2) -> O
+    ): DataProvider<O> {
+      val dataProviders = getDataProviders()
+      dataProviders.asyncDataSubscriptionManager.associateIds(newId, getId())
+      dataProviders.asyncDataSubscriptionManager.associateIds(newId, dataProvider.getId())
+      val memoizer = InputMemoizer<O>(newId, dataProviders.memoizationMetrics)
+      return object : DataProvider<O>(application) {
+        override fun getId(): Any = newId
+
+        override suspend fun retrieveData(): AsyncResult<O> {
+          return try {
+            val result1 = this@combineWithMemoized.retrieveData()
+            val result2 = dataProvider.retrieveData()
+            if (result1 is AsyncResult.Success && result2 is AsyncResult.Success) {
+              memoizer.computeIfInputsChanged(listOf(result1.value, result2.value)) {
+                AsyncResult.Success(function(result1.value, result2.value))
+              }
+            } else {
+              result1.combineWith(result2, function)
+            }
+          } catch (e: Exception) {
+            dataProviders.exceptionLogger.logException(e)
+            AsyncResult.Failure(e)
+          }
+        }
+      }
+    }
+
     /**
      * Returns a transformed [DataProvider] in the same way as [combineWith] except the combine
      * function can be blocking.
@@ -164,11 +268,18 @@ class DataProviders @Inject constructor(
      * Converts a [DataProvider] to [LiveData]. This will use a background executor to handle
      * processing of the coroutine, but [LiveData] guarantees that final delivery of the result will
      * happen on the main thread.
+     *
+     * Change notifications for the provider are coalesced: bursts of notifications received before
+     * the provider's data can be re-retrieved result in a single retrieval. Note that retrievals
+     * are never delayed to wait for more notifications since observers (such as the exploration
+     * player) expect changes to be delivered as soon as the background dispatcher can process them.
      */
     fun <T> DataProvider<T>.toLiveData(): LiveData<AsyncResult<T>> {
       val dataProviders = getDataProviders()
       return NotifiableAsyncLiveData(
-        dataProviders.backgroundDispatcher, dataProviders.asyncDataSubscriptionManager, this
+        dataProviders.backgroundDispatcher,
+        dataProviders.asyncDataSubscriptionManager,
+        this
       )
     }
 
@@ -341,6 +452,51 @@ class DataProviders @Inject constructor(
     }
   }
 
+  /**
+   * Memoizes the successful result of a derived provider's computation against the values of its
+   * inputs, recording hits & misses for the provider in [metrics].
+   */
+  private class InputMemoizer<O>(
+    private val id: Any,
+    private val metrics: DataProviderMemoizationMetrics
+  ) {
+    private val lastComputation = AtomicReference<MemoizedComputation<O>?>(null)
+
+    /**
+     * Returns a result with the memoized value if [inputs] are equal to those of the most recent
+     * successful computation, otherwise returns the result of [compute] (memoizing it if it's
+     * successful).
+     */
+    suspend fun computeIfInputsChanged(
+      inputs: List<Any?>,
+      compute: suspend () -> AsyncResult<O>
+    ): AsyncResult<O> {
+      val computation = lastComputation.get()
+      if (computation != null && computation.hasSameInputsAs(inputs)) {
+        metrics.recordHit(id)
+        // A new result is created so that it's considered to be at least as new as any results
+        // that were previously provided (such as pending results while inputs were reloading).
+        return AsyncResult.Success(computation.output)
+      }
+      metrics.recordMiss(id)
+      return compute().also { result ->
+        if (result is AsyncResult.Success) {
+          lastComputation.set(MemoizedComputation(inputs, result.value))
+        }
+      }
+    }
+  }
+
+  private class MemoizedComputation<O>(private val inputs: List<Any?>, val output: O) {
+    fun hasSameInputsAs(otherInputs: List<Any?>): Boolean {
+      // Check identity first since unchanged inputs are often the exact same instances.
+      return inputs.size == otherInputs.size &&
+        inputs.indices.all { index ->
+          inputs[index] === otherInputs[index] || inputs[index] == otherInputs[index]
+        }
+    }
+  }
+
   /**
    * A version of [LiveData] which automatically pipes data from a specified [DataProvider] to
    * LiveData observers in a thread-safe and lifecycle-safe way.
@@ -349,16 +505,18 @@ class DataProviders @Inject constructor(
    * occurrence of an active observer, but not before then. It guarantees that all active observers
    * (including new ones) will receive an eventually consistent state of the data provider. It also
    * will not deliver the same value more than once in a row to avoid over-alerting observers of
-   * changes.
+   * changes. Change notifications are coalesced (see [CoalescingUpdater]) so that bursts of them
+   * only result in a single retrieval of the provider's data.
    */
   private class NotifiableAsyncLiveData<T>(
-    private val dispatcher: CoroutineDispatcher,
+    dispatcher: CoroutineDispatcher,
     private val asyncDataSubscriptionManager: AsyncDataSubscriptionManager,
     private val dataProvider: DataProvider<T>
   ) : LiveData<AsyncResult<T>>() {
-    private val asyncSubscriber: ObserveAsyncChange = this::handleDataProviderUpdate
+    private val updater =
+      CoalescingUpdater(dispatcher, performUpdate = this::handleDataProviderUpdate)
+    private val asyncSubscriber: ObserveAsyncChange = { updater.requestUpdate() }
     private val isActive = AtomicBoolean(false)
-    private val runningJob = AtomicReference<Job?>(null)
     private var cache: AsyncResult<T>? = null // only accessed on the main thread
 
     override fun onActive() {
@@ -367,16 +525,10 @@ class DataProviders @Inject constructor(
       asyncDataSubscriptionManager.subscribe(dataProvider.getId(), asyncSubscriber)
       isActive.set(true)
 
-      // If there's no currently cached value or soon-to-be cached value, kick-off a data retrieval
-      // so that new observers can receive the most up-to-date value.
-      if (runningJob.get() == null) {
-        val job = CoroutineScope(dispatcher).launch {
-          handleDataProviderUpdate()
-        }
-        // Note that this can race against handleDataProviderUpdate() clearing the job, but in
-        // either outcome the behavior should still be correct (eventual consistency).
-        runningJob.set(job)
-      }
+      // Kick-off a data retrieval so that new observers can receive the most up-to-date value. Note
+      // that this is coalesced with any retrieval that's already running, but isn't delayed (and
+      // preempts any delayed retrieval) since the new observer may not yet have any value.
+      updater.requestUpdate(coalesce = false)
     }
 
     override fun onInactive() {
@@ -385,7 +537,7 @@ class DataProviders @Inject constructor(
       asyncDataSubscriptionManager.unsubscribe(dataProvider.getId(), asyncSubscriber)
       isActive.set(false)
       // This can cancel downstream operations that may want to complete side effects.
-      runningJob.getAndSet(null)?.cancel()
+      updater.cancel()
     }
 
     override fun setValue(value: AsyncResult<T>?) {
@@ -414,10 +566,7 @@ class DataProviders @Inject constructor(
       // mechanism which in turn always calls setValue(), even if there are no active observers. See
       // the override of setValue() above for the adjusted semantics this class requires to ensure
       // its own cache remains up-to-date.
-      retrieveFromDataProvider()?.let {
-        super.postValue(it)
-        runningJob.set(null)
-      }
+      retrieveFromDataProvider()?.let { super.postValue(it) }
     }
 
     private suspend fun retrieveFromDataProvider(): AsyncResult<T>? {
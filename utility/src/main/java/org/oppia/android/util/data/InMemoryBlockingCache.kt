@@ -4,7 +4,7 @@ import kotlinx.coroutines.CoroutineDispatcher
 import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.Deferred
 import kotlinx.coroutines.async
-import org.oppia.android.util.threading.BlockingDispatcher
+import org.oppia.android.util.threading.ShardedBlockingDispatcher
 import javax.inject.Inject
 import javax.inject.Singleton
 
@@ -24,7 +24,7 @@ class InMemoryBlockingCache<T : Any> private constructor(
 
   /**
    * The value of the cache. Note that this does not require a lock since it's only ever accessed via the blocking
-   * dispatcher's single thread.
+   * dispatcher, which is expected to execute tasks serially.
    */
   private var value: T? = initialValue
 
@@ -180,14 +180,20 @@ class InMemoryBlockingCache<T : Any> private constructor(
     changeObserver(oldValue, null)
   }
 
-  /** An injectable factory for [InMemoryBlockingCache]es. */
+  /**
+   * An injectable factory for [InMemoryBlockingCache]es.
+   *
+   * Each cache operates on its own serial lane of the app's blocking dispatcher pool (see
+   * [ShardedBlockingDispatcher]) so that operations for one cache never queue behind another
+   * cache's operations, while operations within a single cache remain strictly ordered.
+   */
   @Singleton
   class Factory @Inject constructor(
-    @BlockingDispatcher private val blockingDispatcher: CoroutineDispatcher
+    private val shardedBlockingDispatcher: ShardedBlockingDispatcher
   ) {
     /** Returns a new [InMemoryBlockingCache] with, optionally, the specified initial value. */
     fun <T : Any> create(initialValue: T? = null): InMemoryBlockingCache<T> {
-      return InMemoryBlockingCache(blockingDispatcher, initialValue)
+      return InMemoryBlockingCache(shardedBlockingDispatcher.createLane(), initialValue)
     }
   }
 }
@@ -10,4 +10,21 @@ interface AnalyticsEventLogger {
    * @param eventLog refers to the log object which contains all the relevant data to be reported
    */
   fun logEvent(eventLog: EventLog)
+
+  /**
+   * Logs a batch of events to remote services, in order.
+   *
+   * Implementations must log events in the order they're provided, and must stop at the first event
+   * which fails to be logged (by throwing the failure). This allows callers to track which events
+   * were actually logged using [onEventLogged].
+   *
+   * @param eventLogs the events to log
+   * @param onEventLogged a callback that's called after each event is successfully logged
+   */
+  fun logEvents(eventLogs: List<EventLog>, onEventLogged: (EventLog) -> Unit = {}) {
+    eventLogs.forEach { eventLog ->
+      logEvent(eventLog)
+      onEventLogged(eventLog)
+    }
+  }
 }
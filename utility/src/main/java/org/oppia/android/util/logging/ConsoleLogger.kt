@@ -14,18 +14,35 @@ import java.io.File
 import javax.inject.Inject
 import javax.inject.Singleton
 
+/** The approximate size after which the app's log file is rolled over to a backup file. */
+private const val MAX_LOG_FILE_SIZE_BYTES = 1024L * 1024
+
+/** The maximum number of rolled-over backup log files to retain. */
+private const val MAX_ROLLED_LOG_FILE_COUNT = 2
+
+/** The maximum number of log lines that may be pending a write to the log file. */
+private const val LOG_FILE_BUFFER_CAPACITY = 1024
+
 /** Wrapper class for Android logcat and file logging. All logs in the app should use this class. */
 @Singleton
 class ConsoleLogger @Inject constructor(
   context: Context,
-  @BlockingDispatcher private val blockingDispatcher: CoroutineDispatcher,
+  @BlockingDispatcher blockingDispatcher: CoroutineDispatcher,
   @EnableConsoleLog private val enableConsoleLog: Boolean,
   @EnableFileLog private val enableFileLog: Boolean,
   @GlobalLogLevel private val globalLogLevel: LogLevel,
   private val machineLocale: OppiaLocale.MachineLocale
 ) {
   private val blockingScope = CoroutineScope(blockingDispatcher)
-  private val logDirectory = File(context.filesDir, "oppia_app.log")
+  private val fileLogSink by lazy {
+    RollingFileLogSink(
+      File(context.filesDir, "oppia_app.log"),
+      MAX_LOG_FILE_SIZE_BYTES,
+      MAX_ROLLED_LOG_FILE_COUNT,
+      LOG_FILE_BUFFER_CAPACITY,
+      blockingDispatcher
+    )
+  }
 
   private val _logErrorMessagesFlow = MutableSharedFlow<ConsoleLoggerContext>()
   /**
@@ -92,7 +109,10 @@ class ConsoleLogger @Inject constructor(
   }
 
   private fun writeError(logLevel: LogLevel, tag: String, log: String, tr: Throwable?) {
-    writeInternal(logLevel, tag, "$log\n${Log.getStackTraceString(tr)}")
+    // Avoid computing the stack trace for logs that won't be written.
+    if (isLogEnable(logLevel)) {
+      writeInternal(logLevel, tag, "$log\n${Log.getStackTraceString(tr)}")
+    }
   }
 
   private fun writeInternal(logLevel: LogLevel, tag: String, fullLog: String) {
@@ -103,15 +123,17 @@ class ConsoleLogger @Inject constructor(
       Log.println(logLevel.logLevel, tag, fullLog)
     }
     if (enableFileLog) {
-      logToFileInBackground(
+      // The sink buffers lines & writes them in order on the blocking dispatcher, so this never
+      // blocks on disk I/O.
+      fileLogSink.append(
         "${machineLocale.computeCurrentTimeString()}\t${logLevel.name}/$tag: $fullLog"
       )
     }
 
-    // Add the log to the error message flow so it can be logged to firebase.
-    CoroutineScope(blockingDispatcher).launch {
-      // Only log error messages to firebase.
-      if (logLevel == LogLevel.ERROR) {
+    // Add the log to the error message flow so it can be logged to firebase (note that only error
+    // messages are logged to firebase).
+    if (logLevel == LogLevel.ERROR) {
+      blockingScope.launch {
         _logErrorMessagesFlow.emit(
           ConsoleLoggerContext.newBuilder()
             .setLogLevel(logLevel.toString())
@@ -122,12 +144,4 @@ class ConsoleLogger @Inject constructor(
       }
     }
   }
-
-  /**
-   * Writes the specified text line to file in a background thread to ensure that saving messages don't block the main
-   * thread. A blocking dispatcher is used to ensure messages are written in order.
-   */
-  private fun logToFileInBackground(text: String) {
-    blockingScope.launch { logDirectory.printWriter().use { out -> out.println(text) } }
-  }
 }
@@ -0,0 +1,220 @@
+package org.oppia.android.util.logging
+
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.launch
+import java.io.BufferedWriter
+import java.io.File
+import java.io.FileOutputStream
+import java.io.IOException
+import java.io.OutputStreamWriter
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.atomic.AtomicLongArray
+import java.util.concurrent.atomic.AtomicReferenceArray
+
+/** The size of the in-memory buffer used when appending lines to the current log file. */
+private const val FILE_WRITE_BUFFER_SIZE_BYTES = 8 * 1024
+
+/**
+ * An append-only sink for text log lines that writes them to a set of size-capped, rolling files.
+ *
+ * Lines are handed off to a bounded, lock-free ring buffer (see [append]) so that logging never
+ * blocks on disk I/O. The buffer is drained by a single writer running on [writerDispatcher], which
+ * keeps the current log file open in append mode and flushes once per drain (rather than opening
+ * the file for every line). Once a line would grow the current file past [maxFileSizeBytes], the
+ * file is rolled over to a numbered backup (e.g. 'oppia_app.log.1'), with at most
+ * [maxRolledFileCount] backups being retained.
+ *
+ * If lines are logged faster than they can be written and the buffer fills up, new lines are
+ * dropped rather than blocking the caller. Dropped lines are counted (see [getDroppedLineCount])
+ * and a marker noting how many lines were dropped is written to the log file.
+ *
+ * @property logFile the file to which lines are currently written
+ * @property maxFileSizeBytes the approximate size after which [logFile] is rolled over
+ * @property maxRolledFileCount the maximum number of rolled-over files to keep
+ * @param bufferCapacity the maximum number of lines that can be pending a write. This must be a
+ *     power of two.
+ * @param writerDispatcher the dispatcher on which lines are written to disk
+ */
+class RollingFileLogSink(
+  private val logFile: File,
+  private val maxFileSizeBytes: Long,
+  private val maxRolledFileCount: Int,
+  bufferCapacity: Int,
+  writerDispatcher: CoroutineDispatcher
+) {
+  init {
+    require(maxFileSizeBytes > 0) { "Expected positive max file size, not: $maxFileSizeBytes." }
+    require(maxRolledFileCount >= 0) {
+      "Expected non-negative rolled file count, not: $maxRolledFileCount."
+    }
+  }
+
+  private val pendingLines = BoundedRingBuffer(bufferCapacity)
+  private val writerScope = CoroutineScope(writerDispatcher)
+  private val isDrainScheduled = AtomicBoolean(false)
+  private val droppedLineCount = AtomicLong()
+
+  // The following state is only ever accessed by the single active writer.
+  private var reportedDroppedLineCount = 0L
+  private var fileWriter: BufferedWriter? = null
+  private var currentFileSizeBytes = 0L
+
+  /**
+   * Enqueues the specified line to be appended to the log file. This never blocks: if too many
+   * lines are already pending, the line is dropped instead.
+   */
+  fun append(line: String) {
+    if (!pendingLines.offer(line)) droppedLineCount.incrementAndGet()
+    scheduleDrain()
+  }
+
+  /** Returns the number of lines that have been dropped due to the pending line buffer filling. */
+  fun getDroppedLineCount(): Long = droppedLineCount.get()
+
+  private fun scheduleDrain() {
+    // Only one writer may be active at a time so that lines are written in order.
+    if (isDrainScheduled.compareAndSet(false, true)) {
+      writerScope.launch { drainPendingLines() }
+    }
+  }
+
+  private fun drainPendingLines() {
+    while (true) {
+      try {
+        writePendingLines()
+      } catch (e: IOException) {
+        // Failures to write logs can't themselves be logged, so there's nothing more to do than
+        // close the file & try reopening it the next time lines need to be written.
+        closeFileWriter()
+      }
+      isDrainScheduled.set(false)
+      // Lines may have been added after the buffer was last checked but before the drain flag was
+      // reset, so make sure they aren't stranded in the buffer.
+      if (pendingLines.isEmpty() || !isDrainScheduled.compareAndSet(false, true)) return
+    }
+  }
+
+  private fun writePendingLines() {
+    val newlyDroppedLineCount = droppedLineCount.get() - reportedDroppedLineCount
+    if (newlyDroppedLineCount > 0) {
+      reportedDroppedLineCount += newlyDroppedLineCount
+      writeLine("$newlyDroppedLineCount log line(s) were dropped due to a full buffer.")
+    }
+    while (true) {
+      writeLine(pendingLines.poll() ?: break)
+    }
+    fileWriter?.flush()
+  }
+
+  private fun writeLine(line: String) {
+    var writer = fileWriter ?: openFileWriter()
+    // Note that this is approximate since it assumes single-byte characters.
+    val lineSizeBytes = line.length + 1
+    if (currentFileSizeBytes > 0 && currentFileSizeBytes + lineSizeBytes > maxFileSizeBytes) {
+      rollOver()
+      writer = openFileWriter()
+    }
+    writer.write(line)
+    writer.newLine()
+    currentFileSizeBytes += lineSizeBytes
+  }
+
+  private fun openFileWriter(): BufferedWriter {
+    logFile.parentFile?.mkdirs()
+    currentFileSizeBytes = logFile.length()
+    return BufferedWriter(
+      OutputStreamWriter(FileOutputStream(logFile, /* append= */ true), Charsets.UTF_8),
+      FILE_WRITE_BUFFER_SIZE_BYTES
+    ).also { fileWriter = it }
+  }
+
+  private fun closeFileWriter() {
+    try {
+      fileWriter?.close()
+    } catch (e: IOException) {
+      // Nothing can be done if closing the file fails.
+    }
+    fileWriter = null
+  }
+
+  private fun rollOver() {
+    closeFileWriter()
+    if (maxRolledFileCount == 0) {
+      logFile.delete()
+    } else {
+      computeRolledFile(maxRolledFileCount).delete()
+      for (index in maxRolledFileCount - 1 downTo 1) {
+        computeRolledFile(index).takeIf(File::exists)?.renameTo(computeRolledFile(index + 1))
+      }
+      logFile.renameTo(computeRolledFile(index = 1))
+    }
+    currentFileSizeBytes = 0L
+  }
+
+  private fun computeRolledFile(index: Int): File = File(logFile.path + ".$index")
+
+  /**
+   * A bounded, lock-free queue supporting many concurrent producers & a single consumer.
+   *
+   * Each slot has a sequence number indicating whether it's ready to be written by a producer (the
+   * sequence equals the producer's claimed position) or read by the consumer (the sequence is one
+   * past the position). Producers claim positions by atomically advancing [tail], so offering a
+   * value never takes a lock or allocates.
+   */
+  private class BoundedRingBuffer(private val capacity: Int) {
+    init {
+      require(capacity > 0 && capacity and (capacity - 1) == 0) {
+        "Expected buffer capacity to be a positive power of two, not: $capacity."
+      }
+    }
+
+    private val indexMask = capacity - 1
+    private val sequences = AtomicLongArray(capacity).also { sequences ->
+      for (index in 0 until capacity) sequences.set(index, index.toLong())
+    }
+    private val values = AtomicReferenceArray<String?>(capacity)
+    private val tail = AtomicLong()
+    @Volatile private var head = 0L
+
+    /** Returns whether the value was added, or false if the buffer is full. */
+    fun offer(value: String): Boolean {
+      while (true) {
+        val position = tail.get()
+        val index = (position and indexMask.toLong()).toInt()
+        val sequenceDelta = sequences.get(index) - position
+        when {
+          sequenceDelta == 0L -> if (tail.compareAndSet(position, position + 1)) {
+            values.set(index, value)
+            sequences.set(index, position + 1)
+            return true
+          }
+          sequenceDelta < 0L -> return false // The consumer hasn't yet read this slot's value.
+          // Otherwise, another producer claimed this position so retry with the new tail.
+        }
+      }
+    }
+
+    /**
+     * Returns the oldest value in the buffer, or null if it's empty. This must only be called by
+     * one consumer at a time.
+     */
+    fun poll(): String? {
+      val position = head
+      val index = (position and indexMask.toLong()).toInt()
+      if (sequences.get(index) != position + 1) return null
+      val value = values.getAndSet(index, null)
+      sequences.set(index, position + capacity)
+      head = position + 1
+      return value
+    }
+
+    /** Returns whether the buffer has no readable values. */
+    fun isEmpty(): Boolean {
+      val position = head
+      val index = (position and indexMask.toLong()).toInt()
+      return sequences.get(index) != position + 1
+    }
+  }
+}
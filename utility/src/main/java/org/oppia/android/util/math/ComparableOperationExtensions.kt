@@ -37,13 +37,36 @@ fun ComparableOperation.isApproximatelyEqualTo(other: ComparableOperation): Bool
   }
 }
 
+/**
+ * Returns a structural hash of this [ComparableOperation] that's consistent with
+ * [isApproximatelyEqualTo], that is, two operations that are approximately equal are guaranteed to
+ * have the same structural hash. This means that differing hashes can be used to cheaply rule out
+ * equality before performing a full (and much more expensive) approximate comparison.
+ *
+ * Note that constants only contribute their presence (and not their values) to the hash since
+ * they're compared approximately, so operations that only differ by constants will have the same
+ * hash. Similar to [isApproximatelyEqualTo], this function assumes that the operation is sorted.
+ */
+fun ComparableOperation.computeStructuralHash(): Int {
+  var hash = comparisonTypeCase.ordinal
+  hash = 31 * hash + isNegated.hashCode()
+  hash = 31 * hash + isInverted.hashCode()
+  return when (comparisonTypeCase) {
+    COMMUTATIVE_ACCUMULATION -> 31 * hash + commutativeAccumulation.computeStructuralHash()
+    NON_COMMUTATIVE_OPERATION -> 31 * hash + nonCommutativeOperation.computeStructuralHash()
+    VARIABLE_TERM -> 31 * hash + variableTerm.hashCode()
+    // Constants are compared approximately, so their values can't be included in the hash.
+    CONSTANT_TERM, COMPARISONTYPE_NOT_SET, null -> hash
+  }
+}
+
 private fun CommutativeAccumulation.isApproximatelyEqualTo(
   other: CommutativeAccumulation
 ): Boolean {
   if (accumulationType != other.accumulationType) return false
   if (combinedOperationsCount != other.combinedOperationsCount) return false
-  return combinedOperationsList.zip(other.combinedOperationsList).all { (first, second) ->
-    first.isApproximatelyEqualTo(second)
+  return (0 until combinedOperationsCount).all { index ->
+    getCombinedOperations(index).isApproximatelyEqualTo(other.getCombinedOperations(index))
   }
 }
 
@@ -60,3 +83,24 @@ private fun NonCommutativeOperation.isApproximatelyEqualTo(
     OPERATIONTYPE_NOT_SET, null -> true
   }
 }
+
+private fun CommutativeAccumulation.computeStructuralHash(): Int {
+  var hash = accumulationType.ordinal
+  for (index in 0 until combinedOperationsCount) {
+    hash = 31 * hash + getCombinedOperations(index).computeStructuralHash()
+  }
+  return hash
+}
+
+private fun NonCommutativeOperation.computeStructuralHash(): Int {
+  val hash = operationTypeCase.ordinal
+  return when (operationTypeCase) {
+    EXPONENTIATION -> {
+      val leftHash = exponentiation.leftOperand.computeStructuralHash()
+      val rightHash = exponentiation.rightOperand.computeStructuralHash()
+      31 * (31 * hash + leftHash) + rightHash
+    }
+    SQUARE_ROOT -> 31 * hash + squareRoot.computeStructuralHash()
+    OPERATIONTYPE_NOT_SET, null -> hash
+  }
+}
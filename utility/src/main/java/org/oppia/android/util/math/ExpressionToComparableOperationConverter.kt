@@ -34,7 +34,16 @@ import org.oppia.android.app.model.MathUnaryOperation.Operator as UnaryOperator
  */
 class ExpressionToComparableOperationConverter private constructor() {
   companion object {
+    // Note that these comparators circularly reference each other, but only from within comparison
+    // lambdas (which are never called during initialization) so they can safely be lazily cached.
     private val COMPARABLE_OPERATION_COMPARATOR by lazy { createComparableOperationComparator() }
+    private val COMMUTATIVE_ACCUMULATION_COMPARATOR by lazy {
+      createCommutativeAccumulationComparator()
+    }
+    private val NON_COMMUTATIVE_OPERATION_COMPARATOR by lazy {
+      createNonCommutativeOperationComparator()
+    }
+    private val BINARY_OPERATION_COMPARATOR by lazy { createBinaryOperationComparator() }
 
     /**
      * Returns a new [ComparableOperation] representing this [MathExpression].
@@ -242,17 +251,15 @@ class ExpressionToComparableOperationConverter private constructor() {
       // Note that this & constituent comparators is designed to also verify undefined fields (such
       // as all the possibilities of a oneof versus just one) for simpler syntax. Computationally,
       // it shouldn't make a large difference since default protos are generally cached for proto
-      // lite, and compareProtos short-circuits for default protos. Further, a comparator is created
-      // for each staged of the execution since, unfortunately, there's no easy way to circularly
-      // reference cached fields.
+      // lite, and compareProtos short-circuits for default protos.
       return compareBy(ComparableOperation::getComparisonTypeCase)
         .thenBy(ComparableOperation::getIsNegated)
         .thenBy(ComparableOperation::getIsInverted)
         .thenComparator { a, b ->
-          createCommutativeAccumulationComparator()
+          COMMUTATIVE_ACCUMULATION_COMPARATOR
             .compareProtos(a.commutativeAccumulation, b.commutativeAccumulation)
         }.thenComparator { a, b ->
-          createNonCommutativeOperationComparator()
+          NON_COMMUTATIVE_OPERATION_COMPARATOR
             .compareProtos(a.nonCommutativeOperation, b.nonCommutativeOperation)
         }.thenComparator { a, b ->
           REAL_COMPARATOR.compareProtos(a.constantTerm, b.constantTerm)
@@ -263,7 +270,7 @@ class ExpressionToComparableOperationConverter private constructor() {
     private fun createCommutativeAccumulationComparator(): Comparator<CommutativeAccumulation> {
       return compareBy(CommutativeAccumulation::getAccumulationType)
         .thenComparator { a, b ->
-          createComparableOperationComparator().compareIterables(
+          COMPARABLE_OPERATION_COMPARATOR.compareIterables(
             a.combinedOperationsList, b.combinedOperationsList
           )
         }
@@ -272,9 +279,9 @@ class ExpressionToComparableOperationConverter private constructor() {
     private fun createNonCommutativeOperationComparator(): Comparator<NonCommutativeOperation> {
       return compareBy(NonCommutativeOperation::getOperationTypeCase)
         .thenComparator { a, b ->
-          createBinaryOperationComparator().compareProtos(a.exponentiation, b.exponentiation)
+          BINARY_OPERATION_COMPARATOR.compareProtos(a.exponentiation, b.exponentiation)
         }.thenComparator { a, b ->
-          createComparableOperationComparator().compareProtos(a.squareRoot, b.squareRoot)
+          COMPARABLE_OPERATION_COMPARATOR.compareProtos(a.squareRoot, b.squareRoot)
         }
     }
 
@@ -282,9 +289,9 @@ class ExpressionToComparableOperationConverter private constructor() {
       // Start with a trivial comparator to start the chain for nicer syntax.
       return compareBy(BinaryOperation::hasLeftOperand)
         .thenComparator { a, b ->
-          createComparableOperationComparator().compareProtos(a.leftOperand, b.leftOperand)
+          COMPARABLE_OPERATION_COMPARATOR.compareProtos(a.leftOperand, b.leftOperand)
         }.thenComparator { a, b ->
-          createComparableOperationComparator().compareProtos(a.rightOperand, b.rightOperand)
+          COMPARABLE_OPERATION_COMPARATOR.compareProtos(a.rightOperand, b.rightOperand)
         }
     }
   }
@@ -21,7 +21,6 @@ import org.oppia.android.app.model.MathUnaryOperation
 import org.oppia.android.app.model.MathUnaryOperation.Operator.NEGATE
 import org.oppia.android.app.model.MathUnaryOperation.Operator.POSITIVE
 import org.oppia.android.app.model.Polynomial
-import org.oppia.android.app.model.Real
 import org.oppia.android.app.model.MathBinaryOperation.Operator as BinaryOperator
 import org.oppia.android.app.model.MathUnaryOperation.Operator as UnaryOperator
 
@@ -72,60 +71,42 @@ class ExpressionToPolynomialConverter private constructor() {
      * expressions can be considered the same per [Polynomial] representation.
      */
     fun MathExpression.reduceToPolynomial(): Polynomial? {
-      return replaceSquareRoots()
-        .reduceToPolynomialAux()
+      // Intermediate polynomials are computed using SparsePolynomial since it's substantially
+      // cheaper than computing each intermediate Polynomial proto.
+      return reduceToPolynomialAux(SparsePolynomial.VariableTable())
+        ?.toPolynomial()
         ?.removeUnnecessaryVariables()
         ?.simplifyRationals()
         ?.sort()
     }
 
-    private fun MathExpression.replaceSquareRoots(): MathExpression {
+    private fun MathExpression.reduceToPolynomialAux(
+      variableTable: SparsePolynomial.VariableTable
+    ): SparsePolynomial? {
       return when (expressionTypeCase) {
-        BINARY_OPERATION -> toBuilder().apply {
-          binaryOperation = binaryOperation.toBuilder().apply {
-            leftOperand = binaryOperation.leftOperand.replaceSquareRoots()
-            rightOperand = binaryOperation.rightOperand.replaceSquareRoots()
-          }.build()
-        }.build()
-        UNARY_OPERATION -> toBuilder().apply {
-          unaryOperation = unaryOperation.toBuilder().apply {
-            operand = unaryOperation.operand.replaceSquareRoots()
-          }.build()
-        }.build()
+        CONSTANT -> SparsePolynomial.createConstant(constant, variableTable)
+        VARIABLE -> SparsePolynomial.createVariable(variable, variableTable)
+        BINARY_OPERATION -> binaryOperation.reduceToPolynomial(variableTable)
+        UNARY_OPERATION -> unaryOperation.reduceToPolynomial(variableTable)
         FUNCTION_CALL -> when (functionCall.functionType) {
-          SQUARE_ROOT -> toBuilder().apply {
-            // Replace the square root function call with the equivalent exponentiation. That is,
-            // sqrt(x)=x^(1/2).
-            binaryOperation = MathBinaryOperation.newBuilder().apply {
-              operator = EXPONENTIATE
-              leftOperand = functionCall.argument.replaceSquareRoots()
-              rightOperand = MathExpression.newBuilder().apply {
-                constant = ONE_HALF
-              }.build()
-            }.build()
-          }.build()
-          FUNCTION_UNSPECIFIED, FunctionType.UNRECOGNIZED, null -> this
+          // Square roots are computed as the equivalent exponentiation, that is, sqrt(x)=x^(1/2).
+          SQUARE_ROOT -> {
+            val argument = functionCall.argument.reduceToPolynomialAux(variableTable)
+            argument?.pow(SparsePolynomial.createConstant(ONE_HALF, variableTable))
+          }
+          FUNCTION_UNSPECIFIED, FunctionType.UNRECOGNIZED, null -> null
         }
-        // This also eliminates groups from the expression.
-        GROUP -> group.replaceSquareRoots()
-        CONSTANT, VARIABLE, EXPRESSIONTYPE_NOT_SET, null -> this
+        // Groups don't affect the polynomial form of an expression.
+        GROUP -> group.reduceToPolynomialAux(variableTable)
+        EXPRESSIONTYPE_NOT_SET, null -> null
       }
     }
 
-    private fun MathExpression.reduceToPolynomialAux(): Polynomial? {
-      return when (expressionTypeCase) {
-        CONSTANT -> createConstantPolynomial(constant)
-        VARIABLE -> createSingleVariablePolynomial(variable)
-        BINARY_OPERATION -> binaryOperation.reduceToPolynomial()
-        UNARY_OPERATION -> unaryOperation.reduceToPolynomial()
-        // Both functions & groups should be removed ahead of polynomial reduction.
-        FUNCTION_CALL, GROUP, EXPRESSIONTYPE_NOT_SET, null -> null
-      }
-    }
-
-    private fun MathBinaryOperation.reduceToPolynomial(): Polynomial? {
-      val leftPolynomial = leftOperand.reduceToPolynomialAux() ?: return null
-      val rightPolynomial = rightOperand.reduceToPolynomialAux() ?: return null
+    private fun MathBinaryOperation.reduceToPolynomial(
+      variableTable: SparsePolynomial.VariableTable
+    ): SparsePolynomial? {
+      val leftPolynomial = leftOperand.reduceToPolynomialAux(variableTable) ?: return null
+      val rightPolynomial = rightOperand.reduceToPolynomialAux(variableTable) ?: return null
       return when (operator) {
         ADD -> leftPolynomial + rightPolynomial
         SUBTRACT -> leftPolynomial - rightPolynomial
@@ -136,32 +117,15 @@ class ExpressionToPolynomialConverter private constructor() {
       }
     }
 
-    private fun MathUnaryOperation.reduceToPolynomial(): Polynomial? {
+    private fun MathUnaryOperation.reduceToPolynomial(
+      variableTable: SparsePolynomial.VariableTable
+    ): SparsePolynomial? {
       return when (operator) {
-        NEGATE -> -(operand.reduceToPolynomialAux() ?: return null)
-        POSITIVE -> operand.reduceToPolynomialAux() // Positive unary changes nothing.
+        NEGATE -> -(operand.reduceToPolynomialAux(variableTable) ?: return null)
+        // Positive unary changes nothing.
+        POSITIVE -> operand.reduceToPolynomialAux(variableTable)
         UnaryOperator.OPERATOR_UNSPECIFIED, UnaryOperator.UNRECOGNIZED, null -> null
       }
     }
-
-    private fun createSingleVariablePolynomial(variableName: String): Polynomial {
-      return createSingleTermPolynomial(
-        Polynomial.Term.newBuilder().apply {
-          coefficient = ONE
-          addVariable(
-            Polynomial.Term.Variable.newBuilder().apply {
-              name = variableName
-              power = 1
-            }.build()
-          )
-        }.build()
-      )
-    }
-
-    private fun createConstantPolynomial(constant: Real): Polynomial =
-      createSingleTermPolynomial(Polynomial.Term.newBuilder().setCoefficient(constant).build())
-
-    private fun createSingleTermPolynomial(term: Polynomial.Term): Polynomial =
-      Polynomial.newBuilder().apply { addTerm(term) }.build()
   }
 }
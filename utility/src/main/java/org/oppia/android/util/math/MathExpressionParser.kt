@@ -63,7 +63,7 @@ import org.oppia.android.util.math.MathTokenizer.Companion.Token.PositiveRealNum
 import org.oppia.android.util.math.MathTokenizer.Companion.Token.RightParenthesisSymbol
 import org.oppia.android.util.math.MathTokenizer.Companion.Token.SquareRootSymbol
 import org.oppia.android.util.math.MathTokenizer.Companion.Token.VariableName
-import org.oppia.android.util.math.PeekableIterator.Companion.toPeekableIterator
+import org.oppia.android.util.math.MathTokenizer.Companion.TokenBuffer
 import kotlin.math.absoluteValue
 import org.oppia.android.app.model.MathUnaryOperation.Operator as UnaryOperator
 
@@ -693,19 +693,26 @@ class MathExpressionParser private constructor(private val parseContext: ParseCo
    * @property rawExpression the whole raw math expression/equation currently being parsed
    */
   private sealed class ParseContext(val rawExpression: String) {
-    private val tokens: PeekableIterator<Token> by lazy {
-      MathTokenizer.tokenize(rawExpression).toPeekableIterator()
-    }
+    // Tokens are scanned in a single eager pass into a compact buffer, and each is only converted
+    // to a Token object once it's actually inspected by the parser.
+    private val tokens: TokenBuffer by lazy { MathTokenizer.tokenizeToBuffer(rawExpression) }
+    private var nextTokenIndex: Int = 0
+    private var nextToken: Token? = null
     private var previousToken: Token? = null
 
     /** Specifies the [ErrorCheckingMode] for the current parsing context. */
     abstract val errorCheckingMode: ErrorCheckingMode
 
     /** Returns whether there are more [Token]s to parse. */
-    fun hasMoreTokens(): Boolean = tokens.hasNext()
+    fun hasMoreTokens(): Boolean = nextTokenIndex < tokens.size
 
     /** Returns the next [Token] available to parse. */
-    fun peekToken(): Token? = tokens.peek()
+    fun peekToken(): Token? {
+      if (nextToken == null && hasMoreTokens()) {
+        nextToken = tokens.getToken(nextTokenIndex)
+      }
+      return nextToken
+    }
 
     /**
      * Returns the last token consumed by [consumeTokenOfType], or null if none. Note: this should
@@ -725,8 +732,10 @@ class MathExpressionParser private constructor(private val parseContext: ParseCo
     inline fun <reified T : Token> consumeTokenOfType(
       missingError: () -> MathParsingError = { GenericError }
     ): MathParsingResult<T> {
-      val maybeToken = tokens.expectNextMatches { it is T } as? T
+      val maybeToken = peekToken() as? T
       return maybeToken?.let { token ->
+        nextTokenIndex++
+        nextToken = null
         previousToken = token
         MathParsingResult.Success(token)
       } ?: missingError().toFailure()
@@ -19,7 +19,8 @@ import java.lang.StringBuilder
  * grammar specification supported by this tokenizer.
  *
  * This class implements an LL(1) single-pass tokenizer with no caching. Use [tokenize] to produce a
- * sequence of [Token]s from the given input stream.
+ * sequence of [Token]s from the given input stream, or [tokenizeToBuffer] to eagerly produce a
+ * compact [TokenBuffer] of the same tokens (which is much cheaper when every token will be read).
  */
 class MathTokenizer private constructor() {
   companion object {
@@ -80,6 +81,26 @@ class MathTokenizer private constructor() {
       }
     }
 
+    /**
+     * Returns a [TokenBuffer] containing the same [Token]s that [tokenize] would produce for the
+     * specified input.
+     *
+     * Unlike [tokenize], this scans the input by index in a single eager pass and records each
+     * token as primitive (type, start index, end index, value) entries rather than stepping through
+     * a [PeekableIterator] of boxed characters and allocating a [Token] per lexeme. Parsers that
+     * consume every token should prefer this method since it avoids nearly all per-character and
+     * per-token allocations. Tokenization recovers from invalid tokens in exactly the same way as
+     * [tokenize].
+     */
+    fun tokenizeToBuffer(input: CharSequence): TokenBuffer {
+      val buffer = TokenBuffer(input)
+      var index = input.skipWhitespace(startIndex = 0)
+      while (index < input.length) {
+        index = input.skipWhitespace(startIndex = scanToken(input, index, buffer))
+      }
+      return buffer
+    }
+
     private fun tokenizeIntegerOrRealNumber(chars: PeekableIterator<Char>): Token {
       val startIndex = chars.getRetrievalCount()
       val integerPart1 =
@@ -262,10 +283,280 @@ class MathTokenizer private constructor() {
       } else null // Failed to parse; no digits.
     }
 
+    /**
+     * Scans the token starting at [startIndex] into [buffer], and returns the index immediately
+     * following the last character consumed for the token.
+     */
+    private fun scanToken(input: CharSequence, startIndex: Int, buffer: TokenBuffer): Int {
+      return when (input[startIndex]) {
+        in '0'..'9' -> scanIntegerOrRealNumber(input, startIndex, buffer)
+        in 'a'..'z', in 'A'..'Z' -> scanVariableOrFunctionName(input, startIndex, buffer)
+        '√' -> buffer.addSymbol(TokenBuffer.TYPE_SQUARE_ROOT_SYMBOL, startIndex)
+        '+' -> buffer.addSymbol(TokenBuffer.TYPE_PLUS_SYMBOL, startIndex)
+        '-', '−', '–' -> buffer.addSymbol(TokenBuffer.TYPE_MINUS_SYMBOL, startIndex)
+        '*', '×' -> buffer.addSymbol(TokenBuffer.TYPE_MULTIPLY_SYMBOL, startIndex)
+        '/', '÷' -> buffer.addSymbol(TokenBuffer.TYPE_DIVIDE_SYMBOL, startIndex)
+        '^' -> buffer.addSymbol(TokenBuffer.TYPE_EXPONENTIATION_SYMBOL, startIndex)
+        '=' -> buffer.addSymbol(TokenBuffer.TYPE_EQUALS_SYMBOL, startIndex)
+        '(' -> buffer.addSymbol(TokenBuffer.TYPE_LEFT_PARENTHESIS_SYMBOL, startIndex)
+        ')' -> buffer.addSymbol(TokenBuffer.TYPE_RIGHT_PARENTHESIS_SYMBOL, startIndex)
+        // Invalid character.
+        else -> buffer.addSymbol(TokenBuffer.TYPE_INVALID_TOKEN, startIndex)
+      }
+    }
+
+    private fun scanIntegerOrRealNumber(
+      input: CharSequence,
+      startIndex: Int,
+      buffer: TokenBuffer
+    ): Int {
+      // The first character is always a digit, so there's always at least one digit to scan.
+      val integerEndIndex = input.skipDigits(startIndex)
+      // Whitespace is allowed between digits and the '.'.
+      val postIntegerIndex = input.skipWhitespace(integerEndIndex)
+      return if (input.getOrNull(postIntegerIndex) == '.') {
+        // Whitespace is allowed between the '.' and following digits.
+        val fractionStartIndex = input.skipWhitespace(postIntegerIndex + 1)
+        val fractionEndIndex = input.skipDigits(fractionStartIndex)
+        val doubleValue = if (fractionEndIndex != fractionStartIndex) {
+          // Another integer must follow the ".".
+          val integerPart1 = input.subSequence(startIndex, integerEndIndex)
+          val integerPart2 = input.subSequence(fractionStartIndex, fractionEndIndex)
+          "$integerPart1.$integerPart2".toValidDoubleOrNull()
+        } else null
+        if (doubleValue != null) {
+          buffer.add(
+            TokenBuffer.TYPE_POSITIVE_REAL_NUMBER, startIndex, fractionEndIndex, doubleValue
+          )
+        } else buffer.add(TokenBuffer.TYPE_INVALID_TOKEN, startIndex, fractionEndIndex)
+        fractionEndIndex
+      } else {
+        val intValue = input.parseDigitsOrNull(startIndex, integerEndIndex)
+        if (intValue != null) {
+          buffer.add(
+            TokenBuffer.TYPE_POSITIVE_INTEGER, startIndex, integerEndIndex, intValue.toDouble()
+          )
+        } else buffer.add(TokenBuffer.TYPE_INVALID_TOKEN, startIndex, postIntegerIndex)
+        postIntegerIndex
+      }
+    }
+
+    private fun scanVariableOrFunctionName(
+      input: CharSequence,
+      startIndex: Int,
+      buffer: TokenBuffer
+    ): Int {
+      // Note that this mirrors the LL(1) decisions made by tokenizeFunctionName() exactly
+      // (including when to give up with an incomplete function name) so that both tokenizers always
+      // agree.
+      val nextChar = input.getOrNull(startIndex + 1)
+      return when (input[startIndex]) {
+        'a' -> when (nextChar) {
+          'b' -> scanExpectedFunction(input, name = "abs", startIndex, buffer)
+          'c' -> scanExpectedFunction(input, name = "acos", startIndex, buffer)
+          's' -> scanExpectedFunction(input, name = "asin", startIndex, buffer)
+          't' -> scanExpectedFunction(input, name = "atan", startIndex, buffer)
+          else -> null
+        }
+        'c' -> when (nextChar) {
+          'o' -> when (input.getOrNull(startIndex + 2)) {
+            's' -> buffer.addFunctionName(name = "cos", startIndex, endIndex = startIndex + 3)
+            't' -> buffer.addFunctionName(name = "cot", startIndex, endIndex = startIndex + 3)
+            else -> buffer.addIncompleteFunctionName(startIndex, endIndex = startIndex + 2)
+          }
+          's' -> scanExpectedFunction(input, name = "csc", startIndex, buffer)
+          else -> null
+        }
+        'e' -> if (nextChar == 'x') {
+          scanExpectedFunction(input, name = "exp", startIndex, buffer)
+        } else null
+        'l' -> when (nextChar) {
+          'n' -> scanExpectedFunction(input, name = "ln", startIndex, buffer)
+          'o' -> when {
+            input.getOrNull(startIndex + 2) != 'g' ->
+              buffer.addIncompleteFunctionName(startIndex, endIndex = startIndex + 2)
+            input.getOrNull(startIndex + 3) != '1' ->
+              buffer.addFunctionName(name = "log", startIndex, endIndex = startIndex + 3)
+            input.getOrNull(startIndex + 4) != '0' ->
+              buffer.addIncompleteFunctionName(startIndex, endIndex = startIndex + 4)
+            else -> buffer.addFunctionName(name = "log10", startIndex, endIndex = startIndex + 5)
+          }
+          else -> null
+        }
+        's' -> when (nextChar) {
+          'e' -> scanExpectedFunction(input, name = "sec", startIndex, buffer)
+          'i' -> scanExpectedFunction(input, name = "sin", startIndex, buffer)
+          'q' -> scanExpectedFunction(input, name = "sqrt", startIndex, buffer)
+          else -> null
+        }
+        't' -> if (nextChar == 'a') {
+          scanExpectedFunction(input, name = "tan", startIndex, buffer)
+        } else null
+        else -> null
+      } ?: buffer.add(TokenBuffer.TYPE_VARIABLE_NAME, startIndex, endIndex = startIndex + 1)
+    }
+
+    private fun scanExpectedFunction(
+      input: CharSequence,
+      name: String,
+      startIndex: Int,
+      buffer: TokenBuffer
+    ): Int {
+      for (offset in 1 until name.length) {
+        if (input.getOrNull(startIndex + offset) != name[offset]) {
+          return buffer.addIncompleteFunctionName(startIndex, endIndex = startIndex + offset)
+        }
+      }
+      return buffer.addFunctionName(name, startIndex, endIndex = startIndex + name.length)
+    }
+
+    private fun CharSequence.skipWhitespace(startIndex: Int): Int {
+      var index = startIndex
+      while (index < length && this[index].isWhitespace()) index++
+      return index
+    }
+
+    private fun CharSequence.skipDigits(startIndex: Int): Int {
+      var index = startIndex
+      while (index < length && this[index] in '0'..'9') index++
+      return index
+    }
+
+    /**
+     * Returns the [Int] value of the digits in the specified range of this sequence, or null if the
+     * value doesn't fit in an [Int] (this matches [String.toIntOrNull] for strings of only digits).
+     */
+    private fun CharSequence.parseDigitsOrNull(startIndex: Int, endIndex: Int): Int? {
+      var value = 0L
+      for (index in startIndex until endIndex) {
+        value = value * 10 + (this[index] - '0')
+        if (value > Int.MAX_VALUE) return null
+      }
+      return value.toInt()
+    }
+
     private fun String.toValidDoubleOrNull(): Double? {
       return toDoubleOrNull()?.takeIf { it.isFinite() }
     }
 
+    /**
+     * A compact, array-backed list of the [Token]s tokenized from an input string by
+     * [tokenizeToBuffer].
+     *
+     * Tokens are stored as primitive (type, start index, end index, value) entries, and are only
+     * converted to [Token] objects when requested via [getToken]. This class is not safe to use
+     * across multiple threads.
+     */
+    class TokenBuffer internal constructor(private val input: CharSequence) {
+      // There can never be more tokens than characters, so neither array ever needs to grow.
+      private val tokenData = IntArray(input.length * TOKEN_DATA_STRIDE)
+      private val tokenValues = DoubleArray(input.length)
+
+      /** The number of tokens in this buffer. */
+      var size: Int = 0
+        private set
+
+      /** Returns the (inclusive) start index of the token at the specified position. */
+      fun getStartIndex(tokenIndex: Int): Int =
+        tokenData[checkTokenIndex(tokenIndex) * TOKEN_DATA_STRIDE + START_INDEX_OFFSET]
+
+      /** Returns the (exclusive) end index of the token at the specified position. */
+      fun getEndIndex(tokenIndex: Int): Int =
+        tokenData[checkTokenIndex(tokenIndex) * TOKEN_DATA_STRIDE + END_INDEX_OFFSET]
+
+      /**
+       * Returns a new [Token] corresponding to the token at the specified position. Note that this
+       * allocates a new object for each call, so callers should retain the returned token if it's
+       * needed more than once.
+       */
+      fun getToken(tokenIndex: Int): Token {
+        val dataIndex = checkTokenIndex(tokenIndex) * TOKEN_DATA_STRIDE
+        val startIndex = tokenData[dataIndex + START_INDEX_OFFSET]
+        val endIndex = tokenData[dataIndex + END_INDEX_OFFSET]
+        val value = tokenValues[tokenIndex]
+        return when (tokenData[dataIndex + TYPE_OFFSET]) {
+          TYPE_POSITIVE_INTEGER -> Token.PositiveInteger(value.toInt(), startIndex, endIndex)
+          TYPE_POSITIVE_REAL_NUMBER -> Token.PositiveRealNumber(value, startIndex, endIndex)
+          TYPE_VARIABLE_NAME ->
+            Token.VariableName(input[startIndex].toString(), startIndex, endIndex)
+          TYPE_FUNCTION_NAME -> {
+            val name = KNOWN_FUNCTION_NAMES[value.toInt()]
+            Token.FunctionName(name, isAllowedFunction = name == "sqrt", startIndex, endIndex)
+          }
+          TYPE_SQUARE_ROOT_SYMBOL -> Token.SquareRootSymbol(startIndex, endIndex)
+          TYPE_MINUS_SYMBOL -> Token.MinusSymbol(startIndex, endIndex)
+          TYPE_PLUS_SYMBOL -> Token.PlusSymbol(startIndex, endIndex)
+          TYPE_MULTIPLY_SYMBOL -> Token.MultiplySymbol(startIndex, endIndex)
+          TYPE_DIVIDE_SYMBOL -> Token.DivideSymbol(startIndex, endIndex)
+          TYPE_EXPONENTIATION_SYMBOL -> Token.ExponentiationSymbol(startIndex, endIndex)
+          TYPE_EQUALS_SYMBOL -> Token.EqualsSymbol(startIndex, endIndex)
+          TYPE_LEFT_PARENTHESIS_SYMBOL -> Token.LeftParenthesisSymbol(startIndex, endIndex)
+          TYPE_RIGHT_PARENTHESIS_SYMBOL -> Token.RightParenthesisSymbol(startIndex, endIndex)
+          TYPE_INCOMPLETE_FUNCTION_NAME -> Token.IncompleteFunctionName(startIndex, endIndex)
+          else -> Token.InvalidToken(startIndex, endIndex)
+        }
+      }
+
+      /** Returns a new [List] of all [Token]s in this buffer, in order. */
+      fun toTokenList(): List<Token> = List(size, this::getToken)
+
+      internal fun add(type: Int, startIndex: Int, endIndex: Int, value: Double = 0.0): Int {
+        val dataIndex = size * TOKEN_DATA_STRIDE
+        tokenData[dataIndex + TYPE_OFFSET] = type
+        tokenData[dataIndex + START_INDEX_OFFSET] = startIndex
+        tokenData[dataIndex + END_INDEX_OFFSET] = endIndex
+        tokenValues[size] = value
+        size++
+        return endIndex
+      }
+
+      internal fun addSymbol(type: Int, startIndex: Int): Int =
+        add(type, startIndex, endIndex = startIndex + 1)
+
+      internal fun addFunctionName(name: String, startIndex: Int, endIndex: Int): Int {
+        val nameIndex = KNOWN_FUNCTION_NAMES.indexOf(name)
+        return add(TYPE_FUNCTION_NAME, startIndex, endIndex, value = nameIndex.toDouble())
+      }
+
+      internal fun addIncompleteFunctionName(startIndex: Int, endIndex: Int): Int =
+        add(TYPE_INCOMPLETE_FUNCTION_NAME, startIndex, endIndex)
+
+      private fun checkTokenIndex(tokenIndex: Int): Int {
+        if (tokenIndex !in 0 until size) {
+          throw IndexOutOfBoundsException("Token index $tokenIndex is out of bounds (size: $size)")
+        }
+        return tokenIndex
+      }
+
+      internal companion object {
+        private const val TOKEN_DATA_STRIDE = 3
+        private const val TYPE_OFFSET = 0
+        private const val START_INDEX_OFFSET = 1
+        private const val END_INDEX_OFFSET = 2
+
+        internal const val TYPE_POSITIVE_INTEGER = 0
+        internal const val TYPE_POSITIVE_REAL_NUMBER = 1
+        internal const val TYPE_VARIABLE_NAME = 2
+        internal const val TYPE_FUNCTION_NAME = 3
+        internal const val TYPE_SQUARE_ROOT_SYMBOL = 4
+        internal const val TYPE_MINUS_SYMBOL = 5
+        internal const val TYPE_PLUS_SYMBOL = 6
+        internal const val TYPE_MULTIPLY_SYMBOL = 7
+        internal const val TYPE_DIVIDE_SYMBOL = 8
+        internal const val TYPE_EXPONENTIATION_SYMBOL = 9
+        internal const val TYPE_EQUALS_SYMBOL = 10
+        internal const val TYPE_LEFT_PARENTHESIS_SYMBOL = 11
+        internal const val TYPE_RIGHT_PARENTHESIS_SYMBOL = 12
+        internal const val TYPE_INCOMPLETE_FUNCTION_NAME = 13
+        internal const val TYPE_INVALID_TOKEN = 14
+
+        private val KNOWN_FUNCTION_NAMES = listOf(
+          "abs", "acos", "asin", "atan", "cos", "cot", "csc", "exp", "ln", "log", "log10", "sec",
+          "sin", "sqrt", "tan"
+        )
+      }
+    }
+
     /** Represents a token that may act as a unary operator. */
     interface UnaryOperatorToken {
       /**
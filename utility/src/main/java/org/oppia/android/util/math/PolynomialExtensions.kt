@@ -116,10 +116,13 @@ fun Polynomial.sort(): Polynomial = Polynomial.newBuilder().apply {
 fun Polynomial.isApproximatelyEqualTo(other: Polynomial): Boolean {
   if (termCount != other.termCount) return false
 
-  // Terms can be zipped since they should be sorted prior to checking equivalence.
-  return termList.zip(other.termList).all { (first, second) ->
-    first.isApproximatelyEqualTo(second)
+  // Terms can be compared pairwise since they should be sorted prior to checking equivalence. Note
+  // that terms are indexed directly to avoid allocating intermediate lists or pairs since this is
+  // called frequently during answer classification.
+  for (termIndex in 0 until termCount) {
+    if (!getTerm(termIndex).isApproximatelyEqualTo(other.getTerm(termIndex))) return false
   }
+  return true
 }
 
 /**
@@ -297,8 +300,14 @@ private fun Polynomial.combineLikeTerms(): Polynomial {
 }
 
 private fun Term.isApproximatelyEqualTo(other: Term): Boolean {
-  // The variable lists can be exactly matched since they're sorted.
-  return coefficient.isApproximatelyEqualTo(other.coefficient) && variableList == other.variableList
+  // The variables can be exactly matched in order since they're sorted.
+  if (variableCount != other.variableCount) return false
+  for (variableIndex in 0 until variableCount) {
+    val variable = getVariable(variableIndex)
+    val otherVariable = other.getVariable(variableIndex)
+    if (variable.power != otherVariable.power || variable.name != otherVariable.name) return false
+  }
+  return coefficient.isApproximatelyEqualTo(other.coefficient)
 }
 
 private fun Polynomial.pow(exp: Real): Polynomial? {
@@ -465,31 +474,6 @@ private fun Map<String, Int>.toVariableList(): List<Variable> {
   return map { (name, power) -> Variable.newBuilder().setName(name).setPower(power).build() }
 }
 
-private fun Real.maybeSimplifyRationalToInteger(): Real = when (realTypeCase) {
-  Real.RealTypeCase.RATIONAL -> {
-    val improperRational = rational.toImproperForm()
-    when {
-      rational.isOnlyWholeNumber() -> {
-        Real.newBuilder().apply {
-          integer = this@maybeSimplifyRationalToInteger.rational.toWholeNumber()
-        }.build()
-      }
-      // Some fractions are effectively whole numbers.
-      improperRational.denominator == 1 -> {
-        Real.newBuilder().apply {
-          integer = if (improperRational.isNegative) {
-            -improperRational.numerator
-          } else improperRational.numerator
-        }.build()
-      }
-      else -> this
-    }
-  }
-  // Nothing to do in these cases.
-  Real.RealTypeCase.IRRATIONAL, Real.RealTypeCase.INTEGER, Real.RealTypeCase.REALTYPE_NOT_SET,
-  null -> this
-}
-
 private fun createTermComparator(): Comparator<Term> {
   // First, sort by all variable names to ensure xy is placed ahead of xz. Then, sort by variable
   // powers in order of the variables (such that x^2y is ranked higher thank xy). Finally, sort by
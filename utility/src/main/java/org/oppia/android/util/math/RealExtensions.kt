@@ -124,6 +124,35 @@ fun Real.asWholeNumber(): Int? {
   }
 }
 
+/**
+ * Returns a version of this [Real] that's an integer if it's a rational that represents a whole
+ * number (including improper fractions with a denominator of 1), otherwise this [Real] is returned
+ * unchanged.
+ */
+fun Real.maybeSimplifyRationalToInteger(): Real = when (realTypeCase) {
+  RATIONAL -> {
+    val improperRational = rational.toImproperForm()
+    when {
+      rational.isOnlyWholeNumber() -> {
+        Real.newBuilder().apply {
+          integer = this@maybeSimplifyRationalToInteger.rational.toWholeNumber()
+        }.build()
+      }
+      // Some fractions are effectively whole numbers.
+      improperRational.denominator == 1 -> {
+        Real.newBuilder().apply {
+          integer = if (improperRational.isNegative) {
+            -improperRational.numerator
+          } else improperRational.numerator
+        }.build()
+      }
+      else -> this
+    }
+  }
+  // Nothing to do in these cases.
+  IRRATIONAL, INTEGER, REALTYPE_NOT_SET, null -> this
+}
+
 /**
  * Returns a human-readable, plaintext representation of this [Real].
  *
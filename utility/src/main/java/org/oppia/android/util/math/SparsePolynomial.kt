@@ -0,0 +1,278 @@
+package org.oppia.android.util.math
+
+import org.oppia.android.app.model.Polynomial
+import org.oppia.android.app.model.Polynomial.Term
+import org.oppia.android.app.model.Polynomial.Term.Variable
+import org.oppia.android.app.model.Real
+
+/**
+ * A lightweight polynomial representation that's used to efficiently compute [Polynomial]s.
+ *
+ * The [Polynomial] operators (such as [Polynomial.plus] and [Polynomial.times]) operate directly on
+ * immutable protos, so every intermediate result allocates new polynomials, terms, variables, and
+ * builders (along with transient lists & maps used to combine like terms). This class instead
+ * represents each term's variables as a sparse exponent vector of variable IDs interned by a
+ * [VariableTable], and keeps terms in an insertion-ordered hash map keyed by those vectors so that
+ * like terms can be combined with a single lookup. Protos are only created when converting to and
+ * from [Polynomial]s (see [toPolynomial] and [fromPolynomial]).
+ *
+ * Coefficients are kept as [Real]s (and are computed using the same [Real] operators as
+ * [Polynomial]s) so that integers and fractions stay exact, and so that every operation yields
+ * exactly the same result as its [Polynomial] counterpart (including term order, coefficient
+ * representation, and whether a result can be represented as a polynomial at all). Operations that
+ * are both rare and involved (division, negative powers, and fractional powers of non-constant
+ * polynomials) are delegated to the [Polynomial] implementations.
+ *
+ * Note that, unlike [Polynomial]s, a zero polynomial is generally represented without any terms.
+ *
+ * Polynomials are never modified after being returned from an operation, but this class is not safe
+ * to use across multiple threads since the [VariableTable] shared among polynomials isn't
+ * synchronized.
+ */
+class SparsePolynomial private constructor(
+  private val variableTable: VariableTable,
+  private val terms: LinkedHashMap<Monomial, Real>
+) {
+  /** Returns whether this polynomial is a constant; see [Polynomial.isConstant]. */
+  fun isConstant(): Boolean =
+    terms.isEmpty() || (terms.size == 1 && terms.keys.first().isConstant())
+
+  /**
+   * Returns the first term coefficient of this polynomial; see [Polynomial.getConstant].
+   *
+   * This corresponds to the whole value of the polynomial iff [isConstant] returns true.
+   */
+  fun getConstant(): Real = terms.values.firstOrNull() ?: ZERO
+
+  /** Returns the negation of this polynomial; see [Polynomial.unaryMinus]. */
+  operator fun unaryMinus(): SparsePolynomial {
+    val negatedTerms = LinkedHashMap<Monomial, Real>(terms.size)
+    for ((monomial, coefficient) in terms) negatedTerms[monomial] = -coefficient
+    return SparsePolynomial(variableTable, negatedTerms)
+  }
+
+  /** Returns the sum of this polynomial with [rhs]; see [Polynomial.plus]. */
+  operator fun plus(rhs: SparsePolynomial): SparsePolynomial {
+    checkSameVariableTable(rhs)
+    // Like terms are first fully combined, and then zero terms are removed, so that combined terms
+    // keep the position of their first occurrence (which matches Polynomial.plus).
+    val sumTerms = LinkedHashMap(terms)
+    for ((monomial, coefficient) in rhs.terms) {
+      sumTerms[monomial] = sumTerms[monomial]?.let { it + coefficient } ?: coefficient
+    }
+    return SparsePolynomial(variableTable, sumTerms).also { it.simplifyCoefficients() }
+  }
+
+  /** Returns the subtraction of [rhs] from this polynomial; see [Polynomial.minus]. */
+  operator fun minus(rhs: SparsePolynomial): SparsePolynomial = this + -rhs
+
+  /** Returns the product of this polynomial with [rhs]; see [Polynomial.times]. */
+  operator fun times(rhs: SparsePolynomial): SparsePolynomial {
+    checkSameVariableTable(rhs)
+    // Each cross-multiplied term is added one at a time (which matches Polynomial.times summing
+    // each product term as its own polynomial).
+    val productTerms = LinkedHashMap<Monomial, Real>()
+    for ((leftMonomial, leftCoefficient) in terms) {
+      for ((rightMonomial, rightCoefficient) in rhs.terms) {
+        productTerms.addLikeTerm(leftMonomial * rightMonomial, leftCoefficient * rightCoefficient)
+      }
+    }
+    return SparsePolynomial(variableTable, productTerms)
+  }
+
+  /**
+   * Returns the division of [rhs] from this polynomial, or null if there's a remainder; see
+   * [Polynomial.div].
+   */
+  operator fun div(rhs: SparsePolynomial): SparsePolynomial? {
+    checkSameVariableTable(rhs)
+    // Polynomial long division is uncommon for learner answers, so it's computed using protos.
+    return (toPolynomial() / rhs.toPolynomial())?.let { fromPolynomial(it, variableTable) }
+  }
+
+  /**
+   * Returns this polynomial raised to [exp], or null if the result isn't a valid polynomial; see
+   * [Polynomial.pow].
+   */
+  infix fun pow(exp: SparsePolynomial): SparsePolynomial? {
+    checkSameVariableTable(exp)
+    if (!exp.isConstant()) return null
+    val power = exp.getConstant()
+    val exponentiation = when {
+      // Negative powers require division, and fractional powers of non-constant polynomials
+      // require factoring, so both are computed using protos.
+      power.isNegative() || (!isConstant() && !power.isWholeNumber() && power.isRational()) -> {
+        return (toPolynomial() pow exp.toPolynomial())?.let { fromPolynomial(it, variableTable) }
+      }
+      // Constant polynomials can be raised by any constant.
+      isConstant() -> (getConstant() pow power)?.let { createConstant(it, variableTable) }
+      // Polynomials can only be raised to positive integers (or zero).
+      power.isWholeNumber() -> power.asWholeNumber()?.let { pow(it) }
+      // All other cases (such as irrational powers) can't be computed as polynomials.
+      else -> null
+    }
+    return exponentiation?.also { it.simplifyCoefficients() }
+  }
+
+  /**
+   * Returns a new [Polynomial] representing this polynomial. Note that each term's variables will
+   * be sorted by name, and that a zero polynomial is returned as [ZERO_POLYNOMIAL].
+   */
+  fun toPolynomial(): Polynomial {
+    if (terms.isEmpty()) return ZERO_POLYNOMIAL
+    return Polynomial.newBuilder().apply {
+      for ((monomial, coefficient) in terms) {
+        addTerm(
+          Term.newBuilder().apply {
+            this.coefficient = coefficient
+            monomial.forEachVariableByName(variableTable) { name, power ->
+              addVariable(Variable.newBuilder().setName(name).setPower(power))
+            }
+          }
+        )
+      }
+    }.build()
+  }
+
+  private fun pow(exp: Int): SparsePolynomial {
+    // Anything raised to the power of 0 is 1.
+    if (exp == 0) return createConstant(ONE, variableTable)
+    var newValue = this
+    for (i in 1 until exp) newValue *= this
+    // Make sure a new polynomial is always returned since the result is simplified in-place.
+    return if (newValue === this) {
+      SparsePolynomial(variableTable, LinkedHashMap(terms))
+    } else newValue
+  }
+
+  /**
+   * Removes all zero terms from this polynomial and simplifies rational coefficients, matching
+   * [Polynomial.simplifyRationals] & [Polynomial.removeUnnecessaryVariables]. This should only be
+   * called on new polynomials before they're returned.
+   */
+  private fun simplifyCoefficients() {
+    val termIterator = terms.entries.iterator()
+    while (termIterator.hasNext()) {
+      val term = termIterator.next()
+      if (term.value.isApproximatelyZero()) {
+        termIterator.remove()
+      } else term.setValue(term.value.maybeSimplifyRationalToInteger())
+    }
+  }
+
+  /**
+   * Adds a single term to this map of terms, combining it with an existing like term (and removing
+   * the result if it's zero) in the same way that adding a single-term [Polynomial] would.
+   */
+  private fun LinkedHashMap<Monomial, Real>.addLikeTerm(monomial: Monomial, coefficient: Real) {
+    val combinedCoefficient = this[monomial]?.let { it + coefficient } ?: coefficient
+    if (combinedCoefficient.isApproximatelyZero()) {
+      remove(monomial)
+    } else this[monomial] = combinedCoefficient.maybeSimplifyRationalToInteger()
+  }
+
+  private fun checkSameVariableTable(other: SparsePolynomial) {
+    check(variableTable === other.variableTable) {
+      "Polynomials created with different variable tables cannot be combined."
+    }
+  }
+
+  /**
+   * Table of variable names interned to IDs for use by [SparsePolynomial]s. All polynomials that
+   * are combined with one another must share the same table.
+   */
+  class VariableTable {
+    private val variableIds = mutableMapOf<String, Int>()
+    private val variableNames = mutableListOf<String>()
+
+    /** Returns the ID corresponding to the specified variable name. */
+    internal fun intern(name: String): Int {
+      return variableIds.getOrPut(name) { variableNames.size.also { variableNames += name } }
+    }
+
+    /** Returns the variable name corresponding to the specified ID (see [intern]). */
+    internal fun getName(variableId: Int): String = variableNames[variableId]
+  }
+
+  /**
+   * The variables of a single term, represented as a sparse exponent vector of alternating
+   * (variable ID, power) pairs sorted by variable ID.
+   */
+  private class Monomial(private val exponents: IntArray) {
+    private val hashCode = exponents.contentHashCode()
+
+    fun isConstant(): Boolean = exponents.isEmpty()
+
+    operator fun times(rhs: Monomial): Monomial {
+      if (isConstant()) return rhs
+      if (rhs.isConstant()) return this
+      // Merge the two sorted exponent vectors, adding the powers of variables present in both.
+      val merged = IntArray(exponents.size + rhs.exponents.size)
+      var leftIndex = 0
+      var rightIndex = 0
+      var mergedSize = 0
+      while (leftIndex < exponents.size || rightIndex < rhs.exponents.size) {
+        val leftId = exponents.getOrElse(leftIndex) { Int.MAX_VALUE }
+        val rightId = rhs.exponents.getOrElse(rightIndex) { Int.MAX_VALUE }
+        merged[mergedSize] = minOf(leftId, rightId)
+        merged[mergedSize + 1] = when {
+          leftId == rightId -> exponents[leftIndex + 1] + rhs.exponents[rightIndex + 1]
+          leftId < rightId -> exponents[leftIndex + 1]
+          else -> rhs.exponents[rightIndex + 1]
+        }
+        if (leftId <= rightId) leftIndex += 2
+        if (rightId <= leftId) rightIndex += 2
+        mergedSize += 2
+      }
+      return Monomial(if (mergedSize == merged.size) merged else merged.copyOf(mergedSize))
+    }
+
+    /** Calls [action] for each variable & its power, in lexicographical order of variable name. */
+    inline fun forEachVariableByName(
+      variableTable: VariableTable,
+      action: (name: String, power: Int) -> Unit
+    ) {
+      val names = Array(exponents.size / 2) { variableTable.getName(exponents[it * 2]) }
+      val sortedIndexes = names.indices.sortedBy { names[it] }
+      for (index in sortedIndexes) action(names[index], exponents[index * 2 + 1])
+    }
+
+    override fun equals(other: Any?): Boolean =
+      other is Monomial && hashCode == other.hashCode && exponents.contentEquals(other.exponents)
+
+    override fun hashCode(): Int = hashCode
+
+    companion object {
+      /** The [Monomial] corresponding to constant terms (that is, terms with no variables). */
+      val CONSTANT = Monomial(IntArray(0))
+    }
+  }
+
+  companion object {
+    /** Returns a new [SparsePolynomial] representing the specified constant. */
+    fun createConstant(constant: Real, variableTable: VariableTable): SparsePolynomial =
+      SparsePolynomial(variableTable, linkedMapOf(Monomial.CONSTANT to constant))
+
+    /** Returns a new [SparsePolynomial] representing the specified variable (raised to 1). */
+    fun createVariable(name: String, variableTable: VariableTable): SparsePolynomial {
+      val monomial = Monomial(intArrayOf(variableTable.intern(name), 1))
+      return SparsePolynomial(variableTable, linkedMapOf(monomial to ONE))
+    }
+
+    /**
+     * Returns a new [SparsePolynomial] representing the specified [Polynomial]. Note that the
+     * coefficients of any terms with the same variables are added together.
+     */
+    fun fromPolynomial(polynomial: Polynomial, variableTable: VariableTable): SparsePolynomial {
+      val terms = LinkedHashMap<Monomial, Real>(polynomial.termCount)
+      for (term in polynomial.termList) {
+        val monomial = term.variableList.fold(Monomial.CONSTANT) { monomial, variable ->
+          val variableId = variableTable.intern(variable.name)
+          monomial * Monomial(intArrayOf(variableId, variable.power))
+        }
+        terms[monomial] = terms[monomial]?.let { it + term.coefficient } ?: term.coefficient
+      }
+      return SparsePolynomial(variableTable, terms)
+    }
+  }
+}
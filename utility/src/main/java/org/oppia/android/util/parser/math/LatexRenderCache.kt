@@ -0,0 +1,157 @@
+package org.oppia.android.util.parser.math
+
+import android.content.Context
+import org.oppia.android.util.system.OppiaClock
+import java.io.File
+import java.io.IOException
+import java.nio.ByteBuffer
+import java.security.MessageDigest
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/** The name of the app cache subdirectory in which rendered LaTeX is stored. */
+private const val RENDER_CACHE_DIRECTORY_NAME = "latex_renders"
+
+/** The approximate maximum number of bytes of rendered LaTeX that may be kept on disk. */
+private const val MAX_RENDER_CACHE_SIZE_BYTES = 16L * 1024 * 1024
+
+/**
+ * The version of the LaTeX rendering pipeline. This must be incremented whenever changes are made
+ * which affect the pixels of rendered LaTeX so that renders cached by older versions of the app are
+ * no longer used.
+ */
+private const val RENDER_VERSION = 1
+
+private const val RENDER_FILE_EXTENSION = ".png"
+private const val TEMPORARY_FILE_EXTENSION = ".tmp"
+
+/**
+ * A persistent, content-addressed cache of LaTeX rendered to PNG images.
+ *
+ * Unlike Glide's caches, renders are keyed only by the inputs which actually affect rendering (see
+ * [RenderKey]) and they survive both process death and Glide cache evictions, so LaTeX only needs
+ * to be rendered once per device configuration. The cache is bounded: once it grows past its size
+ * limit, the least recently used renders are removed.
+ *
+ * This class performs disk I/O & should never be used on the main thread. It's safe to use from
+ * multiple threads at once.
+ */
+@Singleton
+class LatexRenderCache @Inject constructor(
+  private val context: Context,
+  private val oppiaClock: OppiaClock
+) {
+  private val cacheDirectory by lazy {
+    File(context.cacheDir, RENDER_CACHE_DIRECTORY_NAME).apply { mkdirs() }
+  }
+  private val sizeLock = Any()
+  private var cachedTotalSizeBytes: Long? = null
+
+  /**
+   * Returns the PNG bytes of the render previously stored for the specified [key], or null if
+   * there isn't one (or it can't be read).
+   */
+  fun retrieveRender(key: RenderKey): ByteArray? {
+    val renderFile = key.getRenderFile()
+    return try {
+      renderFile.readBytes().also {
+        // Track the render's most recent usage so that frequently used renders are kept.
+        renderFile.setLastModified(oppiaClock.getCurrentTimeMs())
+      }
+    } catch (e: IOException) {
+      null
+    }
+  }
+
+  /**
+   * Stores the specified PNG bytes as the render for [key], replacing any existing render.
+   *
+   * Renders are written atomically, so readers will never observe a partially written render even
+   * if the app is closed mid-write.
+   */
+  fun storeRender(key: RenderKey, pngBytes: ByteArray) {
+    val renderFile = key.getRenderFile()
+    val temporaryFile =
+      File.createTempFile(renderFile.nameWithoutExtension, TEMPORARY_FILE_EXTENSION, cacheDirectory)
+    try {
+      temporaryFile.writeBytes(pngBytes)
+      temporaryFile.setLastModified(oppiaClock.getCurrentTimeMs())
+      if (!temporaryFile.renameTo(renderFile)) {
+        throw IOException("Failed to move render into place: $renderFile.")
+      }
+    } finally {
+      temporaryFile.delete()
+    }
+    synchronized(sizeLock) {
+      val totalSizeBytes = (cachedTotalSizeBytes ?: computeTotalSizeBytes()) + pngBytes.size
+      cachedTotalSizeBytes =
+        if (totalSizeBytes > MAX_RENDER_CACHE_SIZE_BYTES) trimCache() else totalSizeBytes
+    }
+  }
+
+  private fun computeTotalSizeBytes(): Long = listRenderFiles().sumOf(File::length)
+
+  /** Removes least recently used renders until the cache fits, and returns its new total size. */
+  private fun trimCache(): Long {
+    // Temporary files can only remain if the app was closed mid-write, so they're safe to remove.
+    cacheDirectory.listFiles { file -> file.name.endsWith(TEMPORARY_FILE_EXTENSION) }
+      ?.forEach(File::delete)
+
+    val renderFiles = listRenderFiles().sortedBy(File::lastModified)
+    var totalSizeBytes = renderFiles.sumOf(File::length)
+    for (renderFile in renderFiles) {
+      if (totalSizeBytes <= MAX_RENDER_CACHE_SIZE_BYTES) break
+      val renderSizeBytes = renderFile.length()
+      if (renderFile.delete()) totalSizeBytes -= renderSizeBytes
+    }
+    return totalSizeBytes
+  }
+
+  private fun listRenderFiles(): List<File> =
+    cacheDirectory.listFiles { file -> file.name.endsWith(RENDER_FILE_EXTENSION) }?.toList()
+      ?: listOf()
+
+  private fun RenderKey.getRenderFile(): File =
+    File(cacheDirectory, "${computeContentAddress()}$RENDER_FILE_EXTENSION")
+
+  /**
+   * The inputs which uniquely determine the pixels of rendered LaTeX.
+   *
+   * @property rawLatex the LaTeX being rendered
+   * @property lineHeightHundredX the 100x scaled line height (in pixels) used to size the render
+   *     (see [MathModel.MathModelSignature] for why this is truncated)
+   * @property useInlineRendering whether the LaTeX is rendered to be displayed in-line with text
+   * @property color the ARGB color used to render the LaTeX
+   * @property densityDpi the screen density, in DPI, of the device for which LaTeX is rendered
+   */
+  data class RenderKey(
+    val rawLatex: String,
+    val lineHeightHundredX: Int,
+    val useInlineRendering: Boolean,
+    val color: Int,
+    val densityDpi: Int
+  ) {
+    /** The line height (in pixels) that should be used when rendering LaTeX for this key. */
+    val lineHeight: Float
+      get() = lineHeightHundredX / 100f
+
+    /**
+     * Returns a stable, lowercase hex-encoded SHA-256 hash of this key that's suitable for use as
+     * a file name.
+     */
+    fun computeContentAddress(): String {
+      val rawLatexBytes = rawLatex.encodeToByteArray()
+      val keyBytes = ByteBuffer.allocate(rawLatexBytes.size + Int.SIZE_BYTES * 4 + 1).apply {
+        putInt(RENDER_VERSION)
+        put(rawLatexBytes)
+        putInt(lineHeightHundredX)
+        put(if (useInlineRendering) 1 else 0)
+        putInt(color)
+        putInt(densityDpi)
+      }.array()
+      return MessageDigest.getInstance("SHA-256").digest(keyBytes).joinToString("") {
+        "%02x".format(it)
+      }
+    }
+  }
+}
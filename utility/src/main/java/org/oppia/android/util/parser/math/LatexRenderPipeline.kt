@@ -0,0 +1,245 @@
+package org.oppia.android.util.parser.math
+
+import android.content.Context
+import android.graphics.Bitmap
+import android.graphics.BitmapFactory
+import androidx.core.content.res.ResourcesCompat
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.CoroutineStart
+import kotlinx.coroutines.Deferred
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.async
+import kotlinx.coroutines.launch
+import org.json.JSONException
+import org.json.JSONObject
+import org.oppia.android.util.R
+import org.oppia.android.util.logging.ConsoleLogger
+import org.oppia.android.util.threading.BackgroundDispatcher
+import java.io.ByteArrayOutputStream
+import java.io.IOException
+import javax.inject.Inject
+import javax.inject.Singleton
+
+private const val MATH_TAG_NAME = "oppia-noninteractive-math"
+private const val MATH_CONTENT_ATTRIBUTE_NAME = "math_content-with-value"
+private const val RENDER_TYPE_ATTRIBUTE_NAME = "render-type"
+private val MATH_TAG_REGEX = Regex("<$MATH_TAG_NAME\\b([^>]*)>")
+private val TAG_ATTRIBUTE_REGEX = Regex("([\\w-]+)=\"([^\"]*)\"")
+
+/**
+ * Pipeline for rendering LaTeX to PNG images, backed by the persistent [LatexRenderCache].
+ *
+ * Concurrent requests for the same render share a single rendering operation, and that operation
+ * is cancelled once nothing is waiting on it anymore. This allows renders that are no longer needed
+ * (such as for images whose loads Glide has cancelled) to stop early rather than continuing to
+ * occupy the app's dispatchers.
+ *
+ * The pipeline also supports prefetching the LaTeX in lesson HTML (see [prefetchLatexInHtml]) so
+ * that it's already rendered by the time it's displayed.
+ */
+@Singleton
+class LatexRenderPipeline @Inject constructor(
+  private val context: Context,
+  private val latexBitmapRenderer: LatexBitmapRenderer,
+  private val latexRenderCache: LatexRenderCache,
+  private val consoleLogger: ConsoleLogger,
+  @BackgroundDispatcher private val backgroundDispatcher: CoroutineDispatcher
+) {
+  // A supervisor is used so that failures in individual renders don't cancel all other renders.
+  private val renderScope by lazy { CoroutineScope(SupervisorJob() + backgroundDispatcher) }
+  private val lock = Any()
+  private val inFlightRenders = mutableMapOf<LatexRenderCache.RenderKey, InFlightRender>()
+  private var lastLineHeight: Float? = null
+  private var pendingPrefetchRequests: List<PrefetchRequest>? = null
+  private var prefetchJob: Job? = null
+
+  /**
+   * Prepares the pipeline's renderer in the background so that LaTeX can later be rendered in
+   * parallel without initialization delays. This should be called at app startup.
+   */
+  fun warmUp() {
+    latexBitmapRenderer.warmUp()
+  }
+
+  /**
+   * Returns the PNG bytes of the LaTeX represented by [model] (rendered for the current device
+   * configuration), either from the render cache or by rendering it.
+   *
+   * If the calling coroutine is cancelled, the render will also be cancelled unless it's being
+   * awaited elsewhere (such as by a prefetch operation).
+   */
+  suspend fun renderToPng(model: MathModel): ByteArray {
+    // Prefetched LaTeX is rendered using the line height of the most recently displayed LaTeX since
+    // it's unknown at prefetch time, but it's almost always the same for all of a lesson's LaTeX.
+    recordLineHeight(model.lineHeight)
+    return awaitRender(createRenderKey(model.rawLatex, model.lineHeight, model.useInlineRendering))
+  }
+
+  /**
+   * Starts rendering (in the background) all LaTeX contained in the specified lesson HTML strings
+   * that isn't already cached, cancelling any previously started prefetch.
+   *
+   * Since the size at which LaTeX will be displayed isn't known until it's first displayed, LaTeX
+   * is only prefetched after at least one LaTeX image has been loaded via [renderToPng] (prefetch
+   * requests before then are deferred until that happens).
+   */
+  fun prefetchLatexInHtml(htmls: Iterable<String>) {
+    val prefetchRequests = htmls.flatMap(::extractPrefetchRequests).distinct()
+    synchronized(lock) {
+      prefetchJob?.cancel()
+      prefetchJob = null
+      pendingPrefetchRequests = prefetchRequests.takeIf { it.isNotEmpty() }
+      maybeStartPendingPrefetchLocked()
+    }
+  }
+
+  /**
+   * Returns a new PNG-encoded version of the specified render scaled to the specified dimensions.
+   * A null [width] or [height] indicates that the render's original size should be kept for that
+   * dimension.
+   */
+  fun scalePng(pngBytes: ByteArray, width: Int?, height: Int?): ByteArray {
+    val bitmap = checkNotNull(BitmapFactory.decodeByteArray(pngBytes, 0, pngBytes.size)) {
+      "Failed to decode cached LaTeX render."
+    }
+    val finalWidth = width ?: bitmap.width
+    val finalHeight = height ?: bitmap.height
+    if (bitmap.width == finalWidth && bitmap.height == finalHeight) return pngBytes
+    // Note that any actual scaling here is likely to distort the image since it can be
+    // automatically cropped to minimize excess whitespace during rendering.
+    val scaledBitmap =
+      Bitmap.createScaledBitmap(bitmap, finalWidth, finalHeight, /* filter= */ true)
+    return scaledBitmap.compressToPng()
+  }
+
+  private fun recordLineHeight(lineHeight: Float) {
+    synchronized(lock) {
+      lastLineHeight = lineHeight
+      maybeStartPendingPrefetchLocked()
+    }
+  }
+
+  private fun maybeStartPendingPrefetchLocked() {
+    val lineHeight = lastLineHeight ?: return
+    val prefetchRequests = pendingPrefetchRequests ?: return
+    pendingPrefetchRequests = null
+    val renderKeys = prefetchRequests.map { request ->
+      createRenderKey(request.rawLatex, lineHeight, request.useInlineRendering)
+    }
+    prefetchJob = renderScope.launch {
+      // Renders are prefetched one at a time so that they don't compete with visible LaTeX.
+      for (renderKey in renderKeys) {
+        try {
+          awaitRender(renderKey)
+        } catch (e: CancellationException) {
+          throw e
+        } catch (e: Exception) {
+          consoleLogger.e("LatexRenderPipeline", "Failed to prefetch LaTeX: $renderKey", e)
+        }
+      }
+    }
+  }
+
+  private suspend fun awaitRender(renderKey: LatexRenderCache.RenderKey): ByteArray {
+    val inFlightRender = synchronized(lock) {
+      inFlightRenders.getOrPut(renderKey) {
+        InFlightRender(renderScope.async(start = CoroutineStart.LAZY) { loadOrRender(renderKey) })
+      }.also { it.waiterCount++ }
+    }
+    try {
+      return inFlightRender.deferred.await()
+    } finally {
+      synchronized(lock) {
+        if (--inFlightRender.waiterCount == 0) {
+          // Nothing else is waiting on the render, so stop it if it's still running.
+          inFlightRender.deferred.cancel()
+          inFlightRenders.remove(renderKey, inFlightRender)
+        }
+      }
+    }
+  }
+
+  private suspend fun loadOrRender(renderKey: LatexRenderCache.RenderKey): ByteArray {
+    latexRenderCache.retrieveRender(renderKey)?.let { return it }
+    val pngBytes = latexBitmapRenderer.renderToBitmap(renderKey).compressToPng()
+    try {
+      latexRenderCache.storeRender(renderKey, pngBytes)
+    } catch (e: IOException) {
+      // The render can still be used even if it can't be cached.
+      consoleLogger.w("LatexRenderPipeline", "Failed to cache LaTeX render: $renderKey", e)
+    }
+    return pngBytes
+  }
+
+  private fun createRenderKey(
+    rawLatex: String,
+    lineHeight: Float,
+    useInlineRendering: Boolean
+  ): LatexRenderCache.RenderKey {
+    // Line heights are truncated in the same way as for Glide's keys to maximize cache reuse.
+    val signature = MathModel(rawLatex, lineHeight, useInlineRendering).toKeySignature()
+    return LatexRenderCache.RenderKey(
+      rawLatex = rawLatex,
+      lineHeightHundredX = signature.lineHeightHundredX,
+      useInlineRendering = useInlineRendering,
+      // TODO(#1523): Test color parameter in MathBitmapModelLoader
+      color = ResourcesCompat.getColor(
+        context.resources, R.color.component_color_shared_equation_color, /* theme= */ null
+      ),
+      densityDpi = context.resources.displayMetrics.densityDpi
+    )
+  }
+
+  private class InFlightRender(val deferred: Deferred<ByteArray>) {
+    var waiterCount = 0
+  }
+
+  /** A piece of LaTeX found in lesson HTML that should be prefetched. */
+  data class PrefetchRequest(val rawLatex: String, val useInlineRendering: Boolean)
+
+  companion object {
+    /**
+     * Returns the [PrefetchRequest]s for all LaTeX math tags in the specified HTML that will be
+     * rendered from raw LaTeX (i.e. that don't have pre-rendered SVGs).
+     */
+    fun extractPrefetchRequests(html: String): List<PrefetchRequest> {
+      return MATH_TAG_REGEX.findAll(html).mapNotNull { tagMatch ->
+        val attributes = TAG_ATTRIBUTE_REGEX.findAll(tagMatch.groupValues[1]).associate {
+          it.groupValues[1] to decodeHtmlEntities(it.groupValues[2])
+        }
+        // Note that the content is double-escaped in lesson HTML: once to be a valid attribute
+        // value, and again because it's stored within the HTML (see MathTagHandler).
+        val mathContent = attributes[MATH_CONTENT_ATTRIBUTE_NAME]?.replace("&quot;", "\"")
+        val contentObject = try {
+          mathContent?.let(::JSONObject)
+        } catch (e: JSONException) {
+          null
+        }
+        val rawLatex = contentObject?.optString("raw_latex")?.takeIf { it.isNotEmpty() }
+        val svgFileName = contentObject?.optString("svg_filename")
+        if (rawLatex != null && svgFileName.isNullOrEmpty()) {
+          val useInlineRendering = attributes[RENDER_TYPE_ATTRIBUTE_NAME] != "block"
+          PrefetchRequest(rawLatex, useInlineRendering)
+        } else null
+      }.toList()
+    }
+
+    private fun decodeHtmlEntities(text: String): String {
+      // '&amp;' must be replaced last so that escaped entities aren't decoded twice.
+      return text.replace("&quot;", "\"")
+        .replace("&#39;", "'")
+        .replace("&lt;", "<")
+        .replace("&gt;", ">")
+        .replace("&amp;", "&")
+    }
+
+    private fun Bitmap.compressToPng(): ByteArray {
+      return ByteArrayOutputStream().also { outputStream ->
+        compress(Bitmap.CompressFormat.PNG, /* quality= */ 100, outputStream)
+      }.toByteArray()
+    }
+  }
+}
@@ -0,0 +1,9 @@
+package org.oppia.android.util.parser.math
+
+/**
+ * Injector for [LatexRenderPipeline]. Implemented by a generated Dagger application component.
+ */
+interface LatexRenderPipelineInjector {
+  /** Returns the application's [LatexRenderPipeline]. */
+  fun getLatexRenderPipeline(): LatexRenderPipeline
+}
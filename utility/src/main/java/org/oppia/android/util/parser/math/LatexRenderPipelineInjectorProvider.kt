@@ -0,0 +1,7 @@
+package org.oppia.android.util.parser.math
+
+/** Provider for [LatexRenderPipelineInjector]s. To be implemented by the application class. */
+interface LatexRenderPipelineInjectorProvider {
+  /** Returns the [LatexRenderPipelineInjector] corresponding to the current application context. */
+  fun getLatexRenderPipelineInjector(): LatexRenderPipelineInjector
+}
@@ -0,0 +1,11 @@
+package org.oppia.android.util.threading
+
+import javax.inject.Qualifier
+
+/**
+ * Qualifier for injecting a bounded, multi-threaded coroutine executor for blocking I/O operations.
+ *
+ * Tasks scheduled directly on this dispatcher may run concurrently and in any order. Callers that
+ * need tasks to execute serially should use lanes created via [ShardedBlockingDispatcher], instead.
+ */
+@Qualifier annotation class BlockingPoolDispatcher
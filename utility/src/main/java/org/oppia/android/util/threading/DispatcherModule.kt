@@ -8,8 +8,8 @@ import java.util.concurrent.Executors
 import javax.inject.Singleton
 
 /**
- * Dagger [Module] that provides [CoroutineDispatcher]s that bind to [BackgroundDispatcher] and [BlockingDispatcher]
- * qualifiers.
+ * Dagger [Module] that provides [CoroutineDispatcher]s that bind to [BackgroundDispatcher],
+ * [BlockingDispatcher], [BlockingPoolDispatcher], and [LatexRenderDispatcher] qualifiers.
  */
 @Module
 class DispatcherModule {
@@ -26,4 +26,21 @@ class DispatcherModule {
   fun provideBlockingDispatcher(): CoroutineDispatcher {
     return Executors.newSingleThreadExecutor().asCoroutineDispatcher()
   }
+
+  @Provides
+  @BlockingPoolDispatcher
+  @Singleton
+  fun provideBlockingPoolDispatcher(): CoroutineDispatcher {
+    return Executors.newFixedThreadPool(/* nThreads= */ 4).asCoroutineDispatcher()
+  }
+
+  @Provides
+  @LatexRenderDispatcher
+  @Singleton
+  fun provideLatexRenderDispatcher(): CoroutineDispatcher {
+    // Rendering is CPU-bound, so there's no benefit to using more threads than there are cores.
+    // The pool is further bounded to avoid competing with the UI thread on devices with many cores.
+    val threadCount = Runtime.getRuntime().availableProcessors().coerceIn(2, 4)
+    return Executors.newFixedThreadPool(threadCount).asCoroutineDispatcher()
+  }
 }
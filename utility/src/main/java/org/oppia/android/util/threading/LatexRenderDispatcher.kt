@@ -0,0 +1,12 @@
+package org.oppia.android.util.threading
+
+import javax.inject.Qualifier
+
+/**
+ * Qualifier for injecting a bounded, multi-threaded coroutine executor that's dedicated to
+ * rendering LaTeX.
+ *
+ * Rendering is CPU-bound & can take a long time for complex LaTeX, so it's kept separate from the
+ * app's other dispatchers to avoid delaying unrelated work (such as disk writes) behind it.
+ */
+@Qualifier annotation class LatexRenderDispatcher
@@ -0,0 +1,27 @@
+package org.oppia.android.util.threading
+
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * Provides serial "lanes" of execution on top of the app's bounded [BlockingPoolDispatcher].
+ *
+ * Each lane guarantees that tasks dispatched to it execute one at a time and in the order they were
+ * dispatched (just like a single-threaded dispatcher), but different lanes may execute in parallel
+ * with one another. This allows independent blocking operations (such as disk writes for different
+ * caches) to avoid queueing behind each other while still bounding the total number of threads used
+ * for blocking work.
+ *
+ * Note that a lane doesn't guarantee which thread its tasks run on, only that they never run
+ * concurrently and that each task observes the effects of all tasks dispatched before it.
+ */
+@Singleton
+class ShardedBlockingDispatcher @Inject constructor(
+  @BlockingPoolDispatcher private val blockingPoolDispatcher: CoroutineDispatcher
+) {
+  /** Returns a new serial lane that isn't shared with any other caller. */
+  @OptIn(ExperimentalCoroutinesApi::class) // limitedParallelism is stable in newer versions.
+  fun createLane(): CoroutineDispatcher = blockingPoolDispatcher.limitedParallelism(1)
+}
@@ -0,0 +1,326 @@
+package org.oppia.android.util.caching
+
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import com.google.common.truth.Truth.assertThat
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.oppia.android.testing.assertThrows
+import org.robolectric.annotation.Config
+import org.robolectric.annotation.LooperMode
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+/** Tests for [StripedLruCache]. */
+// FunctionName: test names are conventionally named with underscores.
+@Suppress("FunctionName")
+@RunWith(AndroidJUnit4::class)
+@LooperMode(LooperMode.Mode.PAUSED)
+@Config(manifest = Config.NONE)
+class StripedLruCacheTest {
+  @Test
+  fun testGet_emptyCache_returnsNull() {
+    val cache = createSingleStripeCache(maxSizeBytes = 10)
+
+    assertThat(cache.get("key")).isNull()
+  }
+
+  @Test
+  fun testPut_thenGet_returnsValue() {
+    val cache = createSingleStripeCache(maxSizeBytes = 10)
+
+    cache.put("key", "value")
+
+    assertThat(cache.get("key")).isEqualTo("value")
+    assertThat(cache.getSizeBytes()).isEqualTo(5)
+  }
+
+  @Test
+  fun testPut_sameKeyTwice_replacesValueAndSize() {
+    val cache = createSingleStripeCache(maxSizeBytes = 10)
+
+    cache.put("key", "value")
+    cache.put("key", "new")
+
+    assertThat(cache.get("key")).isEqualTo("new")
+    assertThat(cache.getSizeBytes()).isEqualTo(3)
+  }
+
+  @Test
+  fun testPut_exceedsCapacity_evictsLeastRecentlyUsedValue() {
+    val cache = createSingleStripeCache(maxSizeBytes = 10)
+    cache.put("first", "aaaa")
+    cache.put("second", "bbbb")
+
+    cache.put("third", "cccc")
+
+    assertThat(cache.get("first")).isNull()
+    assertThat(cache.get("second")).isEqualTo("bbbb")
+    assertThat(cache.get("third")).isEqualTo("cccc")
+    assertThat(cache.getSizeBytes()).isEqualTo(8)
+  }
+
+  @Test
+  fun testPut_exceedsCapacity_afterAccessingOldestValue_evictsNextLeastRecentlyUsedValue() {
+    val cache = createSingleStripeCache(maxSizeBytes = 10)
+    cache.put("first", "aaaa")
+    cache.put("second", "bbbb")
+    cache.get("first")
+
+    cache.put("third", "cccc")
+
+    // Reading 'first' makes 'second' the least recently used value.
+    assertThat(cache.get("first")).isEqualTo("aaaa")
+    assertThat(cache.get("second")).isNull()
+    assertThat(cache.get("third")).isEqualTo("cccc")
+  }
+
+  @Test
+  fun testPut_largeValue_evictsMultipleValues() {
+    val cache = createSingleStripeCache(maxSizeBytes = 10)
+    cache.put("first", "aaa")
+    cache.put("second", "bbb")
+    cache.put("third", "ccc")
+
+    cache.put("fourth", "ddddddd")
+
+    assertThat(cache.get("first")).isNull()
+    assertThat(cache.get("second")).isNull()
+    assertThat(cache.get("third")).isEqualTo("ccc")
+    assertThat(cache.get("fourth")).isEqualTo("ddddddd")
+  }
+
+  @Test
+  fun testPut_valueLargerThanCapacity_isNotCached() {
+    val cache = createSingleStripeCache(maxSizeBytes = 10)
+    cache.put("first", "aaaa")
+
+    cache.put("second", "bbbbbbbbbbbb")
+
+    // The oversized value shouldn't be cached, nor should it evict anything.
+    assertThat(cache.get("second")).isNull()
+    assertThat(cache.get("first")).isEqualTo("aaaa")
+  }
+
+  @Test
+  fun testPut_valueLargerThanStripe_withLargeValueSlot_cachesValue() {
+    // Each of the 4 stripes only has room for 10 bytes.
+    val cache = createCacheWithLargeValueSlot(maxSizeBytes = 60, largeValueSlotSizeBytes = 20)
+
+    cache.put("key", "a value over ten")
+
+    assertThat(cache.get("key")).isEqualTo("a value over ten")
+    assertThat(cache.getSizeBytes()).isEqualTo(16)
+  }
+
+  @Test
+  fun testPut_valueLargerThanStripe_withoutLargeValueSlot_isNotCached() {
+    val cache = createCacheWithLargeValueSlot(maxSizeBytes = 40, largeValueSlotSizeBytes = 0)
+
+    cache.put("key", "a value over ten")
+
+    assertThat(cache.get("key")).isNull()
+  }
+
+  @Test
+  fun testPut_valueLargerThanLargeValueSlot_isNotCached() {
+    val cache = createCacheWithLargeValueSlot(maxSizeBytes = 60, largeValueSlotSizeBytes = 20)
+
+    cache.put("key", "a value which is too long for the slot")
+
+    assertThat(cache.get("key")).isNull()
+    assertThat(cache.getSizeBytes()).isEqualTo(0)
+  }
+
+  @Test
+  fun testPut_largeValues_exceedSlotCapacity_evictsLeastRecentlyUsedLargeValue() {
+    val cache = createCacheWithLargeValueSlot(maxSizeBytes = 60, largeValueSlotSizeBytes = 25)
+    cache.put("first", "aaaaaaaaaaaa")
+    cache.put("small", "ccc")
+
+    cache.put("second", "bbbbbbbbbbbb")
+    cache.put("third", "dddddddddddd")
+
+    // Large values only evict one another, so the small value should be unaffected.
+    assertThat(cache.get("first")).isNull()
+    assertThat(cache.get("second")).isEqualTo("bbbbbbbbbbbb")
+    assertThat(cache.get("third")).isEqualTo("dddddddddddd")
+    assertThat(cache.get("small")).isEqualTo("ccc")
+    assertThat(cache.getSizeBytes()).isAtMost(60)
+  }
+
+  @Test
+  fun testPut_replaceLargeValueWithSmallValue_removesLargeValue() {
+    val cache = createCacheWithLargeValueSlot(maxSizeBytes = 60, largeValueSlotSizeBytes = 20)
+    cache.put("key", "a value over ten")
+
+    cache.put("key", "small")
+
+    assertThat(cache.get("key")).isEqualTo("small")
+    assertThat(cache.getSizeBytes()).isEqualTo(5)
+  }
+
+  @Test
+  fun testRemove_largeValue_removesValueAndSize() {
+    val cache = createCacheWithLargeValueSlot(maxSizeBytes = 60, largeValueSlotSizeBytes = 20)
+    cache.put("key", "a value over ten")
+
+    cache.remove("key")
+
+    assertThat(cache.get("key")).isNull()
+    assertThat(cache.getSizeBytes()).isEqualTo(0)
+  }
+
+  @Test
+  fun testClear_withLargeValue_removesAllValues() {
+    val cache = createCacheWithLargeValueSlot(maxSizeBytes = 60, largeValueSlotSizeBytes = 20)
+    cache.put("large", "a value over ten")
+    cache.put("small", "value")
+
+    cache.clear()
+
+    assertThat(cache.get("large")).isNull()
+    assertThat(cache.get("small")).isNull()
+    assertThat(cache.getSizeBytes()).isEqualTo(0)
+  }
+
+  @Test
+  fun testGetOrPut_missingValue_loadsAndCachesValue() {
+    val cache = createSingleStripeCache(maxSizeBytes = 10)
+    val loadCount = AtomicInteger()
+
+    val value = cache.getOrPut("key") { "value".also { loadCount.incrementAndGet() } }
+
+    assertThat(value).isEqualTo("value")
+    assertThat(cache.get("key")).isEqualTo("value")
+    assertThat(loadCount.get()).isEqualTo(1)
+  }
+
+  @Test
+  fun testGetOrPut_cachedValue_doesNotReload() {
+    val cache = createSingleStripeCache(maxSizeBytes = 10)
+    val loadCount = AtomicInteger()
+    cache.getOrPut("key") { "value".also { loadCount.incrementAndGet() } }
+
+    val value = cache.getOrPut("key") { "other".also { loadCount.incrementAndGet() } }
+
+    assertThat(value).isEqualTo("value")
+    assertThat(loadCount.get()).isEqualTo(1)
+  }
+
+  @Test
+  fun testGetOrPut_valueLargerThanCapacity_returnsValueWithoutCachingIt() {
+    val cache = createSingleStripeCache(maxSizeBytes = 10)
+
+    val value = cache.getOrPut("key") { "a value that is too long" }
+
+    assertThat(value).isEqualTo("a value that is too long")
+    assertThat(cache.get("key")).isNull()
+  }
+
+  @Test
+  fun testGetOrPut_loadFails_propagatesFailureWithoutCaching() {
+    val cache = createSingleStripeCache(maxSizeBytes = 10)
+
+    val exception = assertThrows<IllegalStateException>() {
+      cache.getOrPut("key") { throw IllegalStateException("Failed to load") }
+    }
+
+    assertThat(exception).hasMessageThat().contains("Failed to load")
+    assertThat(cache.get("key")).isNull()
+  }
+
+  @Test
+  fun testRemove_cachedValue_removesValueAndSize() {
+    val cache = createSingleStripeCache(maxSizeBytes = 10)
+    cache.put("key", "value")
+
+    cache.remove("key")
+
+    assertThat(cache.get("key")).isNull()
+    assertThat(cache.getSizeBytes()).isEqualTo(0)
+  }
+
+  @Test
+  fun testClear_removesAllValues() {
+    val cache = StripedLruCache<String, String>(
+      maxSizeBytes = 100, stripeCount = 4
+    ) { _, value -> value.length }
+    cache.put("first", "aaaa")
+    cache.put("second", "bbbb")
+
+    cache.clear()
+
+    assertThat(cache.get("first")).isNull()
+    assertThat(cache.get("second")).isNull()
+    assertThat(cache.getSizeBytes()).isEqualTo(0)
+  }
+
+  @Test
+  fun testPut_multipleStripes_manyValues_totalSizeNeverExceedsMaximum() {
+    val cache = StripedLruCache<Int, String>(
+      maxSizeBytes = 100, stripeCount = 4
+    ) { _, value -> value.length }
+
+    repeat(100) { cache.put(it, "value$it") }
+
+    assertThat(cache.getSizeBytes()).isAtMost(100)
+  }
+
+  @Test
+  fun testGetOrPut_concurrentAccesses_returnCorrectValuesAndStayBounded() {
+    val cache = StripedLruCache<Int, String>(
+      maxSizeBytes = 200, stripeCount = 4
+    ) { _, value -> value.length }
+    val executor = Executors.newFixedThreadPool(/* nThreads= */ 4)
+    val mismatchCount = AtomicInteger()
+    val completedLatch = CountDownLatch(1000)
+
+    repeat(1000) { index ->
+      executor.execute {
+        val key = index % 50
+        if (cache.getOrPut(key) { "value$key" } != "value$key") mismatchCount.incrementAndGet()
+        completedLatch.countDown()
+      }
+    }
+
+    assertThat(completedLatch.await(5, TimeUnit.SECONDS)).isTrue()
+    executor.shutdown()
+    assertThat(mismatchCount.get()).isEqualTo(0)
+    assertThat(cache.getSizeBytes()).isAtMost(200)
+  }
+
+  @Test
+  fun testCreate_zeroStripes_throwsException() {
+    val exception = assertThrows<IllegalArgumentException>() {
+      StripedLruCache<String, String>(maxSizeBytes = 10, stripeCount = 0) { _, _ -> 0 }
+    }
+
+    assertThat(exception).hasMessageThat().contains("Expected at least one stripe")
+  }
+
+  @Test
+  fun testCreate_largeValueSlotLargerThanMaximumSize_throwsException() {
+    val exception = assertThrows<IllegalArgumentException>() {
+      StripedLruCache<String, String>(
+        maxSizeBytes = 10, stripeCount = 1, largeValueSlotSizeBytes = 20
+      ) { _, _ -> 0 }
+    }
+
+    assertThat(exception).hasMessageThat().contains("Expected large value slot size")
+  }
+
+  private fun createSingleStripeCache(maxSizeBytes: Long): StripedLruCache<String, String> {
+    return StripedLruCache(maxSizeBytes, stripeCount = 1) { _, value -> value.length }
+  }
+
+  private fun createCacheWithLargeValueSlot(
+    maxSizeBytes: Long,
+    largeValueSlotSizeBytes: Long
+  ): StripedLruCache<String, String> {
+    return StripedLruCache(
+      maxSizeBytes, stripeCount = 4, largeValueSlotSizeBytes = largeValueSlotSizeBytes
+    ) { _, value -> value.length }
+  }
+}
@@ -486,6 +486,73 @@ class AsyncDataSubscriptionManagerTest {
     verify(mockSubscriptionCallback3).callback()
   }
 
+  @Test
+  fun testAssociateIds_subscribeToGrandchildAfterAssociation_notifyGrandparent_invokesCallback() {
+    // Parent -> child1, child1 -> child2
+    asyncDataSubscriptionManager.associateIds("child_id1", "parent_id")
+    asyncDataSubscriptionManager.associateIds("child_id2", "child_id1")
+
+    asyncDataSubscriptionManager.subscribe("child_id2", mockSubscriptionCallback1.toAsyncChange())
+    runBlocking(notifierDispatcher) { asyncDataSubscriptionManager.notifyChange("parent_id") }
+
+    // Subscriptions made after associations should still be notified through those associations.
+    verify(mockSubscriptionCallback1).callback()
+  }
+
+  @Test
+  fun testAssociateIds_associateGrandparentAfterChild_notifyGrandparent_invokesChildCallback() {
+    asyncDataSubscriptionManager.subscribe("child_id2", mockSubscriptionCallback1.toAsyncChange())
+
+    // Associate in reverse order: child1 -> child2, then parent -> child1.
+    asyncDataSubscriptionManager.associateIds("child_id2", "child_id1")
+    asyncDataSubscriptionManager.associateIds("child_id1", "parent_id")
+    runBlocking(notifierDispatcher) { asyncDataSubscriptionManager.notifyChange("parent_id") }
+
+    verify(mockSubscriptionCallback1).callback()
+  }
+
+  @Test
+  fun testDissociateIds_indirectChild_notifyGrandparent_doesNotInvokeChildCallback() {
+    asyncDataSubscriptionManager.subscribe("child_id2", mockSubscriptionCallback1.toAsyncChange())
+    asyncDataSubscriptionManager.associateIds("child_id1", "parent_id")
+    asyncDataSubscriptionManager.associateIds("child_id2", "child_id1")
+
+    asyncDataSubscriptionManager.dissociateIds("child_id2", "child_id1")
+    runBlocking(notifierDispatcher) { asyncDataSubscriptionManager.notifyChange("parent_id") }
+
+    // The grandparent is no longer associated with the grandchild.
+    verify(mockSubscriptionCallback1, never()).callback()
+  }
+
+  @Test
+  fun testDissociateIds_oneOfTwoPathsToChild_notifyGrandparent_stillInvokesChildCallback() {
+    asyncDataSubscriptionManager.subscribe("child_id2", mockSubscriptionCallback1.toAsyncChange())
+    // Parent -> child1, child1 -> child2, parent -> child2
+    asyncDataSubscriptionManager.associateIds("child_id1", "parent_id")
+    asyncDataSubscriptionManager.associateIds("child_id2", "child_id1")
+    asyncDataSubscriptionManager.associateIds("child_id2", "parent_id")
+
+    asyncDataSubscriptionManager.dissociateIds("child_id2", "child_id1")
+    runBlocking(notifierDispatcher) { asyncDataSubscriptionManager.notifyChange("parent_id") }
+
+    // The grandchild is still directly associated with the parent.
+    verify(mockSubscriptionCallback1).callback()
+  }
+
+  @Test
+  fun testAssociateIds_failedDueToCycle_notifyParent_stillInvokesExistingChildCallback() {
+    asyncDataSubscriptionManager.subscribe("child_id", mockSubscriptionCallback1.toAsyncChange())
+    asyncDataSubscriptionManager.associateIds("child_id", "parent_id")
+    assertThrows<IllegalStateException>() {
+      asyncDataSubscriptionManager.associateIds("parent_id", "child_id")
+    }
+
+    runBlocking(notifierDispatcher) { asyncDataSubscriptionManager.notifyChange("parent_id") }
+
+    // The failed association shouldn't affect existing associations.
+    verify(mockSubscriptionCallback1).callback()
+  }
+
   @Test
   fun testNotifyChangeAsync_forValidSubscription_doNotRunDispatcher_doesNothing() {
     asyncDataSubscriptionManager.subscribe("test_sub", mockSubscriptionCallback1.toAsyncChange())
@@ -0,0 +1,251 @@
+package org.oppia.android.util.data
+
+import android.app.Application
+import android.content.Context
+import androidx.test.core.app.ApplicationProvider
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import com.google.common.truth.Truth.assertThat
+import dagger.BindsInstance
+import dagger.Component
+import dagger.Module
+import dagger.Provides
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.oppia.android.testing.assertThrows
+import org.oppia.android.testing.robolectric.RobolectricModule
+import org.oppia.android.testing.threading.BackgroundTestDispatcher
+import org.oppia.android.testing.threading.TestCoroutineDispatcher
+import org.oppia.android.testing.threading.TestCoroutineDispatchers
+import org.oppia.android.testing.threading.TestDispatcherModule
+import org.oppia.android.testing.time.FakeOppiaClockModule
+import org.robolectric.annotation.Config
+import org.robolectric.annotation.LooperMode
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/** Tests for [CoalescingUpdater]. */
+// FunctionName: test names are conventionally named with underscores.
+@Suppress("FunctionName")
+@RunWith(AndroidJUnit4::class)
+@LooperMode(LooperMode.Mode.PAUSED)
+@Config(manifest = Config.NONE)
+class CoalescingUpdaterTest {
+  @Inject lateinit var testCoroutineDispatchers: TestCoroutineDispatchers
+  @field:[Inject BackgroundTestDispatcher]
+  lateinit var backgroundTestDispatcher: TestCoroutineDispatcher
+
+  private var updateCount = 0
+
+  @Before
+  fun setUp() {
+    setUpTestApplicationComponent()
+  }
+
+  @Test
+  fun testRequestUpdate_beforeDispatcherRuns_doesNotUpdate() {
+    val updater = CoalescingUpdater(backgroundTestDispatcher) { updateCount++ }
+
+    updater.requestUpdate()
+
+    assertThat(updateCount).isEqualTo(0)
+  }
+
+  @Test
+  fun testRequestUpdate_afterDispatcherRuns_updatesOnce() {
+    val updater = CoalescingUpdater(backgroundTestDispatcher) { updateCount++ }
+
+    updater.requestUpdate()
+    testCoroutineDispatchers.runCurrent()
+
+    assertThat(updateCount).isEqualTo(1)
+  }
+
+  @Test
+  fun testRequestUpdate_multipleTimesBeforeDispatcherRuns_updatesOnce() {
+    val updater = CoalescingUpdater(backgroundTestDispatcher) { updateCount++ }
+
+    updater.requestUpdate()
+    updater.requestUpdate()
+    updater.requestUpdate()
+    testCoroutineDispatchers.runCurrent()
+
+    assertThat(updateCount).isEqualTo(1)
+  }
+
+  @Test
+  fun testRequestUpdate_separatedByDispatcherRuns_updatesForEach() {
+    val updater = CoalescingUpdater(backgroundTestDispatcher) { updateCount++ }
+
+    updater.requestUpdate()
+    testCoroutineDispatchers.runCurrent()
+    updater.requestUpdate()
+    testCoroutineDispatchers.runCurrent()
+
+    assertThat(updateCount).isEqualTo(2)
+  }
+
+  @Test
+  fun testRequestUpdate_duringUpdate_updatesOnceMoreAfterward() {
+    lateinit var updater: CoalescingUpdater
+    updater = CoalescingUpdater(backgroundTestDispatcher) {
+      // Simulate multiple requests arriving while the first update is running.
+      if (++updateCount == 1) {
+        updater.requestUpdate()
+        updater.requestUpdate()
+      }
+    }
+
+    updater.requestUpdate()
+    testCoroutineDispatchers.runCurrent()
+
+    // Requests received during an update should result in exactly one more update.
+    assertThat(updateCount).isEqualTo(2)
+  }
+
+  @Test
+  fun testRequestUpdate_withWindow_beforeWindowElapses_doesNotUpdate() {
+    val updater =
+      CoalescingUpdater(backgroundTestDispatcher, coalescingWindowMillis = 100) { updateCount++ }
+
+    updater.requestUpdate()
+    testCoroutineDispatchers.advanceTimeBy(99)
+
+    assertThat(updateCount).isEqualTo(0)
+  }
+
+  @Test
+  fun testRequestUpdate_withWindow_multipleRequestsWithinWindow_updatesOnceAfterWindow() {
+    val updater =
+      CoalescingUpdater(backgroundTestDispatcher, coalescingWindowMillis = 100) { updateCount++ }
+
+    updater.requestUpdate()
+    testCoroutineDispatchers.advanceTimeBy(50)
+    updater.requestUpdate()
+    testCoroutineDispatchers.advanceTimeBy(50)
+
+    assertThat(updateCount).isEqualTo(1)
+  }
+
+  @Test
+  fun testRequestUpdate_withWindow_withoutCoalescing_updatesImmediately() {
+    val updater =
+      CoalescingUpdater(backgroundTestDispatcher, coalescingWindowMillis = 100) { updateCount++ }
+
+    updater.requestUpdate(coalesce = false)
+    testCoroutineDispatchers.runCurrent()
+
+    assertThat(updateCount).isEqualTo(1)
+  }
+
+  @Test
+  fun testRequestUpdate_withWindow_withoutCoalescing_afterCoalescedRequest_updatesImmediately() {
+    val updater =
+      CoalescingUpdater(backgroundTestDispatcher, coalescingWindowMillis = 100) { updateCount++ }
+    updater.requestUpdate()
+
+    updater.requestUpdate(coalesce = false)
+    testCoroutineDispatchers.runCurrent()
+
+    // The non-coalesced request shouldn't wait for the already scheduled update's window.
+    assertThat(updateCount).isEqualTo(1)
+  }
+
+  @Test
+  fun testRequestUpdate_withWindow_withoutCoalescing_afterCoalescedRequest_doesNotUpdateAgain() {
+    val updater =
+      CoalescingUpdater(backgroundTestDispatcher, coalescingWindowMillis = 100) { updateCount++ }
+    updater.requestUpdate()
+
+    updater.requestUpdate(coalesce = false)
+    testCoroutineDispatchers.advanceTimeBy(100)
+
+    // The preempted update shouldn't also run once its window elapses.
+    assertThat(updateCount).isEqualTo(1)
+  }
+
+  @Test
+  fun testRequestUpdate_withWindow_afterPreemption_coalescesNewRequests() {
+    val updater =
+      CoalescingUpdater(backgroundTestDispatcher, coalescingWindowMillis = 100) { updateCount++ }
+    updater.requestUpdate()
+    updater.requestUpdate(coalesce = false)
+    testCoroutineDispatchers.runCurrent()
+
+    updater.requestUpdate()
+    testCoroutineDispatchers.advanceTimeBy(99)
+    val updateCountBeforeWindow = updateCount
+    testCoroutineDispatchers.advanceTimeBy(1)
+
+    assertThat(updateCountBeforeWindow).isEqualTo(1)
+    assertThat(updateCount).isEqualTo(2)
+  }
+
+  @Test
+  fun testCancel_afterRequest_doesNotUpdate() {
+    val updater = CoalescingUpdater(backgroundTestDispatcher) { updateCount++ }
+    updater.requestUpdate()
+
+    updater.cancel()
+    testCoroutineDispatchers.runCurrent()
+
+    assertThat(updateCount).isEqualTo(0)
+  }
+
+  @Test
+  fun testCancel_thenRequestUpdate_updatesOnce() {
+    val updater = CoalescingUpdater(backgroundTestDispatcher) { updateCount++ }
+    updater.requestUpdate()
+    updater.cancel()
+
+    updater.requestUpdate()
+    testCoroutineDispatchers.runCurrent()
+
+    assertThat(updateCount).isEqualTo(1)
+  }
+
+  @Test
+  fun testCreateUpdater_negativeWindow_throwsException() {
+    val exception = assertThrows<IllegalArgumentException>() {
+      CoalescingUpdater(backgroundTestDispatcher, coalescingWindowMillis = -1) { updateCount++ }
+    }
+
+    assertThat(exception).hasMessageThat().contains("Expected non-negative coalescing window")
+  }
+
+  private fun setUpTestApplicationComponent() {
+    DaggerCoalescingUpdaterTest_TestApplicationComponent.builder()
+      .setApplication(ApplicationProvider.getApplicationContext())
+      .build()
+      .inject(this)
+  }
+
+  @Module
+  class TestModule {
+    @Provides
+    @Singleton
+    fun provideContext(application: Application): Context {
+      return application
+    }
+  }
+
+  // TODO(#89): Move this to a common test application component.
+  @Singleton
+  @Component(
+    modules = [
+      TestModule::class, TestDispatcherModule::class, RobolectricModule::class,
+      FakeOppiaClockModule::class
+    ]
+  )
+  interface TestApplicationComponent {
+    @Component.Builder
+    interface Builder {
+      @BindsInstance
+      fun setApplication(application: Application): Builder
+
+      fun build(): TestApplicationComponent
+    }
+
+    fun inject(coalescingUpdaterTest: CoalescingUpdaterTest)
+  }
+}
@@ -0,0 +1,115 @@
+package org.oppia.android.util.data
+
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import com.google.common.truth.Truth.assertThat
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.oppia.android.util.data.DataProviderMemoizationMetrics.MemoizationStats
+import org.robolectric.annotation.Config
+import org.robolectric.annotation.LooperMode
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+private const val PROVIDER_ID_0 = "provider_id_0"
+private const val PROVIDER_ID_1 = "provider_id_1"
+
+/** Tests for [DataProviderMemoizationMetrics]. */
+// FunctionName: test names are conventionally named with underscores.
+@Suppress("FunctionName")
+@RunWith(AndroidJUnit4::class)
+@LooperMode(LooperMode.Mode.PAUSED)
+@Config(manifest = Config.NONE)
+class DataProviderMemoizationMetricsTest {
+  private val metrics = DataProviderMemoizationMetrics()
+
+  @Test
+  fun testGetHitCount_noRecords_returnsZero() {
+    assertThat(metrics.getHitCount(PROVIDER_ID_0)).isEqualTo(0)
+  }
+
+  @Test
+  fun testGetMissCount_noRecords_returnsZero() {
+    assertThat(metrics.getMissCount(PROVIDER_ID_0)).isEqualTo(0)
+  }
+
+  @Test
+  fun testRecordHit_multipleTimes_incrementsHitCountOnly() {
+    metrics.recordHit(PROVIDER_ID_0)
+    metrics.recordHit(PROVIDER_ID_0)
+
+    assertThat(metrics.getHitCount(PROVIDER_ID_0)).isEqualTo(2)
+    assertThat(metrics.getMissCount(PROVIDER_ID_0)).isEqualTo(0)
+  }
+
+  @Test
+  fun testRecordMiss_multipleTimes_incrementsMissCountOnly() {
+    metrics.recordMiss(PROVIDER_ID_0)
+    metrics.recordMiss(PROVIDER_ID_0)
+    metrics.recordMiss(PROVIDER_ID_0)
+
+    assertThat(metrics.getMissCount(PROVIDER_ID_0)).isEqualTo(3)
+    assertThat(metrics.getHitCount(PROVIDER_ID_0)).isEqualTo(0)
+  }
+
+  @Test
+  fun testRecordHitAndMiss_differentProviders_tracksEachProviderSeparately() {
+    metrics.recordHit(PROVIDER_ID_0)
+    metrics.recordMiss(PROVIDER_ID_1)
+    metrics.recordMiss(PROVIDER_ID_1)
+
+    assertThat(metrics.getHitCount(PROVIDER_ID_0)).isEqualTo(1)
+    assertThat(metrics.getMissCount(PROVIDER_ID_0)).isEqualTo(0)
+    assertThat(metrics.getHitCount(PROVIDER_ID_1)).isEqualTo(0)
+    assertThat(metrics.getMissCount(PROVIDER_ID_1)).isEqualTo(2)
+  }
+
+  @Test
+  fun testComputeStatsSnapshot_noRecords_returnsEmptyMap() {
+    assertThat(metrics.computeStatsSnapshot()).isEmpty()
+  }
+
+  @Test
+  fun testComputeStatsSnapshot_withRecords_returnsStatsForEachRecordedProvider() {
+    metrics.recordMiss(PROVIDER_ID_0)
+    metrics.recordHit(PROVIDER_ID_0)
+    metrics.recordHit(PROVIDER_ID_0)
+    metrics.recordMiss(PROVIDER_ID_1)
+
+    assertThat(metrics.computeStatsSnapshot()).containsExactly(
+      PROVIDER_ID_0, MemoizationStats(hitCount = 2, missCount = 1),
+      PROVIDER_ID_1, MemoizationStats(hitCount = 0, missCount = 1)
+    )
+  }
+
+  @Test
+  fun testComputeStatsSnapshot_laterRecords_doNotChangeSnapshot() {
+    metrics.recordHit(PROVIDER_ID_0)
+    val snapshot = metrics.computeStatsSnapshot()
+
+    metrics.recordHit(PROVIDER_ID_0)
+    metrics.recordMiss(PROVIDER_ID_1)
+
+    assertThat(snapshot).containsExactly(
+      PROVIDER_ID_0, MemoizationStats(hitCount = 1, missCount = 0)
+    )
+  }
+
+  @Test
+  fun testRecordHitAndMiss_concurrently_countsEveryRecord() {
+    val executor = Executors.newFixedThreadPool(/* nThreads= */ 4)
+    val completedLatch = CountDownLatch(1000)
+
+    repeat(1000) { index ->
+      executor.execute {
+        if (index % 2 == 0) metrics.recordHit(PROVIDER_ID_0) else metrics.recordMiss(PROVIDER_ID_0)
+        completedLatch.countDown()
+      }
+    }
+
+    assertThat(completedLatch.await(5, TimeUnit.SECONDS)).isTrue()
+    executor.shutdown()
+    assertThat(metrics.getHitCount(PROVIDER_ID_0)).isEqualTo(500)
+    assertThat(metrics.getMissCount(PROVIDER_ID_0)).isEqualTo(500)
+  }
+}
@@ -40,9 +40,12 @@ import org.oppia.android.testing.time.FakeOppiaClockModule
 import org.oppia.android.testing.time.FakeSystemClock
 import org.oppia.android.util.data.DataProviders.Companion.combineWith
 import org.oppia.android.util.data.DataProviders.Companion.combineWithAsync
+import org.oppia.android.util.data.DataProviders.Companion.combineWithMemoized
 import org.oppia.android.util.data.DataProviders.Companion.toLiveData
 import org.oppia.android.util.data.DataProviders.Companion.transform
 import org.oppia.android.util.data.DataProviders.Companion.transformAsync
+import org.oppia.android.util.data.DataProviders.Companion.transformAsyncMemoized
+import org.oppia.android.util.data.DataProviders.Companion.transformMemoized
 import org.oppia.android.util.data.DataProviders.Companion.transformNested
 import org.oppia.android.util.threading.BackgroundDispatcher
 import org.robolectric.annotation.Config
@@ -81,6 +84,7 @@ class DataProvidersTest {
   @Inject lateinit var fakeExceptionLogger: FakeExceptionLogger
   @Inject lateinit var testCoroutineDispatchers: TestCoroutineDispatchers
   @Inject lateinit var monitorFactory: DataProviderTestMonitor.Factory
+  @Inject lateinit var memoizationMetrics: DataProviderMemoizationMetrics
 
   @Inject
   @field:BackgroundDispatcher
@@ -278,6 +282,30 @@ class DataProvidersTest {
     verifyNoMoreInteractions(mockIntLiveDataObserver)
   }
 
+  @Test
+  fun testConvertToLiveData_burstOfNotifications_retrievesDataOnceForBurst() {
+    val simpleDataProvider = object : DataProvider<Int>(application) {
+      var callCount = 0
+
+      override fun getId(): Any = "simple_data_provider"
+
+      override suspend fun retrieveData(): AsyncResult<Int> = AsyncResult.Success(++callCount)
+    }
+    simpleDataProvider.toLiveData().observeForever(mockIntLiveDataObserver)
+    testCoroutineDispatchers.advanceUntilIdle()
+
+    asyncDataSubscriptionManager.notifyChangeAsync(simpleDataProvider.getId())
+    asyncDataSubscriptionManager.notifyChangeAsync(simpleDataProvider.getId())
+    asyncDataSubscriptionManager.notifyChangeAsync(simpleDataProvider.getId())
+    testCoroutineDispatchers.advanceUntilIdle()
+
+    // All three notifications arrive before the data can be re-retrieved, so they're coalesced into
+    // a single retrieval (in addition to the initial one).
+    verify(mockIntLiveDataObserver, atLeastOnce()).onChanged(intResultCaptor.capture())
+    assertThat(intResultCaptor.value).isIntSuccessThat().isEqualTo(2)
+    assertThat(simpleDataProvider.callCount).isEqualTo(2)
+  }
+
   @Test
   fun testInMemoryDataProvider_toLiveData_deliversInMemoryValue() {
     val dataProvider = createSuccessfulDataProvider(BASE_PROVIDER_ID_0, STR_VALUE_0)
@@ -2758,6 +2786,147 @@ class DataProvidersTest {
     assertThat(exception).hasMessageThat().contains("Combine failure")
   }
 
+  @Test
+  fun testTransformMemoized_providesTransformedValue() {
+    val baseProvider = createSuccessfulDataProvider(BASE_PROVIDER_ID_0, STR_VALUE_0)
+
+    val dataProvider =
+      baseProvider.transformMemoized(TRANSFORMED_PROVIDER_ID) { transformString(it) }
+
+    val result = monitorFactory.waitForNextSuccessfulResult(dataProvider)
+    assertThat(result).isEqualTo(STR_VALUE_0.length)
+  }
+
+  @Test
+  fun testTransformMemoized_retrievedTwice_unchangedBase_transformsOnce() {
+    val baseProvider = createSuccessfulDataProvider(BASE_PROVIDER_ID_0, STR_VALUE_0)
+    var transformCount = 0
+    val dataProvider = baseProvider.transformMemoized(TRANSFORMED_PROVIDER_ID) {
+      transformCount++
+      transformString(it)
+    }
+
+    monitorFactory.waitForNextSuccessfulResult(dataProvider)
+    val result = monitorFactory.waitForNextSuccessfulResult(dataProvider)
+
+    assertThat(result).isEqualTo(STR_VALUE_0.length)
+    assertThat(transformCount).isEqualTo(1)
+    assertThat(memoizationMetrics.getMissCount(TRANSFORMED_PROVIDER_ID)).isEqualTo(1)
+    assertThat(memoizationMetrics.getHitCount(TRANSFORMED_PROVIDER_ID)).isEqualTo(1)
+  }
+
+  @Test
+  fun testTransformMemoized_changedBase_retransformsWithNewValue() {
+    inMemoryCachedStr = STR_VALUE_0
+    val baseProvider =
+      dataProviders.createInMemoryDataProvider(BASE_PROVIDER_ID_0) { inMemoryCachedStr!! }
+    val dataProvider = baseProvider.transformMemoized(TRANSFORMED_PROVIDER_ID) { "$it!" }
+    monitorFactory.waitForNextSuccessfulResult(dataProvider)
+
+    inMemoryCachedStr = STR_VALUE_1
+    val result = monitorFactory.waitForNextSuccessfulResult(dataProvider)
+
+    assertThat(result).isEqualTo("$STR_VALUE_1!")
+    assertThat(memoizationMetrics.getMissCount(TRANSFORMED_PROVIDER_ID)).isEqualTo(2)
+    assertThat(memoizationMetrics.getHitCount(TRANSFORMED_PROVIDER_ID)).isEqualTo(0)
+  }
+
+  @Test
+  fun testTransformMemoized_pendingBase_providesPendingWithoutMemoizing() {
+    val baseProvider = createPendingDataProvider<String>(BASE_PROVIDER_ID_0)
+
+    val dataProvider =
+      baseProvider.transformMemoized(TRANSFORMED_PROVIDER_ID) { transformString(it) }
+
+    monitorFactory.ensureDataProviderExecutes(dataProvider)
+    assertThat(memoizationMetrics.getMissCount(TRANSFORMED_PROVIDER_ID)).isEqualTo(0)
+    assertThat(memoizationMetrics.getHitCount(TRANSFORMED_PROVIDER_ID)).isEqualTo(0)
+  }
+
+  @Test
+  fun testTransformMemoized_throwingFunction_providesFailureAndLogsException() {
+    val baseProvider = createSuccessfulDataProvider(BASE_PROVIDER_ID_0, STR_VALUE_0)
+
+    val dataProvider = baseProvider.transformMemoized<String, Int>(TRANSFORMED_PROVIDER_ID) {
+      throw IllegalStateException("Transform failure")
+    }
+
+    val error = monitorFactory.waitForNextFailureResult(dataProvider)
+    assertThat(error).isInstanceOf(IllegalStateException::class.java)
+    assertThat(fakeExceptionLogger.getMostRecentException())
+      .hasMessageThat()
+      .contains("Transform failure")
+  }
+
+  @Test
+  fun testTransformAsyncMemoized_retrievedTwice_unchangedBase_transformsOnce() {
+    val baseProvider = createSuccessfulDataProvider(BASE_PROVIDER_ID_0, STR_VALUE_0)
+    var transformCount = 0
+    val dataProvider = baseProvider.transformAsyncMemoized(TRANSFORMED_PROVIDER_ID) {
+      transformCount++
+      AsyncResult.Success(transformString(it))
+    }
+
+    monitorFactory.waitForNextSuccessfulResult(dataProvider)
+    val result = monitorFactory.waitForNextSuccessfulResult(dataProvider)
+
+    assertThat(result).isEqualTo(STR_VALUE_0.length)
+    assertThat(transformCount).isEqualTo(1)
+  }
+
+  @Test
+  fun testCombineWithMemoized_retrievedTwice_unchangedBases_combinesOnce() {
+    val baseProvider1 = createSuccessfulDataProvider(BASE_PROVIDER_ID_0, STR_VALUE_0)
+    val baseProvider2 = createSuccessfulDataProvider(BASE_PROVIDER_ID_1, STR_VALUE_1)
+    var combineCount = 0
+    val dataProvider = baseProvider1.combineWithMemoized(
+      baseProvider2, COMBINED_PROVIDER_ID
+    ) { str1: String, str2: String ->
+      combineCount++
+      combineStrings(str1, str2)
+    }
+
+    monitorFactory.waitForNextSuccessfulResult(dataProvider)
+    val result = monitorFactory.waitForNextSuccessfulResult(dataProvider)
+
+    assertThat(result).isEqualTo(combineStrings(STR_VALUE_0, STR_VALUE_1))
+    assertThat(combineCount).isEqualTo(1)
+    assertThat(memoizationMetrics.getHitCount(COMBINED_PROVIDER_ID)).isEqualTo(1)
+  }
+
+  @Test
+  fun testCombineWithMemoized_secondBaseChanges_recombinesWithNewValue() {
+    inMemoryCachedStr = STR_VALUE_1
+    val baseProvider1 = createSuccessfulDataProvider(BASE_PROVIDER_ID_0, STR_VALUE_0)
+    val baseProvider2 =
+      dataProviders.createInMemoryDataProvider(BASE_PROVIDER_ID_1) { inMemoryCachedStr!! }
+    val dataProvider =
+      baseProvider1.combineWithMemoized(baseProvider2, COMBINED_PROVIDER_ID, ::combineStrings)
+    monitorFactory.waitForNextSuccessfulResult(dataProvider)
+
+    inMemoryCachedStr = STR_VALUE_2
+    val result = monitorFactory.waitForNextSuccessfulResult(dataProvider)
+
+    assertThat(result).isEqualTo(combineStrings(STR_VALUE_0, STR_VALUE_2))
+    assertThat(memoizationMetrics.getMissCount(COMBINED_PROVIDER_ID)).isEqualTo(2)
+  }
+
+  @Test
+  fun testMemoizationMetrics_computeStatsSnapshot_includesRetrievedProviders() {
+    val baseProvider = createSuccessfulDataProvider(BASE_PROVIDER_ID_0, STR_VALUE_0)
+    val dataProvider =
+      baseProvider.transformMemoized(TRANSFORMED_PROVIDER_ID) { transformString(it) }
+
+    monitorFactory.waitForNextSuccessfulResult(dataProvider)
+    monitorFactory.waitForNextSuccessfulResult(dataProvider)
+
+    val stats = memoizationMetrics.computeStatsSnapshot()
+    assertThat(stats).containsExactly(
+      TRANSFORMED_PROVIDER_ID,
+      DataProviderMemoizationMetrics.MemoizationStats(hitCount = 1, missCount = 1)
+    )
+  }
+
   @Test
   fun testConvertToSimpleDataProvider_singletonFlow_providerReturnsFlowValue() {
     val singletonFlow: StateFlow<String> = MutableStateFlow("test str")
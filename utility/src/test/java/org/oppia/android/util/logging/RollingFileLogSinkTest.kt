@@ -0,0 +1,241 @@
+package org.oppia.android.util.logging
+
+import android.app.Application
+import android.content.Context
+import androidx.test.core.app.ApplicationProvider
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import com.google.common.truth.Truth.assertThat
+import dagger.BindsInstance
+import dagger.Component
+import dagger.Module
+import dagger.Provides
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.oppia.android.testing.assertThrows
+import org.oppia.android.testing.robolectric.RobolectricModule
+import org.oppia.android.testing.threading.BackgroundTestDispatcher
+import org.oppia.android.testing.threading.TestCoroutineDispatcher
+import org.oppia.android.testing.threading.TestCoroutineDispatchers
+import org.oppia.android.testing.threading.TestDispatcherModule
+import org.oppia.android.testing.time.FakeOppiaClockModule
+import org.robolectric.annotation.Config
+import org.robolectric.annotation.LooperMode
+import java.io.File
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/** Tests for [RollingFileLogSink]. */
+// FunctionName: test names are conventionally named with underscores.
+@Suppress("FunctionName")
+@RunWith(AndroidJUnit4::class)
+@LooperMode(LooperMode.Mode.PAUSED)
+@Config(manifest = Config.NONE)
+class RollingFileLogSinkTest {
+  @Inject lateinit var context: Context
+  @Inject lateinit var testCoroutineDispatchers: TestCoroutineDispatchers
+  @field:[Inject BackgroundTestDispatcher]
+  lateinit var backgroundTestDispatcher: TestCoroutineDispatcher
+
+  private val logFile by lazy { File(context.filesDir, "test.log") }
+
+  @Before
+  fun setUp() {
+    setUpTestApplicationComponent()
+  }
+
+  @Test
+  fun testAppend_beforeWriterRuns_doesNotWriteToFile() {
+    val sink = createSink()
+
+    sink.append("first line")
+
+    assertThat(logFile.exists()).isFalse()
+  }
+
+  @Test
+  fun testAppend_afterWriterRuns_writesLineToFile() {
+    val sink = createSink()
+
+    sink.append("first line")
+    testCoroutineDispatchers.runCurrent()
+
+    assertThat(logFile.readLines()).containsExactly("first line")
+  }
+
+  @Test
+  fun testAppend_multipleLines_writesLinesInOrder() {
+    val sink = createSink()
+
+    sink.append("first line")
+    sink.append("second line")
+    sink.append("third line")
+    testCoroutineDispatchers.runCurrent()
+
+    assertThat(logFile.readLines())
+      .containsExactly("first line", "second line", "third line")
+      .inOrder()
+  }
+
+  @Test
+  fun testAppend_acrossMultipleDrains_appendsToExistingFile() {
+    val sink = createSink()
+    sink.append("first line")
+    testCoroutineDispatchers.runCurrent()
+
+    sink.append("second line")
+    testCoroutineDispatchers.runCurrent()
+
+    assertThat(logFile.readLines()).containsExactly("first line", "second line").inOrder()
+  }
+
+  @Test
+  fun testAppend_existingLogFile_appendsRatherThanTruncating() {
+    logFile.writeText("previous line\n")
+    val sink = createSink()
+
+    sink.append("new line")
+    testCoroutineDispatchers.runCurrent()
+
+    assertThat(logFile.readLines()).containsExactly("previous line", "new line").inOrder()
+  }
+
+  @Test
+  fun testAppend_moreLinesThanBufferCapacity_dropsExtraLines() {
+    val sink = createSink(bufferCapacity = 2)
+
+    sink.append("first line")
+    sink.append("second line")
+    sink.append("third line")
+
+    assertThat(sink.getDroppedLineCount()).isEqualTo(1)
+  }
+
+  @Test
+  fun testAppend_moreLinesThanBufferCapacity_writesDropMarkerAndRetainedLines() {
+    val sink = createSink(bufferCapacity = 2)
+
+    sink.append("first line")
+    sink.append("second line")
+    sink.append("third line")
+    testCoroutineDispatchers.runCurrent()
+
+    assertThat(logFile.readLines()).containsExactly(
+      "1 log line(s) were dropped due to a full buffer.", "first line", "second line"
+    ).inOrder()
+  }
+
+  @Test
+  fun testAppend_afterBufferDrained_acceptsNewLines() {
+    val sink = createSink(bufferCapacity = 2)
+    sink.append("first line")
+    sink.append("second line")
+    testCoroutineDispatchers.runCurrent()
+
+    sink.append("third line")
+    sink.append("fourth line")
+    testCoroutineDispatchers.runCurrent()
+
+    assertThat(sink.getDroppedLineCount()).isEqualTo(0)
+    assertThat(logFile.readLines()).hasSize(4)
+  }
+
+  @Test
+  fun testAppend_exceedsMaxFileSize_rollsOverToBackupFile() {
+    val sink = createSink(maxFileSizeBytes = 10)
+
+    sink.append("0123456789")
+    sink.append("second line")
+    testCoroutineDispatchers.runCurrent()
+
+    assertThat(File(logFile.path + ".1").readLines()).containsExactly("0123456789")
+    assertThat(logFile.readLines()).containsExactly("second line")
+  }
+
+  @Test
+  fun testAppend_exceedsMaxFileSizeRepeatedly_keepsOnlyMaxRolledFiles() {
+    val sink = createSink(maxFileSizeBytes = 10, maxRolledFileCount = 2)
+
+    sink.append("first line")
+    sink.append("second line")
+    sink.append("third line")
+    sink.append("fourth line")
+    testCoroutineDispatchers.runCurrent()
+
+    assertThat(File(logFile.path + ".1").readLines()).containsExactly("third line")
+    assertThat(File(logFile.path + ".2").readLines()).containsExactly("second line")
+    assertThat(File(logFile.path + ".3").exists()).isFalse()
+  }
+
+  @Test
+  fun testAppend_exceedsMaxFileSize_noRolledFiles_discardsOldLines() {
+    val sink = createSink(maxFileSizeBytes = 10, maxRolledFileCount = 0)
+
+    sink.append("first line")
+    sink.append("second line")
+    testCoroutineDispatchers.runCurrent()
+
+    assertThat(logFile.readLines()).containsExactly("second line")
+    assertThat(File(logFile.path + ".1").exists()).isFalse()
+  }
+
+  @Test
+  fun testCreateSink_nonPowerOfTwoBufferCapacity_throwsException() {
+    val exception = assertThrows<IllegalArgumentException>() { createSink(bufferCapacity = 3) }
+
+    assertThat(exception).hasMessageThat().contains("Expected buffer capacity to be a positive")
+  }
+
+  @Test
+  fun testCreateSink_nonPositiveMaxFileSize_throwsException() {
+    val exception = assertThrows<IllegalArgumentException>() { createSink(maxFileSizeBytes = 0) }
+
+    assertThat(exception).hasMessageThat().contains("Expected positive max file size")
+  }
+
+  private fun createSink(
+    maxFileSizeBytes: Long = 1024,
+    maxRolledFileCount: Int = 2,
+    bufferCapacity: Int = 16
+  ): RollingFileLogSink {
+    return RollingFileLogSink(
+      logFile, maxFileSizeBytes, maxRolledFileCount, bufferCapacity, backgroundTestDispatcher
+    )
+  }
+
+  private fun setUpTestApplicationComponent() {
+    DaggerRollingFileLogSinkTest_TestApplicationComponent.builder()
+      .setApplication(ApplicationProvider.getApplicationContext())
+      .build()
+      .inject(this)
+  }
+
+  @Module
+  class TestModule {
+    @Provides
+    @Singleton
+    fun provideContext(application: Application): Context {
+      return application
+    }
+  }
+
+  // TODO(#89): Move this to a common test application component.
+  @Singleton
+  @Component(
+    modules = [
+      TestModule::class, TestDispatcherModule::class, RobolectricModule::class,
+      FakeOppiaClockModule::class
+    ]
+  )
+  interface TestApplicationComponent {
+    @Component.Builder
+    interface Builder {
+      @BindsInstance
+      fun setApplication(application: Application): Builder
+
+      fun build(): TestApplicationComponent
+    }
+
+    fun inject(rollingFileLogSinkTest: RollingFileLogSinkTest)
+  }
+}
@@ -695,6 +695,114 @@ class ComparableOperationExtensionsTest {
     assertThat(result2).isFalse()
   }
 
+  @Test
+  fun testComputeStructuralHash_defaultOperations_returnsSameHash() {
+    val first = ComparableOperation.getDefaultInstance()
+    val second = ComparableOperation.getDefaultInstance()
+
+    assertThat(first.computeStructuralHash()).isEqualTo(second.computeStructuralHash())
+  }
+
+  @Test
+  fun testComputeStructuralHash_approximatelyEqualConstants_returnsSameHash() {
+    val first = createConstantOp(constant = 2)
+    val second = createConstantOp(constant = 2.000000000000001)
+
+    // Approximately equal operations must always have the same hash.
+    assertThat(first.isApproximatelyEqualTo(second)).isTrue()
+    assertThat(first.computeStructuralHash()).isEqualTo(second.computeStructuralHash())
+  }
+
+  @Test
+  fun testComputeStructuralHash_differentVariables_returnsDifferentHashes() {
+    val first = createVariableOp(name = "x")
+    val second = createVariableOp(name = "y")
+
+    assertThat(first.computeStructuralHash()).isNotEqualTo(second.computeStructuralHash())
+  }
+
+  @Test
+  fun testComputeStructuralHash_negatedVersusNotNegated_returnsDifferentHashes() {
+    val first = createVariableOp(name = "x")
+    val second = createVariableOp(name = "x").toNegated()
+
+    assertThat(first.computeStructuralHash()).isNotEqualTo(second.computeStructuralHash())
+  }
+
+  @Test
+  fun testComputeStructuralHash_invertedVersusNotInverted_returnsDifferentHashes() {
+    val first = createVariableOp(name = "x")
+    val second = createVariableOp(name = "x").toInverted()
+
+    assertThat(first.computeStructuralHash()).isNotEqualTo(second.computeStructuralHash())
+  }
+
+  @Test
+  fun testComputeStructuralHash_sumVersusProduct_returnsDifferentHashes() {
+    val first = createSumOp(createVariableOp(name = "x"), createVariableOp(name = "y"))
+    val second = createProductOp(createVariableOp(name = "x"), createVariableOp(name = "y"))
+
+    assertThat(first.computeStructuralHash()).isNotEqualTo(second.computeStructuralHash())
+  }
+
+  @Test
+  fun testComputeStructuralHash_squareRootVersusExponentiation_returnsDifferentHashes() {
+    val first = createSquareRootOp(arg = createVariableOp(name = "x"))
+    val second = createExpOp(lhs = createVariableOp(name = "x"), rhs = createConstantOp(2))
+
+    assertThat(first.computeStructuralHash()).isNotEqualTo(second.computeStructuralHash())
+  }
+
+  @Test
+  fun testComputeStructuralHash_fullOperation_withNesting_onlyConstantsDiffer_returnsSameHash() {
+    val first = createSumOp(
+      createProductOp(
+        createSumOp(
+          createVariableOp(name = "x"),
+          createConstantOp(constant = 3.14)
+        ),
+        createExpOp(
+          lhs = createConstantOp(constant = 3).toNegated(),
+          rhs = createSquareRootOp(arg = createConstantOp(3))
+        ).toInverted()
+      )
+    )
+    val second = createSumOp(
+      createProductOp(
+        createSumOp(
+          createVariableOp(name = "x"),
+          createConstantOp(constant = 3.14)
+        ),
+        createExpOp(
+          lhs = createConstantOp(constant = 2).toNegated(),
+          rhs = createSquareRootOp(arg = createConstantOp(3))
+        ).toInverted()
+      )
+    )
+
+    // Constants don't contribute to the hash, so a full comparison is needed to tell these apart.
+    assertThat(first.computeStructuralHash()).isEqualTo(second.computeStructuralHash())
+    assertThat(first.isApproximatelyEqualTo(second)).isFalse()
+  }
+
+  @Test
+  fun testComputeStructuralHash_fullOperation_withNesting_variableDiffers_returnsDifferentHashes() {
+    val first = createSumOp(
+      createProductOp(
+        createSumOp(createVariableOp(name = "x"), createConstantOp(constant = 3.14)),
+        createSquareRootOp(arg = createVariableOp(name = "y")).toInverted()
+      )
+    )
+    val second = createSumOp(
+      createProductOp(
+        createSumOp(createVariableOp(name = "x"), createConstantOp(constant = 3.14)),
+        createSquareRootOp(arg = createVariableOp(name = "z")).toInverted()
+      )
+    )
+
+    assertThat(first.computeStructuralHash()).isNotEqualTo(second.computeStructuralHash())
+  }
+
   private fun createConstantOp(constant: Int) = ComparableOperation.newBuilder().apply {
     constantTerm = createIntegerReal(constant)
   }.build()
@@ -0,0 +1,128 @@
+package org.oppia.android.util.math
+
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import com.google.common.truth.Truth.assertThat
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.oppia.android.util.math.MathExpressionParser.Companion.ErrorCheckingMode.ALL_ERRORS
+import org.oppia.android.util.math.MathExpressionParser.Companion.MathParsingResult
+import org.oppia.android.util.math.MathExpressionParser.Companion.parseAlgebraicExpression
+import org.robolectric.annotation.LooperMode
+
+/**
+ * JMH-style micro-benchmarks comparing the lazy, sequence-based [MathTokenizer.tokenize] path with
+ * the index-based [MathTokenizer.tokenizeToBuffer] path that [MathExpressionParser] now uses.
+ *
+ * Each benchmark runs a fixed number of warmup iterations (to give the JIT a chance to compile the
+ * hot paths) followed by measured iterations over a corpus of representative learner answers, and
+ * prints the average time per operation. Timings are only reported (never asserted on) since they
+ * depend on the host machine, but the tests do verify that both paths produce identical results so
+ * that the comparison is meaningful.
+ *
+ * Note that only tokenization is compared: the parser no longer has a sequence-based path, so the
+ * parsing benchmark only reports how long the current parser takes (including tokenization) to put
+ * the tokenizer timings into context.
+ *
+ * These benchmarks aren't part of the regular test suite (see [MathTokenizerTest] for the
+ * tokenizer's tests), so they need to be run explicitly:
+ *
+ * ```
+ * bazel test //utility/src/test/java/org/oppia/android/util/math:MathTokenizerBenchmarkTest \
+ *   --test_output=streamed
+ * ```
+ */
+// FunctionName: test names are conventionally named with underscores.
+@Suppress("FunctionName")
+@RunWith(AndroidJUnit4::class)
+@LooperMode(LooperMode.Mode.PAUSED)
+class MathTokenizerBenchmarkTest {
+  /** Sink for benchmark results so that the measured work can't be optimized away. */
+  private var blackhole: Long = 0
+
+  @Test
+  fun testBenchmark_tokenize_sequenceAndBufferPaths_produceSameTokens() {
+    val sequenceTokenCount = runBenchmark("tokenizeSequence") { expression ->
+      MathTokenizer.tokenize(expression).count()
+    }
+
+    val bufferTokenCount = runBenchmark("tokenizeToBuffer") { expression ->
+      MathTokenizer.tokenizeToBuffer(expression).size
+    }
+
+    assertThat(bufferTokenCount).isEqualTo(sequenceTokenCount)
+  }
+
+  @Test
+  fun testBenchmark_tokenizeAndMaterialize_sequenceAndBufferPaths_produceSameTokens() {
+    val sequenceIndexSum = runBenchmark("tokenizeSequenceToList") { expression ->
+      MathTokenizer.tokenize(expression).toList().sumOf { it.endIndex }
+    }
+
+    val bufferIndexSum = runBenchmark("tokenizeToBufferToList") { expression ->
+      MathTokenizer.tokenizeToBuffer(expression).toTokenList().sumOf { it.endIndex }
+    }
+
+    assertThat(bufferIndexSum).isEqualTo(sequenceIndexSum)
+  }
+
+  @Test
+  fun testBenchmark_parseAlgebraicExpression_bufferPath_parsesCorpusConsistently() {
+    val expectedSuccessCount = BENCHMARK_CORPUS.count(::isParsedSuccessfully)
+
+    val successCount = runBenchmark("parseAlgebraicExpression") { expression ->
+      if (isParsedSuccessfully(expression)) 1 else 0
+    }
+
+    // Every measured iteration over the corpus should parse the same expressions successfully.
+    assertThat(expectedSuccessCount).isGreaterThan(0)
+    assertThat(successCount).isEqualTo(MEASUREMENT_ITERATIONS.toLong() * expectedSuccessCount)
+  }
+
+  private fun isParsedSuccessfully(expression: String): Boolean {
+    val result = parseAlgebraicExpression(expression, ALLOWED_VARIABLES, ALL_ERRORS)
+    return result is MathParsingResult.Success
+  }
+
+  /**
+   * Runs [operation] over the benchmark corpus for [WARMUP_ITERATIONS] unmeasured iterations, then
+   * for [MEASUREMENT_ITERATIONS] measured iterations, printing the average time per operation.
+   * Returns the sum of [operation]'s results across the measured iterations.
+   */
+  private fun runBenchmark(name: String, operation: (String) -> Int): Long {
+    repeat(WARMUP_ITERATIONS) {
+      for (expression in BENCHMARK_CORPUS) blackhole += operation(expression)
+    }
+    var resultSum = 0L
+    val startTimeNanos = System.nanoTime()
+    repeat(MEASUREMENT_ITERATIONS) {
+      for (expression in BENCHMARK_CORPUS) resultSum += operation(expression)
+    }
+    val elapsedNanos = System.nanoTime() - startTimeNanos
+    blackhole += resultSum
+    val operationCount = MEASUREMENT_ITERATIONS.toLong() * BENCHMARK_CORPUS.size
+    println("Benchmark: $name avgt ${elapsedNanos / operationCount} ns/op (n=$operationCount)")
+    return resultSum
+  }
+
+  private companion object {
+    private const val WARMUP_ITERATIONS = 200
+    private const val MEASUREMENT_ITERATIONS = 1000
+
+    private val ALLOWED_VARIABLES = listOf("x", "y", "z")
+
+    private val BENCHMARK_CORPUS = listOf(
+      "1+2",
+      "3.14 * 2",
+      "2x^2 + 3x - 7",
+      "(x + 1)(x - 1)",
+      "sqrt(x^2 + y^2) / 2",
+      "√(16) + 3 × 4 ÷ 2 − 1",
+      "  12 . 5 * (y - 0.25)  ",
+      "x^(2) + 2xy + y^2",
+      "-(-(3z + 4))",
+      "2 + sqr(4)",
+      "1 # 2",
+      "(((x)))"
+    )
+  }
+}
@@ -3,12 +3,14 @@ package org.oppia.android.util.math
 import com.google.common.truth.Truth.assertThat
 import org.junit.Test
 import org.junit.runner.RunWith
+import org.oppia.android.testing.assertThrows
 import org.oppia.android.testing.junit.OppiaParameterizedTestRunner
 import org.oppia.android.testing.junit.OppiaParameterizedTestRunner.Iteration
 import org.oppia.android.testing.junit.OppiaParameterizedTestRunner.Parameter
 import org.oppia.android.testing.junit.OppiaParameterizedTestRunner.SelectRunnerPlatform
 import org.oppia.android.testing.junit.ParameterizedJunitTestRunner
 import org.oppia.android.testing.math.TokenSubject.Companion.assertThat
+import org.oppia.android.util.math.MathTokenizer.Companion.Token
 import org.robolectric.annotation.LooperMode
 
 /** Tests for [MathTokenizer]. */
@@ -21,6 +23,7 @@ class MathTokenizerTest {
   @Parameter lateinit var variableName: String
   @Parameter lateinit var funcName: String
   @Parameter lateinit var token: String
+  @Parameter lateinit var expression: String
 
   @Test
   fun testTokenize_emptyString_producesNoTokens() {
@@ -787,4 +790,104 @@ class MathTokenizerTest {
     assertThat(tokens[0]).isPositiveIntegerWhoseValue().isEqualTo(2)
     assertThat(tokens[1]).isPositiveIntegerWhoseValue().isEqualTo(3)
   }
+
+  @Test
+  fun testTokenizeToBuffer_emptyString_producesNoTokens() {
+    val buffer = MathTokenizer.tokenizeToBuffer("")
+
+    assertThat(buffer.size).isEqualTo(0)
+  }
+
+  @Test
+  fun testTokenizeToBuffer_onlyWhitespace_producesNoTokens() {
+    val buffer = MathTokenizer.tokenizeToBuffer("  \n\t ")
+
+    assertThat(buffer.size).isEqualTo(0)
+  }
+
+  @Test
+  fun testTokenizeToBuffer_expression_producesTokensWithCorrectValuesAndIndices() {
+    val buffer = MathTokenizer.tokenizeToBuffer(" 12 . 5x^2 + sqrt(y)")
+
+    val tokens = buffer.toTokenList()
+    assertThat(tokens).hasSize(9)
+    assertThat(tokens[0]).isPositiveRealNumberWhoseValue().isWithin(1e-5).of(12.5)
+    assertThat(tokens[0]).hasStartIndexThat().isEqualTo(1)
+    assertThat(tokens[0]).hasEndIndexThat().isEqualTo(7)
+    assertThat(tokens[1]).isVariableWhoseName().isEqualTo("x")
+    assertThat(tokens[2]).isExponentiationSymbol()
+    assertThat(tokens[3]).isPositiveIntegerWhoseValue().isEqualTo(2)
+    assertThat(tokens[4]).isPlusSymbol()
+    assertThat(tokens[5]).isFunctionNameThat().hasNameThat().isEqualTo("sqrt")
+    assertThat(tokens[5]).isFunctionNameThat().hasIsAllowedPropertyThat().isTrue()
+    assertThat(tokens[6]).isLeftParenthesisSymbol()
+    assertThat(tokens[7]).isVariableWhoseName().isEqualTo("y")
+    assertThat(tokens[8]).isRightParenthesisSymbol()
+    assertThat(buffer.getStartIndex(8)).isEqualTo(19)
+    assertThat(buffer.getEndIndex(8)).isEqualTo(20)
+  }
+
+  @Test
+  fun testTokenizeToBuffer_outOfBoundsIndex_throwsException() {
+    val buffer = MathTokenizer.tokenizeToBuffer("1+2")
+
+    val exception = assertThrows<IndexOutOfBoundsException>() { buffer.getToken(3) }
+
+    assertThat(exception).hasMessageThat().contains("Token index 3 is out of bounds")
+  }
+
+  @Test
+  fun testTokenizeToBuffer_realNumberTooLarge_producesSameTokensAsTokenize() {
+    val expression = "1${"0".repeat(400)}.0 + 2"
+    val sequenceTokens = MathTokenizer.tokenize(expression).toList()
+
+    val bufferTokens = MathTokenizer.tokenizeToBuffer(expression).toTokenList()
+
+    assertThat(bufferTokens.map { it.toDebugString() })
+      .containsExactlyElementsIn(sequenceTokens.map { it.toDebugString() })
+      .inOrder()
+    assertThat(bufferTokens[0]).isInvalidToken()
+  }
+
+  @Test
+  @Iteration("integers", "expression=1 + 23 - 456")
+  @Iteration("integer_spaced_from_digits", "expression=1 2")
+  @Iteration("real_number", "expression=3.14")
+  @Iteration("real_number_with_spaces", "expression=3  .  14")
+  @Iteration("real_number_missing_fraction", "expression=3. + 2")
+  @Iteration("real_number_missing_fraction_at_end", "expression=3 . ")
+  @Iteration("integer_too_large", "expression=98231908309248019238 + 1")
+  @Iteration("integer_too_large_with_trailing_space", "expression=98231908309248019238  x")
+  @Iteration("all_symbols", "expression=√+-−–*×/÷^=()")
+  @Iteration("invalid_characters", "expression=1 # 2 @ π")
+  @Iteration("variables", "expression=xyz + AbC")
+  @Iteration("all_functions", "expression=abs acos asin atan cos cot csc exp ln log log10 sec")
+  @Iteration("more_functions", "expression=sin sqrt tan")
+  @Iteration("incomplete_functions", "expression=ab aco asi ata co csq ex lo lg log1 se si sq ta")
+  @Iteration("incomplete_functions_at_end", "expression=2+sqr")
+  @Iteration("function_prefixes_as_variables", "expression=a c e l s t ax cx ey lz sw tx")
+  @Iteration("equation", "expression=y = 2x^2 + sqrt(3.5 / z) - √4")
+  @Iteration("whitespace", "expression=  \n\t2\r\n 3 \n")
+  fun testTokenizeToBuffer_producesSameTokensAsTokenize() {
+    val sequenceTokens = MathTokenizer.tokenize(expression).toList()
+
+    val bufferTokens = MathTokenizer.tokenizeToBuffer(expression).toTokenList()
+
+    assertThat(bufferTokens.map { it.toDebugString() })
+      .containsExactlyElementsIn(sequenceTokens.map { it.toDebugString() })
+      .inOrder()
+  }
+
+  private companion object {
+    private fun Token.toDebugString(): String {
+      val value = when (this) {
+        is Token.PositiveInteger -> parsedValue.toString()
+        is Token.PositiveRealNumber -> parsedValue.toString()
+        is Token.VariableName -> parsedName
+        is Token.FunctionName -> "$parsedName,$isAllowedFunction"
+        else -> ""
+      }
+      return "${this::class.simpleName}($value)[$startIndex,$endIndex)"
+    }
+  }
 }
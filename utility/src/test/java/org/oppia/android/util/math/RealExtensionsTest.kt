@@ -824,6 +824,49 @@ class RealExtensionsTest {
     assertThat(result).isNull()
   }
 
+  @Test
+  fun testMaybeSimplifyRationalToInteger_twoInteger_returnsSameReal() {
+    val result = TWO_REAL.maybeSimplifyRationalToInteger()
+
+    assertThat(result).isEqualTo(TWO_REAL)
+  }
+
+  @Test
+  fun testMaybeSimplifyRationalToInteger_oneHalfFraction_returnsSameReal() {
+    val result = ONE_HALF_REAL.maybeSimplifyRationalToInteger()
+
+    assertThat(result).isEqualTo(ONE_HALF_REAL)
+  }
+
+  @Test
+  fun testMaybeSimplifyRationalToInteger_threeFraction_returnsThreeInteger() {
+    val result = THREE_FRACTION_REAL.maybeSimplifyRationalToInteger()
+
+    assertThat(result).isIntegerThat().isEqualTo(3)
+  }
+
+  @Test
+  fun testMaybeSimplifyRationalToInteger_threeOnesFraction_returnsThreeInteger() {
+    val result = THREE_ONES_REAL.maybeSimplifyRationalToInteger()
+
+    // Unlike asWholeNumber(), improper fractions with a denominator of 1 are simplified.
+    assertThat(result).isIntegerThat().isEqualTo(3)
+  }
+
+  @Test
+  fun testMaybeSimplifyRationalToInteger_negativeThreeFraction_returnsNegativeThreeInteger() {
+    val result = NEGATIVE_THREE_FRACTION_REAL.maybeSimplifyRationalToInteger()
+
+    assertThat(result).isIntegerThat().isEqualTo(-3)
+  }
+
+  @Test
+  fun testMaybeSimplifyRationalToInteger_piIrrational_returnsSameReal() {
+    val result = PI_REAL.maybeSimplifyRationalToInteger()
+
+    assertThat(result).isEqualTo(PI_REAL)
+  }
+
   @Test
   fun testToPlainText_default_returnsEmptyString() {
     val defaultReal = Real.getDefaultInstance()
@@ -0,0 +1,221 @@
+package org.oppia.android.util.math
+
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import com.google.common.truth.Truth.assertThat
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.oppia.android.app.model.Polynomial
+import org.oppia.android.app.model.Polynomial.Term
+import org.oppia.android.app.model.Polynomial.Term.Variable
+import org.oppia.android.app.model.Real
+import org.oppia.android.testing.assertThrows
+import org.robolectric.annotation.LooperMode
+
+/** Tests for [SparsePolynomial]. */
+// FunctionName: test names are conventionally named with underscores.
+@Suppress("FunctionName")
+@RunWith(AndroidJUnit4::class)
+@LooperMode(LooperMode.Mode.PAUSED)
+class SparsePolynomialTest {
+  private val variableTable = SparsePolynomial.VariableTable()
+
+  @Test
+  fun testCreateConstant_toPolynomial_returnsConstantPolynomial() {
+    val polynomial = SparsePolynomial.createConstant(TWO_REAL, variableTable)
+
+    assertThat(polynomial.toPolynomial()).isEqualTo(createPolynomial(createTerm(TWO_REAL)))
+    assertThat(polynomial.isConstant()).isTrue()
+    assertThat(polynomial.getConstant()).isEqualTo(TWO_REAL)
+  }
+
+  @Test
+  fun testCreateVariable_toPolynomial_returnsSingleVariablePolynomial() {
+    val polynomial = SparsePolynomial.createVariable("x", variableTable)
+
+    assertThat(polynomial.toPolynomial()).isEqualTo(POLYNOMIAL_X)
+    assertThat(polynomial.isConstant()).isFalse()
+  }
+
+  @Test
+  fun testFromPolynomial_toPolynomial_returnsEquivalentPolynomial() {
+    val original = createPolynomial(
+      createTerm(TWO_REAL, createVariable("x", power = 2), createVariable("y", power = 1)),
+      createTerm(ONE_HALF, createVariable("z", power = 3)),
+      createTerm(THREE_REAL)
+    )
+
+    val polynomial = SparsePolynomial.fromPolynomial(original, variableTable)
+
+    assertThat(polynomial.toPolynomial()).isEqualTo(original)
+  }
+
+  @Test
+  fun testPlus_likeTerms_matchesPolynomialPlus() {
+    val lhs = createPolynomial(TERM_X, createTerm(TWO_REAL))
+    val rhs = createPolynomial(createTerm(THREE_REAL), TERM_X)
+
+    val sum = lhs.toSparse() + rhs.toSparse()
+
+    assertThat(sum.toPolynomial()).isEqualTo(lhs + rhs)
+  }
+
+  @Test
+  fun testPlus_cancellingTerms_returnsZeroPolynomial() {
+    val x = SparsePolynomial.createVariable("x", variableTable)
+
+    val difference = x - x
+
+    assertThat(difference.toPolynomial()).isEqualTo(ZERO_POLYNOMIAL)
+    assertThat(difference.isConstant()).isTrue()
+    assertThat(difference.getConstant()).isEqualTo(ZERO)
+  }
+
+  @Test
+  fun testTimes_binomials_matchesPolynomialTimes() {
+    val lhs = createPolynomial(TERM_X, createTerm(ONE))
+    val rhs = createPolynomial(TERM_X, createTerm(-ONE))
+
+    val product = lhs.toSparse() * rhs.toSparse()
+
+    assertThat(product.toPolynomial()).isEqualTo(lhs * rhs)
+  }
+
+  @Test
+  fun testTimes_differentVariables_sortsVariablesByName() {
+    val y = SparsePolynomial.createVariable("y", variableTable)
+    val x = SparsePolynomial.createVariable("x", variableTable)
+
+    val product = y * x * y
+
+    assertThat(product.toPolynomial()).isEqualTo(
+      createPolynomial(
+        createTerm(ONE, createVariable("x", power = 1), createVariable("y", power = 2))
+      )
+    )
+  }
+
+  @Test
+  fun testTimes_rationalCoefficients_simplifiesWholeNumbersToIntegers() {
+    val halfX =
+      SparsePolynomial.createConstant(ONE_HALF, variableTable) *
+        SparsePolynomial.createVariable("x", variableTable)
+
+    val product = halfX * SparsePolynomial.createConstant(TWO_REAL, variableTable)
+
+    assertThat(product.toPolynomial()).isEqualTo(POLYNOMIAL_X)
+  }
+
+  @Test
+  fun testPow_wholeNumberPower_matchesPolynomialPow() {
+    val base = createPolynomial(TERM_X, createTerm(ONE))
+    val exp = createPolynomial(createTerm(THREE_REAL))
+
+    val result = base.toSparse() pow exp.toSparse()
+
+    assertThat(result?.toPolynomial()).isEqualTo(base pow exp)
+  }
+
+  @Test
+  fun testPow_zeroPower_returnsOne() {
+    val x = SparsePolynomial.createVariable("x", variableTable)
+
+    val result = x pow SparsePolynomial.createConstant(ZERO, variableTable)
+
+    assertThat(result?.toPolynomial()).isEqualTo(ONE_POLYNOMIAL)
+  }
+
+  @Test
+  fun testPow_constantBaseWithFractionalPower_returnsConstant() {
+    val four = SparsePolynomial.createConstant(FOUR_REAL, variableTable)
+
+    val result = four pow SparsePolynomial.createConstant(ONE_HALF, variableTable)
+
+    assertThat(result?.toPolynomial()).isEqualTo(createPolynomial(createTerm(TWO_REAL)))
+  }
+
+  @Test
+  fun testPow_singleTermWithFractionalPower_matchesPolynomialPow() {
+    val base = createPolynomial(createTerm(FOUR_REAL, createVariable("x", power = 2)))
+    val exp = createPolynomial(createTerm(ONE_HALF))
+
+    val result = base.toSparse() pow exp.toSparse()
+
+    assertThat(result?.toPolynomial()).isEqualTo(base pow exp)
+  }
+
+  @Test
+  fun testPow_negativePower_returnsNull() {
+    val x = SparsePolynomial.createVariable("x", variableTable)
+
+    val result = x pow SparsePolynomial.createConstant(-ONE, variableTable)
+
+    assertThat(result).isNull()
+  }
+
+  @Test
+  fun testPow_nonConstantPower_returnsNull() {
+    val x = SparsePolynomial.createVariable("x", variableTable)
+
+    val result = x pow x
+
+    assertThat(result).isNull()
+  }
+
+  @Test
+  fun testDiv_exactDivision_matchesPolynomialDiv() {
+    val xSquaredTerm = createTerm(ONE, createVariable("x", power = 2))
+    val dividend = createPolynomial(xSquaredTerm, createTerm(-ONE))
+    val divisor = createPolynomial(TERM_X, createTerm(-ONE))
+
+    val quotient = dividend.toSparse() / divisor.toSparse()
+
+    assertThat(quotient?.toPolynomial()).isEqualTo(dividend / divisor)
+  }
+
+  @Test
+  fun testDiv_divisionWithRemainder_returnsNull() {
+    val x = SparsePolynomial.createVariable("x", variableTable)
+    val xPlusOne = x + SparsePolynomial.createConstant(ONE, variableTable)
+
+    val quotient = x / xPlusOne
+
+    assertThat(quotient).isNull()
+  }
+
+  @Test
+  fun testPlus_polynomialsFromDifferentVariableTables_throwsException() {
+    val x = SparsePolynomial.createVariable("x", variableTable)
+    val otherX = SparsePolynomial.createVariable("x", SparsePolynomial.VariableTable())
+
+    val exception = assertThrows<IllegalStateException>() { x + otherX }
+
+    assertThat(exception).hasMessageThat().contains("different variable tables")
+  }
+
+  private fun Polynomial.toSparse(): SparsePolynomial =
+    SparsePolynomial.fromPolynomial(this, variableTable)
+
+  private companion object {
+    private val TWO_REAL = Real.newBuilder().apply { integer = 2 }.build()
+    private val THREE_REAL = Real.newBuilder().apply { integer = 3 }.build()
+    private val FOUR_REAL = Real.newBuilder().apply { integer = 4 }.build()
+
+    private val TERM_X = createTerm(ONE, createVariable("x", power = 1))
+    private val POLYNOMIAL_X = createPolynomial(TERM_X)
+
+    private fun createVariable(name: String, power: Int) = Variable.newBuilder().apply {
+      this.name = name
+      this.power = power
+    }.build()
+
+    private fun createTerm(coefficient: Real, vararg variables: Variable) =
+      Term.newBuilder().apply {
+        this.coefficient = coefficient
+        addAllVariable(variables.toList())
+      }.build()
+
+    private fun createPolynomial(vararg terms: Term) = Polynomial.newBuilder().apply {
+      addAllTerm(terms.toList())
+    }.build()
+  }
+}
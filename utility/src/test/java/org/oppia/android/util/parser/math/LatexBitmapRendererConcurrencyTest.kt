@@ -0,0 +1,91 @@
+package org.oppia.android.util.parser.math
+
+import android.content.Context
+import android.graphics.Color
+import androidx.test.core.app.ApplicationProvider
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.asCoroutineDispatcher
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.runBlocking
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.annotation.LooperMode
+import java.util.concurrent.Executors
+
+/**
+ * Tests that [LatexBitmapRenderer] produces the same renders regardless of how many threads back
+ * its dispatcher, so that concurrent rendering is known not to corrupt KotliTeX's shared state.
+ *
+ * Note that this only verifies determinism. See [LatexRenderBenchmarkTest] for measuring how
+ * rendering throughput scales with the number of threads.
+ */
+// FunctionName: test names are conventionally named with underscores.
+@Suppress("FunctionName")
+@RunWith(AndroidJUnit4::class)
+@LooperMode(LooperMode.Mode.PAUSED)
+class LatexBitmapRendererConcurrencyTest {
+  private val context: Context by lazy { ApplicationProvider.getApplicationContext() }
+
+  @Test
+  fun testRenderToBitmap_lessonLatex_acrossThreadCounts_producesSameRenders() {
+    val renderSizesByThreadCount = THREAD_COUNTS.associateWith(::renderCorpus)
+
+    val singleThreadedRenderSizes = renderSizesByThreadCount.getValue(1)
+    assertThat(singleThreadedRenderSizes).hasSize(ITERATIONS * LESSON_CORPUS.size)
+    renderSizesByThreadCount.values.forEach { renderSizes ->
+      assertThat(renderSizes).containsExactlyElementsIn(singleThreadedRenderSizes).inOrder()
+    }
+  }
+
+  /**
+   * Concurrently renders the lesson corpus [ITERATIONS] times using a new [LatexBitmapRenderer]
+   * backed by [threadCount] threads, and returns the sizes of each render in corpus order.
+   */
+  private fun renderCorpus(threadCount: Int): List<RenderSize> {
+    val executorService = Executors.newFixedThreadPool(threadCount)
+    try {
+      val renderer = LatexBitmapRenderer(context, executorService.asCoroutineDispatcher())
+      return runBlocking {
+        coroutineScope {
+          (0 until ITERATIONS).flatMap { LESSON_CORPUS }.map { renderKey ->
+            async { renderer.renderToBitmap(renderKey).let { RenderSize(it.width, it.height) } }
+          }.awaitAll()
+        }
+      }
+    } finally {
+      executorService.shutdownNow()
+    }
+  }
+
+  private data class RenderSize(val width: Int, val height: Int)
+
+  private companion object {
+    private const val ITERATIONS = 10
+
+    private val THREAD_COUNTS = listOf(1, 2, 4)
+
+    // The LaTeX from the lessons in domain/src/main/assets.
+    private val LESSON_LATEX = listOf(
+      "y=mx+b",
+      "\\frac{\\frac{1}{6}}{\\frac{1}{2}}",
+      "(x + 1)(x - 2) = \\frac{(x ^ {3} + 2x ^ {2} - 5x - 6)}{(x + b)}",
+      "\\sqrt{\\frac{\\frac{\\frac{\\frac{\\frac{\\frac{\\frac{\\frac{1}{2}}{3}}{4}}" +
+        "{5}}{6}}{7}}{8}}{9}}"
+    )
+
+    private val LESSON_CORPUS = LESSON_LATEX.flatMap { rawLatex ->
+      listOf(true, false).map { useInlineRendering ->
+        LatexRenderCache.RenderKey(
+          rawLatex,
+          lineHeightHundredX = 2000,
+          useInlineRendering = useInlineRendering,
+          color = Color.BLACK,
+          densityDpi = 320
+        )
+      }
+    }
+  }
+}
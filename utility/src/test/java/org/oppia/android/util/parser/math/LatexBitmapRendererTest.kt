@@ -0,0 +1,152 @@
+package org.oppia.android.util.parser.math
+
+import android.content.Context
+import android.graphics.Color
+import androidx.test.core.app.ApplicationProvider
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.CoroutineStart
+import kotlinx.coroutines.asCoroutineDispatcher
+import kotlinx.coroutines.async
+import kotlinx.coroutines.runBlocking
+import org.junit.After
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.annotation.LooperMode
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+private const val FRACTION_LATEX = "\\frac{1}{2}"
+private const val NESTED_FRACTION_LATEX = "\\frac{\\frac{1}{6}}{\\frac{1}{2}}"
+
+/** Tests for [LatexBitmapRenderer]. */
+// FunctionName: test names are conventionally named with underscores.
+@Suppress("FunctionName")
+@RunWith(AndroidJUnit4::class)
+@LooperMode(LooperMode.Mode.PAUSED)
+class LatexBitmapRendererTest {
+  private val context: Context by lazy { ApplicationProvider.getApplicationContext() }
+  private val executorService: ExecutorService by lazy { Executors.newSingleThreadExecutor() }
+  private val renderer by lazy {
+    LatexBitmapRenderer(context, executorService.asCoroutineDispatcher())
+  }
+
+  @After
+  fun tearDown() {
+    executorService.shutdownNow()
+  }
+
+  @Test
+  fun testRenderToBitmap_inlineLatex_returnsNonEmptyBitmap() {
+    val bitmap = runBlocking { renderer.renderToBitmap(createRenderKey(FRACTION_LATEX)) }
+
+    assertThat(bitmap.width).isAtLeast(1)
+    assertThat(bitmap.height).isAtLeast(1)
+  }
+
+  @Test
+  fun testRenderToBitmap_blockLatex_returnsNonEmptyBitmap() {
+    val renderKey = createRenderKey(FRACTION_LATEX, useInlineRendering = false)
+
+    val bitmap = runBlocking { renderer.renderToBitmap(renderKey) }
+
+    assertThat(bitmap.width).isAtLeast(1)
+    assertThat(bitmap.height).isAtLeast(1)
+  }
+
+  @Test
+  fun testRenderToBitmap_sameKeyTwice_returnsBitmapsWithSameBounds() {
+    val renderKey = createRenderKey(NESTED_FRACTION_LATEX)
+
+    val firstBitmap = runBlocking { renderer.renderToBitmap(renderKey) }
+    val secondBitmap = runBlocking { renderer.renderToBitmap(renderKey) }
+
+    assertThat(secondBitmap.width).isEqualTo(firstBitmap.width)
+    assertThat(secondBitmap.height).isEqualTo(firstBitmap.height)
+  }
+
+  @Test
+  fun testRenderToBitmap_afterWarmUp_returnsBitmapWithSameBoundsAsWithoutWarmUp() {
+    val renderKey = createRenderKey(NESTED_FRACTION_LATEX)
+    val unwarmedBitmap = runBlocking { renderer.renderToBitmap(renderKey) }
+    val otherExecutorService = Executors.newSingleThreadExecutor()
+    val warmedRenderer =
+      LatexBitmapRenderer(context, otherExecutorService.asCoroutineDispatcher())
+
+    val warmedBitmap = try {
+      warmedRenderer.warmUp()
+      runBlocking { warmedRenderer.renderToBitmap(renderKey) }
+    } finally {
+      otherExecutorService.shutdownNow()
+    }
+
+    assertThat(warmedBitmap.width).isEqualTo(unwarmedBitmap.width)
+    assertThat(warmedBitmap.height).isEqualTo(unwarmedBitmap.height)
+  }
+
+  @Test
+  fun testRenderToBitmap_cancelledBeforeRenderStarts_throwsCancellationException() {
+    val renderLatch = blockRenderDispatcher()
+
+    val exception = runBlocking {
+      val render = async(start = CoroutineStart.UNDISPATCHED) {
+        renderer.renderToBitmap(createRenderKey(FRACTION_LATEX))
+      }
+      render.cancel()
+      renderLatch.countDown()
+      try {
+        render.await()
+        null
+      } catch (e: CancellationException) {
+        e
+      }
+    }
+
+    assertThat(exception).isNotNull()
+  }
+
+  @Test
+  fun testRenderToBitmap_afterCancelledRender_laterRenderSucceeds() {
+    val renderLatch = blockRenderDispatcher()
+    runBlocking {
+      // Cancelling the renderer's first render shouldn't leave it unable to render later LaTeX.
+      val cancelledRender = async(start = CoroutineStart.UNDISPATCHED) {
+        renderer.renderToBitmap(createRenderKey(FRACTION_LATEX))
+      }
+      cancelledRender.cancel()
+      renderLatch.countDown()
+      cancelledRender.join()
+    }
+
+    val bitmap = runBlocking { renderer.renderToBitmap(createRenderKey(NESTED_FRACTION_LATEX)) }
+
+    assertThat(bitmap.width).isAtLeast(1)
+    assertThat(bitmap.height).isAtLeast(1)
+  }
+
+  /**
+   * Blocks the renderer's only thread until the returned latch is counted down, so that renders
+   * can be cancelled before they have a chance to start.
+   */
+  private fun blockRenderDispatcher(): CountDownLatch {
+    val latch = CountDownLatch(1)
+    executorService.execute { latch.await(5, TimeUnit.SECONDS) }
+    return latch
+  }
+
+  private fun createRenderKey(
+    rawLatex: String,
+    useInlineRendering: Boolean = true
+  ): LatexRenderCache.RenderKey {
+    return LatexRenderCache.RenderKey(
+      rawLatex,
+      lineHeightHundredX = 2000,
+      useInlineRendering = useInlineRendering,
+      color = Color.BLACK,
+      densityDpi = 320
+    )
+  }
+}
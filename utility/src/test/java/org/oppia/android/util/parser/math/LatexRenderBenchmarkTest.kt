@@ -0,0 +1,114 @@
+package org.oppia.android.util.parser.math
+
+import android.content.Context
+import android.graphics.Color
+import androidx.test.core.app.ApplicationProvider
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.asCoroutineDispatcher
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.runBlocking
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.annotation.LooperMode
+import java.util.concurrent.Executors
+
+/**
+ * JMH-style benchmark measuring how the throughput of [LatexBitmapRenderer] scales with the number
+ * of threads backing its dispatcher.
+ *
+ * For each thread count, the renderer renders the benchmark corpus (the LaTeX used in the lessons
+ * under domain/src/main/assets) for a fixed number of warmup iterations, followed by measured
+ * iterations in which all renders are started at once, and the throughput is printed. Timings are
+ * only reported (never asserted on) since they depend on the host machine. Note that Robolectric
+ * doesn't rasterize drawing operations, so these numbers only reflect the cost of KotliTeX's layout
+ * & span construction: end-to-end rendering throughput needs to be measured on a device. See
+ * [LatexBitmapRendererConcurrencyTest] for verifying that concurrent renders are correct.
+ *
+ * This benchmark isn't part of the regular test suite, so it needs to be run explicitly:
+ *
+ * ```
+ * bazel test //utility/src/test/java/org/oppia/android/util/parser/math:LatexRenderBenchmarkTest \
+ *   --test_output=streamed
+ * ```
+ */
+// FunctionName: test names are conventionally named with underscores.
+@Suppress("FunctionName")
+@RunWith(AndroidJUnit4::class)
+@LooperMode(LooperMode.Mode.PAUSED)
+class LatexRenderBenchmarkTest {
+  private val context: Context by lazy { ApplicationProvider.getApplicationContext() }
+
+  @Test
+  fun testBenchmark_renderCorpus_acrossThreadCounts_rendersEveryExpression() {
+    val renderCounts = THREAD_COUNTS.map(::runBenchmark)
+
+    assertThat(renderCounts.toSet())
+      .containsExactly(MEASUREMENT_ITERATIONS * BENCHMARK_CORPUS.size)
+  }
+
+  /**
+   * Renders the benchmark corpus using a new [LatexBitmapRenderer] backed by [threadCount] threads,
+   * printing the measured throughput. Returns the number of measured renders that produced a
+   * non-empty bitmap.
+   */
+  private fun runBenchmark(threadCount: Int): Int {
+    val executorService = Executors.newFixedThreadPool(threadCount)
+    try {
+      val renderer = LatexBitmapRenderer(context, executorService.asCoroutineDispatcher())
+      return runBlocking {
+        // Note that the first render also waits for the renderer to finish warming up.
+        renderer.renderCorpus(WARMUP_ITERATIONS)
+        val startTimeNanos = System.nanoTime()
+        val renderCount = renderer.renderCorpus(MEASUREMENT_ITERATIONS)
+        val elapsedNanos = System.nanoTime() - startTimeNanos
+        val rendersPerSecond = renderCount * 1_000_000_000.0 / elapsedNanos
+        println(
+          "Benchmark: renderToBitmap threads=$threadCount thrpt" +
+            " ${"%.2f".format(rendersPerSecond)} renders/s (n=$renderCount)"
+        )
+        renderCount
+      }
+    } finally {
+      executorService.shutdownNow()
+    }
+  }
+
+  private suspend fun LatexBitmapRenderer.renderCorpus(iterations: Int): Int {
+    return coroutineScope {
+      (0 until iterations).flatMap { BENCHMARK_CORPUS }.map { renderKey ->
+        async { renderToBitmap(renderKey).let { it.width > 0 && it.height > 0 } }
+      }.awaitAll().count { it }
+    }
+  }
+
+  private companion object {
+    private const val WARMUP_ITERATIONS = 2
+    private const val MEASUREMENT_ITERATIONS = 10
+
+    private val THREAD_COUNTS = listOf(1, 2, 4)
+
+    // The LaTeX from the lessons in domain/src/main/assets.
+    private val BENCHMARK_LATEX = listOf(
+      "y=mx+b",
+      "\\frac{\\frac{1}{6}}{\\frac{1}{2}}",
+      "(x + 1)(x - 2) = \\frac{(x ^ {3} + 2x ^ {2} - 5x - 6)}{(x + b)}",
+      "\\sqrt{\\frac{\\frac{\\frac{\\frac{\\frac{\\frac{\\frac{\\frac{1}{2}}{3}}{4}}" +
+        "{5}}{6}}{7}}{8}}{9}}"
+    )
+
+    private val BENCHMARK_CORPUS = BENCHMARK_LATEX.flatMap { rawLatex ->
+      listOf(true, false).map { useInlineRendering ->
+        LatexRenderCache.RenderKey(
+          rawLatex,
+          lineHeightHundredX = 2000,
+          useInlineRendering = useInlineRendering,
+          color = Color.BLACK,
+          densityDpi = 320
+        )
+      }
+    }
+  }
+}
@@ -0,0 +1,183 @@
+package org.oppia.android.util.parser.math
+
+import android.app.Application
+import android.content.Context
+import androidx.test.core.app.ApplicationProvider
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import com.google.common.truth.Truth.assertThat
+import dagger.BindsInstance
+import dagger.Component
+import dagger.Module
+import dagger.Provides
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.oppia.android.testing.time.FakeOppiaClock
+import org.oppia.android.testing.time.FakeOppiaClockModule
+import org.robolectric.annotation.Config
+import org.robolectric.annotation.LooperMode
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/** Tests for [LatexRenderCache]. */
+// FunctionName: test names are conventionally named with underscores.
+@Suppress("FunctionName")
+@RunWith(AndroidJUnit4::class)
+@LooperMode(LooperMode.Mode.PAUSED)
+@Config(manifest = Config.NONE)
+class LatexRenderCacheTest {
+  @Inject lateinit var context: Context
+  @Inject lateinit var fakeOppiaClock: FakeOppiaClock
+  @Inject lateinit var latexRenderCache: LatexRenderCache
+
+  @Before
+  fun setUp() {
+    setUpTestApplicationComponent()
+    fakeOppiaClock.setFakeTimeMode(FakeOppiaClock.FakeTimeMode.MODE_FIXED_FAKE_TIME)
+    fakeOppiaClock.setCurrentTimeMs(TEST_START_TIME_MS)
+  }
+
+  @Test
+  fun testRetrieveRender_nothingStored_returnsNull() {
+    val render = latexRenderCache.retrieveRender(TEST_RENDER_KEY)
+
+    assertThat(render).isNull()
+  }
+
+  @Test
+  fun testRetrieveRender_afterStoringRender_returnsStoredRender() {
+    latexRenderCache.storeRender(TEST_RENDER_KEY, TEST_RENDER_BYTES)
+
+    val render = latexRenderCache.retrieveRender(TEST_RENDER_KEY)
+
+    assertThat(render).isEqualTo(TEST_RENDER_BYTES)
+  }
+
+  @Test
+  fun testRetrieveRender_afterReplacingRender_returnsLatestRender() {
+    latexRenderCache.storeRender(TEST_RENDER_KEY, TEST_RENDER_BYTES)
+    latexRenderCache.storeRender(TEST_RENDER_KEY, byteArrayOf(4, 5))
+
+    val render = latexRenderCache.retrieveRender(TEST_RENDER_KEY)
+
+    assertThat(render).isEqualTo(byteArrayOf(4, 5))
+  }
+
+  @Test
+  fun testRetrieveRender_storedRenderForDifferentColor_returnsNull() {
+    latexRenderCache.storeRender(TEST_RENDER_KEY, TEST_RENDER_BYTES)
+
+    val render = latexRenderCache.retrieveRender(TEST_RENDER_KEY.copy(color = 0xFF0000FF.toInt()))
+
+    assertThat(render).isNull()
+  }
+
+  @Test
+  fun testRetrieveRender_storedRenderForDifferentDensity_returnsNull() {
+    latexRenderCache.storeRender(TEST_RENDER_KEY, TEST_RENDER_BYTES)
+
+    val render = latexRenderCache.retrieveRender(TEST_RENDER_KEY.copy(densityDpi = 480))
+
+    assertThat(render).isNull()
+  }
+
+  @Test
+  fun testRetrieveRender_fromNewCacheInstance_returnsRenderStoredByPreviousInstance() {
+    latexRenderCache.storeRender(TEST_RENDER_KEY, TEST_RENDER_BYTES)
+
+    // Simulate the app restarting by creating a new cache over the same directory.
+    val newLatexRenderCache = LatexRenderCache(context, fakeOppiaClock)
+    val render = newLatexRenderCache.retrieveRender(TEST_RENDER_KEY)
+
+    assertThat(render).isEqualTo(TEST_RENDER_BYTES)
+  }
+
+  @Test
+  fun testStoreRender_exceedingCacheLimit_removesLeastRecentlyUsedRenders() {
+    val oldestKey = TEST_RENDER_KEY.copy(rawLatex = "oldest")
+    val recentlyUsedKey = TEST_RENDER_KEY.copy(rawLatex = "recently_used")
+    latexRenderCache.storeRender(oldestKey, createLargeRender())
+    fakeOppiaClock.setCurrentTimeMs(TEST_START_TIME_MS + 1000L)
+    latexRenderCache.storeRender(recentlyUsedKey, createLargeRender())
+
+    // Store enough renders to exceed the cache's limit, while using one of the earlier renders.
+    (0 until 15).forEach { index ->
+      fakeOppiaClock.setCurrentTimeMs(TEST_START_TIME_MS + 2000L + index * 1000L)
+      latexRenderCache.storeRender(TEST_RENDER_KEY.copy(rawLatex = "$index"), createLargeRender())
+      if (index == 0) latexRenderCache.retrieveRender(recentlyUsedKey)
+    }
+
+    // Only the least recently used render should be removed.
+    assertThat(latexRenderCache.retrieveRender(oldestKey)).isNull()
+    assertThat(latexRenderCache.retrieveRender(recentlyUsedKey)).isNotNull()
+    assertThat(latexRenderCache.retrieveRender(TEST_RENDER_KEY.copy(rawLatex = "14"))).isNotNull()
+  }
+
+  @Test
+  fun testComputeContentAddress_sameKeys_returnsSameAddress() {
+    val address1 = TEST_RENDER_KEY.computeContentAddress()
+    val address2 = TEST_RENDER_KEY.copy().computeContentAddress()
+
+    assertThat(address1).isEqualTo(address2)
+  }
+
+  @Test
+  fun testComputeContentAddress_differentRenderTypes_returnsDifferentAddresses() {
+    val address1 = TEST_RENDER_KEY.computeContentAddress()
+    val address2 = TEST_RENDER_KEY.copy(useInlineRendering = false).computeContentAddress()
+
+    assertThat(address1).isNotEqualTo(address2)
+  }
+
+  @Test
+  fun testComputeContentAddress_returnsLowercaseHexSha256() {
+    val address = TEST_RENDER_KEY.computeContentAddress()
+
+    assertThat(address).matches("[0-9a-f]{64}")
+  }
+
+  private fun createLargeRender(): ByteArray = ByteArray(1024 * 1024)
+
+  private fun setUpTestApplicationComponent() {
+    DaggerLatexRenderCacheTest_TestApplicationComponent.builder()
+      .setApplication(ApplicationProvider.getApplicationContext())
+      .build()
+      .inject(this)
+  }
+
+  private companion object {
+    private const val TEST_START_TIME_MS = 1_600_000_000_000L
+    private val TEST_RENDER_BYTES = byteArrayOf(1, 2, 3)
+    private val TEST_RENDER_KEY = LatexRenderCache.RenderKey(
+      rawLatex = "\\frac{2}{6}",
+      lineHeightHundredX = 2150,
+      useInlineRendering = true,
+      color = 0xFF000000.toInt(),
+      densityDpi = 320
+    )
+  }
+
+  @Module
+  class TestModule {
+    @Provides
+    @Singleton
+    fun provideContext(application: Application): Context {
+      return application
+    }
+  }
+
+  // TODO(#89): Move this to a common test application component.
+  @Singleton
+  @Component(modules = [TestModule::class, FakeOppiaClockModule::class])
+  interface TestApplicationComponent {
+    @Component.Builder
+    interface Builder {
+      @BindsInstance
+      fun setApplication(application: Application): Builder
+
+      fun build(): TestApplicationComponent
+    }
+
+    fun inject(latexRenderCacheTest: LatexRenderCacheTest)
+  }
+}
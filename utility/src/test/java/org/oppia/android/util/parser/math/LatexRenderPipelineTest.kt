@@ -0,0 +1,98 @@
+package org.oppia.android.util.parser.math
+
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import com.google.common.truth.Truth.assertThat
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.oppia.android.util.parser.math.LatexRenderPipeline.PrefetchRequest
+import org.robolectric.annotation.Config
+import org.robolectric.annotation.LooperMode
+
+private const val MATH_WITH_FILENAME_MARKUP =
+  "<oppia-noninteractive-math math_content-with-value=\"{" +
+    "&amp;quot;raw_latex&amp;quot;:&amp;quot;\\\\frac{2}{5}&amp;quot;,&amp;quot;" +
+    "svg_filename&amp;quot;:&amp;quot;math_image1.svg&amp;quot;}\"></oppia-noninteractive-math>"
+
+private const val MATH_WITHOUT_CONTENT_VALUE_MARKUP =
+  "<oppia-noninteractive-math></oppia-noninteractive-math>"
+
+private const val MATH_WITH_INVALID_CONTENT_VALUE_MARKUP =
+  "<oppia-noninteractive-math math_content-with-value=\"{&amp;quot;raw_latex\">" +
+    "</oppia-noninteractive-math>"
+
+private const val MATH_WITHOUT_FILENAME_MARKUP =
+  "<oppia-noninteractive-math math_content-with-value=\"{&amp;quot;raw_latex&amp;quot;" +
+    ":&amp;quot;\\\\frac{2}{5}&amp;quot;}\"></oppia-noninteractive-math>"
+
+private const val MATH_WITHOUT_FILENAME_RENDER_TYPE_BLOCK_MARKUP =
+  "<oppia-noninteractive-math render-type=\"block\"" +
+    " math_content-with-value=\"{&amp;quot;raw_latex&amp;quot;" +
+    ":&amp;quot;\\\\frac{3}{8}&amp;quot;}\"></oppia-noninteractive-math>"
+
+/** Tests for [LatexRenderPipeline]. */
+// FunctionName: test names are conventionally named with underscores.
+@Suppress("FunctionName")
+@RunWith(AndroidJUnit4::class)
+@LooperMode(LooperMode.Mode.PAUSED)
+@Config(manifest = Config.NONE)
+class LatexRenderPipelineTest {
+  @Test
+  fun testExtractPrefetchRequests_noMathTags_returnsEmptyList() {
+    val requests = LatexRenderPipeline.extractPrefetchRequests("<p>Some text</p>")
+
+    assertThat(requests).isEmpty()
+  }
+
+  @Test
+  fun testExtractPrefetchRequests_mathWithoutFileName_returnsInlineRequest() {
+    val requests = LatexRenderPipeline.extractPrefetchRequests(MATH_WITHOUT_FILENAME_MARKUP)
+
+    assertThat(requests).containsExactly(PrefetchRequest("\\frac{2}{5}", useInlineRendering = true))
+  }
+
+  @Test
+  fun testExtractPrefetchRequests_blockMathWithoutFileName_returnsBlockRequest() {
+    val requests =
+      LatexRenderPipeline.extractPrefetchRequests(MATH_WITHOUT_FILENAME_RENDER_TYPE_BLOCK_MARKUP)
+
+    assertThat(requests)
+      .containsExactly(PrefetchRequest("\\frac{3}{8}", useInlineRendering = false))
+  }
+
+  @Test
+  fun testExtractPrefetchRequests_mathWithFileName_returnsEmptyList() {
+    // Math with a pre-rendered SVG doesn't need its LaTeX to be rendered.
+    val requests = LatexRenderPipeline.extractPrefetchRequests(MATH_WITH_FILENAME_MARKUP)
+
+    assertThat(requests).isEmpty()
+  }
+
+  @Test
+  fun testExtractPrefetchRequests_mathWithoutContentValue_returnsEmptyList() {
+    val requests = LatexRenderPipeline.extractPrefetchRequests(MATH_WITHOUT_CONTENT_VALUE_MARKUP)
+
+    assertThat(requests).isEmpty()
+  }
+
+  @Test
+  fun testExtractPrefetchRequests_mathWithInvalidContentValue_returnsEmptyList() {
+    val requests =
+      LatexRenderPipeline.extractPrefetchRequests(MATH_WITH_INVALID_CONTENT_VALUE_MARKUP)
+
+    assertThat(requests).isEmpty()
+  }
+
+  @Test
+  fun testExtractPrefetchRequests_multipleMathTags_returnsRequestsInOrder() {
+    val html =
+      "<p>First: $MATH_WITHOUT_FILENAME_MARKUP</p>" +
+        "<p>Second: $MATH_WITHOUT_FILENAME_RENDER_TYPE_BLOCK_MARKUP</p>"
+
+    val requests = LatexRenderPipeline.extractPrefetchRequests(html)
+
+    assertThat(requests).containsExactly(
+      PrefetchRequest("\\frac{2}{5}", useInlineRendering = true),
+      PrefetchRequest("\\frac{3}{8}", useInlineRendering = false)
+    ).inOrder()
+  }
+}
@@ -0,0 +1,100 @@
+package org.oppia.android.util.threading
+
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.ExecutorCoroutineDispatcher
+import kotlinx.coroutines.asCoroutineDispatcher
+import kotlinx.coroutines.launch
+import org.junit.After
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.annotation.Config
+import org.robolectric.annotation.LooperMode
+import java.util.Collections
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+/** Tests for [ShardedBlockingDispatcher]. */
+// FunctionName: test names are conventionally named with underscores.
+@Suppress("FunctionName")
+@RunWith(AndroidJUnit4::class)
+@LooperMode(LooperMode.Mode.PAUSED)
+@Config(manifest = Config.NONE)
+class ShardedBlockingDispatcherTest {
+  // Note that a real thread pool is used in this suite since the class's guarantees are only
+  // meaningful when lanes are backed by multiple threads.
+  private val poolDispatcher: ExecutorCoroutineDispatcher =
+    Executors.newFixedThreadPool(/* nThreads= */ 4).asCoroutineDispatcher()
+  private val shardedBlockingDispatcher = ShardedBlockingDispatcher(poolDispatcher)
+
+  @After
+  fun tearDown() {
+    poolDispatcher.close()
+  }
+
+  @Test
+  fun testCreateLane_multipleTasks_executeInOrder() {
+    val lane = shardedBlockingDispatcher.createLane()
+    val executionOrder = Collections.synchronizedList(mutableListOf<Int>())
+    val completedLatch = CountDownLatch(100)
+
+    repeat(100) { index ->
+      CoroutineScope(lane).launch {
+        executionOrder += index
+        completedLatch.countDown()
+      }
+    }
+
+    assertThat(completedLatch.await(5, TimeUnit.SECONDS)).isTrue()
+    assertThat(executionOrder).containsExactlyElementsIn(0 until 100).inOrder()
+  }
+
+  @Test
+  fun testCreateLane_multipleTasks_neverExecuteConcurrently() {
+    val lane = shardedBlockingDispatcher.createLane()
+    val runningTaskCount = AtomicInteger()
+    val maxRunningTaskCount = AtomicInteger()
+    val completedLatch = CountDownLatch(50)
+
+    repeat(50) {
+      CoroutineScope(lane).launch {
+        val runningCount = runningTaskCount.incrementAndGet()
+        maxRunningTaskCount.accumulateAndGet(runningCount, ::maxOf)
+        Thread.sleep(/* millis= */ 1)
+        runningTaskCount.decrementAndGet()
+        completedLatch.countDown()
+      }
+    }
+
+    assertThat(completedLatch.await(5, TimeUnit.SECONDS)).isTrue()
+    assertThat(maxRunningTaskCount.get()).isEqualTo(1)
+  }
+
+  @Test
+  fun testCreateLane_twice_blockedLane_doesNotBlockOtherLane() {
+    val lane1 = shardedBlockingDispatcher.createLane()
+    val lane2 = shardedBlockingDispatcher.createLane()
+    val lane2TaskRanLatch = CountDownLatch(1)
+    val lane1TaskFinishedLatch = CountDownLatch(1)
+
+    // The first lane's task can only finish if the second lane's task is able to run while it's
+    // still blocked.
+    CoroutineScope(lane1).launch {
+      if (lane2TaskRanLatch.await(5, TimeUnit.SECONDS)) lane1TaskFinishedLatch.countDown()
+    }
+    CoroutineScope(lane2).launch { lane2TaskRanLatch.countDown() }
+
+    assertThat(lane1TaskFinishedLatch.await(10, TimeUnit.SECONDS)).isTrue()
+  }
+
+  @Test
+  fun testCreateLane_twice_returnsDifferentLanes() {
+    val lane1 = shardedBlockingDispatcher.createLane()
+    val lane2 = shardedBlockingDispatcher.createLane()
+
+    assertThat(lane1).isNotSameInstanceAs(lane2)
+  }
+}